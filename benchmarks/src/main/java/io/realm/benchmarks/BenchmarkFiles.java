@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Temporary directories for the Realm files of the benchmarks. Core creates several files next to a Realm file, so
+ * each one is kept in its own directory.
+ */
+final class BenchmarkFiles {
+
+    private BenchmarkFiles() {
+    }
+
+    /**
+     * Returns the path of a Realm file in a new temporary directory.
+     */
+    static String newRealmPath() {
+        try {
+            File dir = File.createTempFile("realm-benchmark", "");
+            if (!dir.delete() || !dir.mkdir()) {
+                throw new IOException("Could not create " + dir);
+            }
+            return new File(dir, "default.realm").getAbsolutePath();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Deletes the directory of a Realm file created by {@link #newRealmPath()}.
+     */
+    static void delete(String realmPath) {
+        File dir = new File(realmPath).getParentFile();
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+}
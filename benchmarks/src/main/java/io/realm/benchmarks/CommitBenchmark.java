@@ -0,0 +1,108 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.ColumnType;
+import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.Table;
+
+/**
+ * Latency of write transactions on a {@link SharedGroup} file, the way a Realm runs them: promote the implicit
+ * transaction to write, modify rows, commit and continue as read.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CommitBenchmark {
+
+    @Param({"FULL", "MEM_ONLY"})
+    public SharedGroup.Durability durability;
+
+    // rows modified by each transaction
+    @Param({"1", "100"})
+    public int rows;
+
+    private String path;
+    private SharedGroup sharedGroup;
+    private ImplicitTransaction transaction;
+    private long longColumn;
+    private long counter;
+
+    @Setup
+    public void setUp() {
+        path = BenchmarkFiles.newRealmPath();
+        sharedGroup = new SharedGroup(path, SharedGroup.IMPLICIT_TRANSACTION, durability, null);
+        transaction = sharedGroup.beginImplicitTransaction();
+        transaction.promoteToWrite();
+        Table table = transaction.getTable("class_Counter");
+        longColumn = table.addColumn(ColumnType.INTEGER, "value");
+        table.addEmptyRows(rows);
+        transaction.commitAndContinueAsRead();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sharedGroup.close();
+        BenchmarkFiles.delete(path);
+    }
+
+    @Benchmark
+    public void emptyCommit() {
+        transaction.promoteToWrite();
+        transaction.commitAndContinueAsRead();
+    }
+
+    @Benchmark
+    public void commit() {
+        transaction.promoteToWrite();
+        Table table = transaction.getTable("class_Counter");
+        counter++;
+        for (long i = 0; i < rows; i++) {
+            table.setLong(longColumn, i, counter);
+        }
+        transaction.commitAndContinueAsRead();
+    }
+
+    @Benchmark
+    public void rollback() {
+        transaction.promoteToWrite();
+        Table table = transaction.getTable("class_Counter");
+        for (long i = 0; i < rows; i++) {
+            table.setLong(longColumn, i, -1);
+        }
+        transaction.rollbackAndContinueAsRead();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.ColumnType;
+import io.realm.internal.ImplicitTransaction;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.Table;
+import io.realm.internal.TableQuery;
+import io.realm.internal.TableView;
+
+/**
+ * Round-trips of an asynchronous query, without the threads: the query is handed over to a second
+ * {@link SharedGroup}, run there, and the resulting {@link TableView} is handed back and imported.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class HandoverBenchmark {
+
+    @Param({"100", "100000"})
+    public int rows;
+
+    private String path;
+    private SharedGroup callerSharedGroup;
+    private SharedGroup workerSharedGroup;
+    private Table table;
+    private long[] longColumn;
+
+    @Setup
+    public void setUp() {
+        path = BenchmarkFiles.newRealmPath();
+        callerSharedGroup = new SharedGroup(path, SharedGroup.IMPLICIT_TRANSACTION, SharedGroup.Durability.FULL, null);
+        ImplicitTransaction transaction = callerSharedGroup.beginImplicitTransaction();
+        transaction.promoteToWrite();
+        table = transaction.getTable("class_Number");
+        longColumn = new long[] {table.addColumn(ColumnType.INTEGER, "value")};
+        table.addEmptyRows(rows);
+        for (long i = 0; i < rows; i++) {
+            table.setLong(longColumn[0], i, i);
+        }
+        transaction.commitAndContinueAsRead();
+        workerSharedGroup = new SharedGroup(path, SharedGroup.IMPLICIT_TRANSACTION, SharedGroup.Durability.FULL, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        workerSharedGroup.close();
+        callerSharedGroup.close();
+        BenchmarkFiles.delete(path);
+    }
+
+    @Benchmark
+    public long handoverQuery() {
+        TableQuery query = table.where().greaterThanOrEqual(longColumn, rows / 2);
+        long handoverQueryPointer = query.handoverQuery(callerSharedGroup.getNativePointer());
+        TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
+        return handoverQueryPointer;
+    }
+
+    @Benchmark
+    public long findAllRoundTrip() {
+        TableQuery query = table.where().greaterThanOrEqual(longColumn, rows / 2);
+        long handoverQueryPointer = query.handoverQuery(callerSharedGroup.getNativePointer());
+        long handoverViewPointer = query.findAllWithHandover(workerSharedGroup.getNativePointer(),
+                workerSharedGroup.getNativeReplicationPointer(), handoverQueryPointer);
+        TableView view = query.importHandoverTableView(handoverViewPointer, callerSharedGroup.getNativePointer());
+        long size = view.size();
+        view.close();
+        return size;
+    }
+
+    @Benchmark
+    public long findAllSortedRoundTrip() {
+        TableQuery query = table.where().greaterThanOrEqual(longColumn, rows / 2);
+        long handoverQueryPointer = query.handoverQuery(callerSharedGroup.getNativePointer());
+        long handoverViewPointer = query.findAllSortedWithHandover(workerSharedGroup.getNativePointer(),
+                workerSharedGroup.getNativeReplicationPointer(), handoverQueryPointer, longColumn[0], false);
+        TableView view = query.importHandoverTableView(handoverViewPointer, callerSharedGroup.getNativePointer());
+        long size = view.size();
+        view.close();
+        return size;
+    }
+}
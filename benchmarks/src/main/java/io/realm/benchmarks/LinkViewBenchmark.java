@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.ColumnType;
+import io.realm.internal.Group;
+import io.realm.internal.LinkView;
+import io.realm.internal.Table;
+import io.realm.internal.TableView;
+
+/**
+ * Access to the objects of a link list through {@link LinkView}: getting the list, iterating it and querying it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LinkViewBenchmark {
+
+    @Param({"10000"})
+    public int links;
+
+    private Group group;
+    private Table owners;
+    private long dogsColumn;
+    private long ageColumn;
+
+    @Setup
+    public void setUp() {
+        group = new Group();
+        Table dogs = group.getTable("class_Dog");
+        ageColumn = dogs.addColumn(ColumnType.INTEGER, "age");
+        dogs.addEmptyRows(links);
+        for (long i = 0; i < links; i++) {
+            dogs.setLong(ageColumn, i, i % 20);
+        }
+
+        owners = group.getTable("class_Owner");
+        dogsColumn = owners.addColumnLink(ColumnType.LINK_LIST, "dogs", dogs);
+        owners.addEmptyRow();
+        LinkView list = owners.getUncheckedRow(0).getLinkList(dogsColumn);
+        // reversed, so that the list doesn't follow the table order
+        for (long i = links - 1; i >= 0; i--) {
+            list.add(i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        group.close();
+    }
+
+    @Benchmark
+    public long getLinkList() {
+        return owners.getUncheckedRow(0).getLinkList(dogsColumn).size();
+    }
+
+    @Benchmark
+    public long iterateTargetRows() {
+        LinkView list = owners.getUncheckedRow(0).getLinkList(dogsColumn);
+        long sum = 0;
+        long size = list.size();
+        for (long i = 0; i < size; i++) {
+            sum += list.getTargetRowIndex(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateRows() {
+        LinkView list = owners.getUncheckedRow(0).getLinkList(dogsColumn);
+        long sum = 0;
+        long size = list.size();
+        for (long i = 0; i < size; i++) {
+            sum += list.getUncheckedRow(i).getLong(ageColumn);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long findAll() {
+        LinkView list = owners.getUncheckedRow(0).getLinkList(dogsColumn);
+        TableView view = list.where().lessThan(new long[] {ageColumn}, 10).findAll();
+        long size = view.size();
+        view.close();
+        return size;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.ColumnType;
+import io.realm.internal.Table;
+import io.realm.internal.TableView;
+
+/**
+ * Full scans with {@link io.realm.internal.TableQuery}, and sorting of the resulting {@link TableView}.
+ * Half of the rows match the queries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class QueryBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    private Table table;
+    private long[] longColumn;
+    private long[] stringColumn;
+
+    @Setup
+    public void setUp() {
+        table = new Table();
+        longColumn = new long[] {table.addColumn(ColumnType.INTEGER, "number")};
+        stringColumn = new long[] {table.addColumn(ColumnType.STRING, "name")};
+        table.addEmptyRows(rows);
+        Random random = new Random(42);
+        for (long i = 0; i < rows; i++) {
+            table.setLong(longColumn[0], i, random.nextInt(rows));
+            table.setString(stringColumn[0], i, (i % 2 == 0) ? "John " + i : "Jane " + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        table.close();
+    }
+
+    @Benchmark
+    public long countLong() {
+        return table.where().greaterThanOrEqual(longColumn, rows / 2).count();
+    }
+
+    @Benchmark
+    public long findAllLong() {
+        TableView view = table.where().greaterThanOrEqual(longColumn, rows / 2).findAll();
+        long size = view.size();
+        view.close();
+        return size;
+    }
+
+    @Benchmark
+    public long findAllString() {
+        TableView view = table.where().beginsWith(stringColumn, "John").findAll();
+        long size = view.size();
+        view.close();
+        return size;
+    }
+
+    @Benchmark
+    public long findFirst() {
+        return table.where().equalTo(longColumn, rows / 2).find();
+    }
+
+    @Benchmark
+    public long findAllSortedLong() {
+        TableView view = table.where().greaterThanOrEqual(longColumn, rows / 2).findAll();
+        view.sort(longColumn[0]);
+        long first = view.getSourceRowIndex(0);
+        view.close();
+        return first;
+    }
+
+    @Benchmark
+    public long findAllSortedString() {
+        TableView view = table.where().beginsWith(stringColumn, "John").findAll();
+        view.sort(stringColumn[0], TableView.Order.descending);
+        long first = view.getSourceRowIndex(0);
+        view.close();
+        return first;
+    }
+
+    @Benchmark
+    public long sortedTable() {
+        TableView view = table.getSortedView(longColumn[0]);
+        long first = view.getSourceRowIndex(0);
+        view.close();
+        return first;
+    }
+}
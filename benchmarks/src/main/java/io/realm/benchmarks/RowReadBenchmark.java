@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.ColumnType;
+import io.realm.internal.Table;
+import io.realm.internal.TableView;
+
+/**
+ * Point reads of a field at random rows, through {@link Table}, {@link io.realm.internal.UncheckedRow} and
+ * {@link TableView}, and bulk reads of a column.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RowReadBenchmark {
+
+    private static final int BULK_SIZE = 1000;
+
+    @Param({"100000"})
+    public int rows;
+
+    private Table table;
+    private TableView view;
+    private long longColumn;
+    private long stringColumn;
+    // random row indices, read in turn
+    private long[] rowIndices;
+    private int next;
+    private final long[] values = new long[BULK_SIZE];
+
+    @Setup
+    public void setUp() {
+        table = new Table();
+        longColumn = table.addColumn(ColumnType.INTEGER, "number");
+        stringColumn = table.addColumn(ColumnType.STRING, "name");
+        table.addEmptyRows(rows);
+        for (long i = 0; i < rows; i++) {
+            table.setLong(longColumn, i, i);
+            table.setString(stringColumn, i, "John " + i);
+        }
+        view = table.where().findAll();
+
+        Random random = new Random(42);
+        rowIndices = new long[4096];
+        for (int i = 0; i < rowIndices.length; i++) {
+            rowIndices[i] = random.nextInt(rows);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        view.close();
+        table.close();
+    }
+
+    private long nextRowIndex() {
+        next = (next + 1) & (rowIndices.length - 1);
+        return rowIndices[next];
+    }
+
+    @Benchmark
+    public long tableGetLong() {
+        return table.getLong(longColumn, nextRowIndex());
+    }
+
+    @Benchmark
+    public String tableGetString() {
+        return table.getString(stringColumn, nextRowIndex());
+    }
+
+    @Benchmark
+    public long uncheckedRowGetLong() {
+        return table.getUncheckedRow(nextRowIndex()).getLong(longColumn);
+    }
+
+    @Benchmark
+    public String uncheckedRowGetString() {
+        return table.getUncheckedRow(nextRowIndex()).getString(stringColumn);
+    }
+
+    @Benchmark
+    public long tableViewGetLong() {
+        return view.getLong(longColumn, nextRowIndex());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public long tableViewGetLongs() {
+        long from = nextRowIndex() % (rows - BULK_SIZE);
+        view.getLongs(longColumn, from, values, 0, BULK_SIZE);
+        return values[BULK_SIZE - 1];
+    }
+}
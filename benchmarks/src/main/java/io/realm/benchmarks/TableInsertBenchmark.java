@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.ColumnType;
+import io.realm.internal.Table;
+import io.realm.internal.UncheckedRow;
+
+/**
+ * Insert throughput of a standalone {@link Table}, through the table and through row accessors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TableInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private Table table;
+    private long longColumn;
+    private long stringColumn;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        table = new Table();
+        longColumn = table.addColumn(ColumnType.INTEGER, "number");
+        stringColumn = table.addColumn(ColumnType.STRING, "name");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        table.close();
+    }
+
+    @Benchmark
+    public long addEmptyRow() {
+        return table.addEmptyRow();
+    }
+
+    @Benchmark
+    public long addRowAndSetFields() {
+        long rowIndex = table.addEmptyRow();
+        table.setLong(longColumn, rowIndex, rowIndex);
+        table.setString(stringColumn, rowIndex, "John");
+        return rowIndex;
+    }
+
+    @Benchmark
+    public long addRowAndSetFieldsWithRow() {
+        long rowIndex = table.addEmptyRow();
+        UncheckedRow row = table.getUncheckedRow(rowIndex);
+        row.setLong(longColumn, rowIndex);
+        row.setString(stringColumn, "John");
+        return rowIndex;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long addEmptyRows() {
+        return table.addEmptyRows(BATCH_SIZE);
+    }
+}
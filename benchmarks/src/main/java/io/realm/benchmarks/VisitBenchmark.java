@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.ColumnType;
+import io.realm.internal.CursorRow;
+import io.realm.internal.Table;
+import io.realm.internal.TableView;
+import io.realm.internal.UncheckedRow;
+
+/**
+ * Full scans of a query result, reading two fields of each row. {@code visit} moves a single {@link CursorRow}, as
+ * {@code RealmResults.visit()} does, while {@code iterate} creates an {@link UncheckedRow} for each row, as the
+ * objects returned by the {@code RealmResults} iterator do. The proxy objects themselves are not created here.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class VisitBenchmark {
+
+    private static final int ROWS = 10000;
+
+    private Table table;
+    private TableView view;
+    private long longColumn;
+    private long stringColumn;
+
+    @Setup
+    public void setUp() {
+        table = new Table();
+        longColumn = table.addColumn(ColumnType.INTEGER, "number");
+        stringColumn = table.addColumn(ColumnType.STRING, "name");
+        table.addEmptyRows(ROWS);
+        for (long i = 0; i < ROWS; i++) {
+            table.setLong(longColumn, i, i);
+            table.setString(stringColumn, i, "John " + i);
+        }
+        view = table.where().findAll();
+    }
+
+    @TearDown
+    public void tearDown() {
+        view.close();
+        table.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long visit() {
+        long sum = 0;
+        CursorRow row = new CursorRow(table);
+        long size = view.size();
+        for (long i = 0; i < size; i++) {
+            row.setIndex(view.getSourceRowIndex(i));
+            sum += row.getLong(longColumn) + row.getString(stringColumn).length();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long iterate() {
+        long sum = 0;
+        long size = view.size();
+        for (long i = 0; i < size; i++) {
+            UncheckedRow row = table.getUncheckedRow(view.getSourceRowIndex(i));
+            sum += row.getLong(longColumn) + row.getString(stringColumn).length();
+        }
+        return sum;
+    }
+}
@@ -64,6 +64,7 @@ public class RealmProxyClassGenerator {
         imports.add("io.realm.internal.ColumnInfo");
         imports.add("io.realm.internal.ColumnType");
         imports.add("io.realm.internal.RealmObjectProxy");
+        imports.add("io.realm.internal.RowBatch");
         imports.add("io.realm.internal.Table");
         imports.add("io.realm.internal.TableOrView");
         imports.add("io.realm.internal.ImplicitTransaction");
@@ -71,7 +72,9 @@ public class RealmProxyClassGenerator {
         imports.add("io.realm.internal.android.JsonUtils");
         imports.add("java.io.IOException");
         imports.add("java.util.ArrayList");
+        imports.add("java.util.Collection");
         imports.add("java.util.Collections");
+        imports.add("java.util.Iterator");
         imports.add("java.util.List");
         imports.add("java.util.Date");
         imports.add("java.util.Map");
@@ -110,6 +113,7 @@ public class RealmProxyClassGenerator {
         emitClassFields(writer);
         emitConstructor(writer);
         emitAccessors(writer);
+        emitOnRowMovedMethod(writer);
         emitInitTableMethod(writer);
         emitValidateTableMethod(writer);
         emitGetTableNameMethod(writer);
@@ -119,6 +123,8 @@ public class RealmProxyClassGenerator {
         emitCopyOrUpdateMethod(writer);
         emitCopyMethod(writer);
         emitUpdateMethod(writer);
+        emitInsertMethod(writer);
+        emitInsertAllMethod(writer);
         emitToStringMethod(writer);
         emitHashcodeMethod(writer);
         emitEqualsMethod(writer);
@@ -338,6 +344,26 @@ public class RealmProxyClassGenerator {
         }
     }
 
+    // The cached RealmLists belong to the previous row once the row accessor is moved, see RealmResults.visit()
+    private void emitOnRowMovedMethod(JavaWriter writer) throws IOException {
+        List<String> cachedFields = new ArrayList<String>();
+        for (VariableElement field : metadata.getFields()) {
+            if (Utils.isRealmList(field)) {
+                cachedFields.add(field.getSimpleName().toString() + "RealmList");
+            }
+        }
+        if (cachedFields.isEmpty()) {
+            return;
+        }
+        writer.emitAnnotation("Override");
+        writer.beginMethod("void", "onRowMoved", EnumSet.noneOf(Modifier.class));
+        for (String cachedField : cachedFields) {
+            writer.emitStatement("%s = null", cachedField);
+        }
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitInitTableMethod(JavaWriter writer) throws IOException {
         writer.beginMethod(
                 "Table", // Return type
@@ -749,6 +775,192 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitInsertMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                "long", // Return type
+                "insert", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                "Realm", "realm", className, "object", "Map<RealmObject, Long>", "cache"); // Argument type & argument name
+
+        writer
+            .beginControlFlow("if (object.realm != null && object.realm.getPath().equals(realm.getPath()))")
+                .emitStatement("return object.row.getIndex()")
+            .endControlFlow()
+            .emitStatement("Table table = realm.getTable(%s.class)", className)
+            .emitStatement("%s columnInfo = (%s) realm.getColumnInfo(%s.class)", columnInfoClassName(), columnInfoClassName(), className);
+        if (metadata.hasPrimaryKey()) {
+            writer.emitStatement("long rowIndex = table.addEmptyRowWithPrimaryKey(object.%s())", metadata.getPrimaryKeyGetter());
+        } else {
+            writer.emitStatement("long rowIndex = table.addEmptyRow()");
+        }
+        writer.emitStatement("cache.put(object, rowIndex)");
+
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String fieldTypeCanonicalName = field.asType().toString();
+            String getter = metadata.getGetter(fieldName);
+
+            if (Utils.isRealmObject(field)) {
+                writer
+                    .emitStatement("%s %sObj = object.%s()", Utils.getFieldTypeSimpleName(field), fieldName, getter)
+                    .beginControlFlow("if (%sObj != null)", fieldName)
+                        .emitStatement("table.setLink(%s, rowIndex, realm.insertIfNeeded(%sObj, cache))",
+                                fieldIndexVariableReference(field), fieldName)
+                    .endControlFlow();
+            } else if (Utils.isRealmList(field)) {
+                String genericType = Utils.getGenericType(field);
+                writer
+                    .emitStatement("RealmList<%s> %sList = object.%s()", genericType, fieldName, getter)
+                    .beginControlFlow("if (%sList != null && !%sList.isEmpty())", fieldName, fieldName)
+                        .emitStatement("LinkView %sLinkView = table.getLinkList(%s, rowIndex)",
+                                fieldName, fieldIndexVariableReference(field))
+                        .beginControlFlow("for (%s %sItem : %sList)", genericType, fieldName, fieldName)
+                            .emitStatement("%sLinkView.add(realm.insertIfNeeded(%sItem, cache))", fieldName, fieldName)
+                        .endControlFlow()
+                    .endControlFlow();
+            } else if (field != metadata.getPrimaryKey()) {
+                String realmType = Constants.JAVA_TO_REALM_TYPES.get(fieldTypeCanonicalName);
+                String castingType = Constants.CASTING_TYPES.get(fieldTypeCanonicalName);
+                if (Utils.isPrimitiveType(fieldTypeCanonicalName)) {
+                    writer.emitStatement("table.set%s(%s, rowIndex, (%s) object.%s())",
+                            realmType, fieldIndexVariableReference(field), castingType, getter);
+                    continue;
+                }
+                writer.emitStatement("%s %sValue = object.%s()", Utils.getFieldTypeSimpleName(field), fieldName, getter);
+                if (metadata.isNullable(field)) {
+                    // New rows are null for nullable columns
+                    writer.beginControlFlow("if (%sValue != null)", fieldName);
+                } else {
+                    writer
+                        .beginControlFlow("if (%sValue == null)", fieldName)
+                            .emitStatement(Constants.STATEMENT_EXCEPTION_ILLEGAL_NULL_VALUE, fieldName)
+                        .nextControlFlow("else");
+                }
+                writer
+                        .emitStatement("table.set%s(%s, rowIndex, (%s) %sValue)",
+                                realmType, fieldIndexVariableReference(field), castingType, fieldName)
+                    .endControlFlow();
+            }
+        }
+
+        writer.emitStatement("return rowIndex");
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitInsertAllMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                "void", // Return type
+                "insertAll", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                "Realm", "realm", "Collection<? extends RealmObject>", "objects", "Map<RealmObject, Long>", "cache"); // Argument type & argument name
+
+        writer
+            .emitStatement("Table table = realm.getTable(%s.class)", className)
+            .emitStatement("%s columnInfo = (%s) realm.getColumnInfo(%s.class)", columnInfoClassName(), columnInfoClassName(), className)
+            .emitStatement("RowBatch batch = new RowBatch(table, objects.size())")
+            .emitStatement("List<%s> batchObjects = new ArrayList<%s>(batch.getCapacity())", className, className)
+            .emitStatement("Iterator<? extends RealmObject> iterator = objects.iterator()")
+            .beginControlFlow("while (iterator.hasNext())")
+                .emitStatement("%s object = (%s) iterator.next()", className, className)
+                .beginControlFlow("if (!cache.containsKey(object))")
+                    .beginControlFlow("if (object.realm != null && object.realm.getPath().equals(realm.getPath()))")
+                        .emitStatement("cache.put(object, object.row.getIndex())")
+                    .nextControlFlow("else")
+                        .emitStatement("cache.put(object, null)")
+                        .emitStatement("batch.addRow()");
+
+        // Values are set in the batch, links once the rows have been added
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String fieldTypeCanonicalName = field.asType().toString();
+            if (!Constants.JAVA_TO_REALM_TYPES.containsKey(fieldTypeCanonicalName)) {
+                continue;
+            }
+            String realmType = Constants.JAVA_TO_REALM_TYPES.get(fieldTypeCanonicalName);
+            String castingType = Constants.CASTING_TYPES.get(fieldTypeCanonicalName);
+            String getter = metadata.getGetter(fieldName);
+
+            if (Utils.isPrimitiveType(fieldTypeCanonicalName) || (metadata.isNullable(field) && !Utils.isBoxedType(fieldTypeCanonicalName))) {
+                // Null Strings, Dates and byte[] are handled by the batch
+                writer.emitStatement("batch.set%s(%s, (%s) object.%s())",
+                        realmType, fieldIndexVariableReference(field), castingType, getter);
+            } else {
+                writer
+                    .emitStatement("%s %sValue = object.%s()", Utils.getFieldTypeSimpleName(field), fieldName, getter)
+                    .beginControlFlow("if (%sValue == null)", fieldName);
+                if (metadata.isNullable(field)) {
+                    writer.emitStatement("batch.setNull(%s)", fieldIndexVariableReference(field));
+                } else {
+                    writer.emitStatement(Constants.STATEMENT_EXCEPTION_ILLEGAL_NULL_VALUE, fieldName);
+                }
+                writer
+                    .nextControlFlow("else")
+                        .emitStatement("batch.set%s(%s, (%s) %sValue)",
+                                realmType, fieldIndexVariableReference(field), castingType, fieldName)
+                    .endControlFlow();
+            }
+        }
+
+        writer
+                        .emitStatement("batchObjects.add(object)")
+                    .endControlFlow()
+                .endControlFlow()
+                .beginControlFlow("if (batch.isFull() || (!iterator.hasNext() && batch.size() > 0))")
+                    .emitStatement("long firstRowIndex = batch.flush()")
+                    .beginControlFlow("for (int i = 0; i < batchObjects.size(); i++)")
+                        .emitStatement("cache.put(batchObjects.get(i), firstRowIndex + i)")
+                    .endControlFlow();
+
+        // Links are set once all the objects of the batch have a row, as they can link to each other
+        boolean hasLinks = false;
+        for (VariableElement field : metadata.getFields()) {
+            if (Utils.isRealmObject(field) || Utils.isRealmList(field)) {
+                hasLinks = true;
+            }
+        }
+        if (hasLinks) {
+            writer
+                    .beginControlFlow("for (int i = 0; i < batchObjects.size(); i++)")
+                        .emitStatement("%s batchObject = batchObjects.get(i)", className)
+                        .emitStatement("long rowIndex = firstRowIndex + i");
+        }
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String getter = metadata.getGetter(fieldName);
+            if (Utils.isRealmObject(field)) {
+                writer
+                    .emitStatement("%s %sObj = batchObject.%s()", Utils.getFieldTypeSimpleName(field), fieldName, getter)
+                    .beginControlFlow("if (%sObj != null)", fieldName)
+                        .emitStatement("table.setLink(%s, rowIndex, realm.insertIfNeeded(%sObj, cache))",
+                                fieldIndexVariableReference(field), fieldName)
+                    .endControlFlow();
+            } else if (Utils.isRealmList(field)) {
+                String genericType = Utils.getGenericType(field);
+                writer
+                    .emitStatement("RealmList<%s> %sList = batchObject.%s()", genericType, fieldName, getter)
+                    .beginControlFlow("if (%sList != null && !%sList.isEmpty())", fieldName, fieldName)
+                        .emitStatement("LinkView %sLinkView = table.getLinkList(%s, rowIndex)",
+                                fieldName, fieldIndexVariableReference(field))
+                        .beginControlFlow("for (%s %sItem : %sList)", genericType, fieldName, fieldName)
+                            .emitStatement("%sLinkView.add(realm.insertIfNeeded(%sItem, cache))", fieldName, fieldName)
+                        .endControlFlow()
+                    .endControlFlow();
+            }
+        }
+
+        if (hasLinks) {
+            writer.endControlFlow();
+        }
+        writer
+                    .emitStatement("batchObjects.clear()")
+                .endControlFlow()
+            .endControlFlow();
+
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitToStringMethod(JavaWriter writer) throws IOException {
         writer.emitAnnotation("Override");
         writer.beginMethod("String", "toString", EnumSet.of(Modifier.PUBLIC));
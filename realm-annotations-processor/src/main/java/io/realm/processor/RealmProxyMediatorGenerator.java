@@ -67,6 +67,7 @@ public class RealmProxyMediatorGenerator {
         writer.emitImports(
                 "android.util.JsonReader",
                 "java.io.IOException",
+                "java.util.Collection",
                 "java.util.Collections",
                 "java.util.HashSet",
                 "java.util.List",
@@ -100,6 +101,8 @@ public class RealmProxyMediatorGenerator {
         emitNewInstanceMethod(writer);
         emitGetClassModelList(writer);
         emitCopyToRealmMethod(writer);
+        emitInsertMethod(writer);
+        emitInsertAllMethod(writer);
         emitCreteOrUpdateUsingJsonObject(writer);
         emitCreateUsingJsonStream(writer);
 
@@ -239,6 +242,46 @@ public class RealmProxyMediatorGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitInsertMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "long",
+                "insert",
+                EnumSet.of(Modifier.PUBLIC),
+                "Realm", "realm", "RealmObject", "object", "Map<RealmObject, Long>", "cache"
+        );
+        writer.emitSingleLineComment("This cast is correct because object is either");
+        writer.emitSingleLineComment("generated by RealmProxy or the original type extending directly from RealmObject");
+        writer.emitStatement("@SuppressWarnings(\"unchecked\") Class<? extends RealmObject> clazz = (Class<? extends RealmObject>) ((object instanceof RealmObjectProxy) ? object.getClass().getSuperclass() : object.getClass())");
+        writer.emitEmptyLine();
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public void emitStatement(int i, JavaWriter writer) throws IOException {
+                writer.emitStatement("return %s.insert(realm, (%s) object, cache)", proxyClasses.get(i), simpleModelClasses.get(i));
+            }
+        }, writer, false);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitInsertAllMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "void",
+                "insertAll",
+                EnumSet.of(Modifier.PUBLIC),
+                "Class<? extends RealmObject>", "clazz", "Realm", "realm", "Collection<? extends RealmObject>", "objects", "Map<RealmObject, Long>", "cache"
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public void emitStatement(int i, JavaWriter writer) throws IOException {
+                writer.emitStatement("%s.insertAll(realm, objects, cache)", proxyClasses.get(i));
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitCreteOrUpdateUsingJsonObject(JavaWriter writer) throws IOException {
         writer.emitAnnotation("Override");
         writer.beginMethod(
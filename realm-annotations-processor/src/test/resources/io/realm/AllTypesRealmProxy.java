@@ -9,14 +9,17 @@ import io.realm.internal.ColumnType;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowBatch;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.json.JSONArray;
@@ -239,6 +242,11 @@ public class AllTypesRealmProxy extends AllTypes
         }
     }
 
+    @Override
+    void onRowMoved() {
+        columnRealmListRealmList = null;
+    }
+
     public static Table initTable(ImplicitTransaction transaction) {
         if (!transaction.hasTable("class_AllTypes")) {
             Table table = transaction.getTable("class_AllTypes");
@@ -674,6 +682,108 @@ public class AllTypesRealmProxy extends AllTypes
         return realmObject;
     }
 
+    public static long insert(Realm realm, AllTypes object, Map<RealmObject, Long> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object.row.getIndex();
+        }
+        Table table = realm.getTable(AllTypes.class);
+        AllTypesColumnInfo columnInfo = (AllTypesColumnInfo) realm.getColumnInfo(AllTypes.class);
+        long rowIndex = table.addEmptyRowWithPrimaryKey(object.getColumnString());
+        cache.put(object, rowIndex);
+        table.setLong(columnInfo.columnLongIndex, rowIndex, (long) object.getColumnLong());
+        table.setFloat(columnInfo.columnFloatIndex, rowIndex, (float) object.getColumnFloat());
+        table.setDouble(columnInfo.columnDoubleIndex, rowIndex, (double) object.getColumnDouble());
+        table.setBoolean(columnInfo.columnBooleanIndex, rowIndex, (boolean) object.isColumnBoolean());
+        Date columnDateValue = object.getColumnDate();
+        if (columnDateValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field columnDate to null.");
+        } else {
+            table.setDate(columnInfo.columnDateIndex, rowIndex, (Date) columnDateValue);
+        }
+        byte[] columnBinaryValue = object.getColumnBinary();
+        if (columnBinaryValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field columnBinary to null.");
+        } else {
+            table.setBinaryByteArray(columnInfo.columnBinaryIndex, rowIndex, (byte[]) columnBinaryValue);
+        }
+        AllTypes columnObjectObj = object.getColumnObject();
+        if (columnObjectObj != null) {
+            table.setLink(columnInfo.columnObjectIndex, rowIndex, realm.insertIfNeeded(columnObjectObj, cache));
+        }
+        RealmList<AllTypes> columnRealmListList = object.getColumnRealmList();
+        if (columnRealmListList != null && !columnRealmListList.isEmpty()) {
+            LinkView columnRealmListLinkView = table.getLinkList(columnInfo.columnRealmListIndex, rowIndex);
+            for (AllTypes columnRealmListItem : columnRealmListList) {
+                columnRealmListLinkView.add(realm.insertIfNeeded(columnRealmListItem, cache));
+            }
+        }
+        return rowIndex;
+    }
+
+    public static void insertAll(Realm realm, Collection<? extends RealmObject> objects, Map<RealmObject, Long> cache) {
+        Table table = realm.getTable(AllTypes.class);
+        AllTypesColumnInfo columnInfo = (AllTypesColumnInfo) realm.getColumnInfo(AllTypes.class);
+        RowBatch batch = new RowBatch(table, objects.size());
+        List<AllTypes> batchObjects = new ArrayList<AllTypes>(batch.getCapacity());
+        Iterator<? extends RealmObject> iterator = objects.iterator();
+        while (iterator.hasNext()) {
+            AllTypes object = (AllTypes) iterator.next();
+            if (!cache.containsKey(object)) {
+                if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+                    cache.put(object, object.row.getIndex());
+                } else {
+                    cache.put(object, null);
+                    batch.addRow();
+                    String columnStringValue = object.getColumnString();
+                    if (columnStringValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field columnString to null.");
+                    } else {
+                        batch.setString(columnInfo.columnStringIndex, (String) columnStringValue);
+                    }
+                    batch.setLong(columnInfo.columnLongIndex, (long) object.getColumnLong());
+                    batch.setFloat(columnInfo.columnFloatIndex, (float) object.getColumnFloat());
+                    batch.setDouble(columnInfo.columnDoubleIndex, (double) object.getColumnDouble());
+                    batch.setBoolean(columnInfo.columnBooleanIndex, (boolean) object.isColumnBoolean());
+                    Date columnDateValue = object.getColumnDate();
+                    if (columnDateValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field columnDate to null.");
+                    } else {
+                        batch.setDate(columnInfo.columnDateIndex, (Date) columnDateValue);
+                    }
+                    byte[] columnBinaryValue = object.getColumnBinary();
+                    if (columnBinaryValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field columnBinary to null.");
+                    } else {
+                        batch.setBinaryByteArray(columnInfo.columnBinaryIndex, (byte[]) columnBinaryValue);
+                    }
+                    batchObjects.add(object);
+                }
+            }
+            if (batch.isFull() || (!iterator.hasNext() && batch.size() > 0)) {
+                long firstRowIndex = batch.flush();
+                for (int i = 0; i < batchObjects.size(); i++) {
+                    cache.put(batchObjects.get(i), firstRowIndex + i);
+                }
+                for (int i = 0; i < batchObjects.size(); i++) {
+                    AllTypes batchObject = batchObjects.get(i);
+                    long rowIndex = firstRowIndex + i;
+                    AllTypes columnObjectObj = batchObject.getColumnObject();
+                    if (columnObjectObj != null) {
+                        table.setLink(columnInfo.columnObjectIndex, rowIndex, realm.insertIfNeeded(columnObjectObj, cache));
+                    }
+                    RealmList<AllTypes> columnRealmListList = batchObject.getColumnRealmList();
+                    if (columnRealmListList != null && !columnRealmListList.isEmpty()) {
+                        LinkView columnRealmListLinkView = table.getLinkList(columnInfo.columnRealmListIndex, rowIndex);
+                        for (AllTypes columnRealmListItem : columnRealmListList) {
+                            columnRealmListLinkView.add(realm.insertIfNeeded(columnRealmListItem, cache));
+                        }
+                    }
+                }
+                batchObjects.clear();
+            }
+        }
+    }
+
     @Override
     public String toString() {
         if (!isValid()) {
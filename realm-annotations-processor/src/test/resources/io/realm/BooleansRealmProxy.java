@@ -9,14 +9,17 @@ import io.realm.internal.ColumnType;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowBatch;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.json.JSONArray;
@@ -292,6 +295,52 @@ public class BooleansRealmProxy extends Booleans
         return realmObject;
     }
 
+    public static long insert(Realm realm, Booleans object, Map<RealmObject, Long> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object.row.getIndex();
+        }
+        Table table = realm.getTable(Booleans.class);
+        BooleansColumnInfo columnInfo = (BooleansColumnInfo) realm.getColumnInfo(Booleans.class);
+        long rowIndex = table.addEmptyRow();
+        cache.put(object, rowIndex);
+        table.setBoolean(columnInfo.doneIndex, rowIndex, (boolean) object.isDone());
+        table.setBoolean(columnInfo.isReadyIndex, rowIndex, (boolean) object.isReady());
+        table.setBoolean(columnInfo.mCompletedIndex, rowIndex, (boolean) object.ismCompleted());
+        table.setBoolean(columnInfo.anotherBooleanIndex, rowIndex, (boolean) object.getAnotherBoolean());
+        return rowIndex;
+    }
+
+    public static void insertAll(Realm realm, Collection<? extends RealmObject> objects, Map<RealmObject, Long> cache) {
+        Table table = realm.getTable(Booleans.class);
+        BooleansColumnInfo columnInfo = (BooleansColumnInfo) realm.getColumnInfo(Booleans.class);
+        RowBatch batch = new RowBatch(table, objects.size());
+        List<Booleans> batchObjects = new ArrayList<Booleans>(batch.getCapacity());
+        Iterator<? extends RealmObject> iterator = objects.iterator();
+        while (iterator.hasNext()) {
+            Booleans object = (Booleans) iterator.next();
+            if (!cache.containsKey(object)) {
+                if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+                    cache.put(object, object.row.getIndex());
+                } else {
+                    cache.put(object, null);
+                    batch.addRow();
+                    batch.setBoolean(columnInfo.doneIndex, (boolean) object.isDone());
+                    batch.setBoolean(columnInfo.isReadyIndex, (boolean) object.isReady());
+                    batch.setBoolean(columnInfo.mCompletedIndex, (boolean) object.ismCompleted());
+                    batch.setBoolean(columnInfo.anotherBooleanIndex, (boolean) object.getAnotherBoolean());
+                    batchObjects.add(object);
+                }
+            }
+            if (batch.isFull() || (!iterator.hasNext() && batch.size() > 0)) {
+                long firstRowIndex = batch.flush();
+                for (int i = 0; i < batchObjects.size(); i++) {
+                    cache.put(batchObjects.get(i), firstRowIndex + i);
+                }
+                batchObjects.clear();
+            }
+        }
+    }
+
     @Override
     public String toString() {
         if (!isValid()) {
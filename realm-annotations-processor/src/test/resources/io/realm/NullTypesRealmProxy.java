@@ -9,14 +9,17 @@ import io.realm.internal.ColumnType;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowBatch;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.json.JSONArray;
@@ -1174,6 +1177,261 @@ public class NullTypesRealmProxy extends NullTypes
         return realmObject;
     }
 
+    public static long insert(Realm realm, NullTypes object, Map<RealmObject, Long> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object.row.getIndex();
+        }
+        Table table = realm.getTable(NullTypes.class);
+        NullTypesColumnInfo columnInfo = (NullTypesColumnInfo) realm.getColumnInfo(NullTypes.class);
+        long rowIndex = table.addEmptyRow();
+        cache.put(object, rowIndex);
+        String fieldStringNotNullValue = object.getFieldStringNotNull();
+        if (fieldStringNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldStringNotNull to null.");
+        } else {
+            table.setString(columnInfo.fieldStringNotNullIndex, rowIndex, (String) fieldStringNotNullValue);
+        }
+        String fieldStringNullValue = object.getFieldStringNull();
+        if (fieldStringNullValue != null) {
+            table.setString(columnInfo.fieldStringNullIndex, rowIndex, (String) fieldStringNullValue);
+        }
+        Boolean fieldBooleanNotNullValue = object.getFieldBooleanNotNull();
+        if (fieldBooleanNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldBooleanNotNull to null.");
+        } else {
+            table.setBoolean(columnInfo.fieldBooleanNotNullIndex, rowIndex, (boolean) fieldBooleanNotNullValue);
+        }
+        Boolean fieldBooleanNullValue = object.getFieldBooleanNull();
+        if (fieldBooleanNullValue != null) {
+            table.setBoolean(columnInfo.fieldBooleanNullIndex, rowIndex, (boolean) fieldBooleanNullValue);
+        }
+        byte[] fieldBytesNotNullValue = object.getFieldBytesNotNull();
+        if (fieldBytesNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldBytesNotNull to null.");
+        } else {
+            table.setBinaryByteArray(columnInfo.fieldBytesNotNullIndex, rowIndex, (byte[]) fieldBytesNotNullValue);
+        }
+        byte[] fieldBytesNullValue = object.getFieldBytesNull();
+        if (fieldBytesNullValue != null) {
+            table.setBinaryByteArray(columnInfo.fieldBytesNullIndex, rowIndex, (byte[]) fieldBytesNullValue);
+        }
+        Byte fieldByteNotNullValue = object.getFieldByteNotNull();
+        if (fieldByteNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldByteNotNull to null.");
+        } else {
+            table.setLong(columnInfo.fieldByteNotNullIndex, rowIndex, (long) fieldByteNotNullValue);
+        }
+        Byte fieldByteNullValue = object.getFieldByteNull();
+        if (fieldByteNullValue != null) {
+            table.setLong(columnInfo.fieldByteNullIndex, rowIndex, (long) fieldByteNullValue);
+        }
+        Short fieldShortNotNullValue = object.getFieldShortNotNull();
+        if (fieldShortNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldShortNotNull to null.");
+        } else {
+            table.setLong(columnInfo.fieldShortNotNullIndex, rowIndex, (long) fieldShortNotNullValue);
+        }
+        Short fieldShortNullValue = object.getFieldShortNull();
+        if (fieldShortNullValue != null) {
+            table.setLong(columnInfo.fieldShortNullIndex, rowIndex, (long) fieldShortNullValue);
+        }
+        Integer fieldIntegerNotNullValue = object.getFieldIntegerNotNull();
+        if (fieldIntegerNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldIntegerNotNull to null.");
+        } else {
+            table.setLong(columnInfo.fieldIntegerNotNullIndex, rowIndex, (long) fieldIntegerNotNullValue);
+        }
+        Integer fieldIntegerNullValue = object.getFieldIntegerNull();
+        if (fieldIntegerNullValue != null) {
+            table.setLong(columnInfo.fieldIntegerNullIndex, rowIndex, (long) fieldIntegerNullValue);
+        }
+        Long fieldLongNotNullValue = object.getFieldLongNotNull();
+        if (fieldLongNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldLongNotNull to null.");
+        } else {
+            table.setLong(columnInfo.fieldLongNotNullIndex, rowIndex, (long) fieldLongNotNullValue);
+        }
+        Long fieldLongNullValue = object.getFieldLongNull();
+        if (fieldLongNullValue != null) {
+            table.setLong(columnInfo.fieldLongNullIndex, rowIndex, (long) fieldLongNullValue);
+        }
+        Float fieldFloatNotNullValue = object.getFieldFloatNotNull();
+        if (fieldFloatNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldFloatNotNull to null.");
+        } else {
+            table.setFloat(columnInfo.fieldFloatNotNullIndex, rowIndex, (float) fieldFloatNotNullValue);
+        }
+        Float fieldFloatNullValue = object.getFieldFloatNull();
+        if (fieldFloatNullValue != null) {
+            table.setFloat(columnInfo.fieldFloatNullIndex, rowIndex, (float) fieldFloatNullValue);
+        }
+        Double fieldDoubleNotNullValue = object.getFieldDoubleNotNull();
+        if (fieldDoubleNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldDoubleNotNull to null.");
+        } else {
+            table.setDouble(columnInfo.fieldDoubleNotNullIndex, rowIndex, (double) fieldDoubleNotNullValue);
+        }
+        Double fieldDoubleNullValue = object.getFieldDoubleNull();
+        if (fieldDoubleNullValue != null) {
+            table.setDouble(columnInfo.fieldDoubleNullIndex, rowIndex, (double) fieldDoubleNullValue);
+        }
+        Date fieldDateNotNullValue = object.getFieldDateNotNull();
+        if (fieldDateNotNullValue == null) {
+            throw new IllegalArgumentException("Trying to set non-nullable field fieldDateNotNull to null.");
+        } else {
+            table.setDate(columnInfo.fieldDateNotNullIndex, rowIndex, (Date) fieldDateNotNullValue);
+        }
+        Date fieldDateNullValue = object.getFieldDateNull();
+        if (fieldDateNullValue != null) {
+            table.setDate(columnInfo.fieldDateNullIndex, rowIndex, (Date) fieldDateNullValue);
+        }
+        NullTypes fieldObjectNullObj = object.getFieldObjectNull();
+        if (fieldObjectNullObj != null) {
+            table.setLink(columnInfo.fieldObjectNullIndex, rowIndex, realm.insertIfNeeded(fieldObjectNullObj, cache));
+        }
+        return rowIndex;
+    }
+
+    public static void insertAll(Realm realm, Collection<? extends RealmObject> objects, Map<RealmObject, Long> cache) {
+        Table table = realm.getTable(NullTypes.class);
+        NullTypesColumnInfo columnInfo = (NullTypesColumnInfo) realm.getColumnInfo(NullTypes.class);
+        RowBatch batch = new RowBatch(table, objects.size());
+        List<NullTypes> batchObjects = new ArrayList<NullTypes>(batch.getCapacity());
+        Iterator<? extends RealmObject> iterator = objects.iterator();
+        while (iterator.hasNext()) {
+            NullTypes object = (NullTypes) iterator.next();
+            if (!cache.containsKey(object)) {
+                if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+                    cache.put(object, object.row.getIndex());
+                } else {
+                    cache.put(object, null);
+                    batch.addRow();
+                    String fieldStringNotNullValue = object.getFieldStringNotNull();
+                    if (fieldStringNotNullValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field fieldStringNotNull to null.");
+                    } else {
+                        batch.setString(columnInfo.fieldStringNotNullIndex, (String) fieldStringNotNullValue);
+                    }
+                    batch.setString(columnInfo.fieldStringNullIndex, (String) object.getFieldStringNull());
+                    Boolean fieldBooleanNotNullValue = object.getFieldBooleanNotNull();
+                    if (fieldBooleanNotNullValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field fieldBooleanNotNull to null.");
+                    } else {
+                        batch.setBoolean(columnInfo.fieldBooleanNotNullIndex, (boolean) fieldBooleanNotNullValue);
+                    }
+                    Boolean fieldBooleanNullValue = object.getFieldBooleanNull();
+                    if (fieldBooleanNullValue == null) {
+                        batch.setNull(columnInfo.fieldBooleanNullIndex);
+                    } else {
+                        batch.setBoolean(columnInfo.fieldBooleanNullIndex, (boolean) fieldBooleanNullValue);
+                    }
+                    byte[] fieldBytesNotNullValue = object.getFieldBytesNotNull();
+                    if (fieldBytesNotNullValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field fieldBytesNotNull to null.");
+                    } else {
+                        batch.setBinaryByteArray(columnInfo.fieldBytesNotNullIndex, (byte[]) fieldBytesNotNullValue);
+                    }
+                    batch.setBinaryByteArray(columnInfo.fieldBytesNullIndex, (byte[]) object.getFieldBytesNull());
+                    Byte fieldByteNotNullValue = object.getFieldByteNotNull();
+                    if (fieldByteNotNullValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field fieldByteNotNull to null.");
+                    } else {
+                        batch.setLong(columnInfo.fieldByteNotNullIndex, (long) fieldByteNotNullValue);
+                    }
+                    Byte fieldByteNullValue = object.getFieldByteNull();
+                    if (fieldByteNullValue == null) {
+                        batch.setNull(columnInfo.fieldByteNullIndex);
+                    } else {
+                        batch.setLong(columnInfo.fieldByteNullIndex, (long) fieldByteNullValue);
+                    }
+                    Short fieldShortNotNullValue = object.getFieldShortNotNull();
+                    if (fieldShortNotNullValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field fieldShortNotNull to null.");
+                    } else {
+                        batch.setLong(columnInfo.fieldShortNotNullIndex, (long) fieldShortNotNullValue);
+                    }
+                    Short fieldShortNullValue = object.getFieldShortNull();
+                    if (fieldShortNullValue == null) {
+                        batch.setNull(columnInfo.fieldShortNullIndex);
+                    } else {
+                        batch.setLong(columnInfo.fieldShortNullIndex, (long) fieldShortNullValue);
+                    }
+                    Integer fieldIntegerNotNullValue = object.getFieldIntegerNotNull();
+                    if (fieldIntegerNotNullValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field fieldIntegerNotNull to null.");
+                    } else {
+                        batch.setLong(columnInfo.fieldIntegerNotNullIndex, (long) fieldIntegerNotNullValue);
+                    }
+                    Integer fieldIntegerNullValue = object.getFieldIntegerNull();
+                    if (fieldIntegerNullValue == null) {
+                        batch.setNull(columnInfo.fieldIntegerNullIndex);
+                    } else {
+                        batch.setLong(columnInfo.fieldIntegerNullIndex, (long) fieldIntegerNullValue);
+                    }
+                    Long fieldLongNotNullValue = object.getFieldLongNotNull();
+                    if (fieldLongNotNullValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field fieldLongNotNull to null.");
+                    } else {
+                        batch.setLong(columnInfo.fieldLongNotNullIndex, (long) fieldLongNotNullValue);
+                    }
+                    Long fieldLongNullValue = object.getFieldLongNull();
+                    if (fieldLongNullValue == null) {
+                        batch.setNull(columnInfo.fieldLongNullIndex);
+                    } else {
+                        batch.setLong(columnInfo.fieldLongNullIndex, (long) fieldLongNullValue);
+                    }
+                    Float fieldFloatNotNullValue = object.getFieldFloatNotNull();
+                    if (fieldFloatNotNullValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field fieldFloatNotNull to null.");
+                    } else {
+                        batch.setFloat(columnInfo.fieldFloatNotNullIndex, (float) fieldFloatNotNullValue);
+                    }
+                    Float fieldFloatNullValue = object.getFieldFloatNull();
+                    if (fieldFloatNullValue == null) {
+                        batch.setNull(columnInfo.fieldFloatNullIndex);
+                    } else {
+                        batch.setFloat(columnInfo.fieldFloatNullIndex, (float) fieldFloatNullValue);
+                    }
+                    Double fieldDoubleNotNullValue = object.getFieldDoubleNotNull();
+                    if (fieldDoubleNotNullValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field fieldDoubleNotNull to null.");
+                    } else {
+                        batch.setDouble(columnInfo.fieldDoubleNotNullIndex, (double) fieldDoubleNotNullValue);
+                    }
+                    Double fieldDoubleNullValue = object.getFieldDoubleNull();
+                    if (fieldDoubleNullValue == null) {
+                        batch.setNull(columnInfo.fieldDoubleNullIndex);
+                    } else {
+                        batch.setDouble(columnInfo.fieldDoubleNullIndex, (double) fieldDoubleNullValue);
+                    }
+                    Date fieldDateNotNullValue = object.getFieldDateNotNull();
+                    if (fieldDateNotNullValue == null) {
+                        throw new IllegalArgumentException("Trying to set non-nullable field fieldDateNotNull to null.");
+                    } else {
+                        batch.setDate(columnInfo.fieldDateNotNullIndex, (Date) fieldDateNotNullValue);
+                    }
+                    batch.setDate(columnInfo.fieldDateNullIndex, (Date) object.getFieldDateNull());
+                    batchObjects.add(object);
+                }
+            }
+            if (batch.isFull() || (!iterator.hasNext() && batch.size() > 0)) {
+                long firstRowIndex = batch.flush();
+                for (int i = 0; i < batchObjects.size(); i++) {
+                    cache.put(batchObjects.get(i), firstRowIndex + i);
+                }
+                for (int i = 0; i < batchObjects.size(); i++) {
+                    NullTypes batchObject = batchObjects.get(i);
+                    long rowIndex = firstRowIndex + i;
+                    NullTypes fieldObjectNullObj = batchObject.getFieldObjectNull();
+                    if (fieldObjectNullObj != null) {
+                        table.setLink(columnInfo.fieldObjectNullIndex, rowIndex, realm.insertIfNeeded(fieldObjectNullObj, cache));
+                    }
+                }
+                batchObjects.clear();
+            }
+        }
+    }
+
     @Override
     public String toString() {
         if (!isValid()) {
@@ -8,6 +8,7 @@ import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.Table;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -100,6 +101,30 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
         }
     }
 
+    @Override
+    public long insert(Realm realm, RealmObject object, Map<RealmObject, Long> cache) {
+        // This cast is correct because object is either
+        // generated by RealmProxy or the original type extending directly from RealmObject
+        @SuppressWarnings("unchecked") Class<? extends RealmObject> clazz = (Class<? extends RealmObject>) ((object instanceof RealmObjectProxy) ? object.getClass().getSuperclass() : object.getClass());
+
+        if (clazz.equals(AllTypes.class)) {
+            return AllTypesRealmProxy.insert(realm, (AllTypes) object, cache);
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    public void insertAll(Class<? extends RealmObject> clazz, Realm realm, Collection<? extends RealmObject> objects, Map<RealmObject, Long> cache) {
+        checkClass(clazz);
+
+        if (clazz.equals(AllTypes.class)) {
+            AllTypesRealmProxy.insertAll(realm, objects, cache);
+        } else {
+            throw getMissingProxyClassException(clazz);
+        }
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update)
             throws JSONException {
@@ -9,14 +9,17 @@ import io.realm.internal.ColumnType;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
+import io.realm.internal.RowBatch;
 import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.json.JSONArray;
@@ -210,6 +213,51 @@ public class SimpleRealmProxy extends Simple
         return realmObject;
     }
 
+    public static long insert(Realm realm, Simple object, Map<RealmObject, Long> cache) {
+        if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+            return object.row.getIndex();
+        }
+        Table table = realm.getTable(Simple.class);
+        SimpleColumnInfo columnInfo = (SimpleColumnInfo) realm.getColumnInfo(Simple.class);
+        long rowIndex = table.addEmptyRow();
+        cache.put(object, rowIndex);
+        String nameValue = object.getName();
+        if (nameValue != null) {
+            table.setString(columnInfo.nameIndex, rowIndex, (String) nameValue);
+        }
+        table.setLong(columnInfo.ageIndex, rowIndex, (long) object.getAge());
+        return rowIndex;
+    }
+
+    public static void insertAll(Realm realm, Collection<? extends RealmObject> objects, Map<RealmObject, Long> cache) {
+        Table table = realm.getTable(Simple.class);
+        SimpleColumnInfo columnInfo = (SimpleColumnInfo) realm.getColumnInfo(Simple.class);
+        RowBatch batch = new RowBatch(table, objects.size());
+        List<Simple> batchObjects = new ArrayList<Simple>(batch.getCapacity());
+        Iterator<? extends RealmObject> iterator = objects.iterator();
+        while (iterator.hasNext()) {
+            Simple object = (Simple) iterator.next();
+            if (!cache.containsKey(object)) {
+                if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
+                    cache.put(object, object.row.getIndex());
+                } else {
+                    cache.put(object, null);
+                    batch.addRow();
+                    batch.setString(columnInfo.nameIndex, (String) object.getName());
+                    batch.setLong(columnInfo.ageIndex, (long) object.getAge());
+                    batchObjects.add(object);
+                }
+            }
+            if (batch.isFull() || (!iterator.hasNext() && batch.size() > 0)) {
+                long firstRowIndex = batch.flush();
+                for (int i = 0; i < batchObjects.size(); i++) {
+                    cache.put(batchObjects.get(i), firstRowIndex + i);
+                }
+                batchObjects.clear();
+            }
+        }
+    }
+
     @Override
     public String toString() {
         if (!isValid()) {
@@ -43,6 +43,17 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeGetRow
 }
 
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeGetOriginRowIndex
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    try {
+        return LV(nativeLinkViewPtr)->get_origin_row_index();
+    } CATCH_STD()
+    return 0;
+}
+
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeGetTargetRowIndex
   (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong pos)
 {
@@ -79,6 +79,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeRemove
 JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeClear
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeGetOriginRowIndex
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeGetOriginRowIndex
+  (JNIEnv *, jobject, jlong);
+
 /*
  * Class:     io_realm_internal_LinkView
  * Method:    nativeSize
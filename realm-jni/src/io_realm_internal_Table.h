@@ -205,6 +205,30 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeMoveLastOver
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeAddEmptyRow
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeAddRows
+ * Signature: (JI[J[Ljava/lang/Object;[Ljava/lang/Object;)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeAddRows
+  (JNIEnv *, jobject, jlong, jint, jlongArray, jobjectArray, jobjectArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeFindFirstDuplicateLong
+ * Signature: (JJ[JI)I
+ */
+JNIEXPORT jint JNICALL Java_io_realm_internal_Table_nativeFindFirstDuplicateLong
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jint);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeFindFirstDuplicateString
+ * Signature: (JJ[Ljava/lang/String;I)I
+ */
+JNIEXPORT jint JNICALL Java_io_realm_internal_Table_nativeFindFirstDuplicateString
+  (JNIEnv *, jobject, jlong, jlong, jobjectArray, jint);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeGetSortedView
@@ -253,6 +277,46 @@ JNIEXPORT jfloat JNICALL Java_io_realm_internal_Table_nativeGetFloat
 JNIEXPORT jdouble JNICALL Java_io_realm_internal_Table_nativeGetDouble
   (JNIEnv *, jobject, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetLongs
+ * Signature: (JJJJ[JI)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetLongs
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlongArray, jint);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetBooleans
+ * Signature: (JJJJ[ZI)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetBooleans
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jbooleanArray, jint);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetFloats
+ * Signature: (JJJJ[FI)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetFloats
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jfloatArray, jint);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetDoubles
+ * Signature: (JJJJ[DI)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetDoubles
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jdoubleArray, jint);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetColumnValues
+ * Signature: (JJJJLjava/nio/ByteBuffer;II)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetColumnValues
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jobject, jint, jint);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeGetDateTime
@@ -477,6 +541,22 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_Table_nativeIsNullLink
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeNullifyLink
   (JNIEnv *, jobject, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeIsNull
+ * Signature: (JJJ)Z
+ */
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_Table_nativeIsNull
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetNull
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetNull
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeSumInt
@@ -14,12 +14,16 @@
  * limitations under the License.
  */
 
+#include <algorithm>
+#include <vector>
+
 #include <realm.hpp>
 #include <realm/group_shared.hpp>
 #include <realm/commit_log.hpp>
 #include "util.hpp"
 #include "io_realm_internal_TableQuery.h"
 #include "tablequery.hpp"
+#include "tableview_bounds.hpp"
 
 using namespace realm;
 
@@ -747,6 +751,111 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeContains(
 }
 
 
+// Set membership -----------------------------------------------
+// Core has no membership node, so the values are added as a group of equal conditions joined by Or in a single
+// call. Duplicates are removed first, and each condition can use the search index of the column.
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3J(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes, jlongArray values)
+{
+    GET_ARRAY()
+    try {
+        if (arr_len == 1 && !QUERY_COL_TYPE_VALID(env, nativeQueryPtr, arr[0], type_Int)) {
+            RELEASE_ARRAY()
+            return;
+        }
+        jsize values_len = env->GetArrayLength(values);
+        std::vector<int64_t> unique_values(values_len);
+        env->GetLongArrayRegion(values, 0, values_len, reinterpret_cast<jlong*>(unique_values.data()));
+        std::sort(unique_values.begin(), unique_values.end());
+        unique_values.erase(std::unique(unique_values.begin(), unique_values.end()), unique_values.end());
+
+        Query* query = Q(nativeQueryPtr);
+        TableRef table_ref;
+        if (arr_len > 1) {
+            table_ref = getTableForLinkQuery(nativeQueryPtr, arr, arr_len);
+        }
+        query->group();
+        for (size_t i = 0; i < unique_values.size(); ++i) {
+            if (i > 0) {
+                query->Or();
+            }
+            if (arr_len == 1) {
+                query->equal(S(arr[0]), unique_values[i]);
+            }
+            else {
+                query->and_query(numeric_link_equal<Int, int64_t, jlong>(table_ref, arr[arr_len-1], unique_values[i]));
+            }
+        }
+        query->end_group();
+    } CATCH_STD()
+    RELEASE_ARRAY()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3Ljava_lang_String_2Z(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlongArray columnIndexes, jobjectArray values, jboolean caseSensitive)
+{
+    GET_ARRAY()
+    try {
+        TableRef target_table = getTableByArray(nativeQueryPtr, arr, arr_len);
+        if (arr_len == 1 && !QUERY_COL_TYPE_VALID(env, nativeQueryPtr, arr[0], type_String)) {
+            RELEASE_ARRAY()
+            return;
+        }
+        bool is_case_sensitive = caseSensitive ? true : false;
+        jsize values_len = env->GetArrayLength(values);
+        std::vector<JStringAccessor> accessors;
+        accessors.reserve(values_len);
+        for (jsize i = 0; i < values_len; ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            if (value == NULL && !TBL_AND_COL_NULLABLE(env, target_table.get(), arr[arr_len-1])) {
+                RELEASE_ARRAY()
+                return;
+            }
+            accessors.emplace_back(env, value); // throws
+            // the array can be larger than the local reference table
+            env->DeleteLocalRef(value);
+        }
+        // a null string compares equal to an empty one, so it is kept aside
+        std::vector<StringData> unique_values;
+        bool has_null = false;
+        for (size_t i = 0; i < accessors.size(); ++i) {
+            StringData value = accessors[i];
+            if (value.is_null()) {
+                has_null = true;
+            }
+            else {
+                unique_values.push_back(value);
+            }
+        }
+        std::sort(unique_values.begin(), unique_values.end());
+        unique_values.erase(std::unique(unique_values.begin(), unique_values.end()), unique_values.end());
+        if (has_null) {
+            unique_values.push_back(StringData());
+        }
+
+        Query* query = Q(nativeQueryPtr);
+        TableRef table_ref;
+        if (arr_len > 1) {
+            table_ref = getTableForLinkQuery(nativeQueryPtr, arr, arr_len);
+        }
+        query->group();
+        for (size_t i = 0; i < unique_values.size(); ++i) {
+            if (i > 0) {
+                query->Or();
+            }
+            if (arr_len == 1) {
+                query->equal(S(arr[0]), unique_values[i], is_case_sensitive);
+            }
+            else {
+                query->and_query(table_ref->column<String>(size_t(arr[arr_len-1])).equal(unique_values[i], is_case_sensitive));
+            }
+        }
+        query->end_group();
+    } CATCH_STD()
+    RELEASE_ARRAY()
+}
+
 // General ----------------------------------------------------
 // TODO:
 // Some of these methods may not need the check for Table/Query validity,
@@ -892,7 +1001,7 @@ std::unique_ptr<Query> getHandoverQuery (jlong bgSharedGroupPtr, jlong replicati
 
 // queryPtr would be owned and released by this function
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindWithHandover(
-    JNIEnv* env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong fromTableRow)
+    JNIEnv* env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong offset, jlong limit)
 {
     TR_ENTER()
     try {
@@ -903,14 +1012,11 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindWithHandover
             return 0;
         }
 
-        // It's valid to go 1 past the end index
-        if ((fromTableRow < 0) || (S(fromTableRow) > table->size())) {
-            // below check will fail with appropriate exception
-            (void) ROW_INDEX_VALID(env, table.get(), fromTableRow);
-            return 0;
+        // skip the first offset matches, no match is kept with a limit of 0
+        size_t r = (limit == 0) ? not_found : query->find(0);
+        for (jlong i = 0; i < offset && r != not_found; ++i) {
+            r = query->find(r + 1);
         }
-
-        size_t r = query->find(S(fromTableRow));
         if (r == not_found) {
             return 0;
         } else {
@@ -966,6 +1072,53 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllWithHando
       return 0;
   }
 
+// Runs the query, keeping the matches [offset, offset + limit). The view stops after offset + limit matches, and
+// the bounds registered for it are applied again to the matches each time it is synced.
+static TableView find_all_range(Query* query, size_t offset, size_t limit)
+{
+    size_t match_limit = (limit > size_t(-1) - offset) ? size_t(-1) : offset + limit;
+    TableView tableView(query->find_all(0, size_t(-1), match_limit));
+    apply_view_bounds(tableView, offset, limit);
+    return tableView;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllRange(
+    JNIEnv* env, jobject, jlong nativeQueryPtr, jlong offset, jlong limit)
+{
+    TR_ENTER()
+    Query* query = Q(nativeQueryPtr);
+    if (!QUERY_VALID(env, query))
+        return -1;
+    try {
+        TableView* tableView = new TableView( find_all_range(query, S(offset), S(limit)) );
+        set_view_bounds(tableView, S(offset), S(limit));
+        return reinterpret_cast<jlong>(tableView);
+    } CATCH_STD()
+    return -1;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllRangeWithHandover
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong offset, jlong limit)
+{
+    TR_ENTER()
+    try {
+        std::unique_ptr<Query> query = getHandoverQuery(bgSharedGroupPtr, replicationPtr, queryPtr);
+        if (!QUERY_VALID(env, query.get())) {
+            return 0;
+        }
+
+        // run the query
+        TableView tableView(find_all_range(query.get(), S(offset), S(limit)));
+
+        // handover the result
+        std::unique_ptr<SharedGroup::Handover<TableView>> handover = SG(
+                bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
+        set_view_bounds(handover.get(), S(offset), S(limit));
+        return reinterpret_cast<jlong>(handover.release());
+    } CATCH_STD()
+    return 0;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeGetDistinctViewWithHandover
         (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong columnIndex)
 {
@@ -1001,19 +1154,18 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeGetDistinctViewW
 }
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllSortedWithHandover
-  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong start, jlong end, jlong limit, jlong columnIndex, jboolean ascending)
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong offset, jlong limit, jlong columnIndex, jboolean ascending)
   {
       TR_ENTER()
       try {
           std::unique_ptr<Query> query = getHandoverQuery(bgSharedGroupPtr, replicationPtr, queryPtr);
-          TableRef table =  query->get_table();
 
-          if (!(QUERY_VALID(env, query.get()) && ROW_INDEXES_VALID(env, table.get(), start, end, limit))) {
+          if (!QUERY_VALID(env, query.get())) {
               return 0;
           }
 
-          // run the query
-          TableView tableView( query->find_all(S(start), S(end), S(limit)) );
+          // run the query, the bounds are applied to the sorted matches
+          TableView tableView( query->find_all() );
 
           // sorting the results
           if (!COL_INDEX_VALID(env, &tableView, columnIndex)) {
@@ -1034,16 +1186,18 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllSortedWit
                    ThrowException(env, IllegalArgument, ERR_SORT_NOT_SUPPORTED);
                    return 0;
            }
+          apply_view_bounds(tableView, S(offset), S(limit));
 
           // handover the result
           std::unique_ptr<SharedGroup::Handover<TableView> > handover = SG(bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
+          set_view_bounds(handover.get(), S(offset), S(limit));
           return reinterpret_cast<jlong>(handover.release());
       } CATCH_STD()
       return 0;
   }
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllMultiSortedWithHandover
-  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong start, jlong end, jlong limit, jlongArray columnIndices, jbooleanArray ascending)
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jlong offset, jlong limit, jlongArray columnIndices, jbooleanArray ascending)
   {
       TR_ENTER()
       try {
@@ -1068,13 +1222,12 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllMultiSort
 
           // import the handover query pointer using the background SharedGroup
           std::unique_ptr<Query> query = getHandoverQuery(bgSharedGroupPtr, replicationPtr, queryPtr);
-          TableRef table = query->get_table();
 
-          if (!QUERY_VALID(env, query.get()) || !ROW_INDEXES_VALID(env, table.get(), start, end, limit))
+          if (!QUERY_VALID(env, query.get()))
               return 0;
 
-          // run the query
-          TableView tableView( query->find_all(S(start), S(end), S(limit)) );
+          // run the query, the bounds are applied to the sorted matches
+          TableView tableView( query->find_all() );
 
           // sorting the results
           std::vector<size_t> indices;
@@ -1103,14 +1256,113 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllMultiSort
           tableView.sort(indices, ascendings);
           env->ReleaseLongArrayElements(columnIndices, long_arr, 0);
           env->ReleaseBooleanArrayElements(ascending, bool_arr, 0);
+          apply_view_bounds(tableView, S(offset), S(limit));
 
           // handover the result
           std::unique_ptr<SharedGroup::Handover<TableView> > handover = SG(bgSharedGroupPtr)->export_for_handover(tableView, MutableSourcePayload::Move);
+          set_view_bounds(handover.get(), S(offset), S(limit));
           return reinterpret_cast<jlong>(handover.release());
       } CATCH_STD()
       return 0;
   }
 
+// Must match the aggregate types of io.realm.internal.async.ArgumentsHolder
+#define AGGREGATE_COUNT   5
+#define AGGREGATE_SUM     6
+#define AGGREGATE_AVERAGE 7
+#define AGGREGATE_MINIMUM 8
+#define AGGREGATE_MAXIMUM 9
+
+// queryPtr would be owned and released by this function
+JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeAggregateWithHandover
+  (JNIEnv *env, jobject, jlong bgSharedGroupPtr, jlong replicationPtr, jlong queryPtr, jint aggregate, jlong columnIndex)
+{
+    TR_ENTER()
+    try {
+        std::unique_ptr<Query> query = getHandoverQuery(bgSharedGroupPtr, replicationPtr, queryPtr);
+        TableRef table = query->get_table();
+        if (!QUERY_VALID(env, query.get())) {
+            return NULL;
+        }
+        if (aggregate == AGGREGATE_COUNT) {
+            return NewLong(env, query->count());
+        }
+        if (!TBL_AND_COL_INDEX_VALID(env, table.get(), columnIndex)) {
+            return NULL;
+        }
+
+        size_t col = S(columnIndex);
+        size_t return_ndx = 0;
+        switch (table->get_column_type(col)) {
+            case type_Int:
+                switch (aggregate) {
+                    case AGGREGATE_SUM:
+                        return NewLong(env, query->sum_int(col));
+                    case AGGREGATE_AVERAGE:
+                        return NewDouble(env, query->average_int(col));
+                    case AGGREGATE_MINIMUM: {
+                        int64_t result = query->minimum_int(col, NULL, 0, npos, npos, &return_ndx);
+                        return (return_ndx != npos) ? NewLong(env, result) : NULL;
+                    }
+                    case AGGREGATE_MAXIMUM: {
+                        int64_t result = query->maximum_int(col, NULL, 0, npos, npos, &return_ndx);
+                        return (return_ndx != npos) ? NewLong(env, result) : NULL;
+                    }
+                }
+                break;
+            case type_Float:
+                switch (aggregate) {
+                    case AGGREGATE_SUM:
+                        return NewDouble(env, query->sum_float(col));
+                    case AGGREGATE_AVERAGE:
+                        return NewDouble(env, query->average_float(col));
+                    case AGGREGATE_MINIMUM: {
+                        float result = query->minimum_float(col, NULL, 0, npos, npos, &return_ndx);
+                        return (return_ndx != npos) ? NewFloat(env, result) : NULL;
+                    }
+                    case AGGREGATE_MAXIMUM: {
+                        float result = query->maximum_float(col, NULL, 0, npos, npos, &return_ndx);
+                        return (return_ndx != npos) ? NewFloat(env, result) : NULL;
+                    }
+                }
+                break;
+            case type_Double:
+                switch (aggregate) {
+                    case AGGREGATE_SUM:
+                        return NewDouble(env, query->sum_double(col));
+                    case AGGREGATE_AVERAGE:
+                        return NewDouble(env, query->average_double(col));
+                    case AGGREGATE_MINIMUM: {
+                        double result = query->minimum_double(col, NULL, 0, npos, npos, &return_ndx);
+                        return (return_ndx != npos) ? NewDouble(env, result) : NULL;
+                    }
+                    case AGGREGATE_MAXIMUM: {
+                        double result = query->maximum_double(col, NULL, 0, npos, npos, &return_ndx);
+                        return (return_ndx != npos) ? NewDouble(env, result) : NULL;
+                    }
+                }
+                break;
+            case type_DateTime:
+                // dates are returned in seconds, like nativeMinimumDate/nativeMaximumDate
+                switch (aggregate) {
+                    case AGGREGATE_MINIMUM: {
+                        DateTime result = query->minimum_int(col, NULL, 0, npos, npos, &return_ndx);
+                        return (return_ndx != npos) ? NewLong(env, result.get_datetime()) : NULL;
+                    }
+                    case AGGREGATE_MAXIMUM: {
+                        DateTime result = query->maximum_int(col, NULL, 0, npos, npos, &return_ndx);
+                        return (return_ndx != npos) ? NewLong(env, result.get_datetime()) : NULL;
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+        ThrowException(env, IllegalArgument, "This aggregate is not supported for the type of the column.");
+    } CATCH_STD()
+    return NULL;
+}
+
 // Integer Aggregates
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeSumInt(
@@ -1512,11 +1764,13 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeImportHandoverTa
         if (SG(callerSharedGrpPtr)->is_attached()) {
             std::unique_ptr<TableView> tableView = SG(callerSharedGrpPtr)->import_from_handover(
                     std::move(handoverTableView));
+            move_view_bounds(handoverTableViewPtr, tableView.get());
             return reinterpret_cast<jlong>(tableView.release());
         } else {
             ThrowException(env, RuntimeError, ERR_IMPORT_CLOSED_REALM);
         }
     } CATCH_STD()
+    erase_view_bounds(handoverTableViewPtr);
     return 0;
   }
 
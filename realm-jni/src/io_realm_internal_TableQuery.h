@@ -23,6 +23,22 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeClose
 JNIEXPORT jstring JNICALL Java_io_realm_internal_TableQuery_nativeValidateQuery
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeIn
+ * Signature: (J[J[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3J
+  (JNIEnv *, jobject, jlong, jlongArray, jlongArray);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeIn
+ * Signature: (J[J[Ljava/lang/String;Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableQuery_nativeIn__J_3J_3Ljava_lang_String_2Z
+  (JNIEnv *, jobject, jlong, jlongArray, jobjectArray, jboolean);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeTableview
@@ -362,10 +378,10 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFind
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeFindWithHandover
- * Signature: (JJJJ)J
+ * Signature: (JJJJJ)J
  */
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindWithHandover
-  (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong);
 
 /*
  * Class:     io_realm_internal_TableQuery
@@ -375,6 +391,22 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindWithHandover
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAll
   (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeFindAllRange
+ * Signature: (JJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllRange
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeFindAllRangeWithHandover
+ * Signature: (JJJJJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllRangeWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeFindAllWithHandover
@@ -394,18 +426,26 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeGetDistinctViewW
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeFindAllSortedWithHandover
- * Signature: (JJJJJJJZ)J
+ * Signature: (JJJJJJZ)J
  */
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllSortedWithHandover
-  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong, jlong, jlong, jboolean);
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong, jlong, jboolean);
 
 /*
  * Class:     io_realm_internal_TableQuery
  * Method:    nativeFindAllMultiSortedWithHandover
- * Signature: (JJJJJJ[J[Z)J
+ * Signature: (JJJJJ[J[Z)J
  */
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableQuery_nativeFindAllMultiSortedWithHandover
-  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong, jlong, jlongArray, jbooleanArray);
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlong, jlongArray, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_TableQuery
+ * Method:    nativeAggregateWithHandover
+ * Signature: (JJJIJ)Ljava/lang/Object;
+ */
+JNIEXPORT jobject JNICALL Java_io_realm_internal_TableQuery_nativeAggregateWithHandover
+  (JNIEnv *, jobject, jlong, jlong, jlong, jint, jlong);
 
 /*
  * Class:     io_realm_internal_TableQuery
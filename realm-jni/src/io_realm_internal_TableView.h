@@ -95,6 +95,54 @@ JNIEXPORT jfloat JNICALL Java_io_realm_internal_TableView_nativeGetFloat
 JNIEXPORT jdouble JNICALL Java_io_realm_internal_TableView_nativeGetDouble
   (JNIEnv *, jobject, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetLongs
+ * Signature: (JJJJ[JI)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetLongs
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jlongArray, jint);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetBooleans
+ * Signature: (JJJJ[ZI)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetBooleans
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jbooleanArray, jint);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetFloats
+ * Signature: (JJJJ[FI)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetFloats
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jfloatArray, jint);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetDoubles
+ * Signature: (JJJJ[DI)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetDoubles
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jdoubleArray, jint);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetColumnValues
+ * Signature: (JJJJLjava/nio/ByteBuffer;II)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetColumnValues
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong, jobject, jint, jint);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetRowFingerprints
+ * Signature: (J[J[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetRowFingerprints
+  (JNIEnv *, jobject, jlong, jlongArray, jlongArray);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeGetDateTimeValue
@@ -551,6 +599,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativePivot
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSync
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetBounds
+ * Signature: (JJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetBounds
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
 #ifdef __cplusplus
 }
 #endif
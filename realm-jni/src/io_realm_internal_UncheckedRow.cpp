@@ -25,7 +25,7 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_UncheckedRow_nativeGetColumnCount
   (JNIEnv *, jobject, jlong nativeRowPtr)
 {
     TR_ENTER_PTR(nativeRowPtr)
-    if (!ROW(nativeRowPtr)->is_attached())
+    if (ROW(nativeRowPtr) == NULL || !ROW(nativeRowPtr)->is_attached())
         return 0;
 
     return ROW(nativeRowPtr)->get_column_count(); // noexcept
@@ -48,7 +48,7 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_UncheckedRow_nativeGetColumnIndex
   (JNIEnv* env, jobject, jlong nativeRowPtr, jstring columnName)
 {
     TR_ENTER_PTR(nativeRowPtr)
-    if (!ROW(nativeRowPtr)->is_attached())
+    if (ROW(nativeRowPtr) == NULL || !ROW(nativeRowPtr)->is_attached())
         return 0;
 
     try {
@@ -59,9 +59,12 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_UncheckedRow_nativeGetColumnIndex
 }
 
 JNIEXPORT jint JNICALL Java_io_realm_internal_UncheckedRow_nativeGetColumnType
-  (JNIEnv*, jobject, jlong nativeRowPtr, jlong columnIndex)
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex)
 {
     TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return 0;
+
     return static_cast<jint>( ROW(nativeRowPtr)->get_column_type( S(columnIndex)) ); // noexcept
 }
 
@@ -374,7 +377,7 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_UncheckedRow_nativeIsAttached
   (JNIEnv *, jobject, jlong nativeRowPtr)
 {
     TR_ENTER_PTR(nativeRowPtr)
-    return ROW(nativeRowPtr)->is_attached();
+    return ROW(nativeRowPtr) != NULL && ROW(nativeRowPtr)->is_attached();
 }
 
 JNIEXPORT jboolean JNICALL Java_io_realm_internal_UncheckedRow_nativeHasColumn
@@ -385,13 +388,19 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_UncheckedRow_nativeHasColumn
 }
 
 JNIEXPORT jboolean JNICALL Java_io_realm_internal_UncheckedRow_nativeIsNull
-  (JNIEnv *, jobject, jlong nativeRowPtr, jlong columnIndex) {
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex) {
     TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return 0;
+
     return ROW(nativeRowPtr)->is_null(columnIndex);
 }
 
 JNIEXPORT void JNICALL Java_io_realm_internal_UncheckedRow_nativeSetNull
-  (JNIEnv *, jobject, jlong nativeRowPtr, jlong columnIndex) {
+  (JNIEnv* env, jobject, jlong nativeRowPtr, jlong columnIndex) {
     TR_ENTER_PTR(nativeRowPtr)
+    if (!ROW_VALID(env, ROW(nativeRowPtr)))
+        return;
+
     ROW(nativeRowPtr)->set_null(columnIndex);
 }
@@ -70,7 +70,12 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Util_nativeSetDebugLevel(JNIEnv*,
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Util_nativeGetMemUsage(JNIEnv*, jclass)
 {
+#ifdef REALM_ENABLE_MEM_USAGE
     return GetMemUsage();
+#else
+    // not measured, GetMemUsage() would return 0
+    return -1;
+#endif
 }
 
 // -------------------------- Testcases for exception handling
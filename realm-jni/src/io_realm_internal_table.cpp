@@ -15,6 +15,8 @@
  */
 
 #include <sstream>
+#include <unordered_set>
+#include <vector>
 
 #include "util.hpp"
 #include "mixedutil.hpp"
@@ -507,6 +509,180 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeAddEmptyRow(
     return 0;
 }
 
+// Reads the values of a column of a batch. Java arrays are copied so nothing has to be released if core throws.
+template <class J, class A, class R>
+std::vector<J> get_batch_column(JNIEnv* env, A array, jint count, R getRegion)
+{
+    std::vector<J> values(S(count));
+    if (count > 0) {
+        (env->*getRegion)(array, 0, count, values.data());
+    }
+    return values;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeAddRows(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jint count, jlongArray columnIndices, jobjectArray values,
+    jobjectArray nulls)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    if (!TABLE_VALID(env, pTable))
+        return 0;
+    jsize columns = env->GetArrayLength(columnIndices);
+    std::vector<jlong> indices = get_batch_column<jlong>(env, columnIndices, columns, &JNIEnv::GetLongArrayRegion);
+    for (jsize c = 0; c < columns; ++c) {
+        if (!COL_INDEX_VALID(env, pTable, indices[c]))
+            return 0;
+    }
+
+    try {
+        size_t first = pTable->add_empty_row(S(count));
+        for (jsize c = 0; c < columns; ++c) {
+            size_t col = S(indices[c]);
+            jobject column = env->GetObjectArrayElement(values, c);
+            jbooleanArray columnNulls = static_cast<jbooleanArray>(env->GetObjectArrayElement(nulls, c));
+            std::vector<jboolean> isNull;
+            if (columnNulls != NULL) {
+                isNull = get_batch_column<jboolean>(env, columnNulls, count, &JNIEnv::GetBooleanArrayRegion);
+                env->DeleteLocalRef(columnNulls);
+            }
+
+            switch (pTable->get_column_type(col)) {
+                case type_Int: {
+                    std::vector<jlong> v = get_batch_column<jlong>(env, static_cast<jlongArray>(column), count, &JNIEnv::GetLongArrayRegion);
+                    for (size_t r = 0; r < S(count); ++r) {
+                        if (!isNull.empty() && isNull[r])
+                            pTable->set_null(col, first + r);
+                        else
+                            pTable->set_int(col, first + r, v[r]);
+                    }
+                    break;
+                }
+                case type_Bool: {
+                    std::vector<jboolean> v = get_batch_column<jboolean>(env, static_cast<jbooleanArray>(column), count, &JNIEnv::GetBooleanArrayRegion);
+                    for (size_t r = 0; r < S(count); ++r) {
+                        if (!isNull.empty() && isNull[r])
+                            pTable->set_null(col, first + r);
+                        else
+                            pTable->set_bool(col, first + r, v[r] != 0);
+                    }
+                    break;
+                }
+                case type_Float: {
+                    std::vector<jfloat> v = get_batch_column<jfloat>(env, static_cast<jfloatArray>(column), count, &JNIEnv::GetFloatArrayRegion);
+                    for (size_t r = 0; r < S(count); ++r) {
+                        if (!isNull.empty() && isNull[r])
+                            pTable->set_null(col, first + r);
+                        else
+                            pTable->set_float(col, first + r, v[r]);
+                    }
+                    break;
+                }
+                case type_Double: {
+                    std::vector<jdouble> v = get_batch_column<jdouble>(env, static_cast<jdoubleArray>(column), count, &JNIEnv::GetDoubleArrayRegion);
+                    for (size_t r = 0; r < S(count); ++r) {
+                        if (!isNull.empty() && isNull[r])
+                            pTable->set_null(col, first + r);
+                        else
+                            pTable->set_double(col, first + r, v[r]);
+                    }
+                    break;
+                }
+                case type_DateTime: {
+                    // Seconds since epoch, like nativeSetDate()
+                    std::vector<jlong> v = get_batch_column<jlong>(env, static_cast<jlongArray>(column), count, &JNIEnv::GetLongArrayRegion);
+                    for (size_t r = 0; r < S(count); ++r) {
+                        if (!isNull.empty() && isNull[r])
+                            pTable->set_null(col, first + r);
+                        else
+                            pTable->set_datetime(col, first + r, v[r]);
+                    }
+                    break;
+                }
+                case type_Link: {
+                    // New rows have null links, so only the others have to be set
+                    std::vector<jlong> v = get_batch_column<jlong>(env, static_cast<jlongArray>(column), count, &JNIEnv::GetLongArrayRegion);
+                    for (size_t r = 0; r < S(count); ++r) {
+                        if (isNull.empty() || !isNull[r])
+                            pTable->set_link(col, first + r, S(v[r]));
+                    }
+                    break;
+                }
+                case type_String: {
+                    jobjectArray strings = static_cast<jobjectArray>(column);
+                    for (jint r = 0; r < count; ++r) {
+                        jstring value = static_cast<jstring>(env->GetObjectArrayElement(strings, r));
+                        JStringAccessor accessor(env, value); // throws
+                        pTable->set_string(col, first + S(r), accessor);
+                        env->DeleteLocalRef(value);
+                    }
+                    break;
+                }
+                case type_Binary: {
+                    jobjectArray arrays = static_cast<jobjectArray>(column);
+                    for (jint r = 0; r < count; ++r) {
+                        jbyteArray value = static_cast<jbyteArray>(env->GetObjectArrayElement(arrays, r));
+                        if (value == NULL) {
+                            pTable->set_binary(col, first + S(r), BinaryData());
+                        }
+                        else {
+                            tbl_nativeDoByteArray(&Table::set_binary, pTable, env, static_cast<jlong>(col),
+                                                  static_cast<jlong>(first + S(r)), value);
+                            env->DeleteLocalRef(value);
+                        }
+                    }
+                    break;
+                }
+                default:
+                    ThrowException(env, IllegalArgument, "Column type is not supported in a batch.");
+                    return 0;
+            }
+            env->DeleteLocalRef(column);
+        }
+        return static_cast<jlong>(first);
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jint JNICALL Java_io_realm_internal_Table_nativeFindFirstDuplicateLong(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray values, jint count)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Int))
+        return 0;
+    try {
+        std::vector<jlong> v = get_batch_column<jlong>(env, values, count, &JNIEnv::GetLongArrayRegion);
+        std::unordered_set<int64_t> seen;
+        for (jint i = 0; i < count; ++i) {
+            if (!seen.insert(v[i]).second ||
+                    TBL(nativeTablePtr)->find_first_int(S(columnIndex), v[i]) != realm::not_found)
+                return i;
+        }
+        return -1;
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jint JNICALL Java_io_realm_internal_Table_nativeFindFirstDuplicateString(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jobjectArray values, jint count)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_String))
+        return 0;
+    try {
+        std::unordered_set<std::string> seen;
+        for (jint i = 0; i < count; ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            JStringAccessor accessor(env, value); // throws
+            StringData data = accessor;
+            bool duplicate = !seen.insert(std::string(data.data(), data.size())).second ||
+                    TBL(nativeTablePtr)->find_first_string(S(columnIndex), data) != realm::not_found;
+            env->DeleteLocalRef(value);
+            if (duplicate)
+                return i;
+        }
+        return -1;
+    } CATCH_STD()
+    return 0;
+}
+
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeRemove(
     JNIEnv* env, jobject, jlong nativeTablePtr, jlong rowIndex)
 {
@@ -584,6 +760,52 @@ JNIEXPORT jdouble JNICALL Java_io_realm_internal_Table_nativeGetDouble(
     return TBL(nativeTablePtr)->get_double( S(columnIndex), S(rowIndex));  // noexcept
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetLongs(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong start, jlong count, jlongArray values, jint offset)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Int) ||
+        !tbl_RowRangeValid(env, TBL(nativeTablePtr), start, count))
+        return;
+    tbl_nativeGetColumnValues<jlong>(&Table::get_int, TBL(nativeTablePtr), env, columnIndex, start, count, values, offset);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetBooleans(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong start, jlong count, jbooleanArray values, jint offset)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Bool) ||
+        !tbl_RowRangeValid(env, TBL(nativeTablePtr), start, count))
+        return;
+    tbl_nativeGetColumnValues<jboolean>(&Table::get_bool, TBL(nativeTablePtr), env, columnIndex, start, count, values, offset);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetFloats(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong start, jlong count, jfloatArray values, jint offset)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Float) ||
+        !tbl_RowRangeValid(env, TBL(nativeTablePtr), start, count))
+        return;
+    tbl_nativeGetColumnValues<jfloat>(&Table::get_float, TBL(nativeTablePtr), env, columnIndex, start, count, values, offset);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetDoubles(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong start, jlong count, jdoubleArray values, jint offset)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Double) ||
+        !tbl_RowRangeValid(env, TBL(nativeTablePtr), start, count))
+        return;
+    tbl_nativeGetColumnValues<jdouble>(&Table::get_double, TBL(nativeTablePtr), env, columnIndex, start, count, values, offset);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeGetColumnValues(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong start, jlong count, jobject buffer, jint position,
+    jint limit)
+{
+    if (!TBL_AND_COL_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex) ||
+        !tbl_RowRangeValid(env, TBL(nativeTablePtr), start, count))
+        return;
+    tbl_nativeGetColumnValuesToBuffer(TBL(nativeTablePtr), env, columnIndex, start, count, buffer, position, limit);
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetDateTime(
     JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
 {
@@ -900,6 +1122,29 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeNullifyLink
     } CATCH_STD()
 }
 
+JNIEXPORT jboolean JNICALL Java_io_realm_internal_Table_nativeIsNull
+  (JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
+{
+    if (!TBL_AND_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex, rowIndex))
+        return false;
+    try {
+        return TBL(nativeTablePtr)->is_null(S(columnIndex), S(rowIndex));
+    } CATCH_STD()
+    return false;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetNull
+  (JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
+{
+    if (!TBL_AND_INDEX_VALID(env, TBL(nativeTablePtr), columnIndex, rowIndex))
+        return;
+    if (!TBL_AND_COL_NULLABLE(env, TBL(nativeTablePtr), columnIndex))
+        return;
+    try {
+        TBL(nativeTablePtr)->set_null(S(columnIndex), S(rowIndex));
+    } CATCH_STD()
+}
+
 //---------------------- Aggregate methods for integers
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeSumInt(
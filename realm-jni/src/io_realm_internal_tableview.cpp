@@ -19,8 +19,10 @@
 #include "mixedutil.hpp"
 #include "tablebase_tpl.hpp"
 #include "tablequery.hpp"
+#include "tableview_bounds.hpp"
 #include "realm/array.hpp"
 #include <ostream>
+#include <vector>
 
 using namespace realm;
 
@@ -34,7 +36,7 @@ inline bool view_valid_and_in_sync(JNIEnv* env, jlong nativeViewPtr) {
             ThrowException(env, TableInvalid, "Table is closed, and no longer valid to operate on.");
             return false;
         }
-        TV(nativeViewPtr)->sync_if_needed();
+        sync_bounded_view(TV(nativeViewPtr));
     }
     return valid;
 }
@@ -54,7 +56,7 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativePivot(
 {
 
     try {
-        TV(dataTablePtr)->sync_if_needed();
+        sync_bounded_view(TV(dataTablePtr));
         TableView* dataTable = TV(dataTablePtr);
         Table* resultTable = TBL(resultTablePtr);
         Table::AggrType pivotOp;
@@ -88,6 +90,7 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeClose(
     if (nativeViewPtr == 0)
         return;
 
+    erase_view_bounds(TV(nativeViewPtr));
     delete TV(nativeViewPtr);
 }
 
@@ -201,6 +204,167 @@ JNIEXPORT jdouble JNICALL Java_io_realm_internal_TableView_nativeGetDouble(
     return TV(nativeViewPtr)->get_double( S(columnIndex), S(rowIndex));  // noexcept
 }
 
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetLongs(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong start, jlong count, jlongArray values, jint offset)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_Int) ||
+            !tbl_RowRangeValid(env, TV(nativeViewPtr), start, count))
+            return;
+        tbl_nativeGetColumnValues<jlong>(&TableView::get_int, TV(nativeViewPtr), env, columnIndex, start, count, values, offset);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetBooleans(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong start, jlong count, jbooleanArray values, jint offset)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_Bool) ||
+            !tbl_RowRangeValid(env, TV(nativeViewPtr), start, count))
+            return;
+        tbl_nativeGetColumnValues<jboolean>(&TableView::get_bool, TV(nativeViewPtr), env, columnIndex, start, count, values, offset);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetFloats(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong start, jlong count, jfloatArray values, jint offset)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_Float) ||
+            !tbl_RowRangeValid(env, TV(nativeViewPtr), start, count))
+            return;
+        tbl_nativeGetColumnValues<jfloat>(&TableView::get_float, TV(nativeViewPtr), env, columnIndex, start, count, values, offset);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetDoubles(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong start, jlong count, jdoubleArray values, jint offset)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_AND_TYPE_VALID(env, TV(nativeViewPtr), columnIndex, type_Double) ||
+            !tbl_RowRangeValid(env, TV(nativeViewPtr), start, count))
+            return;
+        tbl_nativeGetColumnValues<jdouble>(&TableView::get_double, TV(nativeViewPtr), env, columnIndex, start, count, values, offset);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetColumnValues(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong start, jlong count, jobject buffer, jint position,
+    jint limit)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr) ||
+            !COL_INDEX_VALID(env, TV(nativeViewPtr), columnIndex) ||
+            !tbl_RowRangeValid(env, TV(nativeViewPtr), start, count))
+            return;
+        tbl_nativeGetColumnValuesToBuffer(TV(nativeViewPtr), env, columnIndex, start, count, buffer, position, limit);
+    } CATCH_STD()
+}
+
+// FNV-1a, only used to detect changed rows, the values are never compared across processes
+static inline void hash_bytes(uint64_t& hash, const char* data, size_t size)
+{
+    for (size_t i = 0; i < size; ++i) {
+        hash ^= static_cast<unsigned char>(data[i]);
+        hash *= 1099511628211ULL;
+    }
+}
+
+template <class V>
+static inline void hash_value(uint64_t& hash, V value)
+{
+    hash_bytes(hash, reinterpret_cast<const char*>(&value), sizeof(V));
+}
+
+static uint64_t row_hash(const Table& table, size_t row)
+{
+    uint64_t hash = 14695981039346656037ULL;
+    size_t column_count = table.get_column_count();
+    for (size_t col = 0; col < column_count; ++col) {
+        if (table.is_nullable(col) && table.is_null(col, row)) {
+            hash_value(hash, static_cast<int8_t>(-1));
+            continue;
+        }
+        switch (table.get_column_type(col)) {
+            case type_Int:
+                hash_value(hash, table.get_int(col, row));
+                break;
+            case type_Bool:
+                hash_value(hash, table.get_bool(col, row));
+                break;
+            case type_Float:
+                hash_value(hash, table.get_float(col, row));
+                break;
+            case type_Double:
+                hash_value(hash, table.get_double(col, row));
+                break;
+            case type_DateTime:
+                hash_value(hash, table.get_datetime(col, row).get_datetime());
+                break;
+            case type_String: {
+                StringData str = table.get_string(col, row);
+                hash_value(hash, str.size());
+                hash_bytes(hash, str.data(), str.size());
+                break;
+            }
+            case type_Binary: {
+                BinaryData bin = table.get_binary(col, row);
+                hash_value(hash, bin.size());
+                hash_bytes(hash, bin.data(), bin.size());
+                break;
+            }
+            case type_Table:
+                hash_value(hash, table.get_subtable_size(col, row));
+                break;
+            case type_Mixed:
+                hash_value(hash, static_cast<int>(table.get_mixed_type(col, row)));
+                break;
+            case type_Link:
+                hash_value(hash, table.is_null_link(col, row) ? realm::npos : table.get_link(col, row));
+                break;
+            case type_LinkList:
+                hash_value(hash, table.get_link_count(col, row));
+                break;
+            default:
+                break;
+        }
+    }
+    return hash;
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeGetRowFingerprints(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlongArray sourceRowIndices, jlongArray rowHashes)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return;
+        TableView* tv = TV(nativeViewPtr);
+        size_t size = tv->size();
+        if (realm::util::int_less_than(env->GetArrayLength(sourceRowIndices), size) ||
+            realm::util::int_less_than(env->GetArrayLength(rowHashes), size)) {
+            ThrowException(env, IllegalArgument, "Arrays are smaller than the " + num_to_string(size) + " rows.");
+            return;
+        }
+
+        const Table& table = tv->get_parent();
+        std::vector<jlong> indices(size);
+        std::vector<jlong> hashes(size);
+        for (size_t i = 0; i < size; ++i) {
+            size_t row = tv->get_source_ndx(i);
+            indices[i] = static_cast<jlong>(row);
+            hashes[i] = static_cast<jlong>(row_hash(table, row));
+        }
+        if (size > 0) {
+            env->SetLongArrayRegion(sourceRowIndices, 0, static_cast<jsize>(size), &indices[0]);
+            env->SetLongArrayRegion(rowHashes, 0, static_cast<jsize>(size), &hashes[0]);
+        }
+    } CATCH_STD()
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetDateTimeValue(
     JNIEnv* env, jobject, jlong nativeViewPtr, jlong columnIndex, jlong rowIndex)
 {
@@ -1013,7 +1177,18 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSync(
         }
     }
     try {
-        return (jlong) TV(nativeViewPtr)->sync_if_needed();
+        return (jlong) sync_bounded_view(TV(nativeViewPtr));
     } CATCH_STD()
     return 0;
 }
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetBounds(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong offset, jlong limit)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return;
+        apply_view_bounds(*TV(nativeViewPtr), S(offset), S(limit));
+        set_view_bounds(TV(nativeViewPtr), S(offset), S(limit));
+    } CATCH_STD()
+}
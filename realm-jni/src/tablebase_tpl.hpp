@@ -17,6 +17,7 @@
 #ifndef REALM_JNI_TABLEBASE_TPL_HPP
 #define REALM_JNI_TABLEBASE_TPL_HPP
 
+#include <cstring>
 
 template <class T>
 jbyteArray tbl_GetByteArray(JNIEnv* env, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
@@ -40,6 +41,103 @@ jbyteArray tbl_GetByteArray(JNIEnv* env, jlong nativeTablePtr, jlong columnIndex
     }
 }
 
+// Bulk reads of a column of a Table or TableView. The range in the Java array has been checked by the caller.
+
+template <class T>
+bool tbl_RowRangeValid(JNIEnv* env, T* pTable, jlong start, jlong count)
+{
+    size_t size = pTable->size();
+    if (start < 0 || count < 0 || realm::util::int_greater_than(start + count, size)) {
+        TR_ERR("rows %" PRId64 " + %" PRId64 " > %" PRId64 " - invalid!", S64(start), S64(count), S64(size))
+        ThrowException(env, IndexOutOfBounds,
+            "Rows " + num_to_string(start) + " to " + num_to_string(start + count) +
+            " are not available: " + num_to_string(size) + " rows.");
+        return false;
+    }
+    return true;
+}
+
+template <class J, class M, class T>
+void tbl_nativeGetColumnValues(M get, T* pTable, JNIEnv* env, jlong columnIndex, jlong start, jlong count,
+                               jarray values, jint offset)
+{
+    J* data = static_cast<J*>(env->GetPrimitiveArrayCritical(values, NULL));
+    if (!data)
+        return; // OutOfMemoryError is pending
+    J* out = data + offset;
+    size_t col = S(columnIndex);
+    size_t row = S(start);
+    for (size_t i = 0; i < S(count); ++i) {
+        out[i] = (pTable->*get)(col, row + i);  // noexcept
+    }
+    env->ReleasePrimitiveArrayCritical(values, data, 0);
+}
+
+// Values are written in native byte order, booleans as one byte.
+template <class T>
+void tbl_nativeGetColumnValuesToBuffer(T* pTable, JNIEnv* env, jlong columnIndex, jlong start, jlong count,
+                                       jobject buffer, jint position, jint limit)
+{
+    char* data = static_cast<char*>(env->GetDirectBufferAddress(buffer));
+    jlong capacity = env->GetDirectBufferCapacity(buffer);
+    if (!data || capacity < 0) {
+        ThrowException(env, IllegalArgument, "ByteBuffer is not a direct buffer.");
+        return;
+    }
+    size_t col = S(columnIndex);
+    size_t row = S(start);
+    DataType type = pTable->get_column_type(col);
+    jlong width;
+    switch (type) {
+        case type_Int:
+        case type_Double:
+            width = 8;
+            break;
+        case type_Float:
+            width = 4;
+            break;
+        case type_Bool:
+            width = 1;
+            break;
+        default:
+            ThrowException(env, IllegalArgument, "Only integer, boolean, float and double columns can be read into a ByteBuffer.");
+            return;
+    }
+    // the values must fit before the limit of the buffer, not only its capacity
+    if (limit > capacity || position < 0 || position > limit || limit - position < count * width) {
+        ThrowException(env, IndexOutOfBounds, "ByteBuffer is too small: " + num_to_string(count * width) +
+            " bytes needed, " + num_to_string(limit - position) + " remaining.");
+        return;
+    }
+
+    char* out = data + position;
+    switch (type) {
+        case type_Int:
+            for (size_t i = 0; i < S(count); ++i, out += width) {
+                int64_t value = pTable->get_int(col, row + i);
+                std::memcpy(out, &value, sizeof value);
+            }
+            break;
+        case type_Double:
+            for (size_t i = 0; i < S(count); ++i, out += width) {
+                double value = pTable->get_double(col, row + i);
+                std::memcpy(out, &value, sizeof value);
+            }
+            break;
+        case type_Float:
+            for (size_t i = 0; i < S(count); ++i, out += width) {
+                float value = pTable->get_float(col, row + i);
+                std::memcpy(out, &value, sizeof value);
+            }
+            break;
+        default:
+            for (size_t i = 0; i < S(count); ++i, out += width) {
+                *out = pTable->get_bool(col, row + i) ? 1 : 0;
+            }
+            break;
+    }
+}
+
 template <class M, class T>
 void tbl_nativeDoByteArray(M doBinary, T* pTable, JNIEnv* env, jlong columnIndex, jlong rowIndex, jbyteArray dataArray)
 {
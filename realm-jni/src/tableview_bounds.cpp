@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include <map>
+#include <vector>
+
+#include <realm/util/thread.hpp>
+
+#include "tableview_bounds.hpp"
+
+using namespace realm;
+
+namespace {
+
+struct Bounds {
+    size_t offset;
+    size_t limit;
+};
+
+util::Mutex bounds_mutex;
+// guarded by bounds_mutex
+std::map<const void*, Bounds> bounds_by_view;
+
+} // anonymous namespace
+
+void apply_view_bounds(TableView& view, size_t offset, size_t limit)
+{
+    size_t size = view.size();
+    size_t begin = offset < size ? offset : size;
+    size_t end = (limit < size - begin) ? begin + limit : size;
+    if (begin == 0 && end == size) {
+        return;
+    }
+    std::vector<int64_t> rows;
+    rows.reserve(end - begin);
+    for (size_t i = begin; i < end; ++i) {
+        rows.push_back(view.m_row_indexes.get(i));
+    }
+    view.m_row_indexes.clear();
+    for (size_t i = 0; i < rows.size(); ++i) {
+        view.m_row_indexes.add(rows[i]);
+    }
+}
+
+void set_view_bounds(const void* view, size_t offset, size_t limit)
+{
+    if (is_unbounded(offset, limit)) {
+        return;
+    }
+    Bounds bounds = { offset, limit };
+    util::LockGuard lock(bounds_mutex);
+    bounds_by_view[view] = bounds;
+}
+
+void move_view_bounds(const void* from, const void* to)
+{
+    util::LockGuard lock(bounds_mutex);
+    std::map<const void*, Bounds>::iterator it = bounds_by_view.find(from);
+    if (it != bounds_by_view.end()) {
+        Bounds bounds = it->second;
+        bounds_by_view.erase(it);
+        bounds_by_view[to] = bounds;
+    }
+}
+
+void erase_view_bounds(const void* view)
+{
+    util::LockGuard lock(bounds_mutex);
+    if (!bounds_by_view.empty()) {
+        bounds_by_view.erase(view);
+    }
+}
+
+uint_fast64_t sync_bounded_view(TableView* view)
+{
+    if (view->is_in_sync()) {
+        return view->sync_if_needed();
+    }
+    uint_fast64_t version = view->sync_if_needed();
+    Bounds bounds;
+    {
+        util::LockGuard lock(bounds_mutex);
+        std::map<const void*, Bounds>::const_iterator it = bounds_by_view.find(view);
+        if (it == bounds_by_view.end()) {
+            return version;
+        }
+        bounds = it->second;
+    }
+    apply_view_bounds(*view, bounds.offset, bounds.limit);
+    return version;
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef __REALM_TABLEVIEW_BOUNDS__
+#define __REALM_TABLEVIEW_BOUNDS__
+
+#include <realm.hpp>
+
+// Bounds of the TableViews returned by queries using RealmQuery.offset() and RealmQuery.limit().
+//
+// Core can't truncate a TableView, and syncing a view runs its query and sorts it again. The bounds are therefore
+// applied to the rows of the view after the query and the sort, and applied again each time the view is synced
+// through sync_bounded_view(). Views and handovers of views are both registered by address.
+
+// Keeps only the rows [offset, offset + limit) of the view, in their current order.
+void apply_view_bounds(realm::TableView& view, size_t offset, size_t limit);
+
+// Registers the bounds of a view, or of the handover of a view, already applied to its rows.
+void set_view_bounds(const void* view, size_t offset, size_t limit);
+
+// Moves the bounds of a handover to the view imported from it.
+void move_view_bounds(const void* from, const void* to);
+
+// Forgets the bounds of a view being deleted.
+void erase_view_bounds(const void* view);
+
+// Syncs the view with its table, applying its bounds again if it had to run its query again.
+uint_fast64_t sync_bounded_view(realm::TableView* view);
+
+// Returns true if the bounds select all the rows.
+inline bool is_unbounded(size_t offset, size_t limit)
+{
+    return offset == 0 && limit == size_t(-1);
+}
+
+#endif // __REALM_TABLEVIEW_BOUNDS__
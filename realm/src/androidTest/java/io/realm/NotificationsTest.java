@@ -23,6 +23,8 @@ import android.util.Log;
 import junit.framework.AssertionFailedError;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
@@ -37,7 +39,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.realm.entities.AllTypes;
+import io.realm.entities.Cat;
 import io.realm.entities.Dog;
+import io.realm.entities.Owner;
 import io.realm.internal.log.Logger;
 import io.realm.internal.log.RealmLog;
 
@@ -204,6 +208,80 @@ public class NotificationsTest extends AndroidTestCase {
         assertTrue(Realm.realmsCache.get().isEmpty());
     }
 
+    public void testNotificationWindowCoalescesCommits() throws InterruptedException, ExecutionException {
+        final RealmConfiguration configuration = new RealmConfiguration.Builder(getContext())
+                .name("notification_window.realm")
+                .notificationWindow(1, TimeUnit.SECONDS)
+                .build();
+        Realm.deleteRealm(configuration);
+        final AtomicInteger counter = new AtomicInteger(0);
+        final AtomicInteger dogs = new AtomicInteger(0);
+        final AtomicBoolean isReady = new AtomicBoolean(false);
+        final Looper[] looper = new Looper[1];
+        final AtomicBoolean isRealmOpen = new AtomicBoolean(true);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Boolean> future = executorService.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                Realm realm = null;
+                try {
+                    Looper.prepare();
+                    looper[0] = Looper.myLooper();
+                    realm = Realm.getInstance(configuration);
+                    final Realm looperRealm = realm;
+                    realm.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            counter.incrementAndGet();
+                            dogs.set(looperRealm.allObjects(Dog.class).size());
+                        }
+                    });
+                    isReady.set(true);
+                    Looper.loop();
+                } finally {
+                    if (realm != null) {
+                        realm.close();
+                        isRealmOpen.set(false);
+                    }
+                }
+                return true;
+            }
+        });
+
+        // Wait until the looper in the background thread is started
+        while (!isReady.get()) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(100);
+
+        // 10 commits within the first window
+        realm = Realm.getInstance(configuration);
+        for (int i = 0; i < 10; i++) {
+            realm.beginTransaction();
+            realm.createObject(Dog.class).setName("Rex " + i);
+            realm.commitTransaction();
+        }
+        realm.close();
+        realm = null;
+
+        try {
+            future.get(2500, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ignore) {
+        } finally {
+            looper[0].quit();
+        }
+
+        // Wait until the Looper thread is actually closed
+        while (isRealmOpen.get()) {
+            Thread.sleep(5);
+        }
+
+        // the first commit is notified at once, the others at the end of the window
+        assertTrue(counter.get() >= 1 && counter.get() <= 2);
+        assertEquals(10, dogs.get());
+    }
+
     public void testAutoUpdateRealmResults() throws InterruptedException, ExecutionException {
         final int TEST_SIZE = 10;
         final AtomicInteger counter = new AtomicInteger(0);
@@ -401,6 +479,80 @@ public class NotificationsTest extends AndroidTestCase {
         assertTrue(success.get());
     }
 
+    public void testObjectChangeListener() {
+        final List<RealmObjectChangeSet> changeSets = new ArrayList<RealmObjectChangeSet>();
+        realm = Realm.getInstance(getContext());
+        realm.beginTransaction();
+        Dog first = realm.createObject(Dog.class);
+        Dog second = realm.createObject(Dog.class);
+        Dog observed = realm.createObject(Dog.class);
+        realm.commitTransaction();
+
+        observed.addChangeListener(new RealmObjectChangeListener() {
+            @Override
+            public void onChange(RealmObjectChangeSet changeSet) {
+                changeSets.add(changeSet);
+            }
+        });
+
+        // other object
+        realm.beginTransaction();
+        second.setName("Fido");
+        realm.commitTransaction();
+        assertEquals(0, changeSets.size());
+
+        // removing the first row moves the observed one in its place
+        realm.beginTransaction();
+        observed.setName("Rex");
+        first.removeFromRealm();
+        observed.setAge(3);
+        realm.commitTransaction();
+        assertEquals(1, changeSets.size());
+        assertFalse(changeSets.get(0).isDeleted());
+        assertEquals(2, changeSets.get(0).getChangedFields().length);
+        assertTrue(changeSets.get(0).isFieldChanged("name"));
+        assertTrue(changeSets.get(0).isFieldChanged("age"));
+
+        realm.beginTransaction();
+        observed.removeFromRealm();
+        realm.commitTransaction();
+        assertEquals(2, changeSets.size());
+        assertTrue(changeSets.get(1).isDeleted());
+    }
+
+    // removing a linked object nulls the link, which changes the linking object too
+    public void testObjectChangeListenerOnRemovedLink() {
+        final List<RealmObjectChangeSet> changeSets = new ArrayList<RealmObjectChangeSet>();
+        realm = Realm.getInstance(getContext());
+        realm.beginTransaction();
+        Owner owner = realm.createObject(Owner.class);
+        owner.setCat(realm.createObject(Cat.class));
+        owner.getDogs().add(realm.createObject(Dog.class));
+        realm.commitTransaction();
+
+        owner.addChangeListener(new RealmObjectChangeListener() {
+            @Override
+            public void onChange(RealmObjectChangeSet changeSet) {
+                changeSets.add(changeSet);
+            }
+        });
+
+        realm.beginTransaction();
+        owner.getCat().removeFromRealm();
+        realm.commitTransaction();
+        assertEquals(1, changeSets.size());
+        assertFalse(changeSets.get(0).isDeleted());
+        assertTrue(changeSets.get(0).isFieldChanged("cat"));
+        assertNull(owner.getCat());
+
+        realm.beginTransaction();
+        realm.clear(Dog.class);
+        realm.commitTransaction();
+        assertEquals(2, changeSets.size());
+        assertTrue(changeSets.get(1).isFieldChanged("dogs"));
+        assertEquals(0, owner.getDogs().size());
+    }
+
     public void testAddRemoveListenerConcurrency() {
         final AtomicInteger counter1 = new AtomicInteger(0);
         final AtomicInteger counter2 = new AtomicInteger(0);
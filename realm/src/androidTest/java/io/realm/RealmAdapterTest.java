@@ -19,7 +19,11 @@ import android.test.AndroidTestCase;
 import android.view.View;
 import android.widget.TextView;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import io.realm.entities.AllTypes;
+import io.realm.entities.Dog;
 import io.realm.entities.RealmAdapter;
 
 public class RealmAdapterTest extends AndroidTestCase {
@@ -180,4 +184,115 @@ public class RealmAdapterTest extends AndroidTestCase {
 
         assertEquals(TEST_DATA_SIZE, realmAdapter.getCount());
     }
+
+    // records the notifications as "kind:positionStart:itemCount"
+    private static class RecordingIncrementalAdapter extends RealmIncrementalAdapter<AllTypes> {
+        final List<String> notifications = new ArrayList<String>();
+
+        RecordingIncrementalAdapter(RealmResults<AllTypes> realmResults) {
+            this(realmResults, true);
+        }
+
+        RecordingIncrementalAdapter(RealmResults<AllTypes> realmResults, boolean automaticUpdate) {
+            super(realmResults, automaticUpdate);
+        }
+
+        @Override
+        protected void onItemRangeInserted(int positionStart, int itemCount) {
+            notifications.add("inserted:" + positionStart + ":" + itemCount);
+        }
+
+        @Override
+        protected void onItemRangeRemoved(int positionStart, int itemCount) {
+            notifications.add("removed:" + positionStart + ":" + itemCount);
+        }
+
+        @Override
+        protected void onItemRangeChanged(int positionStart, int itemCount) {
+            notifications.add("changed:" + positionStart + ":" + itemCount);
+        }
+
+        @Override
+        protected void onDataSetChanged() {
+            notifications.add("dataSetChanged");
+        }
+    }
+
+    public void testIncrementalAdapterNotifications() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        RecordingIncrementalAdapter adapter = new RecordingIncrementalAdapter(resultList);
+        assertEquals(TEST_DATA_SIZE, adapter.getItemCount());
+        long itemId = adapter.getItemId(5);
+
+        testRealm.beginTransaction();
+        resultList.get(3).setColumnString("modified");
+        testRealm.commitTransaction();
+        assertEquals(1, adapter.notifications.size());
+        assertEquals("changed:3:1", adapter.notifications.get(0));
+
+        testRealm.beginTransaction();
+        testRealm.createObject(AllTypes.class).setColumnString("test data " + TEST_DATA_SIZE);
+        testRealm.commitTransaction();
+        assertEquals(2, adapter.notifications.size());
+        assertEquals("inserted:" + TEST_DATA_SIZE + ":1", adapter.notifications.get(1));
+
+        // the last object is moved to the position of the removed one
+        testRealm.beginTransaction();
+        resultList.get(0).removeFromRealm();
+        testRealm.commitTransaction();
+        assertEquals(5, adapter.notifications.size());
+        assertEquals("removed:" + TEST_DATA_SIZE + ":1", adapter.notifications.get(2));
+        assertEquals("removed:0:1", adapter.notifications.get(3));
+        assertEquals("inserted:0:1", adapter.notifications.get(4));
+        assertEquals(TEST_DATA_SIZE, adapter.getItemCount());
+        assertEquals(itemId, adapter.getItemId(5));
+    }
+
+    // the results still grow after a commit, but no change set is applied to the ids
+    public void testIncrementalAdapterWithoutAutomaticUpdate() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        RecordingIncrementalAdapter adapter = new RecordingIncrementalAdapter(resultList, false);
+        long itemId = adapter.getItemId(5);
+
+        testRealm.beginTransaction();
+        testRealm.createObject(AllTypes.class).setColumnString("test data " + TEST_DATA_SIZE);
+        testRealm.commitTransaction();
+        assertEquals(0, adapter.notifications.size());
+        assertEquals(TEST_DATA_SIZE + 1, adapter.getItemCount());
+        assertEquals(itemId, adapter.getItemId(5));
+        long newItemId = adapter.getItemId(TEST_DATA_SIZE);
+        for (int i = 0; i < TEST_DATA_SIZE; i++) {
+            assertTrue(adapter.getItemId(i) != newItemId);
+        }
+
+        testRealm.beginTransaction();
+        testRealm.clear(AllTypes.class);
+        testRealm.commitTransaction();
+        assertEquals(0, adapter.getItemCount());
+        try {
+            adapter.getItemId(0);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+    }
+
+    public void testIncrementalAdapterIgnoresOtherTables() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        RecordingIncrementalAdapter adapter = new RecordingIncrementalAdapter(resultList);
+
+        testRealm.beginTransaction();
+        testRealm.createObject(Dog.class);
+        testRealm.commitTransaction();
+        assertEquals(0, adapter.notifications.size());
+    }
+
+    public void testIncrementalAdapterUpdateRealmResults() {
+        RecordingIncrementalAdapter adapter = new RecordingIncrementalAdapter(null);
+        assertEquals(0, adapter.getItemCount());
+
+        adapter.updateRealmResults(testRealm.where(AllTypes.class).findAll());
+        assertEquals(TEST_DATA_SIZE, adapter.getItemCount());
+        assertEquals(1, adapter.notifications.size());
+        assertEquals("dataSetChanged", adapter.notifications.get(0));
+    }
 }
@@ -18,20 +18,26 @@ package io.realm;
 
 import android.os.Handler;
 import android.os.Looper;
+import android.os.Message;
 import android.os.MessageQueue;
 import android.os.SystemClock;
 import android.test.InstrumentationTestCase;
+import android.test.MoreAsserts;
 
 import junit.framework.AssertionFailedError;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.realm.entities.AllTypes;
@@ -39,7 +45,11 @@ import io.realm.entities.AnnotationIndexTypes;
 import io.realm.entities.Dog;
 import io.realm.entities.NonLatinFieldNames;
 import io.realm.entities.Owner;
+import io.realm.entities.StringOnly;
 import io.realm.instrumentation.MockActivityManager;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.async.RealmThreadPoolExecutor;
+import io.realm.internal.async.SharedGroupPool;
 import io.realm.proxy.HandlerProxy;
 
 public class RealmAsyncQueryTests extends InstrumentationTestCase {
@@ -122,6 +132,151 @@ public class RealmAsyncQueryTests extends InstrumentationTestCase {
         }
     }
 
+    // transactions grouped by the writer thread keep their own outcome
+    public void testAsyncTransactionsSingleWriterThread() throws Throwable {
+        final int numberOfTransactions = 10;
+        final int failingTransaction = 4;
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(numberOfTransactions);
+        final Realm[] realm = new Realm[1];
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final AtomicInteger successes = new AtomicInteger(0);
+        final AtomicInteger errors = new AtomicInteger(0);
+        final Looper[] backgroundLooper = new Looper[1];
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+
+                try {
+                    RealmConfiguration realmConfiguration = new RealmConfiguration.Builder(getInstrumentation().getTargetContext())
+                            .name("testAsyncTransactionsSingleWriterThread")
+                            .singleWriterThread()
+                            .build();
+                    Realm.deleteRealm(realmConfiguration);
+                    realm[0] = Realm.getInstance(realmConfiguration);
+
+                    for (int i = 0; i < numberOfTransactions; i++) {
+                        final int transactionIndex = i;
+                        realm[0].executeTransaction(new Realm.Transaction() {
+                            @Override
+                            public void execute(Realm realm) {
+                                Owner owner = realm.createObject(Owner.class);
+                                owner.setName("Owner " + transactionIndex);
+                                if (transactionIndex == failingTransaction) {
+                                    throw new RuntimeException("Boom");
+                                }
+                            }
+                        }, new Realm.Transaction.Callback() {
+                            @Override
+                            public void onSuccess() {
+                                successes.incrementAndGet();
+                                signalCallbackFinished.countDown();
+                            }
+
+                            @Override
+                            public void onError(Exception e) {
+                                errors.incrementAndGet();
+                                signalCallbackFinished.countDown();
+                            }
+                        });
+                    }
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    while (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm[0] != null) {
+                        realm[0].close();
+                    }
+                }
+            }
+        });
+
+        TestHelper.awaitOrFail(signalCallbackFinished);
+        executorService.shutdownNow();
+        if (null != threadAssertionError[0]) {
+            throw threadAssertionError[0];
+        }
+        assertEquals(numberOfTransactions - 1, successes.get());
+        assertEquals(1, errors.get());
+
+        RealmConfiguration realmConfiguration = new RealmConfiguration.Builder(getInstrumentation().getTargetContext())
+                .name("testAsyncTransactionsSingleWriterThread")
+                .singleWriterThread()
+                .build();
+        Realm checkRealm = Realm.getInstance(realmConfiguration);
+        try {
+            assertEquals(numberOfTransactions - 1, checkRealm.allObjects(Owner.class).size());
+            assertEquals(0, checkRealm.where(Owner.class).equalTo("name", "Owner " + failingTransaction).count());
+        } finally {
+            checkRealm.close();
+        }
+        if (backgroundLooper[0] != null) {
+            backgroundLooper[0].quit();
+        }
+    }
+
+    // transactions queued while the writer thread is busy are committed together
+    public void testAsyncTransactionsSingleWriterThreadGroupCommit() throws Throwable {
+        final int numberOfTransactions = 5;
+        final AtomicInteger commits = new AtomicInteger(0);
+        final CountDownLatch twoCommits = new CountDownLatch(2);
+        final CountDownLatch firstTransactionStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirstTransaction = new CountDownLatch(1);
+        RealmConfiguration realmConfiguration = new RealmConfiguration.Builder(getInstrumentation().getTargetContext())
+                .name("testAsyncTransactionsSingleWriterThreadGroupCommit")
+                .singleWriterThread()
+                .instrumentation(new RealmInstrumentation() {
+                    @Override
+                    public void onTransactionCommitted(String path, long lockWaitNanos, long durationNanos) {
+                        commits.incrementAndGet();
+                        twoCommits.countDown();
+                    }
+                })
+                .build();
+        Realm.deleteRealm(realmConfiguration);
+        Realm realm = Realm.getInstance(realmConfiguration);
+        try {
+            // keeps the writer thread busy until the other transactions are queued
+            realm.executeTransaction(new Realm.Transaction() {
+                @Override
+                public void execute(Realm realm) {
+                    realm.createObject(Owner.class).setName("Owner");
+                    firstTransactionStarted.countDown();
+                    TestHelper.awaitOrFail(releaseFirstTransaction);
+                }
+            }, null);
+            TestHelper.awaitOrFail(firstTransactionStarted);
+
+            for (int i = 0; i < numberOfTransactions; i++) {
+                final int transactionIndex = i;
+                realm.executeTransaction(new Realm.Transaction() {
+                    @Override
+                    public void execute(Realm realm) {
+                        realm.createObject(Owner.class).setName("Owner " + transactionIndex);
+                    }
+                }, null);
+            }
+            releaseFirstTransaction.countDown();
+            TestHelper.awaitOrFail(twoCommits);
+
+            realm.refresh();
+            assertEquals(numberOfTransactions + 1, realm.allObjects(Owner.class).size());
+            assertEquals(2, commits.get());
+        } finally {
+            releaseFirstTransaction.countDown();
+            realm.close();
+        }
+    }
+
     // ************************************
     // *** promises based async queries ***
     // ************************************
@@ -2077,6 +2232,304 @@ public class RealmAsyncQueryTests extends InstrumentationTestCase {
         executorService.shutdownNow();
     }
 
+    // a commit from another thread to a table the async query doesn't depend on
+    // should not rerun the query, but the Realm should still be advanced & notified
+    public void testAsyncQueryNotRerunForUnrelatedTableChanges() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final Looper[] backgroundLooper = new Looper[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final AtomicInteger numberOfQueryUpdates = new AtomicInteger(0);
+        final AtomicInteger numberOfNotifications = new AtomicInteger(0);
+        final RealmChangeListener[] realmListener = new RealmChangeListener[1];
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testAsyncQueryNotRerunForUnrelatedTableChanges");
+                    final Realm callerRealm = realm;
+                    final RealmConfiguration realmConfiguration = realm.getConfiguration();
+                    final Handler handler = new HandlerProxy(realm.handler) {
+                        @Override
+                        public boolean onInterceptMessage(int what) {
+                            if (what == HandlerController.REALM_UPDATE_ASYNC_QUERIES) {
+                                numberOfQueryUpdates.incrementAndGet();
+                            }
+                            return false;
+                        }
+                    };
+                    realm.setHandler(handler);
+
+                    populateTestRealm(realm, 10);
+                    final RealmResults<AllTypes> realmResults = realm.where(AllTypes.class)
+                            .between("columnLong", 0, 4)
+                            .findAllAsync();
+
+                    realmResults.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            if (numberOfNotifications.incrementAndGet() > 1) {
+                                threadAssertionError[0] = new AssertionFailedError("Async query was rerun");
+                                signalCallbackFinished.countDown();
+                                return;
+                            }
+                            // Realm listeners are weakly referenced, keep a strong reference until the test ends
+                            realmListener[0] = new RealmChangeListener() {
+                                @Override
+                                public void onChange() {
+                                    try {
+                                        assertEquals(1, callerRealm.allObjects(StringOnly.class).size());
+                                        assertEquals(0, numberOfQueryUpdates.get());
+                                        assertEquals(1, numberOfNotifications.get());
+                                        assertEquals(5, realmResults.size());
+                                    } catch (AssertionFailedError e) {
+                                        threadAssertionError[0] = e;
+                                    } finally {
+                                        signalCallbackFinished.countDown();
+                                    }
+                                }
+                            };
+                            callerRealm.addChangeListener(realmListener[0]);
+
+                            new Thread() {
+                                @Override
+                                public void run() {
+                                    Realm bgRealm = Realm.getInstance(realmConfiguration);
+                                    bgRealm.beginTransaction();
+                                    bgRealm.createObject(StringOnly.class).setChars("unrelated");
+                                    bgRealm.commitTransaction();
+                                    bgRealm.close();
+                                }
+                            }.start();
+                        }
+                    });
+
+                    Looper.loop();
+
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                }
+            }
+        });
+
+        TestHelper.awaitOrFail(signalCallbackFinished);
+        if (null != threadAssertionError[0]) {
+            // throw any assertion errors happened in the background thread
+            throw threadAssertionError[0];
+        }
+        if (backgroundLooper[0] != null) {
+            // failing to quit the looper will not execute the finally block responsible
+            // of closing the Realm
+            backgroundLooper[0].quit();
+        }
+
+        executorService.shutdownNow();
+    }
+
+    // handling REALM_CHANGED should never force a garbage collection, entries of collected
+    // RealmResults are reclaimed through the ReferenceQueue instead
+    public void testRealmChangedDoesNotRequestGC() throws Throwable {
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testRealmChangedDoesNotRequestGC");
+                    populateTestRealm(realm, 10);
+                    RealmResults<AllTypes> realmResults = realm.where(AllTypes.class).findAllAsync();
+                    realmResults.load();
+                    assertEquals(1, realm.handlerController.asyncRealmResults.size());
+
+                    // an explicit GC would clear the reference to this unreachable object
+                    WeakReference<Object> canary = new WeakReference<Object>(new Object());
+                    realm.handlerController.handleMessage(Message.obtain(realm.handler, HandlerController.REALM_CHANGED));
+
+                    assertNotNull(canary.get());
+                    assertEquals(1, realm.handlerController.asyncRealmResults.size());
+
+                    // simulate the GC reclaiming the RealmResults
+                    WeakReference<RealmResults<? extends RealmObject>> weakReference =
+                            realm.handlerController.asyncRealmResults.keySet().iterator().next();
+                    assertTrue(weakReference.enqueue());
+                    realm.handlerController.handleMessage(Message.obtain(realm.handler, HandlerController.REALM_CHANGED));
+                    assertEquals(0, realm.handlerController.asyncRealmResults.size());
+                    assertEquals(10, realmResults.size());
+
+                } catch (Throwable e) {
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (realm != null) {
+                        realm.close();
+                    }
+                }
+            }
+        }).get();
+
+        executorService.shutdownNow();
+        if (null != threadAssertionError[0]) {
+            // throw any assertion errors happened in the background thread
+            throw threadAssertionError[0];
+        }
+    }
+
+    // background SharedGroups are reused between async queries and released once
+    // the last Realm instance of the file is closed
+    public void testSharedGroupPoolReusesSharedGroups() {
+        Realm realm = openRealmInstance("testSharedGroupPoolReusesSharedGroups");
+        SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
+        assertSame(sharedGroupPool, SharedGroupPool.getInstance(realm.getConfiguration()));
+
+        SharedGroup sharedGroup = sharedGroupPool.acquire();
+        sharedGroupPool.release(sharedGroup);
+        assertSame(sharedGroup, sharedGroupPool.acquire());
+        sharedGroupPool.release(sharedGroup);
+        assertTrue(sharedGroup.getNativePointer() != 0);
+
+        realm.close();
+        assertEquals(0, sharedGroup.getNativePointer());
+        assertNotSame(sharedGroupPool, SharedGroupPool.getInstance(realm.getConfiguration()));
+    }
+
+    // at most MAX_IDLE_SHARED_GROUPS SharedGroups are kept idle, and only for KEEP_ALIVE_MS
+    public void testSharedGroupPoolIsBounded() throws InterruptedException {
+        Realm realm = openRealmInstance("testSharedGroupPoolIsBounded");
+        SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
+        try {
+            SharedGroup[] sharedGroups = new SharedGroup[SharedGroupPool.MAX_IDLE_SHARED_GROUPS + 1];
+            for (int i = 0; i < sharedGroups.length; i++) {
+                sharedGroups[i] = sharedGroupPool.acquire();
+            }
+            for (SharedGroup sharedGroup : sharedGroups) {
+                sharedGroupPool.release(sharedGroup);
+            }
+            // the last one released is above the limit
+            assertEquals(0, sharedGroups[sharedGroups.length - 1].getNativePointer());
+            assertTrue(sharedGroups[0].getNativePointer() != 0);
+
+            Thread.sleep(SharedGroupPool.KEEP_ALIVE_MS * 4);
+            for (SharedGroup sharedGroup : sharedGroups) {
+                assertEquals(0, sharedGroup.getNativePointer());
+            }
+        } finally {
+            realm.close();
+        }
+
+        // the pool of a closed Realm doesn't open new SharedGroups
+        try {
+            sharedGroupPool.acquire();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    // queued tasks are ordered by priority and coalesced tasks replace the queued one with the same key
+    public void testExecutorPriorityAndCoalescing() throws Throwable {
+        RealmThreadPoolExecutor executor = Realm.asyncQueryExecutor;
+        Runnable noop = new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+        executor.pause();
+        try {
+            // keep all the workers busy, so the next tasks stay in the queue
+            for (int i = 0; i < executor.getCorePoolSize(); i++) {
+                executor.submit(noop);
+            }
+            long deadline = SystemClock.elapsedRealtime() + 10000;
+            while (executor.getActiveCount() < executor.getCorePoolSize()) {
+                if (SystemClock.elapsedRealtime() > deadline) {
+                    fail("The workers didn't start");
+                }
+                SystemClock.sleep(10);
+            }
+
+            Object key = new Object();
+            Future<?> transaction = executor.submit(noop, RealmThreadPoolExecutor.PRIORITY_TRANSACTION);
+            Future<?> superseded = executor.submitCoalesced(noop, RealmThreadPoolExecutor.PRIORITY_QUERY_UPDATE, key);
+            Future<?> update = executor.submitCoalesced(noop, RealmThreadPoolExecutor.PRIORITY_QUERY_UPDATE, key);
+            Future<?> query = executor.submit(noop);
+
+            assertTrue(superseded.isCancelled());
+            assertFalse(executor.getQueue().contains(superseded));
+            assertEquals(3, executor.getQueue().size());
+            assertSame(query, executor.getQueue().poll());
+            assertSame(update, executor.getQueue().poll());
+            assertSame(transaction, executor.getQueue().poll());
+        } finally {
+            executor.resume();
+        }
+    }
+
+    // a full queue defers the tasks instead of blocking the submitting thread, even while the executor is paused
+    public void testExecutorDefersTasksWhenQueueIsFull() throws Throwable {
+        RealmThreadPoolExecutor executor = Realm.asyncQueryExecutor;
+        final CountDownLatch tasksRun = new CountDownLatch(200);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                tasksRun.countDown();
+            }
+        };
+        executor.pause();
+        try {
+            for (int i = 0; i < 100; i++) {
+                executor.submit(task, RealmThreadPoolExecutor.PRIORITY_TRANSACTION);
+            }
+            for (int i = 0; i < 100; i++) {
+                executor.submit(task);
+            }
+            Future<?> cancelled = executor.submitCoalesced(task, RealmThreadPoolExecutor.PRIORITY_QUERY_UPDATE, this);
+            cancelled.cancel(false);
+            // the query waits in the queue beyond its capacity, ahead of the transactions
+            Future<?> query = executor.submit(task);
+            assertTrue(executor.getQueue().size() > 100);
+            assertTrue(executor.getQueue().contains(query));
+        } finally {
+            executor.resume();
+        }
+        assertTrue(tasksRun.await(10, TimeUnit.SECONDS));
+    }
+
+    // the Realm of an async transaction uses a SharedGroup of the pool instead of opening the file again
+    public void testAsyncTransactionUsesSharedGroupPool() throws Throwable {
+        Realm realm = openRealmInstance("testAsyncTransactionUsesSharedGroupPool");
+        SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
+        SharedGroup pooledSharedGroup = sharedGroupPool.acquire();
+        sharedGroupPool.release(pooledSharedGroup);
+
+        final SharedGroup[] usedSharedGroup = new SharedGroup[1];
+        final CountDownLatch transactionExecuted = new CountDownLatch(1);
+        realm.executeTransaction(new Realm.Transaction() {
+            @Override
+            public void execute(Realm bgRealm) {
+                usedSharedGroup[0] = bgRealm.sharedGroupManager.getSharedGroup();
+                bgRealm.createObject(Owner.class);
+                transactionExecuted.countDown();
+            }
+        }, null);
+        TestHelper.awaitOrFail(transactionExecuted);
+
+        assertSame(pooledSharedGroup, usedSharedGroup[0]);
+        realm.close();
+    }
+
     // make sure the notification listener does not leak the enclosing class
     // if unregistered properly.
     public void testListenerShouldNotLeak() throws Throwable {
@@ -2537,6 +2990,341 @@ public class RealmAsyncQueryTests extends InstrumentationTestCase {
         }
     }
 
+    public void testAggregatesAsync() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(5);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final Looper[] backgroundLooper = new Looper[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testAggregatesAsync");
+                    populateTestRealm(realm, 10);
+                    Realm.asyncQueryExecutor.pause();
+
+                    final RealmAggregate<Long> count = realm.where(AllTypes.class)
+                            .between("columnLong", 0, 4).countAsync();
+                    final RealmAggregate<Number> sum = realm.where(AllTypes.class)
+                            .between("columnLong", 0, 4).sumAsync("columnLong");
+                    final RealmAggregate<Double> average = realm.where(AllTypes.class)
+                            .between("columnLong", 0, 4).averageAsync("columnLong");
+                    final RealmAggregate<Number> min = realm.where(AllTypes.class)
+                            .between("columnLong", 2, 4).minAsync("columnLong");
+                    final RealmAggregate<Number> max = realm.where(AllTypes.class)
+                            .between("columnLong", 10, 20).maxAsync("columnLong");
+
+                    assertFalse(count.isLoaded());
+                    assertNull(count.get());
+
+                    RealmChangeListener listener = new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            try {
+                                if (count.isLoaded() && sum.isLoaded() && average.isLoaded() && min.isLoaded()
+                                        && max.isLoaded()) {
+                                    assertEquals(5L, count.get().longValue());
+                                    assertEquals(10L, sum.get().longValue());
+                                    assertEquals(2.0, average.get(), 0.0);
+                                    assertEquals(2L, min.get().longValue());
+                                    // no objects match
+                                    assertNull(max.get());
+                                }
+                            } catch (AssertionFailedError e) {
+                                threadAssertionError[0] = e;
+                            } finally {
+                                signalCallbackFinished.countDown();
+                            }
+                        }
+                    };
+                    count.addChangeListener(listener);
+                    sum.addChangeListener(listener);
+                    average.addChangeListener(listener);
+                    min.addChangeListener(listener);
+                    max.addChangeListener(listener);
+
+                    Realm.asyncQueryExecutor.resume();
+
+                    Looper.loop();
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    while (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                }
+            }
+        });
+
+        // wait until the callback of our async query proceed
+        TestHelper.awaitOrFail(signalCallbackFinished);
+
+        executorService.shutdownNow();
+        if (null != threadAssertionError[0]) {
+            // throw any assertion errors happened in the background thread
+            throw threadAssertionError[0];
+        }
+        if (backgroundLooper[0] != null) {
+            // failing to quit the looper will not execute the finally block responsible
+            // of closing the Realm
+            backgroundLooper[0].quit();
+        }
+    }
+
+    // the aggregate is computed again when the queried table changes
+    public void testCountAsyncUpdatedOnCommit() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final Looper[] backgroundLooper = new Looper[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testCountAsyncUpdatedOnCommit");
+                    populateTestRealm(realm, 10);
+
+                    final Realm finalRealm = realm;
+                    final AtomicInteger numberOfInvocation = new AtomicInteger(0);
+                    final RealmAggregate<Long> count = realm.where(AllTypes.class).countAsync();
+                    count.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            try {
+                                switch (numberOfInvocation.incrementAndGet()) {
+                                    case 1:
+                                        assertEquals(10L, count.get().longValue());
+                                        finalRealm.beginTransaction();
+                                        finalRealm.createObject(AllTypes.class);
+                                        finalRealm.commitTransaction();
+                                        break;
+                                    case 2:
+                                        assertEquals(11L, count.get().longValue());
+                                        signalCallbackFinished.countDown();
+                                        break;
+                                }
+                            } catch (AssertionFailedError e) {
+                                threadAssertionError[0] = e;
+                                signalCallbackFinished.countDown();
+                            }
+                        }
+                    });
+
+                    Looper.loop();
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                }
+            }
+        });
+
+        // wait until the callback of our async query proceed
+        TestHelper.awaitOrFail(signalCallbackFinished);
+
+        executorService.shutdownNow();
+        if (null != threadAssertionError[0]) {
+            // throw any assertion errors happened in the background thread
+            throw threadAssertionError[0];
+        }
+        if (backgroundLooper[0] != null) {
+            // failing to quit the looper will not execute the finally block responsible
+            // of closing the Realm
+            backgroundLooper[0].quit();
+        }
+    }
+
+    public void testAggregateAsyncWrongFieldType() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final Looper[] backgroundLooper = new Looper[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testAggregateAsyncWrongFieldType");
+
+                    try {
+                        realm.where(AllTypes.class).sumAsync("columnString");
+                        fail();
+                    } catch (IllegalArgumentException ignored) {
+                    }
+                    try {
+                        realm.where(AllTypes.class).minimumDateAsync("columnLong");
+                        fail();
+                    } catch (IllegalArgumentException ignored) {
+                    }
+                    try {
+                        realm.where(AllTypes.class).maxAsync("doesNotExist");
+                        fail();
+                    } catch (IllegalArgumentException ignored) {
+                    }
+                    signalCallbackFinished.countDown();
+
+                    Looper.loop();
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                }
+            }
+        });
+
+        // wait until the callback of our async query proceed
+        TestHelper.awaitOrFail(signalCallbackFinished);
+
+        executorService.shutdownNow();
+        if (null != threadAssertionError[0]) {
+            // throw any assertion errors happened in the background thread
+            throw threadAssertionError[0];
+        }
+        if (backgroundLooper[0] != null) {
+            // failing to quit the looper will not execute the finally block responsible
+            // of closing the Realm
+            backgroundLooper[0].quit();
+        }
+    }
+
+    public void testChangeSetListener() throws Throwable {
+        final CountDownLatch signalCallbackFinished = new CountDownLatch(1);
+        final Throwable[] threadAssertionError = new Throwable[1];
+        final Looper[] backgroundLooper = new Looper[1];
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                Looper.prepare();
+                backgroundLooper[0] = Looper.myLooper();
+
+                Realm realm = null;
+                try {
+                    realm = openRealmInstance("testChangeSetListener");
+                    populateTestRealm(realm, 10);
+
+                    final Realm finalRealm = realm;
+                    final Handler handler = new Handler();
+                    final List<RealmChangeSet> changeSets = new ArrayList<RealmChangeSet>();
+                    final AtomicInteger numberOfInvocation = new AtomicInteger(0);
+                    final RealmResults<AllTypes> results = realm.where(AllTypes.class)
+                            .lessThan("columnLong", 5)
+                            .findAllAsync();
+                    results.addChangeListener(new RealmChangeSetListener() {
+                        @Override
+                        public void onChange(RealmChangeSet changeSet) {
+                            changeSets.add(changeSet);
+                        }
+                    });
+                    // commit once the change set listener has been notified for the previous update
+                    results.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            final int invocation = numberOfInvocation.incrementAndGet();
+                            handler.post(new Runnable() {
+                                @Override
+                                public void run() {
+                                    try {
+                                        switch (invocation) {
+                                            case 1: // object not in the results
+                                                finalRealm.beginTransaction();
+                                                finalRealm.where(AllTypes.class).equalTo("columnLong", 7).findFirst()
+                                                        .setColumnString("not in the results");
+                                                finalRealm.commitTransaction();
+                                                break;
+                                            case 2:
+                                                finalRealm.beginTransaction();
+                                                results.get(2).setColumnString("modified");
+                                                finalRealm.commitTransaction();
+                                                break;
+                                            case 3:
+                                                finalRealm.beginTransaction();
+                                                results.get(0).removeFromRealm();
+                                                finalRealm.commitTransaction();
+                                                break;
+                                            case 4:
+                                                assertEquals(3, changeSets.size());
+                                                MoreAsserts.assertEquals(new int[] {0, 1, 2, 3, 4}, changeSets.get(0).getInsertions());
+                                                assertEquals(0, changeSets.get(0).getDeletions().length);
+                                                MoreAsserts.assertEquals(new int[] {2}, changeSets.get(1).getModifications());
+                                                assertEquals(0, changeSets.get(1).getInsertions().length);
+                                                assertEquals(0, changeSets.get(1).getDeletions().length);
+                                                MoreAsserts.assertEquals(new int[] {0}, changeSets.get(2).getDeletions());
+                                                assertEquals(0, changeSets.get(2).getInsertions().length);
+                                                assertEquals(0, changeSets.get(2).getModifications().length);
+                                                signalCallbackFinished.countDown();
+                                                break;
+                                        }
+                                    } catch (AssertionFailedError e) {
+                                        threadAssertionError[0] = e;
+                                        signalCallbackFinished.countDown();
+                                    }
+                                }
+                            });
+                        }
+                    });
+
+                    Looper.loop();
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    threadAssertionError[0] = e;
+
+                } finally {
+                    if (signalCallbackFinished.getCount() > 0) {
+                        signalCallbackFinished.countDown();
+                    }
+                    if (realm != null) {
+                        realm.close();
+                    }
+                }
+            }
+        });
+
+        // wait until the callback of our async query proceed
+        TestHelper.awaitOrFail(signalCallbackFinished);
+
+        executorService.shutdownNow();
+        if (null != threadAssertionError[0]) {
+            // throw any assertion errors happened in the background thread
+            throw threadAssertionError[0];
+        }
+        if (backgroundLooper[0] != null) {
+            // failing to quit the looper will not execute the finally block responsible
+            // of closing the Realm
+            backgroundLooper[0].quit();
+        }
+    }
+
     // *** Helper methods ***
 
     // This could be done from #setUp but then we can't control
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.test.MoreAsserts;
+
+import junit.framework.TestCase;
+
+public class RealmChangeSetTest extends TestCase {
+
+    private static final int[] NONE = new int[0];
+
+    private static void assertChangeSet(RealmChangeSet changeSet, int[] deletions, int[] insertions, int[] modifications) {
+        MoreAsserts.assertEquals(deletions, changeSet.getDeletions());
+        MoreAsserts.assertEquals(insertions, changeSet.getInsertions());
+        MoreAsserts.assertEquals(modifications, changeSet.getModifications());
+    }
+
+    public void testFirstResultsAreInsertions() {
+        RealmChangeSet changeSet = RealmChangeSet.compute(null, null, new long[] {5, 6}, new long[] {50, 60});
+        assertChangeSet(changeSet, NONE, new int[] {0, 1}, NONE);
+    }
+
+    public void testUnchangedIsEmpty() {
+        long[] rows = {0, 1, 2};
+        long[] hashes = {10, 11, 12};
+        RealmChangeSet changeSet = RealmChangeSet.compute(rows, hashes, rows.clone(), hashes.clone());
+        assertTrue(changeSet.isEmpty());
+    }
+
+    public void testModification() {
+        RealmChangeSet changeSet = RealmChangeSet.compute(
+                new long[] {0, 1, 2}, new long[] {10, 11, 12},
+                new long[] {0, 1, 2}, new long[] {10, 99, 12});
+        assertChangeSet(changeSet, NONE, NONE, new int[] {1});
+    }
+
+    public void testInsertionAndDeletion() {
+        RealmChangeSet changeSet = RealmChangeSet.compute(
+                new long[] {0, 1, 2}, new long[] {10, 11, 12},
+                new long[] {0, 2, 3}, new long[] {10, 12, 13});
+        assertChangeSet(changeSet, new int[] {1}, new int[] {2}, NONE);
+    }
+
+    // deleting row 1 moves the last row of the table (3) to index 1
+    public void testDeletedRowReplacedByLastRow() {
+        RealmChangeSet changeSet = RealmChangeSet.compute(
+                new long[] {0, 1, 2, 3}, new long[] {10, 11, 12, 13},
+                new long[] {0, 1, 2}, new long[] {10, 13, 12});
+        assertChangeSet(changeSet, new int[] {1, 3}, new int[] {1}, NONE);
+    }
+
+    public void testMoveIsDeletionAndInsertion() {
+        RealmChangeSet changeSet = RealmChangeSet.compute(
+                new long[] {0, 1, 2}, new long[] {10, 11, 12},
+                new long[] {1, 0, 2}, new long[] {11, 10, 12});
+        assertChangeSet(changeSet, new int[] {1}, new int[] {0}, NONE);
+    }
+
+    public void testAllDeleted() {
+        RealmChangeSet changeSet = RealmChangeSet.compute(
+                new long[] {0, 1}, new long[] {10, 11},
+                new long[0], new long[0]);
+        assertChangeSet(changeSet, new int[] {0, 1}, NONE, NONE);
+    }
+}
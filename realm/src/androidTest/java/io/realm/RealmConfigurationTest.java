@@ -19,6 +19,7 @@ package io.realm;
 import android.test.AndroidTestCase;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 import io.realm.entities.AllTypes;
 import io.realm.entities.AllTypesPrimaryKey;
@@ -151,6 +152,30 @@ public class RealmConfigurationTest extends AndroidTestCase {
         }
     }
 
+    public void testNegativeNotificationWindowThrows() {
+        try {
+            new RealmConfiguration.Builder(getContext()).notificationWindow(-1, TimeUnit.MILLISECONDS).build();
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testNullInstrumentationThrows() {
+        try {
+            new RealmConfiguration.Builder(getContext()).instrumentation(null).build();
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testNativeObjectLimitNotPositiveThrows() {
+        try {
+            new RealmConfiguration.Builder(getContext()).nativeObjectLimit(0).build();
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
     public void testVersionLessThanDiscVersionThrows() {
         realm = Realm.getInstance(new RealmConfiguration.Builder(getContext()).schemaVersion(42).build());
         realm.close();
@@ -299,6 +324,34 @@ public class RealmConfigurationTest extends AndroidTestCase {
         assertEquals(config1.hashCode(), config2.hashCode());
     }
 
+    public void testEqualsWithInstrumentation() {
+        RealmInstrumentation instrumentation = new RealmInstrumentation() {};
+        RealmConfiguration config1 = new RealmConfiguration.Builder(getContext())
+                .instrumentation(instrumentation)
+                .build();
+        RealmConfiguration config2 = new RealmConfiguration.Builder(getContext())
+                .instrumentation(instrumentation)
+                .build();
+        RealmConfiguration config3 = new RealmConfiguration.Builder(getContext())
+                .instrumentation(new RealmInstrumentation() {})
+                .build();
+
+        assertTrue(config1.equals(config2));
+        assertEquals(config1.hashCode(), config2.hashCode());
+        assertFalse(config1.equals(config3));
+        assertFalse(config1.equals(new RealmConfiguration.Builder(getContext()).build()));
+    }
+
+    public void testEqualsWithNativeObjectLimit() {
+        RealmConfiguration config1 = new RealmConfiguration.Builder(getContext()).nativeObjectLimit(1000).build();
+        RealmConfiguration config2 = new RealmConfiguration.Builder(getContext()).nativeObjectLimit(1000).build();
+        RealmConfiguration config3 = new RealmConfiguration.Builder(getContext()).nativeObjectLimit(2000).build();
+
+        assertTrue(config1.equals(config2));
+        assertEquals(config1.hashCode(), config2.hashCode());
+        assertFalse(config1.equals(config3));
+    }
+
     public void testEqualsWithCustomModules() {
         RealmConfiguration config1 = new RealmConfiguration.Builder(getContext())
                 .setModules(new HumanModule(), new AnimalModule())
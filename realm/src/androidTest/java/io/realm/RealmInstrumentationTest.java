@@ -0,0 +1,215 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.test.AndroidTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.realm.entities.AnnotationIndexTypes;
+import io.realm.entities.Dog;
+
+public class RealmInstrumentationTest extends AndroidTestCase {
+
+    private RecordingInstrumentation instrumentation;
+    private Realm realm;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        instrumentation = new RecordingInstrumentation();
+        RealmConfiguration configuration = new RealmConfiguration.Builder(getContext())
+                .instrumentation(instrumentation)
+                .build();
+        Realm.deleteRealm(configuration);
+        realm = Realm.getInstance(configuration);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        if (realm != null) {
+            realm.close();
+        }
+    }
+
+    private void populate(int dogs) {
+        realm.beginTransaction();
+        for (int i = 0; i < dogs; i++) {
+            Dog dog = realm.createObject(Dog.class);
+            dog.setName("Dog " + i);
+            dog.setAge(i % 5);
+        }
+        realm.commitTransaction();
+        instrumentation.events.clear();
+    }
+
+    public void testCommitTransaction() {
+        realm.beginTransaction();
+        realm.createObject(Dog.class);
+        realm.commitTransaction();
+
+        List<Event> events = instrumentation.eventsNamed("committed");
+        assertEquals(1, events.size());
+        Event event = events.get(0);
+        assertEquals(realm.getPath(), event.path);
+        assertTrue(event.values[0] >= 0);
+        assertTrue(event.values[1] >= 0);
+    }
+
+    public void testCancelTransaction() {
+        realm.beginTransaction();
+        realm.createObject(Dog.class);
+        realm.cancelTransaction();
+
+        assertEquals(1, instrumentation.eventsNamed("cancelled").size());
+        assertTrue(instrumentation.eventsNamed("committed").isEmpty());
+        assertEquals(0, realm.allObjects(Dog.class).size());
+    }
+
+    public void testFindAll() {
+        populate(10);
+        RealmResults<Dog> dogs = realm.where(Dog.class).lessThan("age", 2).findAll();
+
+        assertEquals(1, instrumentation.events.size());
+        Event event = instrumentation.events.get(0);
+        assertEquals(RealmInstrumentation.QueryType.FIND_ALL, event.queryType);
+        assertEquals(Dog.class, event.clazz);
+        assertEquals(dogs.size(), event.values[1]);
+    }
+
+    public void testFindAllSorted() {
+        populate(10);
+        realm.where(Dog.class).findAllSorted("age");
+        realm.where(Dog.class).findAllSorted(new String[] {"age", "name"}, new boolean[] {true, false});
+
+        assertEquals(2, instrumentation.events.size());
+        for (Event event : instrumentation.events) {
+            assertEquals(RealmInstrumentation.QueryType.FIND_ALL_SORTED, event.queryType);
+            assertEquals(10, event.values[1]);
+        }
+    }
+
+    public void testSort() {
+        populate(10);
+        RealmResults<Dog> dogs = realm.where(Dog.class).greaterThan("age", 2).findAll();
+        instrumentation.events.clear();
+        dogs.sort("name");
+
+        assertEquals(1, instrumentation.events.size());
+        assertEquals(RealmInstrumentation.QueryType.SORT, instrumentation.events.get(0).queryType);
+        assertEquals(dogs.size(), instrumentation.events.get(0).values[1]);
+    }
+
+    public void testDistinct() {
+        realm.beginTransaction();
+        for (int i = 0; i < 10; i++) {
+            realm.createObject(AnnotationIndexTypes.class).setIndexLong(i % 3);
+        }
+        realm.commitTransaction();
+        instrumentation.events.clear();
+
+        realm.distinct(AnnotationIndexTypes.class, "indexLong");
+
+        assertEquals(1, instrumentation.events.size());
+        Event event = instrumentation.events.get(0);
+        assertEquals(RealmInstrumentation.QueryType.DISTINCT, event.queryType);
+        assertEquals(AnnotationIndexTypes.class, event.clazz);
+        assertEquals(3, event.values[1]);
+    }
+
+    public void testListenersNotified() {
+        RealmChangeListener listener = new RealmChangeListener() {
+            @Override
+            public void onChange() {
+            }
+        };
+        realm.addChangeListener(listener);
+        realm.refresh();
+
+        List<Event> events = instrumentation.eventsNamed("notified");
+        assertEquals(1, events.size());
+        assertEquals(realm.getPath(), events.get(0).path);
+        assertEquals(1, events.get(0).values[0]);
+    }
+
+    public void testNoInstrumentation() {
+        realm.close();
+        RealmConfiguration configuration = new RealmConfiguration.Builder(getContext()).name("other.realm").build();
+        Realm.deleteRealm(configuration);
+        realm = Realm.getInstance(configuration);
+        realm.beginTransaction();
+        realm.createObject(Dog.class);
+        realm.commitTransaction();
+        realm.where(Dog.class).findAll();
+
+        assertNull(configuration.getInstrumentation());
+        assertTrue(instrumentation.events.isEmpty());
+    }
+
+    private static class Event {
+        final String name;
+        final String path;
+        final RealmInstrumentation.QueryType queryType;
+        final Class<? extends RealmObject> clazz;
+        final long[] values;
+
+        Event(String name, String path, RealmInstrumentation.QueryType queryType, Class<? extends RealmObject> clazz,
+              long... values) {
+            this.name = name;
+            this.path = path;
+            this.queryType = queryType;
+            this.clazz = clazz;
+            this.values = values;
+        }
+    }
+
+    private static class RecordingInstrumentation extends RealmInstrumentation {
+        final List<Event> events = new ArrayList<Event>();
+
+        List<Event> eventsNamed(String name) {
+            List<Event> named = new ArrayList<Event>();
+            for (Event event : events) {
+                if (event.name.equals(name)) {
+                    named.add(event);
+                }
+            }
+            return named;
+        }
+
+        @Override
+        public void onTransactionCommitted(String path, long lockWaitNanos, long durationNanos) {
+            events.add(new Event("committed", path, null, null, lockWaitNanos, durationNanos));
+        }
+
+        @Override
+        public void onTransactionCancelled(String path, long lockWaitNanos, long durationNanos) {
+            events.add(new Event("cancelled", path, null, null, lockWaitNanos, durationNanos));
+        }
+
+        @Override
+        public void onQuery(QueryType type, Class<? extends RealmObject> clazz, long durationNanos, long resultSize) {
+            events.add(new Event("query", null, type, clazz, durationNanos, resultSize));
+        }
+
+        @Override
+        public void onListenersNotified(String path, int listenerCount, long durationNanos) {
+            events.add(new Event("notified", path, null, null, listenerCount, durationNanos));
+        }
+    }
+}
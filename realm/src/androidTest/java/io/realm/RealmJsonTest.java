@@ -688,6 +688,26 @@ public class RealmJsonTest extends AndroidTestCase {
         assertAllTypesPrimaryKeyUpdated();
     }
 
+    public void testCreateOrUpdateAllInputStream_primaryKeyLast() throws IOException {
+        InputStream in = TestHelper.stringToStream("[" +
+                "{ \"columnString\" : \"Foo\", \"columnDate\" : 1000, \"columnLong\" : 1 }," +
+                "{ \"columnString\" : \"Bar\", \"columnRealmObject\" : { \"name\" : \"Fido\" }, \"columnLong\" : 2 }," +
+                "{ \"columnString\" : \"Baz\", \"columnFloat\" : 1.5, \"columnLong\" : 1 }" +
+                "]");
+        testRealm.beginTransaction();
+        testRealm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, in);
+        testRealm.commitTransaction();
+
+        assertEquals(2, testRealm.allObjects(AllTypesPrimaryKey.class).size());
+        AllTypesPrimaryKey first = testRealm.where(AllTypesPrimaryKey.class).equalTo("columnLong", 1).findFirst();
+        assertEquals("Baz", first.getColumnString());
+        assertEquals(1.5F, first.getColumnFloat());
+        assertEquals(new Date(1000), first.getColumnDate());
+        AllTypesPrimaryKey second = testRealm.where(AllTypesPrimaryKey.class).equalTo("columnLong", 2).findFirst();
+        assertEquals("Bar", second.getColumnString());
+        assertEquals("Fido", second.getColumnRealmObject().getName());
+    }
+
     public void testCreateOrUpdateAllString() throws IOException {
         String json = TestHelper.streamToString(loadJsonFromAssets("list_alltypes_primarykey.json"));
         testRealm.beginTransaction();
@@ -1564,4 +1564,212 @@ public class RealmQueryTest extends AndroidTestCase {
             }
         }
     }
+
+    public void testLimit() {
+        populateTestRealm();
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).greaterThan(FIELD_LONG, 2).limit(3).findAll();
+        assertEquals(3, resultList.size());
+        assertEquals(3, resultList.get(0).getColumnLong());
+        assertEquals(5, resultList.get(2).getColumnLong());
+
+        resultList = testRealm.where(AllTypes.class).limit(TEST_DATA_SIZE * 2).findAll();
+        assertEquals(TEST_DATA_SIZE, resultList.size());
+
+        resultList = testRealm.where(AllTypes.class).limit(0).findAll();
+        assertEquals(0, resultList.size());
+    }
+
+    public void testOffsetAndLimit() {
+        populateTestRealm();
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class)
+                .equalTo("columnBoolean", false).offset(2).limit(3).findAll();
+        // columnBoolean is false for 1, 2, 4, 5, 7 and 8
+        assertEquals(3, resultList.size());
+        assertEquals(4, resultList.get(0).getColumnLong());
+        assertEquals(5, resultList.get(1).getColumnLong());
+        assertEquals(7, resultList.get(2).getColumnLong());
+
+        resultList = testRealm.where(AllTypes.class).offset(TEST_DATA_SIZE).findAll();
+        assertEquals(0, resultList.size());
+    }
+
+    public void testLimitAndOffsetArguments() {
+        try {
+            testRealm.where(AllTypes.class).limit(-1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(AllTypes.class).offset(-1);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(AllTypes.class).findAll().where().offset(1);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+    }
+
+    public void testSortedWithOffsetAndLimit() {
+        populateTestRealm();
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).limit(3)
+                .findAllSorted(FIELD_LONG, RealmResults.SORT_ORDER_DESCENDING);
+        assertEquals(3, resultList.size());
+        assertEquals(9, resultList.get(0).getColumnLong());
+        assertEquals(7, resultList.get(2).getColumnLong());
+
+        resultList = testRealm.where(AllTypes.class).offset(2).limit(3)
+                .findAllSorted(FIELD_LONG, RealmResults.SORT_ORDER_DESCENDING);
+        assertEquals(3, resultList.size());
+        assertEquals(7, resultList.get(0).getColumnLong());
+        assertEquals(5, resultList.get(2).getColumnLong());
+
+        // columnBoolean is false for 1, 2, 4, 5, 7 and 8
+        resultList = testRealm.where(AllTypes.class).offset(1).limit(2)
+                .findAllSorted(new String[]{"columnBoolean", FIELD_LONG},
+                        new boolean[]{RealmResults.SORT_ORDER_ASCENDING, RealmResults.SORT_ORDER_DESCENDING});
+        assertEquals(2, resultList.size());
+        assertEquals(7, resultList.get(0).getColumnLong());
+        assertEquals(5, resultList.get(1).getColumnLong());
+    }
+
+    public void testFindFirstWithOffsetAndLimit() {
+        populateTestRealm();
+        AllTypes first = testRealm.where(AllTypes.class).greaterThan(FIELD_LONG, 2).offset(2).findFirst();
+        assertEquals(5, first.getColumnLong());
+
+        assertNull(testRealm.where(AllTypes.class).offset(TEST_DATA_SIZE).findFirst());
+        assertNull(testRealm.where(AllTypes.class).limit(0).findFirst());
+    }
+
+    public void testOffsetIsAppliedAgainWhenResultsAreUpdated() {
+        populateTestRealm();
+        // columnBoolean is false for 1, 2, 4, 5, 7 and 8
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class)
+                .equalTo("columnBoolean", false).offset(2).limit(3).findAll();
+        RealmResults<AllTypes> sortedList = testRealm.where(AllTypes.class).offset(2).limit(3)
+                .findAllSorted(FIELD_LONG);
+        assertEquals(4, resultList.first().getColumnLong());
+        assertEquals(2, sortedList.first().getColumnLong());
+
+        testRealm.beginTransaction();
+        testRealm.where(AllTypes.class).equalTo(FIELD_LONG, 1).findFirst().setColumnBoolean(true);
+        testRealm.createObject(AllTypes.class).setColumnLong(-1);
+        testRealm.commitTransaction();
+
+        // the first two matches are skipped again, as they are by the asynchronous queries
+        assertEquals(3, resultList.size());
+        assertEquals(5, resultList.get(0).getColumnLong());
+        assertEquals(8, resultList.get(2).getColumnLong());
+        assertEquals(3, sortedList.size());
+        assertEquals(1, sortedList.get(0).getColumnLong());
+        assertEquals(3, sortedList.get(2).getColumnLong());
+    }
+
+    public void testInLong() {
+        populateTestRealm();
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class)
+                .in(FIELD_LONG, new long[] {1, 4, 4, 7, 42}).findAll();
+        assertEquals(3, resultList.size());
+        assertEquals(1, resultList.get(0).getColumnLong());
+        assertEquals(4, resultList.get(1).getColumnLong());
+        assertEquals(7, resultList.get(2).getColumnLong());
+
+        // combined with other conditions
+        resultList = testRealm.where(AllTypes.class)
+                .in(FIELD_LONG, new long[] {1, 3, 6}).equalTo("columnBoolean", true).findAll();
+        assertEquals(2, resultList.size());
+    }
+
+    public void testInString() {
+        populateTestRealm();
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class)
+                .in(FIELD_STRING, new String[] {"test data 2", "test data 5", "not there"}).findAll();
+        assertEquals(2, resultList.size());
+
+        resultList = testRealm.where(AllTypes.class)
+                .in(FIELD_STRING, new String[] {"TEST DATA 2"}, RealmQuery.CASE_INSENSITIVE).findAll();
+        assertEquals(1, resultList.size());
+        assertEquals(2, resultList.first().getColumnLong());
+    }
+
+    public void testInManyValues() {
+        populateTestRealm(200);
+        long[] values = new long[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 2;
+        }
+        assertEquals(100, testRealm.where(AllTypes.class).in(FIELD_LONG, values).count());
+    }
+
+    public void testInIllegalArguments() {
+        try {
+            testRealm.where(AllTypes.class).in(FIELD_LONG, new long[0]);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(AllTypes.class).in(FIELD_STRING, new long[] {1});
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(AllTypes.class).in(FIELD_LONG, new String[] {"1"});
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testFindAllPaged() {
+        populateTestRealm(100);
+        RealmPagedResults<AllTypes> resultList = testRealm.where(AllTypes.class)
+                .equalTo("columnBoolean", false).findAllPaged(10);
+        // columnBoolean is false for 66 of the 100 objects
+        assertFalse(resultList.isEmpty());
+        assertEquals(1, resultList.get(0).getColumnLong());
+        assertEquals(2, resultList.get(1).getColumnLong());
+        assertEquals(97, resultList.get(64).getColumnLong());
+        assertEquals(66, resultList.size());
+
+        int count = 0;
+        for (AllTypes allTypes : resultList) {
+            assertTrue(allTypes.getColumnLong() % 3 != 0);
+            count++;
+        }
+        assertEquals(66, count);
+
+        try {
+            resultList.get(66);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+    }
+
+    public void testFindAllPagedFollowsChanges() {
+        populateTestRealm(25);
+        RealmPagedResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAllPaged(10);
+        assertEquals(24, resultList.get(24).getColumnLong());
+
+        testRealm.beginTransaction();
+        resultList.get(0).removeFromRealm();
+        testRealm.commitTransaction();
+
+        assertEquals(24, resultList.size());
+        // the last object was moved to the first position
+        assertEquals(24, resultList.get(0).getColumnLong());
+    }
+
+    public void testFindAllPagedArguments() {
+        try {
+            testRealm.where(AllTypes.class).findAllPaged(0);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            testRealm.where(AllTypes.class).limit(10).findAllPaged(10);
+            fail();
+        } catch (UnsupportedOperationException ignored) {
+        }
+    }
 }
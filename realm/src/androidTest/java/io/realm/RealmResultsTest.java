@@ -18,6 +18,9 @@ package io.realm;
 
 import android.test.AndroidTestCase;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -259,6 +262,152 @@ public class RealmResultsTest extends AndroidTestCase {
         assertEquals((TEST_DATA_SIZE - 1), allTypes.getColumnLong());
     }
 
+    public void testVisitVisitsAllObjectsInOrder() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAllSorted(FIELD_LONG, RealmResults.SORT_ORDER_DESCENDING);
+        final AllTypes[] visited = new AllTypes[1];
+        final long[] expected = { TEST_DATA_SIZE - 1 };
+
+        resultList.visit(new RealmResults.Visitor<AllTypes>() {
+            @Override
+            public void visit(AllTypes object) {
+                // The same object is reused for all the elements
+                if (visited[0] != null) {
+                    assertSame(visited[0], object);
+                }
+                visited[0] = object;
+                assertEquals(expected[0], object.getColumnLong());
+                assertEquals("test data " + expected[0], object.getColumnString());
+                assertEquals("Foo " + expected[0], object.getColumnRealmObject().getName());
+                assertEquals(1, object.getColumnRealmList().size());
+                expected[0]--;
+            }
+        });
+        assertEquals(-1, expected[0]);
+    }
+
+    // the lists of each object differ, so a list cached for a previous object would be noticed
+    public void testVisitListsOfEachObject() {
+        testRealm.beginTransaction();
+        testRealm.clear(Owner.class);
+        for (int i = 0; i < 3; i++) {
+            Owner owner = testRealm.createObject(Owner.class);
+            owner.setName("Owner " + i);
+            for (int j = 0; j <= i; j++) {
+                Dog dog = testRealm.createObject(Dog.class);
+                dog.setName("Dog " + i + "." + j);
+                owner.getDogs().add(dog);
+            }
+        }
+        testRealm.commitTransaction();
+
+        final int[] count = { 0 };
+        testRealm.where(Owner.class).findAllSorted("name").visit(new RealmResults.Visitor<Owner>() {
+            @Override
+            public void visit(Owner owner) {
+                int i = count[0];
+                assertEquals("Owner " + i, owner.getName());
+                RealmList<Dog> dogs = owner.getDogs();
+                assertEquals(i + 1, dogs.size());
+                for (int j = 0; j <= i; j++) {
+                    assertEquals("Dog " + i + "." + j, dogs.get(j).getName());
+                }
+                count[0]++;
+            }
+        });
+        assertEquals(3, count[0]);
+    }
+
+    // the linked objects read while visiting are released at the next transaction instead of being garbage collected
+    public void testVisitReleasesLinkedObjectsAtTransaction() {
+        final List<Dog> dogs = new ArrayList<Dog>();
+        testRealm.where(AllTypes.class).findAllSorted(FIELD_LONG).visit(new RealmResults.Visitor<AllTypes>() {
+            @Override
+            public void visit(AllTypes object) {
+                dogs.add(object.getColumnRealmObject());
+            }
+        });
+        assertEquals(TEST_DATA_SIZE, dogs.size());
+        assertTrue(dogs.get(0).isValid());
+        assertEquals("Foo 0", dogs.get(0).getName());
+
+        testRealm.beginTransaction();
+        testRealm.cancelTransaction();
+        for (Dog dog : dogs) {
+            assertFalse(dog.isValid());
+        }
+        // objects read outside of a visit are still tracked
+        assertTrue(testRealm.where(AllTypes.class).findFirst().getColumnRealmObject().isValid());
+    }
+
+    public void testVisitAllObjects() {
+        final int[] count = { 0 };
+        testRealm.allObjects(AllTypes.class).visit(new RealmResults.Visitor<AllTypes>() {
+            @Override
+            public void visit(AllTypes object) {
+                assertEquals(count[0], object.getColumnLong());
+                count[0]++;
+            }
+        });
+        assertEquals(TEST_DATA_SIZE, count[0]);
+    }
+
+    public void testBulkReads() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        int size = resultList.size();
+        long[] longs = new long[size];
+        double[] doubles = new double[size];
+        float[] floats = new float[size];
+        boolean[] booleans = new boolean[size];
+
+        resultList.getLongs(FIELD_LONG, longs);
+        resultList.getDoubles(FIELD_DOUBLE, doubles);
+        resultList.getFloats(FIELD_FLOAT, floats);
+        resultList.getBooleans(FIELD_BOOLEAN, booleans);
+
+        for (int i = 0; i < size; i++) {
+            AllTypes allTypes = resultList.get(i);
+            assertEquals(allTypes.getColumnLong(), longs[i]);
+            assertEquals(allTypes.getColumnDouble(), doubles[i]);
+            assertEquals(allTypes.getColumnFloat(), floats[i]);
+            assertEquals(allTypes.isColumnBoolean(), booleans[i]);
+        }
+    }
+
+    public void testBulkReadRange() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).greaterThan(FIELD_LONG, 9).findAll();
+        long[] longs = new long[4];
+        resultList.getLongs(FIELD_LONG, 1, longs, 2, 2);
+        assertEquals(0, longs[0]);
+        assertEquals(0, longs[1]);
+        assertEquals(11, longs[2]);
+        assertEquals(12, longs[3]);
+
+        try {
+            resultList.getLongs(FIELD_LONG, resultList.size() - 1, longs, 0, 2);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {}
+        try {
+            resultList.getLongs(FIELD_STRING, 0, longs, 0, 1);
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+        try {
+            resultList.getDoubles("unknown", new double[1]);
+            fail();
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    public void testBulkReadToByteBuffer() {
+        RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(10 * 8).order(ByteOrder.nativeOrder());
+        resultList.getValues(FIELD_DOUBLE, 0, 10, buffer);
+        assertEquals(10 * 8, buffer.position());
+
+        buffer.flip();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(resultList.get(i).getColumnDouble(), buffer.getDouble());
+        }
+    }
+
     public void testMinValueIsMinValue() {
         RealmResults<AllTypes> resultList = testRealm.where(AllTypes.class).findAll();
 
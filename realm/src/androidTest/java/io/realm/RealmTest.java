@@ -63,7 +63,10 @@ import io.realm.entities.PrimaryKeyMix;
 import io.realm.entities.StringOnly;
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmIOException;
+import io.realm.exceptions.RealmPrimaryKeyConstraintException;
 import io.realm.internal.Table;
+import io.realm.internal.TableQuery;
+import io.realm.internal.TableView;
 
 import static io.realm.internal.test.ExtraTests.assertArrayEquals;
 
@@ -204,6 +207,35 @@ public class RealmTest extends AndroidTestCase {
         newRealm.close();
     }
 
+    // a cached instance must be returned without taking the global locks used when opening a Realm
+    public void testRealmCacheHitDoesNotLock() throws Exception {
+        final CountDownLatch locksAcquired = new CountDownLatch(1);
+        final CountDownLatch instanceReturned = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Boolean> lockHolder = executorService.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                synchronized (Realm.class) {
+                    synchronized (BaseRealm.class) {
+                        locksAcquired.countDown();
+                        return instanceReturned.await(10, TimeUnit.SECONDS);
+                    }
+                }
+            }
+        });
+
+        assertTrue(locksAcquired.await(10, TimeUnit.SECONDS));
+        Realm realm = Realm.getInstance(testConfig);
+        instanceReturned.countDown();
+        try {
+            assertSame(testRealm, realm);
+            assertTrue(lockHolder.get());
+        } finally {
+            realm.close();
+            executorService.shutdownNow();
+        }
+    }
+
     public void testInternalRealmChangedHandlersRemoved() {
         testRealm.close(); // Clear handler created by testRealm in setUp()
 
@@ -1293,6 +1325,213 @@ public class RealmTest extends AndroidTestCase {
         assertEquals(dog2.getName(), copiedList.get(1).getName());
     }
 
+    public void testInsertObject() {
+        Dog dog = new Dog();
+        dog.setName("Fido");
+        AllTypes allTypes = new AllTypes();
+        allTypes.setColumnString("String");
+        allTypes.setColumnLong(1);
+        allTypes.setColumnDate(new Date(1000));
+        allTypes.setColumnRealmObject(dog);
+        allTypes.setColumnRealmList(new RealmList<Dog>(dog));
+
+        testRealm.beginTransaction();
+        testRealm.insert(allTypes);
+        testRealm.commitTransaction();
+
+        AllTypes realmTypes = testRealm.allObjects(AllTypes.class).first();
+        assertEquals("String", realmTypes.getColumnString());
+        assertEquals(1, realmTypes.getColumnLong());
+        assertEquals(new Date(1000), realmTypes.getColumnDate());
+        assertEquals("Fido", realmTypes.getColumnRealmObject().getName());
+        assertEquals(1, realmTypes.getColumnRealmList().size());
+        assertEquals(1, testRealm.allObjects(Dog.class).size());
+    }
+
+    public void testInsertObjectCyclic() {
+        CyclicType oneCyclicType = new CyclicType();
+        oneCyclicType.setName("One");
+        CyclicType anotherCyclicType = new CyclicType();
+        anotherCyclicType.setName("Two");
+        oneCyclicType.setObject(anotherCyclicType);
+        anotherCyclicType.setObject(oneCyclicType);
+
+        testRealm.beginTransaction();
+        testRealm.insert(oneCyclicType);
+        testRealm.commitTransaction();
+
+        assertEquals(2, testRealm.allObjects(CyclicType.class).size());
+        CyclicType realmObject = testRealm.where(CyclicType.class).equalTo("name", "Two").findFirst();
+        assertEquals("One", realmObject.getObject().getName());
+    }
+
+    public void testInsertManagedObjectIsIgnored() {
+        testRealm.beginTransaction();
+        Dog dog = testRealm.createObject(Dog.class);
+        testRealm.insert(dog);
+        testRealm.commitTransaction();
+
+        assertEquals(1, testRealm.allObjects(Dog.class).size());
+    }
+
+    public void testInsertNullThrows() {
+        testRealm.beginTransaction();
+        try {
+            testRealm.insert((AllTypes) null);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testInsertAll() {
+        Date date = new Date(1000);
+        Dog dog = new Dog();
+        dog.setName("Fido");
+        List<AllTypes> objects = new ArrayList<AllTypes>();
+        for (int i = 0; i < 2500; i++) {
+            AllTypes allTypes = new AllTypes();
+            allTypes.setColumnString("String " + i);
+            allTypes.setColumnLong(i);
+            allTypes.setColumnFloat(i + 0.5f);
+            allTypes.setColumnDouble(i + 0.25d);
+            allTypes.setColumnBoolean(i % 2 == 0);
+            allTypes.setColumnDate(date);
+            allTypes.setColumnBinary(new byte[]{1, 2, 3});
+            allTypes.setColumnRealmObject(dog);
+            allTypes.setColumnRealmList(new RealmList<Dog>(dog));
+            objects.add(allTypes);
+        }
+
+        testRealm.beginTransaction();
+        testRealm.insertAll(objects);
+        testRealm.commitTransaction();
+
+        RealmResults<AllTypes> results = testRealm.allObjects(AllTypes.class);
+        assertEquals(2500, results.size());
+        assertEquals(1, testRealm.allObjects(Dog.class).size());
+        for (int i = 0; i < results.size(); i++) {
+            AllTypes realmTypes = results.get(i);
+            assertEquals("String " + i, realmTypes.getColumnString());
+            assertEquals(i, realmTypes.getColumnLong());
+            assertEquals(i + 0.5f, realmTypes.getColumnFloat());
+            assertEquals(i + 0.25d, realmTypes.getColumnDouble());
+            assertEquals(i % 2 == 0, realmTypes.isColumnBoolean());
+            assertEquals(date, realmTypes.getColumnDate());
+            assertArrayEquals(new byte[]{1, 2, 3}, realmTypes.getColumnBinary());
+            assertEquals("Fido", realmTypes.getColumnRealmObject().getName());
+            assertEquals(1, realmTypes.getColumnRealmList().size());
+        }
+    }
+
+    public void testInsertCollection() {
+        Dog dog1 = new Dog();
+        dog1.setName("Fido");
+        Dog dog2 = new Dog();
+        dog2.setName("Rex");
+
+        testRealm.beginTransaction();
+        testRealm.insert(Arrays.asList(dog1, dog2));
+        testRealm.commitTransaction();
+
+        assertEquals(2, testRealm.allObjects(Dog.class).size());
+        assertEquals(1, testRealm.where(Dog.class).equalTo("name", "Fido").count());
+    }
+
+    public void testInsertAllCyclic() {
+        CyclicType oneCyclicType = new CyclicType();
+        oneCyclicType.setName("One");
+        CyclicType anotherCyclicType = new CyclicType();
+        anotherCyclicType.setName("Two");
+        oneCyclicType.setObject(anotherCyclicType);
+        anotherCyclicType.setObjects(new RealmList<CyclicType>(oneCyclicType));
+
+        testRealm.beginTransaction();
+        testRealm.insertAll(Arrays.asList(oneCyclicType, anotherCyclicType));
+        testRealm.commitTransaction();
+
+        assertEquals(2, testRealm.allObjects(CyclicType.class).size());
+        CyclicType realmObject = testRealm.where(CyclicType.class).equalTo("name", "One").findFirst();
+        assertEquals("Two", realmObject.getObject().getName());
+        assertEquals("One", realmObject.getObject().getObjects().first().getName());
+    }
+
+    public void testInsertAllNullValueThrows() {
+        AllTypes allTypes = new AllTypes();
+        allTypes.setColumnString(null);
+
+        testRealm.beginTransaction();
+        try {
+            testRealm.insertAll(Arrays.asList(allTypes));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testInsertAllDuplicatePrimaryKeyThrows() {
+        testRealm.beginTransaction();
+        try {
+            testRealm.insertAll(Arrays.asList(new OwnerPrimaryKey(1, "Foo"), new OwnerPrimaryKey(1, "Bar")));
+            fail();
+        } catch (RealmPrimaryKeyConstraintException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+        assertEquals(0, testRealm.where(OwnerPrimaryKey.class).count());
+    }
+
+    public void testCopyToRealmOrUpdateManyObjects() {
+        testRealm.beginTransaction();
+        for (int i = 0; i < 500; i++) {
+            PrimaryKeyAsLong obj = new PrimaryKeyAsLong();
+            obj.setId(i);
+            obj.setName("Foo " + i);
+            testRealm.copyToRealmOrUpdate(obj);
+        }
+        // Rows moved or removed during the transaction must still be found
+        testRealm.where(PrimaryKeyAsLong.class).lessThan("id", 100).findAll().clear();
+        for (int i = 0; i < 500; i++) {
+            PrimaryKeyAsLong obj = new PrimaryKeyAsLong();
+            obj.setId(i);
+            obj.setName("Bar " + i);
+            testRealm.copyToRealmOrUpdate(obj);
+        }
+        testRealm.commitTransaction();
+
+        assertEquals(500, testRealm.where(PrimaryKeyAsLong.class).count());
+        for (int i = 0; i < 500; i += 50) {
+            assertEquals("Bar " + i, testRealm.where(PrimaryKeyAsLong.class).equalTo("id", i).findFirst().getName());
+        }
+    }
+
+    public void testCopyToRealmOrUpdateManyStringPrimaryKeys() {
+        testRealm.beginTransaction();
+        for (int i = 0; i < 500; i++) {
+            PrimaryKeyAsString obj = new PrimaryKeyAsString("Foo " + i);
+            obj.setId(i);
+            testRealm.copyToRealmOrUpdate(obj);
+        }
+        // Changing a primary key must be seen by the following lookups
+        PrimaryKeyAsString renamed = testRealm.where(PrimaryKeyAsString.class).equalTo("name", "Foo 0").findFirst();
+        renamed.setName("Bar");
+        try {
+            testRealm.createObject(PrimaryKeyAsString.class).setName("Bar");
+            fail();
+        } catch (RealmPrimaryKeyConstraintException expected) {
+        }
+        PrimaryKeyAsString obj = new PrimaryKeyAsString("Foo 0");
+        obj.setId(1000);
+        testRealm.copyToRealmOrUpdate(obj);
+        testRealm.commitTransaction();
+
+        assertEquals(502, testRealm.where(PrimaryKeyAsString.class).count());
+        assertEquals(1000, testRealm.where(PrimaryKeyAsString.class).equalTo("name", "Foo 0").findFirst().getId());
+        assertEquals(0, testRealm.where(PrimaryKeyAsString.class).equalTo("name", "Bar").findFirst().getId());
+    }
+
     public void testCopyToRealmOrUpdateNullThrows() {
         try {
             testRealm.copyToRealmOrUpdate((AllTypes) null);
@@ -2266,4 +2505,48 @@ public class RealmTest extends AndroidTestCase {
             throw exception.get(0);
         }
     }
+
+    public void testGetMemoryInfo() {
+        populateTestRealm();
+        // the results and the object are kept reachable, so their native objects can't be released meanwhile
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).findAll();
+        AllTypes object = results.first();
+        RealmMemoryInfo info = testRealm.getMemoryInfo();
+
+        assertTrue(info.getFileSize() > 0);
+        assertTrue(info.getRowCount() > 0);
+        assertTrue(info.getTableViewCount() > 0);
+        assertTrue(info.getQueryCount() > 0);
+        assertTrue(info.getAbandonedObjectCount() >= 0);
+        // -1 unless the native library is built with REALM_ENABLE_MEM_USAGE
+        assertTrue(info.getProcessNativeMemory() == -1 || info.getProcessNativeMemory() > 0);
+        assertNotNull(object);
+    }
+
+    // closed views and queries are released right away, not when garbage collected
+    public void testGetMemoryInfoAfterClose() {
+        populateTestRealm();
+        int tableViewCount = testRealm.getMemoryInfo().getTableViewCount();
+        int queryCount = testRealm.getMemoryInfo().getQueryCount();
+        TableQuery query = testRealm.getTable(AllTypes.class).where();
+        TableView view = query.findAll();
+        assertEquals(tableViewCount + 1, testRealm.getMemoryInfo().getTableViewCount());
+        assertEquals(queryCount + 1, testRealm.getMemoryInfo().getQueryCount());
+
+        view.close();
+        query.close();
+        assertEquals(tableViewCount, testRealm.getMemoryInfo().getTableViewCount());
+        assertEquals(queryCount, testRealm.getMemoryInfo().getQueryCount());
+    }
+
+    public void testGetMemoryInfoClosedRealmThrows() {
+        testRealm.close();
+        try {
+            testRealm.getMemoryInfo();
+            fail();
+        } catch (IllegalStateException expected) {
+        } finally {
+            testRealm = null;
+        }
+    }
 }
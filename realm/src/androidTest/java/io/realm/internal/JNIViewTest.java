@@ -20,6 +20,9 @@ import android.test.MoreAsserts;
 
 import junit.framework.TestCase;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Date;
 
 import io.realm.TestHelper;
@@ -120,6 +123,62 @@ public class JNIViewTest extends TestCase {
     }
 
 
+    public void testGetLongsAndBooleans() {
+        TableView view = t.where().findAll();
+        view.sort(2);
+
+        long[] ages = new long[5];
+        view.getLongs(2, 1, ages, 1, 3);
+        MoreAsserts.assertEquals(new long[] {0, 22, 24, 35, 0}, ages);
+
+        boolean[] study = new boolean[4];
+        view.getBooleans(1, 0, study, 0, 4);
+        assertTrue(study[0] != study[1]); // Both rows have the same age
+        assertEquals(true, study[2]);
+        assertEquals(false, study[3]);
+
+        try {
+            view.getLongs(2, 2, ages, 0, 3);
+            fail("Rows out of range");
+        } catch (IndexOutOfBoundsException ignored) {}
+        try {
+            view.getLongs(2, 0, ages, 3, 3);
+            fail("Array too small");
+        } catch (IndexOutOfBoundsException ignored) {}
+    }
+
+    public void testGetColumnValuesToByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4 * 8).order(ByteOrder.nativeOrder());
+        t.getColumnValues(2, 0, 4, buffer);
+        assertEquals(4 * 8, buffer.position());
+
+        buffer.flip();
+        assertEquals(24, buffer.getLong());
+        assertEquals(35, buffer.getLong());
+        assertEquals(22, buffer.getLong());
+        assertEquals(22, buffer.getLong());
+
+        try {
+            t.getColumnValues(2, 0, 4, ByteBuffer.allocate(4 * 8));
+            fail("Only direct buffers are supported");
+        } catch (IllegalArgumentException ignored) {}
+    }
+
+    public void testGetColumnValuesRespectsBufferLimit() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4 * 8).order(ByteOrder.nativeOrder());
+        buffer.limit(3 * 8);
+        try {
+            t.getColumnValues(2, 0, 4, buffer);
+            fail("Values don't fit before the limit");
+        } catch (BufferOverflowException ignored) {}
+        assertEquals(0, buffer.position());
+
+        buffer.position(8);
+        t.getColumnValues(2, 0, 2, buffer);
+        assertEquals(3 * 8, buffer.position());
+        assertEquals(0, buffer.getLong(0));
+    }
+
     public void testSetBinary() {
 
         Table table = new Table();
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+public class RowChangesTest extends TestCase {
+
+    private static BitSet columns(int... indices) {
+        BitSet columns = new BitSet();
+        for (int index : indices) {
+            columns.set(index);
+        }
+        return columns;
+    }
+
+    public void testSetOnOtherRow() {
+        RowChanges changes = new RowChanges(1);
+        changes.forTable("class_Dog").set(1, 0);
+        List<RowChanges> log = new ArrayList<RowChanges>();
+        log.add(changes);
+        assertEquals(columns(), RowChanges.getChangedColumns(log, "class_Dog", 0, 3));
+        assertEquals(columns(0), RowChanges.getChangedColumns(log, "class_Dog", 1, 3));
+        assertEquals(columns(), RowChanges.getChangedColumns(log, "class_Cat", 1, 3));
+    }
+
+    // row 2 is set, moved to 0 when row 0 is removed, then set again
+    public void testSetThroughMoveLastOver() {
+        RowChanges changes = new RowChanges(1);
+        RowChanges.TableChanges table = changes.forTable("class_Dog");
+        table.set(2, 0);
+        table.moveLastOver(0, 2);
+        table.set(0, 1);
+        List<RowChanges> log = new ArrayList<RowChanges>();
+        log.add(changes);
+        assertEquals(columns(0, 1), RowChanges.getChangedColumns(log, "class_Dog", 0, 3));
+        assertEquals(columns(), RowChanges.getChangedColumns(log, "class_Dog", 1, 3));
+    }
+
+    public void testSeveralTransactions() {
+        RowChanges older = new RowChanges(1);
+        older.forTable("class_Dog").set(3, 2);
+        RowChanges newer = new RowChanges(2);
+        newer.forTable("class_Dog").remove(1);
+        List<RowChanges> log = new ArrayList<RowChanges>();
+        log.add(newer);
+        log.add(older);
+        // row 3 became row 2 when row 1 was removed
+        assertEquals(columns(2), RowChanges.getChangedColumns(log, "class_Dog", 2, 3));
+    }
+
+    public void testCreatedRowHasNoChangedColumns() {
+        RowChanges changes = new RowChanges(1);
+        RowChanges.TableChanges table = changes.forTable("class_Dog");
+        table.insert(4, 2);
+        table.set(5, 1);
+        List<RowChanges> log = new ArrayList<RowChanges>();
+        log.add(changes);
+        assertEquals(columns(), RowChanges.getChangedColumns(log, "class_Dog", 5, 3));
+    }
+
+    // row 1 is set, then becomes row 3 when two rows are inserted before it
+    public void testInsertShiftsLaterRows() {
+        RowChanges changes = new RowChanges(1);
+        RowChanges.TableChanges table = changes.forTable("class_Dog");
+        table.set(1, 2);
+        table.insert(0, 2);
+        List<RowChanges> log = new ArrayList<RowChanges>();
+        log.add(changes);
+        assertEquals(columns(2), RowChanges.getChangedColumns(log, "class_Dog", 3, 3));
+        assertEquals(columns(), RowChanges.getChangedColumns(log, "class_Dog", 0, 3));
+        assertEquals(columns(), RowChanges.getChangedColumns(log, "class_Dog", 2, 3));
+    }
+
+    // an observer that doesn't advance only keeps the last transactions in the log
+    public void testLogIsBounded() {
+        RowChangeLog changeLog = RowChangeLog.get("testLogIsBounded");
+        Object staleObserver = new Object();
+        Object observer = new Object();
+        changeLog.addObserver(staleObserver, new SharedGroup.VersionID(0, 0));
+        changeLog.addObserver(observer, new SharedGroup.VersionID(0, 0));
+        try {
+            for (int version = 1; version <= RowChangeLog.MAX_TRANSACTIONS + 10; version++) {
+                changeLog.publish(new RowChanges(version));
+                if (version == 5) {
+                    assertEquals(5, changeLog.advance(observer, new SharedGroup.VersionID(version, 0)).size());
+                }
+            }
+            // the oldest transactions were dropped, the stale observer has to reload everything
+            assertNull(changeLog.advance(staleObserver,
+                    new SharedGroup.VersionID(RowChangeLog.MAX_TRANSACTIONS + 10, 0)));
+            assertNull(changeLog.advance(observer,
+                    new SharedGroup.VersionID(RowChangeLog.MAX_TRANSACTIONS + 10, 0)));
+            assertEquals(0, changeLog.advance(staleObserver,
+                    new SharedGroup.VersionID(RowChangeLog.MAX_TRANSACTIONS + 10, 0)).size());
+        } finally {
+            changeLog.removeObserver(staleObserver);
+            changeLog.removeObserver(observer);
+        }
+    }
+
+    public void testUnknownChangesReportAllColumns() {
+        RowChanges changes = new RowChanges(1);
+        changes.forTable("class_Dog").unknown();
+        List<RowChanges> log = new ArrayList<RowChanges>();
+        log.add(changes);
+        assertEquals(columns(0, 1, 2), RowChanges.getChangedColumns(log, "class_Dog", 0, 3));
+        assertEquals(columns(0, 1, 2), RowChanges.getChangedColumns(null, "class_Dog", 0, 3));
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+public class RealmLogTest extends TestCase {
+
+    // records the messages it gets, with the first letter of their level
+    private static class RecordingLogger extends AbstractLogger {
+        private final List<String> messages = new ArrayList<String>();
+        private final List<Throwable> throwables = new ArrayList<Throwable>();
+
+        RecordingLogger(int minimumLogLevel) {
+            setMinimumLogLevel(minimumLogLevel);
+        }
+
+        private void record(String level, String message, Throwable t) {
+            messages.add(level + ":" + message);
+            throwables.add(t);
+        }
+
+        @Override
+        public void v(String message) {
+            record("v", message, null);
+        }
+
+        @Override
+        public void v(String message, Throwable t) {
+            record("v", message, t);
+        }
+
+        @Override
+        public void d(String message) {
+            record("d", message, null);
+        }
+
+        @Override
+        public void d(String message, Throwable t) {
+            record("d", message, t);
+        }
+
+        @Override
+        public void i(String message) {
+            record("i", message, null);
+        }
+
+        @Override
+        public void i(String message, Throwable t) {
+            record("i", message, t);
+        }
+
+        @Override
+        public void w(String message) {
+            record("w", message, null);
+        }
+
+        @Override
+        public void w(String message, Throwable t) {
+            record("w", message, t);
+        }
+
+        @Override
+        public void e(String message) {
+            record("e", message, null);
+        }
+
+        @Override
+        public void e(String message, Throwable t) {
+            record("e", message, t);
+        }
+    }
+
+    private RecordingLogger logger;
+
+    @Override
+    protected void setUp() throws Exception {
+        logger = new RecordingLogger(RealmLog.INFO);
+        RealmLog.add(logger);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        RealmLog.remove(logger);
+    }
+
+    public void testIsLoggable() {
+        assertTrue(RealmLog.isLoggable(RealmLog.INFO));
+        assertTrue(RealmLog.isLoggable(RealmLog.ERROR));
+    }
+
+    public void testMessagesBelowMinimumLevelAreNotPassed() {
+        RealmLog.v("verbose");
+        RealmLog.d("debug");
+        RealmLog.i("info");
+        assertEquals(1, logger.messages.size());
+        assertEquals("i:info", logger.messages.get(0));
+    }
+
+    public void testLoggerWithoutMinimumLevelGetsAllMessages() {
+        final List<String> messages = new ArrayList<String>();
+        Logger plainLogger = new Logger() {
+            @Override public void v(String message) { messages.add(message); }
+            @Override public void v(String message, Throwable t) { messages.add(message); }
+            @Override public void d(String message) { messages.add(message); }
+            @Override public void d(String message, Throwable t) { messages.add(message); }
+            @Override public void i(String message) { messages.add(message); }
+            @Override public void i(String message, Throwable t) { messages.add(message); }
+            @Override public void w(String message) { messages.add(message); }
+            @Override public void w(String message, Throwable t) { messages.add(message); }
+            @Override public void e(String message) { messages.add(message); }
+            @Override public void e(String message, Throwable t) { messages.add(message); }
+        };
+        RealmLog.add(plainLogger);
+        try {
+            assertTrue(RealmLog.isLoggable(RealmLog.VERBOSE));
+            RealmLog.v("verbose");
+            RealmLog.d("debug %d", 1);
+            assertEquals(2, messages.size());
+            assertEquals("debug 1", messages.get(1));
+            assertTrue(logger.messages.isEmpty());
+        } finally {
+            RealmLog.remove(plainLogger);
+        }
+    }
+
+    public void testFormatting() {
+        RealmLog.i("%s %d", "a", 1);
+        RealmLog.i("%s %s %s", "a", "b", "c");
+        assertEquals("i:a 1", logger.messages.get(0));
+        assertEquals("i:a b c", logger.messages.get(1));
+    }
+
+    public void testArgumentsNotFormattedIfNotLogged() {
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                fail("Argument of a discarded message formatted");
+                return null;
+            }
+        };
+        // other loggers, e.g. the debug logger added by BaseRealm, may log VERBOSE messages
+        if (!RealmLog.isLoggable(RealmLog.VERBOSE)) {
+            RealmLog.v("%s", argument);
+        }
+        assertTrue(logger.messages.isEmpty());
+    }
+
+    public void testThrowableIsForwarded() {
+        Throwable warning = new Throwable();
+        Throwable error = new Throwable();
+        RealmLog.w("warning", warning);
+        RealmLog.e("error", error);
+        assertEquals("w:warning", logger.messages.get(0));
+        assertSame(warning, logger.throwables.get(0));
+        assertEquals("e:error", logger.messages.get(1));
+        assertSame(error, logger.throwables.get(1));
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.os.Handler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.log.RealmLog;
+
+/**
+ * Runs the asynchronous transactions of a Realm file on a single thread, see
+ * {@link RealmConfiguration.Builder#singleWriterThread()}.
+ * <p>
+ * The transactions waiting in the queue are executed in a single write transaction and committed together. The
+ * writer keeps its Realm open as long as transactions keep coming, then closes it and stops its thread once idle for
+ * {@link #KEEP_ALIVE_MS}, so the file can be deleted or compacted.
+ */
+final class AsyncTransactionWriter implements Runnable {
+
+    // maximum number of transactions committed together
+    private static final int MAX_GROUP_SIZE = 32;
+    private static final long KEEP_ALIVE_MS = 500;
+
+    // writers by canonical path of the Realm file, guarded by itself
+    private static final Map<String, AsyncTransactionWriter> writers = new HashMap<String, AsyncTransactionWriter>();
+
+    private final RealmConfiguration configuration;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<Request>();
+
+    private AsyncTransactionWriter(RealmConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Queues a transaction for the writer thread of the Realm file, starting the thread if needed.
+     *
+     * @param configuration the configuration of the Realm to write to.
+     * @param transaction the transaction to execute.
+     * @param callback optional callback, invoked on the thread of the given handler.
+     * @param handler the handler of the caller thread, can be {@code null} if there is no callback.
+     * @return a Future to cancel the transaction. Cancelling has no effect once the transaction is committed.
+     */
+    static Future<?> submit(RealmConfiguration configuration, Realm.Transaction transaction,
+                            Realm.Transaction.Callback callback, Handler handler) {
+        Request request = new Request(transaction, callback, handler);
+        synchronized (writers) {
+            AsyncTransactionWriter writer = writers.get(configuration.getPath());
+            if (writer == null) {
+                writer = new AsyncTransactionWriter(configuration);
+                writers.put(configuration.getPath(), writer);
+                Thread thread = new Thread(writer, "RealmWriter " + configuration.getRealmFileName());
+                thread.setDaemon(true);
+                thread.start();
+            }
+            writer.queue.add(request);
+        }
+        return request.future;
+    }
+
+    @Override
+    public void run() {
+        android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+        Realm realm = null;
+        List<Request> group = new ArrayList<Request>(MAX_GROUP_SIZE);
+        try {
+            while (true) {
+                Request first = queue.poll(KEEP_ALIVE_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    synchronized (writers) {
+                        // submit() adds to the queue holding the same lock, no transaction can be missed
+                        if (queue.isEmpty()) {
+                            writers.remove(configuration.getPath());
+                            return;
+                        }
+                    }
+                    continue;
+                }
+
+                group.add(first);
+                queue.drainTo(group, MAX_GROUP_SIZE - 1);
+                try {
+                    if (realm == null) {
+                        realm = Realm.getPooledInstance(configuration);
+                    }
+                    commitGroup(realm, group);
+                } catch (Exception e) {
+                    RealmLog.e(e.getMessage());
+                    // transactions which already failed on their own keep their error
+                    for (Request request : group) {
+                        request.fail(e);
+                    }
+                }
+                group.clear();
+            }
+
+        } catch (InterruptedException ignored) {
+            // stopped, the pending transactions are cancelled below
+
+        } finally {
+            // also reached if a transaction throws an Error, the next transactions then start a new writer
+            synchronized (writers) {
+                if (writers.get(configuration.getPath()) == this) {
+                    writers.remove(configuration.getPath());
+                }
+            }
+            for (Request request : group) {
+                request.future.cancel(false);
+            }
+            for (Request request : queue) {
+                request.future.cancel(false);
+            }
+            if (realm != null) {
+                if (realm.isInTransaction()) {
+                    realm.cancelTransaction();
+                }
+                realm.close();
+            }
+        }
+    }
+
+    // Executes the transactions in a single write transaction. A transaction throwing or cancelled before the commit
+    // is removed from the group, and the others are executed again since Realm can't roll back only its changes.
+    private static void commitGroup(Realm realm, List<Request> group) {
+        List<Request> pending = new ArrayList<Request>(group);
+        while (true) {
+            removeCancelled(pending);
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            realm.beginTransaction();
+            Request failed = null;
+            Exception error = null;
+            for (Request request : pending) {
+                try {
+                    request.transaction.execute(realm);
+                } catch (Exception e) {
+                    failed = request;
+                    error = e;
+                    break;
+                }
+            }
+
+            if (failed != null) {
+                realm.cancelTransaction();
+                pending.remove(failed);
+                failed.fail(error);
+
+            } else if (hasCancelled(pending)) {
+                realm.cancelTransaction();
+
+            } else {
+                try {
+                    realm.commitTransaction();
+                } catch (RuntimeException e) {
+                    realm.cancelTransaction();
+                    throw e;
+                }
+                for (Request request : pending) {
+                    request.succeed();
+                }
+                return;
+            }
+        }
+    }
+
+    private static void removeCancelled(List<Request> requests) {
+        Iterator<Request> iterator = requests.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().future.isCancelled()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static boolean hasCancelled(List<Request> requests) {
+        for (Request request : requests) {
+            if (request.future.isCancelled()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Request {
+        final Realm.Transaction transaction;
+        final Realm.Transaction.Callback callback;
+        final Handler handler;
+        // set once the callback was notified, only accessed by the writer thread
+        private boolean completed;
+        // only used to cancel the transaction and to wait for it, it doesn't run the transaction
+        final FutureTask<Void> future = new FutureTask<Void>(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, null);
+
+        Request(Realm.Transaction transaction, Realm.Transaction.Callback callback, Handler handler) {
+            this.transaction = transaction;
+            this.callback = callback;
+            this.handler = handler;
+        }
+
+        void succeed() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            future.run();
+            if (canNotify()) {
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onSuccess();
+                    }
+                });
+            }
+        }
+
+        void fail(final Exception e) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            future.run();
+            if (canNotify()) {
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onError(e);
+                    }
+                });
+            }
+        }
+
+        private boolean canNotify() {
+            return callback != null
+                    && handler != null
+                    && !future.isCancelled()
+                    && handler.getLooper().getThread().isAlive();
+        }
+    }
+}
@@ -26,23 +26,28 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import io.realm.exceptions.RealmEncryptionNotSupportedException;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnType;
+import io.realm.internal.Context;
 import io.realm.internal.RealmProxyMediator;
+import io.realm.internal.RowChangeLog;
+import io.realm.internal.RowChanges;
 import io.realm.internal.SharedGroup;
 import io.realm.internal.SharedGroupManager;
 import io.realm.internal.Table;
+import io.realm.internal.Util;
 import io.realm.internal.android.DebugAndroidLogger;
 import io.realm.internal.android.ReleaseAndroidLogger;
 import io.realm.internal.async.RealmThreadPoolExecutor;
+import io.realm.internal.async.SharedGroupPool;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -58,21 +63,33 @@ abstract class BaseRealm implements Closeable {
     private static final String DIFFERENT_KEY_MESSAGE = "Wrong key used to decrypt Realm.";
 
     // Map between all Realm file paths and all known configurations pointing to that file.
+    // Modified only when a Realm file is opened or closed on a thread, but can be read without locking.
     protected static final Map<String, List<RealmConfiguration>> globalPathConfigurationCache =
-            new HashMap<String, List<RealmConfiguration>>();
+            new ConcurrentHashMap<String, List<RealmConfiguration>>();
 
     // Reference count on currently open Realm instances (both normal and dynamic).
-    protected static final Map<String, Integer> globalRealmFileReferenceCounter = new HashMap<String, Integer>();
+    protected static final Map<String, Integer> globalRealmFileReferenceCounter = new ConcurrentHashMap<String, Integer>();
 
     // Map between a Handler and the canonical path to a Realm file
     protected static final Map<Handler, String> handlers = new ConcurrentHashMap<Handler, String>();
 
+    // Map between a Handler and the HandlerController processing its messages
+    static final Map<Handler, HandlerController> handlerControllers = new ConcurrentHashMap<Handler, HandlerController>();
+
     // thread pool for all async operations (Query & transaction)
     static final RealmThreadPoolExecutor asyncQueryExecutor = RealmThreadPoolExecutor.getInstance();
 
     protected final List<WeakReference<RealmChangeListener>> changeListeners =
             new CopyOnWriteArrayList<WeakReference<RealmChangeListener>>();
 
+    // objects with RealmObjectChangeListener, notified from the rows recorded in the RowChangeLog of the file
+    private final List<WeakReference<RealmObject>> observedObjects = new ArrayList<WeakReference<RealmObject>>();
+    private RowChangeLog rowChangeLog;
+
+    // measured by beginTransaction() when the configuration has a RealmInstrumentation
+    private long transactionLockWaitNanos;
+    private long transactionStartNanos;
+
     protected long threadId;
     protected RealmConfiguration configuration;
     protected SharedGroupManager sharedGroupManager;
@@ -85,9 +102,19 @@ abstract class BaseRealm implements Closeable {
     }
 
     protected BaseRealm(RealmConfiguration configuration, boolean autoRefresh) {
+        this(configuration, autoRefresh, null);
+    }
+
+    /**
+     * Opens a Realm using a SharedGroup borrowed from the given pool, if not {@code null}. It is given back to the
+     * pool when the Realm is closed.
+     */
+    protected BaseRealm(RealmConfiguration configuration, boolean autoRefresh, SharedGroupPool sharedGroupPool) {
         this.threadId = Thread.currentThread().getId();
         this.configuration = configuration;
-        this.sharedGroupManager = new SharedGroupManager(configuration);
+        this.sharedGroupManager = (sharedGroupPool != null)
+                ? new SharedGroupManager(configuration, sharedGroupPool)
+                : new SharedGroupManager(configuration);
         setAutoRefresh(autoRefresh);
     }
 
@@ -110,6 +137,7 @@ abstract class BaseRealm implements Closeable {
             handlerController = new HandlerController(this);
             handler = new Handler(handlerController);
             handlers.put(handler, configuration.getPath());
+            handlerControllers.put(handler, handlerController);
         } else if (!autoRefresh && this.autoRefresh && handler != null) { // Switch it off
             removeHandler();
         }
@@ -182,7 +210,11 @@ abstract class BaseRealm implements Closeable {
     void setHandler (Handler handler) {
         // remove the old one
         handlers.remove(this.handler);
+        handlerControllers.remove(this.handler);
         handlers.put(handler, configuration.getPath());
+        if (handlerController != null) {
+            handlerControllers.put(handler, handlerController);
+        }
         this.handler = handler;
     }
 
@@ -201,12 +233,17 @@ abstract class BaseRealm implements Closeable {
      */
     protected void removeHandler() {
         handlers.remove(handler);
+        handlerControllers.remove(handler);
         // Warning: This only clears the Looper queue. Handler.Callback is not removed.
         handler.removeCallbacksAndMessages(null);
         this.handler = null;
     }
 
     protected void sendNotifications() {
+        RealmInstrumentation instrumentation = configuration.getInstrumentation();
+        long start = (instrumentation != null) ? System.nanoTime() : 0;
+        int notified = 0;
+        notifyObservedObjects();
         Iterator<WeakReference<RealmChangeListener>> iterator = changeListeners.iterator();
         List<WeakReference<RealmChangeListener>> toRemoveList = null;
         while (iterator.hasNext()) {
@@ -219,11 +256,67 @@ abstract class BaseRealm implements Closeable {
                 toRemoveList.add(weakRef);
             } else {
                 listener.onChange();
+                notified++;
             }
         }
         if (toRemoveList != null) {
             changeListeners.removeAll(toRemoveList);
         }
+        if (instrumentation != null) {
+            instrumentation.onListenersNotified(configuration.getPath(), notified, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Starts notifying the object change listeners of the given object. The rows modified by write transactions
+     * are recorded as long as objects are observed.
+     */
+    void addObservedObject(RealmObject object) {
+        for (WeakReference<RealmObject> reference : observedObjects) {
+            if (reference.get() == object) {
+                return;
+            }
+        }
+        if (rowChangeLog == null) {
+            rowChangeLog = RowChangeLog.get(configuration.getPath());
+        }
+        if (observedObjects.isEmpty()) {
+            rowChangeLog.addObserver(this, sharedGroupManager.getVersion());
+        }
+        observedObjects.add(new WeakReference<RealmObject>(object));
+    }
+
+    void removeObservedObject(RealmObject object) {
+        Iterator<WeakReference<RealmObject>> iterator = observedObjects.iterator();
+        while (iterator.hasNext()) {
+            RealmObject observed = iterator.next().get();
+            if (observed == null || observed == object) {
+                iterator.remove();
+            }
+        }
+        if (observedObjects.isEmpty() && rowChangeLog != null) {
+            rowChangeLog.removeObserver(this);
+        }
+    }
+
+    private void notifyObservedObjects() {
+        if (observedObjects.isEmpty()) {
+            return;
+        }
+        List<RowChanges> changes = rowChangeLog.advance(this, sharedGroupManager.getVersion());
+        if (changes != null && changes.isEmpty()) {
+            return;
+        }
+        // listeners can add or remove observed objects
+        for (WeakReference<RealmObject> reference : new ArrayList<WeakReference<RealmObject>>(observedObjects)) {
+            RealmObject object = reference.get();
+            if (object == null || !object.notifyObjectChangeListeners(changes)) {
+                observedObjects.remove(reference);
+            }
+        }
+        if (observedObjects.isEmpty()) {
+            rowChangeLog.removeObserver(this);
+        }
     }
 
     /**
@@ -294,7 +387,14 @@ abstract class BaseRealm implements Closeable {
      */
     public void beginTransaction() {
         checkIfValid();
+        if (configuration.getInstrumentation() == null) {
+            sharedGroupManager.promoteToWrite();
+            return;
+        }
+        long start = System.nanoTime();
         sharedGroupManager.promoteToWrite();
+        transactionStartNanos = System.nanoTime();
+        transactionLockWaitNanos = transactionStartNanos - start;
     }
 
     /**
@@ -306,7 +406,12 @@ abstract class BaseRealm implements Closeable {
      */
     public void commitTransaction() {
         checkIfValid();
-        sharedGroupManager.commitAndContinueAsRead();
+        Set<String> changedTables = sharedGroupManager.commitAndContinueAsRead();
+        RealmInstrumentation instrumentation = configuration.getInstrumentation();
+        if (instrumentation != null) {
+            instrumentation.onTransactionCommitted(configuration.getPath(), transactionLockWaitNanos,
+                    System.nanoTime() - transactionStartNanos);
+        }
 
         for (Map.Entry<Handler, String> handlerIntegerEntry : handlers.entrySet()) {
             Handler handler = handlerIntegerEntry.getKey();
@@ -318,13 +423,20 @@ abstract class BaseRealm implements Closeable {
                 continue;
             }
 
-            // For all other threads, use the Handler
+            // For all other threads, use the Handler. The changed tables are recorded before sending the message,
+            // so the receiving thread only needs to rerun the async queries depending on them.
             // Note there is a race condition with handler.hasMessages() and handler.sendEmptyMessage()
             // as the target thread consumes messages at the same time. In this case it is not a problem as worst
             // case we end up with two REALM_CHANGED messages in the queue.
+            if (!realmPath.equals(configuration.getPath())) {
+                continue;
+            }
+            HandlerController controller = handlerControllers.get(handler);
+            if (controller != null) {
+                controller.addChangedTables(changedTables);
+            }
             if (
-                    realmPath.equals(configuration.getPath())            // It's the right realm
-                            && !handler.hasMessages(HandlerController.REALM_CHANGED)       // The right message
+                    !handler.hasMessages(HandlerController.REALM_CHANGED)        // The right message
                             && handler.getLooper().getThread().isAlive() // The receiving thread is alive
                     ) {
                 if (!handler.sendEmptyMessage(HandlerController.REALM_CHANGED)) {
@@ -346,6 +458,11 @@ abstract class BaseRealm implements Closeable {
     public void cancelTransaction() {
         checkIfValid();
         sharedGroupManager.rollbackAndContinueAsRead();
+        RealmInstrumentation instrumentation = configuration.getInstrumentation();
+        if (instrumentation != null) {
+            instrumentation.onTransactionCancelled(configuration.getPath(), transactionLockWaitNanos,
+                    System.nanoTime() - transactionStartNanos);
+        }
     }
 
     /**
@@ -374,6 +491,21 @@ abstract class BaseRealm implements Closeable {
         return configuration.getPath();
     }
 
+    /**
+     * Returns the native memory held by this Realm instance, and the size of its file.
+     *
+     * @return a snapshot of the native memory usage.
+     * @throws IllegalStateException if the Realm is closed or accessed from the wrong thread.
+     * @see RealmMemoryInfo
+     */
+    public RealmMemoryInfo getMemoryInfo() {
+        checkIfValid();
+        Context context = sharedGroupManager.getContext();
+        return new RealmMemoryInfo(new File(configuration.getPath()).length(), context.getTrackedRowCount(),
+                context.getTableViewCount(), context.getQueryCount(), context.getAbandonedObjectCount(),
+                Util.getNativeMemUsage());
+    }
+
     /**
      * Returns the {@link RealmConfiguration} for this Realm.
      * @return {@link RealmConfiguration} for this Realm.
@@ -413,6 +545,10 @@ abstract class BaseRealm implements Closeable {
             references = 0;
         }
         if (sharedGroupManager != null && references == 1) {
+            if (rowChangeLog != null) {
+                observedObjects.clear();
+                rowChangeLog.removeObserver(this);
+            }
             lastLocalInstanceClosed();
             sharedGroupManager.close();
             sharedGroupManager = null;
@@ -482,6 +618,10 @@ abstract class BaseRealm implements Closeable {
             throw new IllegalStateException("Trying to release a Realm file that is already closed");
         }
         globalRealmFileReferenceCounter.put(canonicalPath, refCount - 1);
+        if (refCount == 1) {
+            // the file is no longer open by any Realm instance, release the SharedGroups kept by the async workers
+            SharedGroupPool.closePools(canonicalPath);
+        }
     }
 
     // package protected so unit tests can access it
@@ -625,7 +765,12 @@ abstract class BaseRealm implements Closeable {
         handlerController.asyncRealmObjects.put(realmObjectWeakReference, realmQuery);
     }
 
-    protected ReferenceQueue<RealmResults<? extends RealmObject>> getReferenceQueue () {
+    protected void addAsyncAggregate (WeakReference<RealmAggregate<?>> weakAggregate,
+                                      RealmQuery<? extends RealmObject> realmQuery) {
+        handlerController.asyncAggregates.put(weakAggregate, realmQuery);
+    }
+
+    protected ReferenceQueue<Object> getReferenceQueue () {
         return handlerController.referenceQueue;
     }
 
@@ -19,11 +19,13 @@ package io.realm;
 
 import android.os.Handler;
 import android.os.Message;
+import android.os.SystemClock;
 
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -32,6 +34,7 @@ import java.util.concurrent.Future;
 
 import io.realm.internal.SharedGroup;
 import io.realm.internal.async.QueryUpdateTask;
+import io.realm.internal.async.RealmThreadPoolExecutor;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -46,8 +49,18 @@ public class HandlerController implements Handler.Callback {
     final BaseRealm realm;
     // pending update of async queries
     private Future updateAsyncQueriesTask;
-
-    final ReferenceQueue<RealmResults<? extends RealmObject>> referenceQueue = new ReferenceQueue<RealmResults<? extends RealmObject>>();
+    // tables the pending update of async queries was submitted for, null means all tables
+    private Set<String> updateAsyncQueriesTables;
+
+    // names of the tables modified by commits from other threads, not yet processed by this thread.
+    // guarded by itself since commits record their changes from the committing thread.
+    private final Set<String> changedTables = new HashSet<String>();
+    private boolean changedTablesRecorded;
+    // uptime of the last REALM_CHANGED handled, used to coalesce the commits of a notification window
+    private long lastRealmChanged;
+
+    // receives the WeakReference of both the async RealmResults and the async RealmAggregate
+    final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<Object>();
     // keep a WeakReference list to RealmResults obtained asynchronously in order to update them
     // RealmQuery is not WeakReferenced to prevent it from being GC'd. RealmQuery should be
     // cleaned if RealmResults is cleaned. we need to keep RealmQuery because it contains the query
@@ -59,18 +72,61 @@ public class HandlerController implements Handler.Callback {
     final Map<WeakReference<RealmObject>, RealmQuery<? extends RealmObject>> asyncRealmObjects =
             new IdentityHashMap<WeakReference<RealmObject>, RealmQuery<? extends RealmObject>>();
 
+    // aggregates obtained asynchronously, rerun along with the async RealmResults
+    final Map<WeakReference<RealmAggregate<?>>, RealmQuery<? extends RealmObject>> asyncAggregates =
+            new IdentityHashMap<WeakReference<RealmAggregate<?>>, RealmQuery<? extends RealmObject>>();
+
     public HandlerController(BaseRealm realm) {
         this.realm = realm;
     }
 
-    private void updateAsyncQueries () {
+    /**
+     * Records the tables modified by a commit from another thread. This is called by the committing thread before
+     * it sends {@link #REALM_CHANGED} to this controller's Handler.
+     *
+     * @param tableNames names of the tables modified by the commit.
+     */
+    void addChangedTables(Set<String> tableNames) {
+        synchronized (changedTables) {
+            changedTables.addAll(tableNames);
+            changedTablesRecorded = true;
+        }
+    }
+
+    /**
+     * Returns the tables modified since the last call and resets them.
+     *
+     * @return the names of the modified tables or {@code null} if they are not known, e.g. if {@link #REALM_CHANGED}
+     * was not sent by a commit. In that case all async queries must be rerun.
+     */
+    private Set<String> takeChangedTables() {
+        synchronized (changedTables) {
+            if (!changedTablesRecorded) {
+                return null;
+            }
+            Set<String> tables = new HashSet<String>(changedTables);
+            changedTables.clear();
+            changedTablesRecorded = false;
+            return tables;
+        }
+    }
+
+    private void updateAsyncQueries (Set<String> tables) {
         if (updateAsyncQueriesTask != null && !updateAsyncQueriesTask.isDone()) {
             // try to cancel any pending update since we're submitting a new one anyway
+            // if it didn't start yet, submitting the new update removes it from the queue
             updateAsyncQueriesTask.cancel(true);
-            Realm.asyncQueryExecutor.getQueue().remove(updateAsyncQueriesTask);
-            RealmLog.d("REALM_CHANGED realm:" + HandlerController.this + " cancelling pending REALM_UPDATE_ASYNC_QUERIES updates");
+            RealmLog.d("REALM_CHANGED realm:%s cancelling pending REALM_UPDATE_ASYNC_QUERIES updates", HandlerController.this);
+            // the queries of the cancelled update still need to be rerun
+            if (tables != null && updateAsyncQueriesTables != null) {
+                tables.addAll(updateAsyncQueriesTables);
+            } else {
+                tables = null;
+            }
+        }
+        if (RealmLog.isLoggable(RealmLog.DEBUG)) {
+            RealmLog.d("REALM_CHANGED realm:" + HandlerController.this + " updating async queries, total: " + asyncRealmResults.size());
         }
-        RealmLog.d("REALM_CHANGED realm:"+ HandlerController.this + " updating async queries, total: " + asyncRealmResults.size());
         // prepare a QueryUpdateTask to current async queries in this thread
         QueryUpdateTask.Builder.UpdateQueryStep updateQueryStep = QueryUpdateTask.newBuilder()
                 .realmConfiguration(realm.getConfiguration());
@@ -86,7 +142,7 @@ public class HandlerController implements Handler.Callback {
                 // GC'd instance remove from the list
                 iterator.remove();
 
-            } else {
+            } else if (tables == null || entry.getValue().dependsOnAny(tables)) {
                 realmResultsQueryStep = updateQueryStep.add(weakReference,
                         entry.getValue().handoverQueryPointer(),
                         entry.getValue().getArgument());
@@ -100,15 +156,47 @@ public class HandlerController implements Handler.Callback {
             //       watch out when you debug, as you're IDE try to evaluate RealmResults
             //       which break the Thread confinement constraints.
         }
+
+        Iterator<Map.Entry<WeakReference<RealmAggregate<?>>, RealmQuery<?>>> aggregatesIterator = asyncAggregates.entrySet().iterator();
+        while (aggregatesIterator.hasNext()) {
+            Map.Entry<WeakReference<RealmAggregate<?>>, RealmQuery<?>> entry = aggregatesIterator.next();
+            if (entry.getKey().get() == null) {
+                aggregatesIterator.remove();
+
+            } else if (tables == null || entry.getValue().dependsOnAny(tables)) {
+                realmResultsQueryStep = updateQueryStep.addAggregate(entry.getKey(),
+                        entry.getValue().handoverQueryPointer(),
+                        entry.getValue().getArgument());
+            }
+        }
         if (realmResultsQueryStep != null) {
             QueryUpdateTask queryUpdateTask = realmResultsQueryStep
                     .sendToHandler(realm.handler, REALM_UPDATE_ASYNC_QUERIES)
                     .build();
-            updateAsyncQueriesTask = Realm.asyncQueryExecutor.submit(queryUpdateTask);
+            updateAsyncQueriesTask = Realm.asyncQueryExecutor.submitCoalesced(queryUpdateTask,
+                    RealmThreadPoolExecutor.PRIORITY_QUERY_UPDATE, this);
+            updateAsyncQueriesTables = tables;
+
+        } else {
+            // none of the async queries depend on the modified tables, their TableViews stay in sync
+            RealmLog.d("REALM_CHANGED realm:%s no async queries affected, advance_read", HandlerController.this);
+            if (updateAsyncQueriesTask != null) {
+                // cancelling also releases the coalescing key of the task
+                updateAsyncQueriesTask.cancel(false);
+                Realm.asyncQueryExecutor.getQueue().remove(updateAsyncQueriesTask);
+            }
+            updateAsyncQueriesTask = null;
+            updateAsyncQueriesTables = null;
+            realm.sharedGroupManager.advanceRead();
+            realm.sendNotifications();
         }
     }
 
     private void completedAsyncQueryUpdate(QueryUpdateTask.Result result) {
+        if (!result.updatedAggregates.isEmpty()) {
+            completedAsyncAggregate(result);
+            return;
+        }
         Set<WeakReference<RealmResults<? extends RealmObject>>> updatedTableViewsKeys = result.updatedTableViews.keySet();
         if (updatedTableViewsKeys.size() > 0) {
             WeakReference<RealmResults<? extends RealmObject>> weakRealmResults = updatedTableViewsKeys.iterator().next();
@@ -116,7 +204,7 @@ public class HandlerController implements Handler.Callback {
             RealmResults<? extends RealmObject> realmResults = weakRealmResults.get();
             if (realmResults == null) {
                 asyncRealmResults.remove(weakRealmResults);
-                RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY "+ weakRealmResults + "] realm:"+ HandlerController.this + " RealmResults GC'd ignore results");
+                RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY %s] realm:%s RealmResults GC'd ignore results", weakRealmResults, HandlerController.this);
 
             } else {
                 SharedGroup.VersionID callerVersionID = realm.sharedGroupManager.getVersion();
@@ -125,13 +213,13 @@ public class HandlerController implements Handler.Callback {
                     // if the RealmResults is empty (has not completed yet) then use the value
                     // otherwise a task (grouped update) has already updated this RealmResults
                     if (!realmResults.isLoaded()) {
-                        RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY "+ weakRealmResults + "] , realm:"+ HandlerController.this + " same versions, using results (RealmResults is not loaded)");
+                        RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY %s] , realm:%s same versions, using results (RealmResults is not loaded)", weakRealmResults, HandlerController.this);
                         // swap pointer
                         realmResults.swapTableViewPointer(result.updatedTableViews.get(weakRealmResults));
                         // notify callbacks
                         realmResults.notifyChangeListeners();
                     } else {
-                        RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY "+ weakRealmResults + "] , realm:"+ HandlerController.this + " ignoring result the RealmResults (is already loaded)");
+                        RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY %s] , realm:%s ignoring result the RealmResults (is already loaded)", weakRealmResults, HandlerController.this);
                     }
 
                 } else if (compare > 0) {
@@ -146,8 +234,9 @@ public class HandlerController implements Handler.Callback {
 
                     if (!realmResults.isLoaded()) { // UC2
                         // UC covered by this test: RealmAsyncQueryTests#testFindAllAsyncRetry
-                        RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY " + weakRealmResults + "] , realm:"+ HandlerController.this + " caller is more advanced & RealmResults is not loaded, rerunning the query against the latest version");
+                        RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY %s] , realm:%s caller is more advanced & RealmResults is not loaded, rerunning the query against the latest version", weakRealmResults, HandlerController.this);
 
+                        reportHandoverFailed();
                         RealmQuery<?> query = asyncRealmResults.get(weakRealmResults);
                         QueryUpdateTask queryUpdateTask = QueryUpdateTask.newBuilder()
                                 .realmConfiguration(realm.getConfiguration())
@@ -157,11 +246,13 @@ public class HandlerController implements Handler.Callback {
                                 .sendToHandler(realm.handler, REALM_COMPLETED_ASYNC_QUERY)
                                 .build();
 
-                        Realm.asyncQueryExecutor.submit(queryUpdateTask);
+                        // a previous retry of the same query is superseded
+                        Realm.asyncQueryExecutor.submitCoalesced(queryUpdateTask,
+                                RealmThreadPoolExecutor.PRIORITY_QUERY, weakRealmResults);
 
                     } else {
                         // UC covered by this test: RealmAsyncQueryTests#testFindAllCallerIsAdvanced
-                        RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY "+ weakRealmResults + "] , realm:"+ HandlerController.this + " caller is more advanced & RealmResults is loaded ignore the outdated result");
+                        RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY %s] , realm:%s caller is more advanced & RealmResults is loaded ignore the outdated result", weakRealmResults, HandlerController.this);
                     }
 
                 } else {
@@ -169,19 +260,57 @@ public class HandlerController implements Handler.Callback {
                     // no need to rerun the query, since we're going to receive the update signal
                     // & batch update all async queries including this one
                     // UC covered by this test: RealmAsyncQueryTests#testFindAllCallerThreadBehind
-                    RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY "+ weakRealmResults + "] , realm:"+ HandlerController.this + " caller thread behind worker thread, ignore results (a batch update will update everything including this query)");
+                    RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY %s] , realm:%s caller thread behind worker thread, ignore results (a batch update will update everything including this query)", weakRealmResults, HandlerController.this);
                 }
             }
         }
     }
 
+    private void completedAsyncAggregate(QueryUpdateTask.Result result) {
+        WeakReference<RealmAggregate<?>> weakAggregate = result.updatedAggregates.keySet().iterator().next();
+        RealmAggregate<?> aggregate = weakAggregate.get();
+        if (aggregate == null) {
+            asyncAggregates.remove(weakAggregate);
+            return;
+        }
+
+        // same rules as for RealmResults, the value is only used if it was computed for the version of the caller
+        SharedGroup.VersionID callerVersionID = realm.sharedGroupManager.getVersion();
+        int compare = callerVersionID.compareTo(result.versionID);
+        if (compare == 0) {
+            if (!aggregate.isLoaded()) {
+                RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY %s] , realm:%s same versions, using aggregate value", weakAggregate, HandlerController.this);
+                aggregate.setValue(result.updatedAggregates.get(weakAggregate));
+                aggregate.notifyChangeListeners();
+            }
+
+        } else if (compare > 0) {
+            if (!aggregate.isLoaded()) {
+                RealmLog.d("[REALM_COMPLETED_ASYNC_QUERY %s] , realm:%s caller is more advanced & aggregate is not loaded, rerunning the query against the latest version", weakAggregate, HandlerController.this);
+                reportHandoverFailed();
+                RealmQuery<?> query = asyncAggregates.get(weakAggregate);
+                QueryUpdateTask queryUpdateTask = QueryUpdateTask.newBuilder()
+                        .realmConfiguration(realm.getConfiguration())
+                        .addAggregate(weakAggregate,
+                                query.handoverQueryPointer(),
+                                query.getArgument())
+                        .sendToHandler(realm.handler, REALM_COMPLETED_ASYNC_QUERY)
+                        .build();
+
+                Realm.asyncQueryExecutor.submitCoalesced(queryUpdateTask,
+                        RealmThreadPoolExecutor.PRIORITY_QUERY, weakAggregate);
+            }
+        } // else: the caller thread is behind, the batch update will compute the value again
+    }
+
     private void completedAsyncQueriesUpdate(QueryUpdateTask.Result result) {
         SharedGroup.VersionID callerVersionID = realm.sharedGroupManager.getVersion();
         int compare = callerVersionID.compareTo(result.versionID);
         if (compare > 0) {
-            RealmLog.d("REALM_UPDATE_ASYNC_QUERIES realm:" + HandlerController.this + " caller is more advanced, rerun updates");
+            RealmLog.d("REALM_UPDATE_ASYNC_QUERIES realm:%s caller is more advanced, rerun updates", HandlerController.this);
             // The caller is more advance than the updated queries ==>
             // need to refresh them again (if there is still queries)
+            reportHandoverFailed();
             realm.handler.sendEmptyMessage(REALM_CHANGED);
 
         } else {
@@ -193,7 +322,7 @@ public class HandlerController implements Handler.Callback {
                 // imperative TV, they will not rerun if the SharedGroup advance
 
                 // UC covered by this test: RealmAsyncQueryTests#testFindAllCallerThreadBehind
-                RealmLog.d("REALM_UPDATE_ASYNC_QUERIES realm:"+ HandlerController.this + " caller is behind  advance_read");
+                RealmLog.d("REALM_UPDATE_ASYNC_QUERIES realm:%s caller is behind  advance_read", HandlerController.this);
                 // refresh the Realm to the version provided by the worker thread
                 // (advanceRead to the latest version may cause a version mismatch error) preventing us
                 // from importing correctly the handover table view
@@ -214,19 +343,39 @@ public class HandlerController implements Handler.Callback {
                     // the pointers, because the callback may use another RealmResults not updated yet
                     // this is why we defer the notification until we're done updating all pointers
 
-                    // TODO find a way to only notify callbacks if the underlying data changed compared
-                    //      to the existing value(s) for this RealmResults (use a hashCode?)
+                    // RealmChangeListener are always notified, RealmChangeSetListener only if the results
+                    // changed compared to their previous notification (see RealmResults#notifyChangeListeners)
                     callbacksToNotify.add(realmResults);
 
-                    RealmLog.d("REALM_UPDATE_ASYNC_QUERIES realm:"+ HandlerController.this + " updating RealmResults " + weakRealmResults);
+                    RealmLog.d("REALM_UPDATE_ASYNC_QUERIES realm:%s updating RealmResults %s", HandlerController.this, weakRealmResults);
                     // update the instance with the new pointer
                     realmResults.swapTableViewPointer(query.getValue());
                 }
             }
 
+            ArrayList<RealmAggregate<?>> aggregatesToNotify = new ArrayList<RealmAggregate<?>>(result.updatedAggregates.size());
+            for (Map.Entry<WeakReference<RealmAggregate<?>>, Object> aggregateValue : result.updatedAggregates.entrySet()) {
+                RealmAggregate<?> aggregate = aggregateValue.getKey().get();
+                if (aggregate == null) {
+                    asyncAggregates.remove(aggregateValue.getKey());
+                } else {
+                    aggregate.setValue(aggregateValue.getValue());
+                    aggregatesToNotify.add(aggregate);
+                }
+            }
+
+            RealmInstrumentation instrumentation = realm.configuration.getInstrumentation();
+            long start = (instrumentation != null) ? System.nanoTime() : 0;
             for (RealmResults<? extends RealmObject> query : callbacksToNotify) {
                 query.notifyChangeListeners();
             }
+            for (RealmAggregate<?> aggregate : aggregatesToNotify) {
+                aggregate.notifyChangeListeners();
+            }
+            if (instrumentation != null) {
+                int notified = callbacksToNotify.size() + aggregatesToNotify.size();
+                instrumentation.onListenersNotified(realm.getPath(), notified, System.nanoTime() - start);
+            }
 
             // notify listeners only when we advanced
             if (compare != 0) {
@@ -234,6 +383,7 @@ public class HandlerController implements Handler.Callback {
             }
 
             updateAsyncQueriesTask = null;
+            updateAsyncQueriesTables = null;
         }
     }
 
@@ -255,6 +405,7 @@ public class HandlerController implements Handler.Callback {
                 } else if (compare > 0) {
                     // the caller has advanced we need to
                     // retry against the current version of the caller
+                    reportHandoverFailed();
                     RealmQuery<?> realmQuery = asyncRealmObjects.get(realmObjectWeakReference);
 
                     QueryUpdateTask queryUpdateTask = QueryUpdateTask.newBuilder()
@@ -265,7 +416,8 @@ public class HandlerController implements Handler.Callback {
                             .sendToHandler(realm.handler, REALM_COMPLETED_ASYNC_FIND_FIRST)
                             .build();
 
-                    Realm.asyncQueryExecutor.submit(queryUpdateTask);
+                    Realm.asyncQueryExecutor.submitCoalesced(queryUpdateTask,
+                            RealmThreadPoolExecutor.PRIORITY_QUERY, realmObjectWeakReference);
                 } else {
                     // should not happen, since the the background thread position itself against the provided version
                     // and the caller thread can only go forward (advance_read)
@@ -275,6 +427,14 @@ public class HandlerController implements Handler.Callback {
         }
     }
 
+    // a result computed by a worker thread is older than the Realm, the query runs again
+    private void reportHandoverFailed() {
+        RealmInstrumentation instrumentation = realm.configuration.getInstrumentation();
+        if (instrumentation != null) {
+            instrumentation.onHandoverFailed(realm.getPath());
+        }
+    }
+
     @Override
     public boolean handleMessage(Message message) {
         // Due to how a ConcurrentHashMap iterator is created we cannot be sure that other threads are
@@ -285,11 +445,15 @@ public class HandlerController implements Handler.Callback {
         if (realm.sharedGroupManager != null) {
             switch (message.what) {
                 case REALM_CHANGED: {
+                    if (deferToEndOfWindow()) {
+                        break;
+                    }
+                    Set<String> tables = takeChangedTables();
                     if (threadContainsAsyncQueries()) {
-                        updateAsyncQueries();
+                        updateAsyncQueries(tables);
 
                     } else {
-                        RealmLog.d("REALM_CHANGED realm:"+ HandlerController.this + " no async queries, advance_read");
+                        RealmLog.d("REALM_CHANGED realm:%s no async queries, advance_read", HandlerController.this);
                         realm.sharedGroupManager.advanceRead();
                         realm.sendNotifications();
                     }
@@ -322,37 +486,51 @@ public class HandlerController implements Handler.Callback {
     }
 
     /**
-     * This will prevent advanceReading from accidentally advancing the thread and potentially re-run the queries in this thread.
-     * @return {@code true} if there is at least one (non GC'd) instance of {@link RealmResults} {@code false} otherwise
+     * Checks if {@link #REALM_CHANGED} must wait for the end of the notification window of the configuration. In that
+     * case a single message is scheduled at the end of the window, the changed tables keep being recorded until then.
+     *
+     * @return {@code true} if the message must be ignored, {@code false} if it must be handled now.
+     * @see RealmConfiguration.Builder#notificationWindow(long, java.util.concurrent.TimeUnit)
      */
-    private boolean threadContainsAsyncQueries () {
-        deleteWeakReferences();
-        boolean isEmpty = true;
-        Iterator<Map.Entry<WeakReference<RealmResults<? extends RealmObject>>, RealmQuery<?>>> iterator = asyncRealmResults.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<WeakReference<RealmResults<? extends RealmObject>>, RealmQuery<?>> next = iterator.next();
-            if (next.getKey().get() == null) {
-                // clean the GC'ed instances
-                // we could've avoided this if we had a 'WeakIdentityHashmap' data structure. miss Guava :(
-                iterator.remove();
-            } else {
-                isEmpty = false;
+    private boolean deferToEndOfWindow() {
+        long window = realm.getConfiguration().getNotificationWindow();
+        if (window == 0) {
+            return false;
+        }
+        long now = SystemClock.uptimeMillis();
+        long endOfWindow = lastRealmChanged + window;
+        if (lastRealmChanged != 0 && now < endOfWindow) {
+            // commits don't send REALM_CHANGED while one is pending, so this is the only message of the window
+            if (!realm.handler.hasMessages(REALM_CHANGED)) {
+                realm.handler.sendEmptyMessageAtTime(REALM_CHANGED, endOfWindow);
             }
+            return true;
         }
+        lastRealmChanged = now;
+        return false;
+    }
 
-        return !isEmpty;
+    /**
+     * This will prevent advanceReading from accidentally advancing the thread and potentially re-run the queries in this thread.
+     * @return {@code true} if there is at least one (non GC'd) instance of {@link RealmResults} or
+     * {@link RealmAggregate} {@code false} otherwise
+     */
+    private boolean threadContainsAsyncQueries () {
+        deleteWeakReferences();
+        // entries whose RealmResults was collected but not enqueued yet are removed by updateAsyncQueries
+        return !asyncRealmResults.isEmpty() || !asyncAggregates.isEmpty();
     }
 
+    /**
+     * Removes the entries of the {@link RealmResults} and {@link RealmAggregate} reclaimed by the GC. Their
+     * {@link WeakReference} are registered with {@link #referenceQueue} and used as identity keys, so this only costs
+     * one poll per collected instance. A collection is never forced.
+     */
     private void deleteWeakReferences() {
-        // From the AOSP FinalizationTest:
-        // https://android.googlesource.com/platform/libcore/+/master/support/src/test/java/libcore/
-        // java/lang/ref/FinalizationTester.java
-        // System.gc() does not garbage collect every time. Runtime.gc() is
-        // more likely to perform a gc.
-        Runtime.getRuntime().gc();
-        Reference<? extends RealmResults<? extends RealmObject>> weakReference;
+        Reference<?> weakReference;
         while ((weakReference = referenceQueue.poll()) != null ) { // Does not wait for a reference to become available.
             asyncRealmResults.remove(weakReference);
+            asyncAggregates.remove(weakReference);
         }
     }
 }
@@ -22,11 +22,13 @@ import android.os.Build;
 import android.os.Handler;
 import android.os.Looper;
 import android.util.JsonReader;
+import android.util.MalformedJsonException;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -35,10 +37,11 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
@@ -51,10 +54,14 @@ import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
+import io.realm.internal.Row;
 import io.realm.internal.Table;
 import io.realm.internal.TableView;
 import io.realm.internal.UncheckedRow;
 import io.realm.internal.Util;
+import io.realm.internal.android.JsonUtils;
+import io.realm.internal.async.RealmThreadPoolExecutor;
+import io.realm.internal.async.SharedGroupPool;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -151,6 +158,10 @@ public final class Realm extends BaseRealm {
         super(configuration, autoRefresh);
     }
 
+    private Realm(RealmConfiguration configuration, boolean autoRefresh, SharedGroupPool sharedGroupPool) {
+        super(configuration, autoRefresh, sharedGroupPool);
+    }
+
     @Override
     protected void finalize() throws Throwable {
         if (sharedGroupManager != null && sharedGroupManager.isOpen()) {
@@ -240,10 +251,35 @@ public final class Realm extends BaseRealm {
         defaultConfiguration = null;
     }
 
-    private static synchronized Realm create(RealmConfiguration configuration) {
+    private static Realm create(RealmConfiguration configuration) {
+        // Fast path: an instance already opened on this thread only needs its thread local reference count
+        // incremented, which doesn't require any global lock.
+        Realm realm = realmsCache.get().get(configuration);
+        if (realm != null) {
+            Map<RealmConfiguration, Integer> localRefCount = referenceCount.get();
+            Integer references = localRefCount.get(configuration);
+            localRefCount.put(configuration, (references == null) ? 1 : references + 1);
+            return realm;
+        }
+        return createInstance(configuration, null);
+    }
+
+    /**
+     * Returns a Realm instance for a worker thread. If it isn't already open on this thread, it uses a SharedGroup
+     * borrowed from the pool of the async queries instead of opening the file again, see {@link SharedGroupPool}.
+     */
+    static Realm getPooledInstance(RealmConfiguration configuration) {
+        Realm realm = realmsCache.get().get(configuration);
+        if (realm != null) {
+            return create(configuration);
+        }
+        return createInstance(configuration, SharedGroupPool.getInstance(configuration));
+    }
+
+    private static synchronized Realm createInstance(RealmConfiguration configuration, SharedGroupPool sharedGroupPool) {
         boolean autoRefresh = Looper.myLooper() != null;
         try {
-            return createAndValidate(configuration, null, autoRefresh);
+            return createAndValidate(configuration, null, autoRefresh, sharedGroupPool);
 
         } catch (RealmMigrationNeededException e) {
             if (configuration.shouldDeleteRealmIfMigrationNeeded()) {
@@ -252,11 +288,16 @@ public final class Realm extends BaseRealm {
                 migrateRealm(configuration);
             }
 
-            return createAndValidate(configuration, true, autoRefresh);
+            return createAndValidate(configuration, true, autoRefresh, sharedGroupPool);
         }
     }
 
     private static Realm createAndValidate(RealmConfiguration configuration, Boolean validateSchema, boolean autoRefresh) {
+        return createAndValidate(configuration, validateSchema, autoRefresh, null);
+    }
+
+    private static Realm createAndValidate(RealmConfiguration configuration, Boolean validateSchema, boolean autoRefresh,
+                                           SharedGroupPool sharedGroupPool) {
         synchronized (BaseRealm.class) {
             if (validateSchema == null) {
                 validateSchema = !validatedRealmFiles.containsKey(configuration.getPath());
@@ -279,7 +320,7 @@ public final class Realm extends BaseRealm {
             // Create new Realm and cache it. All exception code paths must close the Realm otherwise we risk serving
             // faulty cache data.
             validateAgainstExistingConfigurations(configuration);
-            realm = new Realm(configuration, autoRefresh);
+            realm = new Realm(configuration, autoRefresh, sharedGroupPool);
             List<RealmConfiguration> pathConfigurationCache = globalPathConfigurationCache.get(canonicalPath);
             if (pathConfigurationCache == null) {
                 pathConfigurationCache = new CopyOnWriteArrayList<RealmConfiguration>();
@@ -500,21 +541,27 @@ public final class Realm extends BaseRealm {
         }
         checkHasPrimaryKey(clazz);
 
-        // As we need the primary key value we have to first parse the entire input stream as in the general
-        // case that value might be the last property :(
-        Scanner scanner = null;
+        // The primary key value might be the last property of an object, so each object is read before being
+        // created or updated. Only one object of the array is in memory at a time.
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
         try {
-            scanner = getFullStringScanner(in);
-            JSONArray json = new JSONArray(scanner.next());
-            for (int i = 0; i < json.length(); i++) {
-                configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json.getJSONObject(i), true);
+            reader.beginArray();
+            while (reader.hasNext()) {
+                JSONObject json = JsonUtils.readJsonObject(reader);
+                configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json, true);
             }
+            reader.endArray();
         } catch (JSONException e) {
             throw new RealmException("Failed to read JSON", e);
+        } catch (IllegalStateException e) {
+            // Thrown by the reader when the JSON doesn't have the expected structure
+            throw new RealmException("Failed to read JSON", e);
+        } catch (MalformedJsonException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (EOFException e) {
+            throw new RealmException("Failed to read JSON", e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            reader.close();
         }
     }
 
@@ -663,26 +710,25 @@ public final class Realm extends BaseRealm {
         }
         checkHasPrimaryKey(clazz);
 
-        // As we need the primary key value we have to first parse the entire input stream as in the general
-        // case that value might be the last property :(
-        Scanner scanner = null;
+        // The primary key value might be the last property, so the object is read before being created or updated
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
         try {
-            scanner = getFullStringScanner(in);
-            JSONObject json = new JSONObject(scanner.next());
+            JSONObject json = JsonUtils.readJsonObject(reader);
             return configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json, true);
         } catch (JSONException e) {
             throw new RealmException("Failed to read JSON", e);
+        } catch (IllegalStateException e) {
+            // Thrown by the reader when the JSON doesn't have the expected structure
+            throw new RealmException("Failed to read JSON", e);
+        } catch (MalformedJsonException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (EOFException e) {
+            throw new RealmException("Failed to read JSON", e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            reader.close();
         }
     }
 
-    private Scanner getFullStringScanner(InputStream in) {
-        return new Scanner(in, "UTF-8").useDelimiter("\\A");
-    }
-
     /**
      * Instantiates and adds a new object to the Realm.
      *
@@ -726,6 +772,14 @@ public final class Realm extends BaseRealm {
         return result;
     }
 
+    // Returns an object backed by the given row accessor, which is not required to be attached to a specific row.
+    <E extends RealmObject> E get(Class<E> clazz, Row row) {
+        E result = configuration.getSchemaMediator().newInstance(clazz, getColumnInfo(clazz));
+        result.row = row;
+        result.realm = this;
+        return result;
+    }
+
     ColumnInfo getColumnInfo(Class<? extends RealmObject> clazz) {
         final ColumnInfo columnInfo = columnIndices.getColumnInfo(clazz);
         if (columnInfo == null) {
@@ -814,6 +868,100 @@ public final class Realm extends BaseRealm {
         return realmObjects;
     }
 
+    /**
+     * Inserts a RealmObject into the Realm. Like {@link #copyToRealm(RealmObject)}, this is a deep copy and objects
+     * already in this Realm are ignored, but no managed object is created for the inserted object. Use this instead of
+     * {@link #copyToRealm(RealmObject)} when the managed object isn't needed.
+     *
+     * @param object RealmObject to insert.
+     * @throws java.lang.IllegalArgumentException if {@code object} is {@code null}.
+     * @throws io.realm.exceptions.RealmPrimaryKeyConstraintException if a primary key value is already used.
+     * @see #copyToRealm(RealmObject)
+     */
+    public <E extends RealmObject> void insert(E object) {
+        checkIfValid();
+        if (object == null) {
+            throw new IllegalArgumentException("Null objects cannot be inserted into Realm.");
+        }
+        configuration.getSchemaMediator().insert(this, object, new HashMap<RealmObject, Long>());
+    }
+
+    /**
+     * Inserts a collection of RealmObjects into the Realm. Like {@link #copyToRealm(Iterable)}, this is a deep copy and
+     * objects already in this Realm are ignored, but no managed objects are created for the inserted objects. Values
+     * are written to the Realm in batches, using a single native call for many objects, which makes this much faster
+     * for large imports.
+     *
+     * @param objects RealmObjects to insert.
+     * @throws java.lang.IllegalArgumentException if {@code objects} or one of its elements is {@code null}.
+     * @throws io.realm.exceptions.RealmPrimaryKeyConstraintException if a primary key value is already used.
+     * @see #copyToRealm(Iterable)
+     */
+    public <E extends RealmObject> void insert(Collection<E> objects) {
+        checkIfValid();
+        if (objects == null) {
+            throw new IllegalArgumentException("Null objects cannot be inserted into Realm.");
+        }
+
+        // Objects are inserted class by class, in the order of their first occurrence
+        Map<Class<? extends RealmObject>, List<RealmObject>> objectsByClass = null;
+        Class<? extends RealmObject> firstClass = null;
+        for (E object : objects) {
+            if (object == null) {
+                throw new IllegalArgumentException("Null objects cannot be inserted into Realm.");
+            }
+            Class<? extends RealmObject> clazz = Util.getOriginalModelClass(object.getClass());
+            if (firstClass == null) {
+                firstClass = clazz;
+            } else if (objectsByClass == null && !firstClass.equals(clazz)) {
+                objectsByClass = new LinkedHashMap<Class<? extends RealmObject>, List<RealmObject>>();
+            }
+        }
+        if (firstClass == null) {
+            return;
+        }
+
+        RealmProxyMediator mediator = configuration.getSchemaMediator();
+        Map<RealmObject, Long> cache = new HashMap<RealmObject, Long>();
+        if (objectsByClass == null) {
+            mediator.insertAll(firstClass, this, objects, cache);
+            return;
+        }
+        for (E object : objects) {
+            Class<? extends RealmObject> clazz = Util.getOriginalModelClass(object.getClass());
+            List<RealmObject> classObjects = objectsByClass.get(clazz);
+            if (classObjects == null) {
+                classObjects = new ArrayList<RealmObject>();
+                objectsByClass.put(clazz, classObjects);
+            }
+            classObjects.add(object);
+        }
+        for (Map.Entry<Class<? extends RealmObject>, List<RealmObject>> entry : objectsByClass.entrySet()) {
+            mediator.insertAll(entry.getKey(), this, entry.getValue(), cache);
+        }
+    }
+
+    /**
+     * Inserts a collection of RealmObjects into the Realm. This is the same as {@link #insert(Collection)}.
+     *
+     * @param objects RealmObjects to insert.
+     * @throws java.lang.IllegalArgumentException if {@code objects} or one of its elements is {@code null}.
+     * @throws io.realm.exceptions.RealmPrimaryKeyConstraintException if a primary key value is already used.
+     * @see #insert(Collection)
+     */
+    public <E extends RealmObject> void insertAll(Collection<E> objects) {
+        insert(objects);
+    }
+
+    // Returns the row index of an object referenced by an object being inserted, inserting it first if needed.
+    long insertIfNeeded(RealmObject object, Map<RealmObject, Long> cache) {
+        Long rowIndex = cache.get(object);
+        if (rowIndex != null) {
+            return rowIndex;
+        }
+        return configuration.getSchemaMediator().insert(this, object, cache);
+    }
+
     boolean contains(Class<? extends RealmObject> clazz) {
         return configuration.getSchemaMediator().getModelClasses().contains(clazz);
     }
@@ -970,7 +1118,13 @@ public final class Realm extends BaseRealm {
             throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
         }
 
+        RealmInstrumentation instrumentation = configuration.getInstrumentation();
+        long start = (instrumentation != null) ? System.nanoTime() : 0;
         TableView tableView = table.getDistinctView(columnIndex);
+        if (instrumentation != null) {
+            instrumentation.onQuery(RealmInstrumentation.QueryType.DISTINCT, clazz, System.nanoTime() - start,
+                    tableView.size());
+        }
         return new RealmResults<E>(this, tableView, clazz);
     }
 
@@ -1046,7 +1200,9 @@ public final class Realm extends BaseRealm {
     }
 
     /**
-     * Similar to {@link #executeTransaction(Transaction)} but runs asynchronously from a worker thread
+     * Similar to {@link #executeTransaction(Transaction)} but runs asynchronously from a worker thread, or from the
+     * writer thread of the Realm if the configuration uses
+     * {@link io.realm.RealmConfiguration.Builder#singleWriterThread()}.
      * @param transaction {@link io.realm.Realm.Transaction} to execute.
      * @param callback optional, to receive the result of this query
      * @return A {@link RealmAsyncTask} representing a cancellable task
@@ -1066,11 +1222,16 @@ public final class Realm extends BaseRealm {
         // to perform the transaction
         final RealmConfiguration realmConfiguration = getConfiguration();
 
+        if (realmConfiguration.shouldUseSingleWriterThread()) {
+            return new RealmAsyncTask(AsyncTransactionWriter.submit(realmConfiguration, transaction, callback, handler));
+        }
+
+        // queries the UI is waiting for run before transactions
         final Future<?> pendingQuery = asyncQueryExecutor.submit(new Runnable() {
             @Override
             public void run() {
                 if (!Thread.currentThread().isInterrupted()) {
-                    Realm bgRealm = Realm.getInstance(realmConfiguration);
+                    Realm bgRealm = Realm.getPooledInstance(realmConfiguration);
                     bgRealm.beginTransaction();
                     try {
                         transaction.execute(bgRealm);
@@ -1110,7 +1271,7 @@ public final class Realm extends BaseRealm {
                     }
                 }
             }
-        });
+        }, RealmThreadPoolExecutor.PRIORITY_TRANSACTION);
 
         return new RealmAsyncTask(pendingQuery);
     }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The value of an aggregate (count, sum, average, minimum or maximum) computed asynchronously by a
+ * {@link RealmQuery}, e.g. using {@link RealmQuery#countAsync()}.
+ * <p>
+ * The value is computed on a worker thread. Once it is available, and each time it is computed again because the
+ * queried data changed, the registered {@link RealmChangeListener} are notified on the thread of the Realm.
+ * <p>
+ * A RealmAggregate is only updated as long as it is referenced, like the {@link RealmResults} returned by
+ * {@link RealmQuery#findAllAsync()}.
+ *
+ * @param <T> the type of the value.
+ */
+public final class RealmAggregate<T> {
+
+    private final Realm realm;
+    // dates are computed in seconds
+    private final boolean dateValue;
+    private final List<RealmChangeListener> listeners = new CopyOnWriteArrayList<RealmChangeListener>();
+    private T value;
+    private boolean isCompleted;
+
+    RealmAggregate(Realm realm, boolean dateValue) {
+        this.realm = realm;
+        this.dateValue = dateValue;
+    }
+
+    /**
+     * Returns the value of the aggregate for the current version of the Realm.
+     *
+     * @return the value, or {@code null} if it is not loaded yet. Minimum and maximum are also {@code null} if no
+     * objects exist or they all have {@code null} as the value for the given field.
+     * @see #isLoaded()
+     */
+    public T get() {
+        realm.checkIfValid();
+        return value;
+    }
+
+    /**
+     * Returns {@code true} once the value has been computed for the first time.
+     *
+     * @return {@code true} if the value is available, {@code false} if it is still being computed.
+     */
+    public boolean isLoaded() {
+        realm.checkIfValid();
+        return isCompleted;
+    }
+
+    /**
+     * Add a change listener to this RealmAggregate. It is notified when the value is computed and each time it is
+     * computed again.
+     *
+     * @param listener the change listener to be notified
+     */
+    public void addChangeListener(RealmChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        realm.checkIfValid();
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Remove a previously registered listener.
+     *
+     * @param listener the instance to be removed.
+     */
+    public void removeChangeListener(RealmChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        realm.checkIfValid();
+        listeners.remove(listener);
+    }
+
+    /**
+     * Remove all registered listeners.
+     */
+    public void removeChangeListeners() {
+        realm.checkIfValid();
+        listeners.clear();
+    }
+
+    /**
+     * Sets the value computed by the worker thread.
+     *
+     * @param result the value returned by {@link io.realm.internal.TableQuery#aggregateWithHandover}.
+     */
+    @SuppressWarnings("unchecked")
+    void setValue(Object result) {
+        if (dateValue && result != null) {
+            value = (T) new Date((Long) result * 1000);
+        } else {
+            value = (T) result;
+        }
+        isCompleted = true;
+    }
+
+    /**
+     * Notify all registered listeners.
+     */
+    void notifyChangeListeners() {
+        realm.checkIfValid();
+        for (RealmChangeListener listener : listeners) {
+            listener.onChange();
+        }
+    }
+}
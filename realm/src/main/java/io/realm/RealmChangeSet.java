@@ -0,0 +1,231 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The changes of a {@link RealmResults} between two notifications, as delivered to a {@link RealmChangeSetListener}.
+ * <p>
+ * Positions are given in ascending order. Deletions are positions in the previous results, insertions and
+ * modifications are positions in the new results. Applying the deletions then the insertions to the previous
+ * results gives the new results, which is the order expected by e.g. {@code RecyclerView.Adapter}: an object that
+ * moved is reported as deleted from its previous position and inserted at its new position.
+ * <p>
+ * An object is modified when one of its own fields changed. Changes to the fields of linked objects are not
+ * reported.
+ */
+public final class RealmChangeSet {
+
+    private final int[] deletions;
+    private final int[] insertions;
+    private final int[] modifications;
+
+    RealmChangeSet(int[] deletions, int[] insertions, int[] modifications) {
+        this.deletions = deletions;
+        this.insertions = insertions;
+        this.modifications = modifications;
+    }
+
+    /**
+     * Returns the positions of the objects removed from the results, in the previous results.
+     *
+     * @return the positions in ascending order.
+     */
+    public int[] getDeletions() {
+        return deletions.clone();
+    }
+
+    /**
+     * Returns the positions of the objects added to the results, in the new results.
+     *
+     * @return the positions in ascending order.
+     */
+    public int[] getInsertions() {
+        return insertions.clone();
+    }
+
+    /**
+     * Returns the positions of the objects whose fields changed, in the new results.
+     *
+     * @return the positions in ascending order.
+     */
+    public int[] getModifications() {
+        return modifications.clone();
+    }
+
+    /**
+     * Returns {@code true} if the results didn't change. Listeners are never notified with an empty change set.
+     *
+     * @return {@code true} if there are no deletions, insertions or modifications.
+     */
+    public boolean isEmpty() {
+        return deletions.length == 0 && insertions.length == 0 && modifications.length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RealmChangeSet{deletions=" + Arrays.toString(deletions)
+                + ", insertions=" + Arrays.toString(insertions)
+                + ", modifications=" + Arrays.toString(modifications) + "}";
+    }
+
+    /**
+     * Computes the changes between two versions of the rows of a {@link io.realm.internal.TableView}, see
+     * {@link io.realm.internal.TableView#getRowFingerprints(long[], long[])}.
+     * <p>
+     * Row indices are not stable: deleting a row moves the last row of the table to its index. Rows are therefore
+     * matched by index and hash first, then by hash alone to follow the moved rows, and the remaining rows with the
+     * same index are the modified ones. Matched rows that are not in the same relative order as before are reported
+     * as deleted and inserted, keeping the longest sequence of rows that are.
+     *
+     * @param oldRows source row indices of the previous results, {@code null} if there were none.
+     * @param oldHashes row hashes of the previous results.
+     * @param newRows source row indices of the new results.
+     * @param newHashes row hashes of the new results.
+     * @return the changes.
+     */
+    static RealmChangeSet compute(long[] oldRows, long[] oldHashes, long[] newRows, long[] newHashes) {
+        int oldSize = (oldRows == null) ? 0 : oldRows.length;
+        int newSize = newRows.length;
+        int[] newToOld = new int[newSize];
+        Arrays.fill(newToOld, -1);
+        boolean[] oldMatched = new boolean[oldSize];
+        boolean[] modified = new boolean[newSize];
+
+        Map<Long, Integer> oldPositionsByRow = new HashMap<Long, Integer>(oldSize * 2);
+        for (int i = 0; i < oldSize; i++) {
+            oldPositionsByRow.put(oldRows[i], i);
+        }
+
+        // same row, same values
+        for (int j = 0; j < newSize; j++) {
+            Integer i = oldPositionsByRow.get(newRows[j]);
+            if (i != null && oldHashes[i] == newHashes[j]) {
+                newToOld[j] = i;
+                oldMatched[i] = true;
+            }
+        }
+
+        // same values, the row was moved
+        Map<Long, ArrayDeque<Integer>> unmatchedByHash = new HashMap<Long, ArrayDeque<Integer>>();
+        for (int i = 0; i < oldSize; i++) {
+            if (!oldMatched[i]) {
+                ArrayDeque<Integer> positions = unmatchedByHash.get(oldHashes[i]);
+                if (positions == null) {
+                    positions = new ArrayDeque<Integer>(1);
+                    unmatchedByHash.put(oldHashes[i], positions);
+                }
+                positions.add(i);
+            }
+        }
+        if (!unmatchedByHash.isEmpty()) {
+            for (int j = 0; j < newSize; j++) {
+                if (newToOld[j] == -1) {
+                    ArrayDeque<Integer> positions = unmatchedByHash.get(newHashes[j]);
+                    if (positions != null && !positions.isEmpty()) {
+                        int i = positions.poll();
+                        newToOld[j] = i;
+                        oldMatched[i] = true;
+                    }
+                }
+            }
+        }
+
+        // same row, other values
+        for (int j = 0; j < newSize; j++) {
+            if (newToOld[j] == -1) {
+                Integer i = oldPositionsByRow.get(newRows[j]);
+                if (i != null && !oldMatched[i]) {
+                    newToOld[j] = i;
+                    oldMatched[i] = true;
+                    modified[j] = true;
+                }
+            }
+        }
+
+        keepLongestOrderedSequence(newToOld, oldMatched, modified);
+
+        int[] deletions = new int[oldSize];
+        int deletionCount = 0;
+        for (int i = 0; i < oldSize; i++) {
+            if (!oldMatched[i]) {
+                deletions[deletionCount++] = i;
+            }
+        }
+        int[] insertions = new int[newSize];
+        int insertionCount = 0;
+        int[] modifications = new int[newSize];
+        int modificationCount = 0;
+        for (int j = 0; j < newSize; j++) {
+            if (newToOld[j] == -1) {
+                insertions[insertionCount++] = j;
+            } else if (modified[j]) {
+                modifications[modificationCount++] = j;
+            }
+        }
+        return new RealmChangeSet(Arrays.copyOf(deletions, deletionCount),
+                Arrays.copyOf(insertions, insertionCount),
+                Arrays.copyOf(modifications, modificationCount));
+    }
+
+    // Unmatches the rows that are not part of the longest sequence of matched rows with increasing previous
+    // positions (patience sorting, O(n log n)).
+    private static void keepLongestOrderedSequence(int[] newToOld, boolean[] oldMatched, boolean[] modified) {
+        int size = newToOld.length;
+        // tails[k]: new position ending the best sequence of length k + 1 found so far
+        int[] tails = new int[size];
+        int[] previous = new int[size];
+        int length = 0;
+        for (int j = 0; j < size; j++) {
+            int old = newToOld[j];
+            if (old == -1) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (newToOld[tails[middle]] < old) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[j] = (low > 0) ? tails[low - 1] : -1;
+            tails[low] = j;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] kept = new boolean[size];
+        for (int j = (length > 0) ? tails[length - 1] : -1; j != -1; j = previous[j]) {
+            kept[j] = true;
+        }
+        for (int j = 0; j < size; j++) {
+            if (newToOld[j] != -1 && !kept[j]) {
+                oldMatched[newToOld[j]] = false;
+                newToOld[j] = -1;
+                modified[j] = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * A RealmChangeSetListener is notified with the positions of the objects deleted, inserted and modified each time
+ * the asynchronous query of a {@link RealmResults} is updated. Unlike a {@link RealmChangeListener}, it isn't
+ * notified when the update didn't change the results.
+ * <p>
+ * The change set is computed by comparing the objects of the results before and after the update, which has a cost
+ * proportional to the size of the results. It is only computed while a RealmChangeSetListener is registered.
+ *
+ * @see RealmResults#addChangeListener(RealmChangeSetListener)
+ */
+public interface RealmChangeSetListener {
+
+    /**
+     * Called when the results changed.
+     *
+     * @param changeSet the changes since the previous notification, or since the listener was registered. Never
+     *                  empty.
+     */
+    void onChange(RealmChangeSet changeSet);
+
+}
@@ -25,6 +25,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import io.realm.annotations.RealmModule;
 import io.realm.exceptions.RealmException;
@@ -77,6 +78,10 @@ public class RealmConfiguration {
     private final boolean deleteRealmIfMigrationNeeded;
     private final SharedGroup.Durability durability;
     private final RealmProxyMediator schemaMediator;
+    private final boolean singleWriterThread;
+    private final long notificationWindowMs;
+    private final RealmInstrumentation instrumentation;
+    private final long nativeObjectLimit;
 
     private RealmConfiguration(Builder builder) {
         this.realmFolder = builder.folder;
@@ -88,6 +93,10 @@ public class RealmConfiguration {
         this.migration = builder.migration;
         this.durability = builder.durability;
         this.schemaMediator = createSchemaMediator(builder);
+        this.singleWriterThread = builder.singleWriterThread;
+        this.notificationWindowMs = builder.notificationWindowMs;
+        this.instrumentation = builder.instrumentation;
+        this.nativeObjectLimit = builder.nativeObjectLimit;
     }
 
     public File getRealmFolder() {
@@ -126,6 +135,37 @@ public class RealmConfiguration {
         return canonicalPath;
     }
 
+    public boolean shouldUseSingleWriterThread() {
+        return singleWriterThread;
+    }
+
+    /**
+     * Returns the minimum time between two updates of a Realm caused by commits from other threads.
+     *
+     * @return the window in milliseconds, {@code 0} if every commit is notified.
+     */
+    public long getNotificationWindow() {
+        return notificationWindowMs;
+    }
+
+    /**
+     * Returns the instrumentation receiving the measurements of the Realms opened with this configuration.
+     *
+     * @return the instrumentation, or {@code null} if none is set.
+     */
+    public RealmInstrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * Returns the number of native objects of a Realm instance above which abandoned objects are disposed eagerly.
+     *
+     * @return the limit, {@code 0} if there is none.
+     */
+    public long getNativeObjectLimit() {
+        return nativeObjectLimit;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -135,12 +175,16 @@ public class RealmConfiguration {
 
         if (schemaVersion != that.schemaVersion) return false;
         if (deleteRealmIfMigrationNeeded != that.deleteRealmIfMigrationNeeded) return false;
+        if (singleWriterThread != that.singleWriterThread) return false;
+        if (notificationWindowMs != that.notificationWindowMs) return false;
+        if (nativeObjectLimit != that.nativeObjectLimit) return false;
         if (!realmFolder.equals(that.realmFolder)) return false;
         if (!realmFileName.equals(that.realmFileName)) return false;
         if (!canonicalPath.equals(that.canonicalPath)) return false;
         if (!Arrays.equals(key, that.key)) return false;
         if (!durability.equals(that.durability)) return false;
         if (migration != null ? !migration.equals(that.migration) : that.migration != null) return false;
+        if (instrumentation != null ? !instrumentation.equals(that.instrumentation) : that.instrumentation != null) return false;
         return schemaMediator.equals(that.schemaMediator);
     }
 
@@ -155,6 +199,10 @@ public class RealmConfiguration {
         result = 31 * result + (deleteRealmIfMigrationNeeded ? 1 : 0);
         result = 31 * result + schemaMediator.hashCode();
         result = 31 * result + durability.hashCode();
+        result = 31 * result + (singleWriterThread ? 1 : 0);
+        result = 31 * result + (int) (notificationWindowMs ^ (notificationWindowMs >>> 32));
+        result = 31 * result + (instrumentation != null ? instrumentation.hashCode() : 0);
+        result = 31 * result + (int) (nativeObjectLimit ^ (nativeObjectLimit >>> 32));
 
         return result;
     }
@@ -216,6 +264,10 @@ public class RealmConfiguration {
         private RealmMigration migration;
         private boolean deleteRealmIfMigrationNeeded;
         private SharedGroup.Durability durability;
+        private boolean singleWriterThread;
+        private long notificationWindowMs;
+        private RealmInstrumentation instrumentation;
+        private long nativeObjectLimit;
         private HashSet<Object> modules = new HashSet<Object>();
         private HashSet<Class<? extends RealmObject>> debugSchema = new HashSet<Class<? extends RealmObject>>();
 
@@ -264,6 +316,10 @@ public class RealmConfiguration {
             this.migration = null;
             this.deleteRealmIfMigrationNeeded = false;
             this.durability = SharedGroup.Durability.FULL;
+            this.singleWriterThread = false;
+            this.notificationWindowMs = 0;
+            this.instrumentation = null;
+            this.nativeObjectLimit = 0;
             if (DEFAULT_MODULE != null) {
                 this.modules.add(DEFAULT_MODULE);
             }
@@ -354,6 +410,79 @@ public class RealmConfiguration {
             return this;
         }
 
+        /**
+         * Setting this will run all the asynchronous transactions of this Realm, see
+         * {@link Realm#executeTransaction(Realm.Transaction, Realm.Transaction.Callback)}, on a single writer thread
+         * instead of the shared pool of worker threads. The writer thread keeps its Realm open while transactions
+         * keep coming and commits the transactions waiting in its queue together, paying for a single commit.
+         * <p>
+         * Each transaction still succeeds or fails on its own: if a transaction throws or is cancelled, the other
+         * transactions of the group are rolled back and executed again without it. Transactions must thus not have
+         * side effects outside of the Realm, as they might be executed more than once.
+         */
+        public Builder singleWriterThread() {
+            this.singleWriterThread = true;
+            return this;
+        }
+
+        /**
+         * Sets a window coalescing the changes committed by other threads. A Realm on a {@link android.os.Looper}
+         * thread is then updated at most once per window: the first commit is handled immediately, the commits
+         * following it during the window are handled together at the end of the window, refreshing the Realm, its
+         * async queries and calling its {@link RealmChangeListener} once. Commits made on the thread of the Realm
+         * are still notified immediately.
+         * <p>
+         * The default is {@code 0}, updating the Realm for each commit.
+         *
+         * @param window the minimum time between two updates.
+         * @param unit the unit of {@code window}.
+         * @throws IllegalArgumentException if the window is negative.
+         */
+        public Builder notificationWindow(long window, TimeUnit unit) {
+            if (window < 0) {
+                throw new IllegalArgumentException("The notification window cannot be negative: " + window);
+            }
+            if (unit == null) {
+                throw new IllegalArgumentException("A non-null TimeUnit must be provided");
+            }
+            this.notificationWindowMs = unit.toMillis(window);
+            return this;
+        }
+
+        /**
+         * Sets the instrumentation receiving measurements of the transactions, queries and notifications of the
+         * Realms opened with this configuration, see {@link RealmInstrumentation}.
+         *
+         * @param instrumentation the instrumentation to call.
+         * @throws IllegalArgumentException if the instrumentation is {@code null}.
+         */
+        public Builder instrumentation(RealmInstrumentation instrumentation) {
+            if (instrumentation == null) {
+                throw new IllegalArgumentException("A non-null RealmInstrumentation must be provided");
+            }
+            this.instrumentation = instrumentation;
+            return this;
+        }
+
+        /**
+         * Sets a soft limit on the native objects held by each Realm instance: the row accessors of its objects, and
+         * the views and queries of its results. Native objects are released once their Java objects have been
+         * garbage collected, usually on the next operation on a table. Above the limit, they are also released each
+         * time a new native object is created. See {@link Realm#getMemoryInfo()} for the current numbers.
+         * <p>
+         * The default is no limit.
+         *
+         * @param limit the number of native objects above which they are released eagerly.
+         * @throws IllegalArgumentException if the limit is not positive.
+         */
+        public Builder nativeObjectLimit(long limit) {
+            if (limit <= 0) {
+                throw new IllegalArgumentException("The native object limit must be positive: " + limit);
+            }
+            this.nativeObjectLimit = limit;
+            return this;
+        }
+
         /**
          * Replaces the existing module(s) with one or more {@link RealmModule}s. Using this method will replace the
          * current schema for this Realm with the schema defined by the provided modules.
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Arrays;
+
+/**
+ * The RealmIncrementalAdapter class is an abstract utility class for binding a list of UI elements to a
+ * {@link io.realm.RealmResults}, with the item range notifications of e.g. {@code RecyclerView.Adapter}.
+ * <p>
+ * Unlike {@link RealmBaseAdapter}, which calls {@code notifyDataSetChanged()} after every commit to the Realm, it
+ * only listens to its own results and reports the objects inserted, removed and modified since the last update,
+ * see {@link RealmChangeSet}. Item ids are stable: an object keeps its id as long as it stays in the results at
+ * the same relative position. Without automatic updates, ids are kept by position and items added at the end get new
+ * ids.
+ * <p>
+ * Realm doesn't depend on the support library, so the notifications are forwarded by the subclass, typically an
+ * anonymous class held by the {@code RecyclerView.Adapter}:
+ * <pre>
+ * {@code
+ * items = new RealmIncrementalAdapter<Dog>(realm.where(Dog.class).findAllAsync(), true) {
+ *     protected void onItemRangeInserted(int positionStart, int itemCount) {
+ *         notifyItemRangeInserted(positionStart, itemCount);
+ *     }
+ *     // ...
+ * };
+ * }
+ * </pre>
+ * The results of synchronous queries are updated after each commit to the Realm, the results of asynchronous
+ * queries when the query is rerun. Results that are not a query, e.g. {@link Realm#allObjects(Class)}, can't be
+ * compared and {@link #onDataSetChanged()} is called after each commit instead.
+ * <p>
+ * The adapter will stop receiving updates if the Realm instance providing the {@link io.realm.RealmResults} is
+ * closed.
+ *
+ * @param <T> the class of the objects in the results.
+ */
+public abstract class RealmIncrementalAdapter<T extends RealmObject> {
+
+    private static final long[] NO_IDS = new long[0];
+
+    protected RealmResults<T> realmResults;
+    private final boolean automaticUpdate;
+    private long[] itemIds = NO_IDS;
+    private long nextItemId;
+
+    private final RealmChangeSetListener changeSetListener = new RealmChangeSetListener() {
+        @Override
+        public void onChange(RealmChangeSet changeSet) {
+            applyChangeSet(changeSet);
+        }
+    };
+
+    // Realm listeners are only weakly referenced
+    private final RealmChangeListener realmListener = new RealmChangeListener() {
+        @Override
+        public void onChange() {
+            if (realmResults == null) {
+                return;
+            }
+            if (realmResults.supportsChangeSets()) {
+                realmResults.notifyChangeSetListeners();
+            } else {
+                resetItemIds();
+                onDataSetChanged();
+            }
+        }
+    };
+
+    public RealmIncrementalAdapter(RealmResults<T> realmResults, boolean automaticUpdate) {
+        this.automaticUpdate = automaticUpdate;
+        this.realmResults = realmResults;
+        resetItemIds();
+        addListeners(realmResults);
+    }
+
+    /**
+     * How many items are in the data set.
+     *
+     * @return Count of items.
+     */
+    public int getItemCount() {
+        if (realmResults == null || !realmResults.isLoaded()) {
+            return 0;
+        }
+        return realmResults.size();
+    }
+
+    /**
+     * Returns the item associated with the specified position.
+     *
+     * @param position Index of item whose data we want.
+     * @return The item at the specified position.
+     */
+    public T getItem(int position) {
+        if (realmResults == null) {
+            return null;
+        }
+        return realmResults.get(position);
+    }
+
+    /**
+     * Returns the stable ID of an item. It doesn't change when other items are inserted, removed or modified.
+     *
+     * @param position Index of item in the adapter.
+     * @return Item ID.
+     */
+    public long getItemId(int position) {
+        // the results change without notification if there are no listeners, or an asynchronous query completes
+        syncItemIds();
+        if (position < 0 || position >= itemIds.length) {
+            throw new IndexOutOfBoundsException("Invalid position " + position + ", size is " + itemIds.length);
+        }
+        return itemIds[position];
+    }
+
+    /**
+     * Update the RealmResults associated to the Adapter. Useful when the query has been changed.
+     * {@link #onDataSetChanged()} is called, and item IDs are not kept.
+     *
+     * @param queryResults the new RealmResults coming from the new query.
+     */
+    public void updateRealmResults(RealmResults<T> queryResults) {
+        removeListeners(this.realmResults);
+        this.realmResults = queryResults;
+        resetItemIds();
+        addListeners(queryResults);
+        onDataSetChanged();
+    }
+
+    /**
+     * Called when items are inserted. Positions are the ones after the insertion.
+     */
+    protected abstract void onItemRangeInserted(int positionStart, int itemCount);
+
+    /**
+     * Called when items are removed. Positions are the ones before the removal, and ranges are notified from the
+     * last one so that they stay valid.
+     */
+    protected abstract void onItemRangeRemoved(int positionStart, int itemCount);
+
+    /**
+     * Called when the fields of items changed. Positions are the ones after all removals and insertions.
+     */
+    protected abstract void onItemRangeChanged(int positionStart, int itemCount);
+
+    /**
+     * Called when the items can't be compared to the previous ones.
+     */
+    protected abstract void onDataSetChanged();
+
+    private void addListeners(RealmResults<T> results) {
+        if (!automaticUpdate || results == null) {
+            return;
+        }
+        results.addChangeListener(changeSetListener);
+        if (!results.isAsyncQuery()) {
+            results.getRealm().addChangeListener(realmListener);
+        }
+    }
+
+    private void removeListeners(RealmResults<T> results) {
+        if (!automaticUpdate || results == null || !results.isValid()) {
+            return;
+        }
+        results.removeChangeListener(changeSetListener);
+        results.getRealm().removeChangeListener(realmListener);
+    }
+
+    private void resetItemIds() {
+        int size = getItemCount();
+        itemIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            itemIds[i] = nextItemId++;
+        }
+    }
+
+    // keeps the ids of the first items and gives new ids to the items added at the end
+    private void syncItemIds() {
+        int size = getItemCount();
+        if (size == itemIds.length) {
+            return;
+        }
+        long[] ids = Arrays.copyOf(itemIds, size);
+        for (int i = itemIds.length; i < size; i++) {
+            ids[i] = nextItemId++;
+        }
+        itemIds = ids;
+    }
+
+    private void applyChangeSet(RealmChangeSet changeSet) {
+        int[] deletions = changeSet.getDeletions();
+        int[] insertions = changeSet.getInsertions();
+        if (itemIds.length - deletions.length + insertions.length != getItemCount()) {
+            // the ids were synced to results the change set doesn't start from
+            resetItemIds();
+            onDataSetChanged();
+            return;
+        }
+
+        // ids of the remaining items, then of the new items at their positions
+        long[] remainingIds = new long[itemIds.length - deletions.length];
+        int remainingCount = 0;
+        int deletionIndex = 0;
+        for (int i = 0; i < itemIds.length; i++) {
+            if (deletionIndex < deletions.length && deletions[deletionIndex] == i) {
+                deletionIndex++;
+            } else {
+                remainingIds[remainingCount++] = itemIds[i];
+            }
+        }
+        long[] newIds = new long[remainingIds.length + insertions.length];
+        int insertionIndex = 0;
+        int remainingIndex = 0;
+        for (int j = 0; j < newIds.length; j++) {
+            if (insertionIndex < insertions.length && insertions[insertionIndex] == j) {
+                newIds[j] = nextItemId++;
+                insertionIndex++;
+            } else {
+                newIds[j] = remainingIds[remainingIndex++];
+            }
+        }
+        itemIds = newIds;
+
+        for (int end = deletions.length; end > 0; ) {
+            int start = rangeStart(deletions, end);
+            onItemRangeRemoved(deletions[start], end - start);
+            end = start;
+        }
+        for (int start = 0; start < insertions.length; ) {
+            int end = rangeEnd(insertions, start);
+            onItemRangeInserted(insertions[start], end - start);
+            start = end;
+        }
+        int[] modifications = changeSet.getModifications();
+        for (int start = 0; start < modifications.length; ) {
+            int end = rangeEnd(modifications, start);
+            onItemRangeChanged(modifications[start], end - start);
+            start = end;
+        }
+    }
+
+    // index of the first position of the range of consecutive positions ending at end - 1
+    private static int rangeStart(int[] positions, int end) {
+        int start = end - 1;
+        while (start > 0 && positions[start - 1] == positions[start] - 1) {
+            start--;
+        }
+        return start;
+    }
+
+    // index after the last position of the range of consecutive positions starting at start
+    private static int rangeEnd(int[] positions, int start) {
+        int end = start + 1;
+        while (end < positions.length && positions[end] == positions[end - 1] + 1) {
+            end++;
+        }
+        return end;
+    }
+}
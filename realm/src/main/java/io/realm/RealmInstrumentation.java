@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * Receives measurements of the work done by Realm, e.g. to report them to a metrics or tracing system. It is set with
+ * {@link RealmConfiguration.Builder#instrumentation(RealmInstrumentation)} and only called for the Realms opened
+ * with this configuration. Nothing is measured when no instrumentation is set.
+ * <p>
+ * All the methods do nothing by default, subclasses override the ones they need. They are called synchronously, on
+ * the thread doing the work, so they should return quickly and be thread-safe: some of them are called from the
+ * worker threads updating async queries. Durations are in nanoseconds, as measured by {@link System#nanoTime()}.
+ */
+public abstract class RealmInstrumentation {
+
+    /**
+     * The kinds of queries measured by {@link #onQuery(QueryType, Class, long, long)}.
+     */
+    public enum QueryType {
+        /**
+         * {@link RealmQuery#findAll()}.
+         */
+        FIND_ALL,
+        /**
+         * {@link RealmQuery#findAllSorted(String)} and its variants.
+         */
+        FIND_ALL_SORTED,
+        /**
+         * {@link Realm#distinct(Class, String)}.
+         */
+        DISTINCT,
+        /**
+         * {@link RealmResults#sort(String)} and its variants.
+         */
+        SORT
+    }
+
+    /**
+     * Called after a write transaction was committed.
+     *
+     * @param path the path of the Realm file.
+     * @param lockWaitNanos the time {@link Realm#beginTransaction()} waited for the write lock.
+     * @param durationNanos the time from acquiring the write lock until the commit completed.
+     */
+    public void onTransactionCommitted(String path, long lockWaitNanos, long durationNanos) {
+    }
+
+    /**
+     * Called after a write transaction was cancelled.
+     *
+     * @param path the path of the Realm file.
+     * @param lockWaitNanos the time {@link Realm#beginTransaction()} waited for the write lock.
+     * @param durationNanos the time from acquiring the write lock until the changes were rolled back.
+     */
+    public void onTransactionCancelled(String path, long lockWaitNanos, long durationNanos) {
+    }
+
+    /**
+     * Called after a synchronous query or sort.
+     *
+     * @param type the kind of query.
+     * @param clazz the class of the queried objects.
+     * @param durationNanos the time taken by the query, including sorting.
+     * @param resultSize the number of objects found.
+     */
+    public void onQuery(QueryType type, Class<? extends RealmObject> clazz, long durationNanos, long resultSize) {
+    }
+
+    /**
+     * Called on a worker thread after it updated the async queries of a Realm, following a commit or because a result
+     * couldn't be used.
+     *
+     * @param path the path of the Realm file.
+     * @param queryCount the number of queries run together.
+     * @param queueDelayNanos the time the update waited for a worker thread.
+     * @param durationNanos the time taken to run the queries.
+     */
+    public void onAsyncQueriesUpdated(String path, int queryCount, long queueDelayNanos, long durationNanos) {
+    }
+
+    /**
+     * Called when the result of an async query computed by a worker thread couldn't be handed over, because the
+     * Realm moved to a newer version in the meantime. The query is run again.
+     *
+     * @param path the path of the Realm file.
+     */
+    public void onHandoverFailed(String path) {
+    }
+
+    /**
+     * Called after the listeners of a Realm, or of its async queries, were notified of a change.
+     *
+     * @param path the path of the Realm file.
+     * @param listenerCount the number of Realm listeners called, or of async results and aggregates notified.
+     * @param durationNanos the time taken by the listeners.
+     */
+    public void onListenersNotified(String path, int listenerCount, long durationNanos) {
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * A snapshot of the native memory held by a Realm instance, see {@link Realm#getMemoryInfo()}.
+ * <p>
+ * Native objects are not accounted in the Java heap. Each object of a Realm holds a native row accessor, and each
+ * {@link RealmResults} a native view and query, until they are garbage collected and then released by the Realm. A
+ * growing number of them, or of abandoned objects, points to a leak or to a Realm not used often enough for its
+ * abandoned objects to be released, see {@link RealmConfiguration.Builder#nativeObjectLimit(long)}.
+ */
+public final class RealmMemoryInfo {
+
+    private final long fileSize;
+    private final int rowCount;
+    private final int tableViewCount;
+    private final int queryCount;
+    private final int abandonedObjectCount;
+    private final long processNativeMemory;
+
+    RealmMemoryInfo(long fileSize, int rowCount, int tableViewCount, int queryCount, int abandonedObjectCount,
+                    long processNativeMemory) {
+        this.fileSize = fileSize;
+        this.rowCount = rowCount;
+        this.tableViewCount = tableViewCount;
+        this.queryCount = queryCount;
+        this.abandonedObjectCount = abandonedObjectCount;
+        this.processNativeMemory = processNativeMemory;
+    }
+
+    /**
+     * Returns the size of the Realm file. The whole file is mapped in memory, and shared by all the Realm instances
+     * of the process.
+     *
+     * @return the size in bytes.
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Returns the number of native row accessors held by the objects of the Realm instance, including the ones of
+     * objects already garbage collected but not released yet.
+     *
+     * @return the number of rows.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of native views held by the results of the Realm instance.
+     *
+     * @return the number of views.
+     */
+    public int getTableViewCount() {
+        return tableViewCount;
+    }
+
+    /**
+     * Returns the number of native queries held by the queries and results of the Realm instance.
+     *
+     * @return the number of queries.
+     */
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * Returns the number of native tables, views and queries garbage collected, but not released yet.
+     *
+     * @return the number of abandoned objects.
+     */
+    public int getAbandonedObjectCount() {
+        return abandonedObjectCount;
+    }
+
+    /**
+     * Returns the native memory used by the whole process. This is only measured if the native library has been
+     * built with {@code REALM_ENABLE_MEM_USAGE}, which is not the default.
+     *
+     * @return the memory in bytes, or {@code -1} if it is not measured.
+     */
+    public long getProcessNativeMemory() {
+        return processNativeMemory;
+    }
+
+    @Override
+    public String toString() {
+        return "RealmMemoryInfo{fileSize=" + fileSize
+                + ", rowCount=" + rowCount
+                + ", tableViewCount=" + tableViewCount
+                + ", queryCount=" + queryCount
+                + ", abandonedObjectCount=" + abandonedObjectCount
+                + ", processNativeMemory=" + processNativeMemory + "}";
+    }
+}
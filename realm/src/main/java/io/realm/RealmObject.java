@@ -16,6 +16,8 @@
 
 package io.realm;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
@@ -24,8 +26,10 @@ import io.realm.annotations.RealmClass;
 import io.realm.internal.ColumnInfo;
 import io.realm.internal.InvalidRow;
 import io.realm.internal.Row;
+import io.realm.internal.RowChanges;
 import io.realm.internal.Table;
 import io.realm.internal.TableQuery;
+import io.realm.internal.async.BadVersionException;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -87,6 +91,7 @@ public abstract class RealmObject {
     protected Realm realm;
 
     private final List<RealmChangeListener> listeners = new CopyOnWriteArrayList<RealmChangeListener>();
+    private final List<RealmObjectChangeListener> objectListeners = new CopyOnWriteArrayList<RealmObjectChangeListener>();
     private Future<Long> pendingQuery;
     private boolean isCompleted = false;
 
@@ -141,6 +146,14 @@ public abstract class RealmObject {
         return obj.row;
     }
 
+    /**
+     * Called when the row accessor of this object has been moved to another row, see
+     * {@link RealmResults#visit(RealmResults.Visitor)}. Proxies override it to drop the values cached for the previous
+     * row.
+     */
+    void onRowMoved() {
+    }
+
     /**
      * Set the Future instance returned by the worker thread, we need this instance
      * to force {@link #load()} an async query, we use it to determine if the current
@@ -207,6 +220,10 @@ public abstract class RealmObject {
             onCompleted(handoverResult);
         } catch (Exception e) {
             RealmLog.d(e.getMessage());
+            RealmInstrumentation instrumentation = realm.configuration.getInstrumentation();
+            if (instrumentation != null && e instanceof BadVersionException) {
+                instrumentation.onHandoverFailed(realm.getPath());
+            }
             return false;
         }
         return true;
@@ -259,7 +276,52 @@ public abstract class RealmObject {
     }
 
     /**
-     * Remove all registered listeners.
+     * Add a listener notified when the fields of this RealmObject are modified or when it is deleted. Unlike a
+     * {@link RealmChangeListener}, it is not notified for commits that don't modify this object.
+     * <p>
+     * The modified rows are recorded by the write transactions while such a listener is registered, which adds a
+     * small cost to every write to the Realm file, from all threads.
+     *
+     * @param listener the change listener to be notified.
+     * @see RealmObjectChangeSet
+     */
+    public final void addChangeListener(RealmObjectChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        if (realm != null) {
+            realm.checkIfValid();
+        } else {
+            throw new IllegalArgumentException("Cannot add listener from this unmanaged RealmObject (created outside of Realm)");
+        }
+        if (!objectListeners.contains(listener)) {
+            objectListeners.add(listener);
+            realm.addObservedObject(this);
+        }
+    }
+
+    /**
+     * Remove a previously registered object change listener.
+     *
+     * @param listener the instance to be removed.
+     */
+    public final void removeChangeListener(RealmObjectChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        if (realm != null) {
+            realm.checkIfValid();
+        } else {
+            throw new IllegalArgumentException("Cannot remove listener from this unmanaged RealmObject (created outside of Realm)");
+        }
+        objectListeners.remove(listener);
+        if (objectListeners.isEmpty()) {
+            realm.removeObservedObject(this);
+        }
+    }
+
+    /**
+     * Remove all registered listeners, including the object change listeners.
      */
     public final void removeChangeListeners() {
         if (realm != null) {
@@ -268,6 +330,10 @@ public abstract class RealmObject {
             throw new IllegalArgumentException("Cannot remove listeners from this unmanaged RealmObject (created outside of Realm)");
         }
         listeners.clear();
+        if (!objectListeners.isEmpty()) {
+            objectListeners.clear();
+            realm.removeObservedObject(this);
+        }
     }
 
     /**
@@ -279,4 +345,38 @@ public abstract class RealmObject {
             listener.onChange();
         }
     }
+
+    /**
+     * Notify the object change listeners if this object was modified.
+     *
+     * @param changes the changes of the transactions since the last notification, the most recent first, or
+     *                {@code null} if they are not known.
+     * @return {@code false} if the object was deleted and doesn't need to be observed anymore.
+     */
+    boolean notifyObjectChangeListeners(List<RowChanges> changes) {
+        if (!isLoaded()) {
+            return true;
+        }
+        RealmObjectChangeSet changeSet;
+        boolean attached = row.isAttached();
+        if (!attached) {
+            changeSet = new RealmObjectChangeSet(true, new String[0]);
+        } else {
+            int columnCount = (int) row.getColumnCount();
+            BitSet columns = RowChanges.getChangedColumns(changes, row.getTable().getName(), row.getIndex(), columnCount);
+            if (columns.isEmpty()) {
+                return true;
+            }
+            String[] fields = new String[columns.cardinality()];
+            int count = 0;
+            for (int i = columns.nextSetBit(0); i >= 0 && i < columnCount; i = columns.nextSetBit(i + 1)) {
+                fields[count++] = row.getColumnName(i);
+            }
+            changeSet = new RealmObjectChangeSet(false, (count == fields.length) ? fields : Arrays.copyOf(fields, count));
+        }
+        for (RealmObjectChangeListener listener : objectListeners) {
+            listener.onChange(changeSet);
+        }
+        return attached;
+    }
 }
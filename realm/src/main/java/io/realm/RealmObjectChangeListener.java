@@ -0,0 +1,38 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * A RealmObjectChangeListener is notified when the fields of a single {@link RealmObject} are modified, or when the
+ * object is deleted. Unlike a {@link RealmChangeListener} registered on the Realm, it isn't notified for commits that
+ * don't modify the object.
+ * <p>
+ * Listeners are notified when the Realm is updated to a new version: after a commit on a {@link android.os.Looper}
+ * thread, or when {@link Realm#refresh()} is called.
+ *
+ * @see RealmObject#addChangeListener(RealmObjectChangeListener)
+ */
+public interface RealmObjectChangeListener {
+
+    /**
+     * Called when the object was modified or deleted.
+     *
+     * @param changeSet the modified fields, never empty unless the object was deleted.
+     */
+    void onChange(RealmObjectChangeSet changeSet);
+
+}
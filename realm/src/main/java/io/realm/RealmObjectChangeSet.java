@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Arrays;
+
+/**
+ * The changes of a {@link RealmObject} since the previous notification, as delivered to a
+ * {@link RealmObjectChangeListener}.
+ * <p>
+ * A field is reported as changed when it was written to, even if the new value is equal to the old one. A
+ * {@link RealmList} field is changed when objects are added, removed or moved in the list. Changes to linked
+ * objects, and links cleared because the linked object was deleted, are not reported.
+ * <p>
+ * In a few cases the changes of a commit are not known, e.g. when it was made by another process or when a whole
+ * table was cleared. All fields are then reported as changed.
+ */
+public final class RealmObjectChangeSet {
+
+    private final boolean deleted;
+    private final String[] changedFields;
+
+    RealmObjectChangeSet(boolean deleted, String[] changedFields) {
+        this.deleted = deleted;
+        this.changedFields = changedFields;
+    }
+
+    /**
+     * Returns {@code true} if the object was deleted. It is then no longer valid and no further changes are
+     * reported.
+     *
+     * @return {@code true} if the object was deleted.
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Returns the names of the changed fields.
+     *
+     * @return the names of the fields, empty if the object was deleted.
+     */
+    public String[] getChangedFields() {
+        return changedFields.clone();
+    }
+
+    /**
+     * Checks if a field changed.
+     *
+     * @param fieldName the name of the field.
+     * @return {@code true} if the field changed.
+     */
+    public boolean isFieldChanged(String fieldName) {
+        for (String changedField : changedFields) {
+            if (changedField.equals(fieldName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "RealmObjectChangeSet{deleted=" + deleted + ", changedFields=" + Arrays.toString(changedFields) + "}";
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import io.realm.internal.Table;
+import io.realm.internal.TableQuery;
+import io.realm.internal.TableView;
+
+/**
+ * The results of a query evaluated one page at a time, see {@link RealmQuery#findAllPaged(int)}.
+ * <p>
+ * Unlike a {@link RealmResults}, which finds all the matching objects when the query runs, a page of objects is only
+ * found when one of its objects is accessed. Pages are found in order, each one continuing the scan where the
+ * previous one stopped, and only the most recently used ones are kept. Accessing the first objects of a large result
+ * is therefore fast, and the memory used doesn't depend on the number of matching objects.
+ * <p>
+ * {@link #size()} counts the matching objects without keeping them, until the last page has been found. The pages
+ * are found again after any change to the queried objects. Iterating while the Realm changes will cause the
+ * iterator to throw a {@link java.util.ConcurrentModificationException}.
+ * <p>
+ * RealmPagedResults are read-only and can only be accessed from the thread of their Realm.
+ *
+ * @param <E> The class of objects in this list.
+ */
+public final class RealmPagedResults<E extends RealmObject> extends AbstractList<E> {
+
+    // pages kept in addition to the first one
+    private static final int MAX_CACHED_PAGES = 3;
+    private static final long UNKNOWN = -1;
+
+    private final Realm realm;
+    private final Class<E> clazz;
+    private final TableQuery query;
+    private final int pageSize;
+
+    // the first page is always kept, its version tells when the queried objects changed
+    private TableView firstPage;
+    private long version;
+    private final Map<Integer, TableView> cachedPages = new LinkedHashMap<Integer, TableView>(MAX_CACHED_PAGES + 1, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, TableView> eldest) {
+            if (size() > MAX_CACHED_PAGES) {
+                eldest.getValue().close();
+                return true;
+            }
+            return false;
+        }
+    };
+    // source row index where each known page starts
+    private long[] pageStarts = new long[16];
+    private int knownPages;
+    // size once the last page has been found, or counted
+    private long size = UNKNOWN;
+    private boolean lastPageFound;
+
+    RealmPagedResults(Realm realm, TableQuery query, Class<E> clazz, int pageSize) {
+        this.realm = realm;
+        this.query = query;
+        this.clazz = clazz;
+        this.pageSize = pageSize;
+        reset();
+    }
+
+    /**
+     * Returns the number of objects in each page.
+     *
+     * @return the page size.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Returns the object at the given location, finding the pages up to its page if needed.
+     *
+     * @param location the index of the object.
+     * @return the object.
+     * @throws IndexOutOfBoundsException if there is no object at this location.
+     */
+    @Override
+    public E get(int location) {
+        E object = find(location);
+        if (object == null) {
+            throw new IndexOutOfBoundsException("Invalid index " + location + ", size is " + size());
+        }
+        return object;
+    }
+
+    /**
+     * Returns the number of objects. Until the last page has been found, the matching objects are counted by the
+     * query without finding the pages.
+     *
+     * @return the number of objects.
+     */
+    @Override
+    public int size() {
+        checkIsStable();
+        if (size == UNKNOWN) {
+            size = query.count();
+        }
+        return (int) size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        checkIsStable();
+        return firstPage.size() == 0;
+    }
+
+    /**
+     * Returns an iterator finding the pages as it advances, without counting the objects. Any change to the Realm
+     * while iterating will cause this iterator to throw a {@link java.util.ConcurrentModificationException}.
+     *
+     * @return an iterator on the objects.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        checkIsStable();
+        return new PagedIterator();
+    }
+
+    // Returns the object at the given location, or null if there is none.
+    private E find(int location) {
+        checkIsStable();
+        if (location < 0) {
+            return null;
+        }
+        int page = location / pageSize;
+        TableView view = getPage(page);
+        int index = location % pageSize;
+        if (view == null || index >= view.size()) {
+            return null;
+        }
+        return realm.get(clazz, view.getSourceRowIndex(index));
+    }
+
+    // Returns the view of a page, finding the pages before it if needed, or null if the results have fewer pages.
+    private TableView getPage(int page) {
+        if (page == 0) {
+            return firstPage;
+        }
+        TableView view = cachedPages.get(page);
+        if (view != null) {
+            return view;
+        }
+        // find the pages in order, from the last one known
+        while (knownPages <= page) {
+            if (lastPageFound) {
+                return null;
+            }
+            TableView previous = (knownPages == 1) ? firstPage : cachedPages.get(knownPages - 1);
+            if (previous == null) {
+                previous = findPage(knownPages - 1);
+            }
+            // previous is a full page, or lastPageFound would be set
+            addPageStart(previous.getSourceRowIndex(pageSize - 1) + 1);
+            findPage(knownPages - 1);
+        }
+        view = cachedPages.get(page);
+        return (view != null) ? view : findPage(page);
+    }
+
+    // Runs the query for a known page and caches its view.
+    private TableView findPage(int page) {
+        TableView view = query.findAll(pageStarts[page], Table.INFINITE, pageSize);
+        if (page == knownPages - 1) {
+            updateLastPage(page, view);
+        }
+        cachedPages.put(page, view);
+        return view;
+    }
+
+    private void updateLastPage(int page, TableView view) {
+        if (view.size() < pageSize) {
+            lastPageFound = true;
+            size = (long) page * pageSize + view.size();
+        }
+    }
+
+    private void addPageStart(long rowIndex) {
+        if (knownPages == pageStarts.length) {
+            long[] newPageStarts = new long[pageStarts.length * 2];
+            System.arraycopy(pageStarts, 0, newPageStarts, 0, knownPages);
+            pageStarts = newPageStarts;
+        }
+        pageStarts[knownPages++] = rowIndex;
+    }
+
+    // Drops the pages if the queried objects changed since they were found.
+    private void checkIsStable() {
+        realm.checkIfValid();
+        if (firstPage.sync() != version) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (TableView view : cachedPages.values()) {
+            view.close();
+        }
+        cachedPages.clear();
+        if (firstPage != null) {
+            firstPage.close();
+        }
+        knownPages = 0;
+        size = UNKNOWN;
+        lastPageFound = false;
+        addPageStart(0);
+        firstPage = query.findAll(0, Table.INFINITE, pageSize);
+        version = firstPage.sync();
+        updateLastPage(0, firstPage);
+    }
+
+    private class PagedIterator implements Iterator<E> {
+
+        private final long iteratorVersion = version;
+        private int position = 0;
+
+        @Override
+        public boolean hasNext() {
+            checkIteratorIsStable();
+            return find(position) != null;
+        }
+
+        @Override
+        public E next() {
+            checkIteratorIsStable();
+            E object = find(position);
+            if (object == null) {
+                throw new NoSuchElementException("No object at index " + position + ". Remember to check hasNext() before using next().");
+            }
+            position++;
+            return object;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("RealmPagedResults are read-only.");
+        }
+
+        private void checkIteratorIsStable() {
+            realm.checkIfValid();
+            if (firstPage.sync() != iteratorVersion) {
+                throw new ConcurrentModificationException("No outside changes to a Realm is allowed while iterating a RealmPagedResults.");
+            }
+        }
+    }
+}
@@ -23,8 +23,10 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 
@@ -38,6 +40,7 @@ import io.realm.internal.TableQuery;
 import io.realm.internal.TableView;
 import io.realm.internal.async.ArgumentsHolder;
 import io.realm.internal.async.QueryUpdateTask;
+import io.realm.internal.async.SharedGroupPool;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -67,6 +70,7 @@ public class RealmQuery<E extends RealmObject> {
     private final TableQuery query;
     private final Map<String, Long> columns;
     private final Class<E> clazz;
+    private boolean fromRealmResults;
 
     private static final String TYPE_MISMATCH = "Field '%s': type mismatch - %s expected.";
 
@@ -75,6 +79,11 @@ public class RealmQuery<E extends RealmObject> {
 
     private final static Long INVALID_NATIVE_POINTER = 0L;
     private ArgumentsHolder argumentsHolder;
+    // bounds of findAll() and findAllAsync()
+    private long offset = 0;
+    private long limit = Table.INFINITE;
+    // names of the tables the results of this query depend on, computed on first use
+    private Set<String> dependentTableNames;
 
     /**
      * Creating a RealmQuery instance.
@@ -106,6 +115,7 @@ public class RealmQuery<E extends RealmObject> {
         this.view = null;
         this.query = realmResults.getTable().where();
         this.columns = realm.columnIndices.getColumnInfo(clazz).getIndicesMap();
+        this.fromRealmResults = true;
     }
 
     RealmQuery(Realm realm, LinkView view, Class<E> clazz) {
@@ -450,6 +460,64 @@ public class RealmQuery<E extends RealmObject> {
         return this;
     }
 
+    // In
+
+    /**
+     * In comparison. This matches the objects whose field is equal to one of the given values, and is faster than
+     * chaining {@link #equalTo(String, Long)} conditions with {@link #or()}.
+     *
+     * @param fieldName the field to compare.
+     * @param values the values to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or
+     * field type, or no values are given.
+     * @throws java.lang.RuntimeException if any other error happens.
+     */
+    public RealmQuery<E> in(String fieldName, long[] values) {
+        if (values == null || values.length == 0) {
+            throw new IllegalArgumentException("Non-empty 'values' must be provided.");
+        }
+        long[] columnIndices = getColumnIndices(fieldName, ColumnType.INTEGER);
+        this.query.in(columnIndices, values);
+        return this;
+    }
+
+    /**
+     * In comparison. This matches the objects whose field is equal to one of the given values, and is faster than
+     * chaining {@link #equalTo(String, String)} conditions with {@link #or()}.
+     *
+     * @param fieldName the field to compare.
+     * @param values the values to compare with.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or
+     * field type, or no values are given.
+     * @throws java.lang.RuntimeException if any other error happens.
+     */
+    public RealmQuery<E> in(String fieldName, String[] values) {
+        return in(fieldName, values, CASE_SENSITIVE);
+    }
+
+    /**
+     * In comparison. This matches the objects whose field is equal to one of the given values.
+     *
+     * @param fieldName the field to compare.
+     * @param values the values to compare with.
+     * @param caseSensitive if true, matching is case sensitive. Setting this to false only works for English
+     *                      locale characters.
+     * @return the query object.
+     * @throws java.lang.IllegalArgumentException if one or more arguments do not match class or
+     * field type, or no values are given.
+     * @throws java.lang.RuntimeException if any other error happens.
+     */
+    public RealmQuery<E> in(String fieldName, String[] values, boolean caseSensitive) {
+        if (values == null || values.length == 0) {
+            throw new IllegalArgumentException("Non-empty 'values' must be provided.");
+        }
+        long[] columnIndices = getColumnIndices(fieldName, ColumnType.STRING);
+        this.query.in(columnIndices, values, caseSensitive);
+        return this;
+    }
+
     // Not Equal
 
     /**
@@ -1162,6 +1230,50 @@ public class RealmQuery<E extends RealmObject> {
         return this;
     }
 
+    /**
+     * Limit the number of objects returned by the find methods. Without sorting, the query stops scanning the
+     * objects once the limit is reached, so the first objects of a large result can be found without evaluating
+     * the conditions on all of them. The sorted find methods return the first objects in the sort order.
+     * <p>
+     * Aggregates like {@link #count()} still consider all the matching objects, and {@link #findAllPaged(int)}
+     * doesn't support it.
+     *
+     * @param limit the maximum number of objects to return.
+     * @return The query object
+     * @throws java.lang.IllegalArgumentException if the limit is negative.
+     */
+    public RealmQuery<E> limit(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Skip the first matching objects in the find methods, in the sort order for the sorted ones. Combined with
+     * {@link #limit(long)}, it returns a page of the results.
+     * <p>
+     * The offset counts matching objects, and it is applied again each time the results are updated, both for
+     * synchronous and asynchronous queries. It is not supported on queries of a {@link RealmResults} or a
+     * {@link RealmList}, nor by {@link #findAllPaged(int)}.
+     *
+     * @param offset the number of matching objects to skip.
+     * @return The query object
+     * @throws java.lang.IllegalArgumentException if the offset is negative.
+     * @throws java.lang.UnsupportedOperationException if the query is on a RealmResults or a RealmList.
+     */
+    public RealmQuery<E> offset(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+        if (fromRealmResults || view != null) {
+            throw new UnsupportedOperationException("Offset is only supported on queries of a Realm");
+        }
+        this.offset = offset;
+        return this;
+    }
+
     /**
      * Condition that find values that are considered "empty", i.e. an empty list, the 0-length string or byte array.
      *
@@ -1472,6 +1584,176 @@ public class RealmQuery<E extends RealmObject> {
         return this.query.count();
     }
 
+    // Async aggregates
+
+    /**
+     * Similar to {@link #count()} but runs asynchronously on a worker thread (Need a Realm opened from a looper
+     * thread to work). The count is computed again each time the queried objects change.
+     *
+     * @return immediately a {@link RealmAggregate} without value. Users need to register a listener
+     * {@link io.realm.RealmAggregate#addChangeListener(RealmChangeListener)} to be notified when the count is
+     * available.
+     */
+    public RealmAggregate<Long> countAsync() {
+        return aggregateAsync(ArgumentsHolder.TYPE_COUNT, 0, false);
+    }
+
+    /**
+     * Similar to {@link #sum(String)} but runs asynchronously on a worker thread (Need a Realm opened from a looper
+     * thread to work). The sum is computed again each time the queried objects change.
+     *
+     * @param fieldName the field to sum. Only number fields are supported.
+     * @return immediately a {@link RealmAggregate} without value. Its value will be a {@link Long} for integer
+     * fields and a {@link Double} for float and double fields.
+     * @throws java.lang.IllegalArgumentException if the field is not a number type.
+     */
+    public RealmAggregate<Number> sumAsync(String fieldName) {
+        return aggregateAsync(ArgumentsHolder.TYPE_SUM, getNumberColumnIndex(fieldName), false);
+    }
+
+    /**
+     * Similar to {@link #average(String)} but runs asynchronously on a worker thread (Need a Realm opened from a
+     * looper thread to work). The average is computed again each time the queried objects change.
+     *
+     * @param fieldName the field to calculate average on. Only number fields are supported.
+     * @return immediately a {@link RealmAggregate} without value.
+     * @throws java.lang.IllegalArgumentException if the field is not a number type.
+     */
+    public RealmAggregate<Double> averageAsync(String fieldName) {
+        return aggregateAsync(ArgumentsHolder.TYPE_AVERAGE, getNumberColumnIndex(fieldName), false);
+    }
+
+    /**
+     * Similar to {@link #min(String)} but runs asynchronously on a worker thread (Need a Realm opened from a looper
+     * thread to work). The minimum is computed again each time the queried objects change.
+     *
+     * @param fieldName the field to look for a minimum on. Only number fields are supported.
+     * @return immediately a {@link RealmAggregate} without value.
+     * @throws java.lang.IllegalArgumentException if the field is not a number type.
+     */
+    public RealmAggregate<Number> minAsync(String fieldName) {
+        return aggregateAsync(ArgumentsHolder.TYPE_MINIMUM, getNumberColumnIndex(fieldName), false);
+    }
+
+    /**
+     * Similar to {@link #minimumDate(String)} but runs asynchronously on a worker thread (Need a Realm opened from a
+     * looper thread to work). The minimum is computed again each time the queried objects change.
+     *
+     * @param fieldName the date field to look for a minimum on.
+     * @return immediately a {@link RealmAggregate} without value.
+     * @throws java.lang.IllegalArgumentException if the field is not a date.
+     */
+    public RealmAggregate<Date> minimumDateAsync(String fieldName) {
+        return aggregateAsync(ArgumentsHolder.TYPE_MINIMUM, getDateColumnIndex(fieldName), true);
+    }
+
+    /**
+     * Similar to {@link #max(String)} but runs asynchronously on a worker thread (Need a Realm opened from a looper
+     * thread to work). The maximum is computed again each time the queried objects change.
+     *
+     * @param fieldName the field to look for a maximum on. Only number fields are supported.
+     * @return immediately a {@link RealmAggregate} without value.
+     * @throws java.lang.IllegalArgumentException if the field is not a number type.
+     */
+    public RealmAggregate<Number> maxAsync(String fieldName) {
+        return aggregateAsync(ArgumentsHolder.TYPE_MAXIMUM, getNumberColumnIndex(fieldName), false);
+    }
+
+    /**
+     * Similar to {@link #maximumDate(String)} but runs asynchronously on a worker thread (Need a Realm opened from a
+     * looper thread to work). The maximum is computed again each time the queried objects change.
+     *
+     * @param fieldName the date field to look for a maximum on.
+     * @return immediately a {@link RealmAggregate} without value.
+     * @throws java.lang.IllegalArgumentException if the field is not a date.
+     */
+    public RealmAggregate<Date> maximumDateAsync(String fieldName) {
+        return aggregateAsync(ArgumentsHolder.TYPE_MAXIMUM, getDateColumnIndex(fieldName), true);
+    }
+
+    private long getNumberColumnIndex(String fieldName) {
+        realm.checkIfValid();
+        Long columnIndex = columns.get(fieldName);
+        if (columnIndex == null || columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
+        }
+        switch (table.getColumnType(columnIndex)) {
+            case INTEGER:
+            case FLOAT:
+            case DOUBLE:
+                return columnIndex;
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
+        }
+    }
+
+    private long getDateColumnIndex(String fieldName) {
+        realm.checkIfValid();
+        Long columnIndex = columns.get(fieldName);
+        if (columnIndex == null || columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
+        }
+        if (table.getColumnType(columnIndex) != ColumnType.DATE) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "Date"));
+        }
+        return columnIndex;
+    }
+
+    private <T> RealmAggregate<T> aggregateAsync(final int type, final long columnIndex, boolean dateValue) {
+        checkQueryIsNotReused();
+        final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
+
+        // handover the query (to be used by a worker thread)
+        final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
+
+        // save query arguments (for future update)
+        argumentsHolder = new ArgumentsHolder(type);
+        argumentsHolder.columnIndex = columnIndex;
+
+        // we need to use the same configuration to borrow a background SharedGroup (i.e Realm)
+        // to perform the query
+        final SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
+
+        // the value is set once the query completes in the background, then every time it's updated.
+        RealmAggregate<T> aggregate = new RealmAggregate<T>(realm, dateValue);
+        final WeakReference<RealmAggregate<?>> weakAggregate = new WeakReference<RealmAggregate<?>>(aggregate, realm.getReferenceQueue());
+        realm.addAsyncAggregate(weakAggregate, this);
+
+        Realm.asyncQueryExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                if (!Thread.currentThread().isInterrupted()) {
+                    SharedGroup sharedGroup = null;
+
+                    try {
+                        sharedGroup = sharedGroupPool.acquire();
+
+                        Object value = query.aggregateWithHandover(sharedGroup.getNativePointer(),
+                                sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, type, columnIndex);
+
+                        QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
+                        result.updatedAggregates.put(weakAggregate, value);
+                        result.versionID = sharedGroup.getVersion();
+                        sendMessageToHandler(weakHandler, HandlerController.REALM_COMPLETED_ASYNC_QUERY, result);
+
+                    } catch (Exception e) {
+                        RealmLog.e(e.getMessage());
+                        sendMessageToHandler(weakHandler, HandlerController.REALM_ASYNC_BACKGROUND_EXCEPTION, new Error(e));
+
+                    } finally {
+                        if (null != sharedGroup) {
+                            sharedGroupPool.release(sharedGroup);
+                        }
+                    }
+                } else {
+                    TableQuery.nativeCloseQueryHandover(handoverQueryPointer);
+                }
+            }
+        });
+
+        return aggregate;
+    }
+
     RealmResults<E> distinctAsync(final long columnIndex) {
         checkQueryIsNotReused();
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
@@ -1483,9 +1765,9 @@ public class RealmQuery<E extends RealmObject> {
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_DISTINCT);
         argumentsHolder.columnIndex = columnIndex;
 
-        // we need to use the same configuration to open a background SharedGroup (i.e Realm)
+        // we need to use the same configuration to borrow a background SharedGroup (i.e Realm)
         // to perform the query
-        final RealmConfiguration realmConfiguration = realm.getConfiguration();
+        final SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
 
         // prepare an empty reference of the RealmResults, so we can return it immediately (promise)
         // then update it once the query completes in the background.
@@ -1500,10 +1782,7 @@ public class RealmQuery<E extends RealmObject> {
                     SharedGroup sharedGroup = null;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = sharedGroupPool.acquire();
 
                         long handoverTableViewPointer = query.
                                 findDistinctWithHandover(sharedGroup.getNativePointer(),
@@ -1523,7 +1802,7 @@ public class RealmQuery<E extends RealmObject> {
 
                     } finally {
                         if (null != sharedGroup) {
-                            sharedGroup.close();
+                            sharedGroupPool.release(sharedGroup);
                         }
                     }
                 } else {
@@ -1548,7 +1827,38 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmResults<E> findAll() {
         checkQueryIsNotReused();
-        return new RealmResults<E>(realm, query.findAll(), clazz);
+        RealmInstrumentation instrumentation = realm.configuration.getInstrumentation();
+        long start = (instrumentation != null) ? System.nanoTime() : 0;
+        TableView tableView = isBounded() ? query.findAllRange(offset, limit) : query.findAll();
+        if (instrumentation != null) {
+            instrumentation.onQuery(RealmInstrumentation.QueryType.FIND_ALL, clazz, System.nanoTime() - start,
+                    tableView.size());
+        }
+        return new RealmResults<E>(realm, tableView, clazz);
+    }
+
+    /**
+     * Find the objects that fulfill the query conditions one page at a time, as they are accessed. The first objects
+     * of a large result are available without evaluating the conditions on all the objects, and the memory used
+     * doesn't depend on the number of matching objects.
+     *
+     * @param pageSize the number of objects found at once.
+     * @return A {@link io.realm.RealmPagedResults} finding the objects on demand.
+     * @throws java.lang.IllegalArgumentException if the page size is not positive.
+     * @throws java.lang.UnsupportedOperationException if the query is on a RealmResults or a RealmList, or
+     * {@link #limit(long)} or {@link #offset(long)} are set.
+     * @see io.realm.RealmPagedResults
+     */
+    public RealmPagedResults<E> findAllPaged(int pageSize) {
+        checkQueryIsNotReused();
+        checkNotBounded();
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        if (fromRealmResults || view != null) {
+            throw new UnsupportedOperationException("Paged results are only supported on queries of a Realm");
+        }
+        return new RealmPagedResults<E>(realm, query, clazz, pageSize);
     }
 
     /**
@@ -1570,10 +1880,12 @@ public class RealmQuery<E extends RealmObject> {
 
         // save query arguments (for future update)
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL);
+        argumentsHolder.offset = offset;
+        argumentsHolder.limit = limit;
 
-        // we need to use the same configuration to open a background SharedGroup (i.e Realm)
+        // we need to use the same configuration to borrow a background SharedGroup (i.e Realm)
         // to perform the query
-        final RealmConfiguration realmConfiguration = realm.getConfiguration();
+        final SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
 
         // prepare an empty reference of the RealmResults, so we can return it immediately (promise)
         // then update it once the query completes in the background.
@@ -1588,15 +1900,12 @@ public class RealmQuery<E extends RealmObject> {
                     SharedGroup sharedGroup = null;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = sharedGroupPool.acquire();
 
                         // Run the query & handover the table view for the caller thread
                         // Note: the handoverQueryPointer contains the versionID needed by the SG in order
                         // to import it.
-                        long handoverTableViewPointer = query.findAllWithHandover(sharedGroup.getNativePointer(), sharedGroup.getNativeReplicationPointer(), handoverQueryPointer);
+                        long handoverTableViewPointer = query.findAllRangeWithHandover(sharedGroup.getNativePointer(), sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, offset, limit);
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -1611,7 +1920,7 @@ public class RealmQuery<E extends RealmObject> {
 
                     } finally {
                         if (null != sharedGroup) {
-                            sharedGroup.close();
+                            sharedGroupPool.release(sharedGroup);
                         }
                     }
                 } else {
@@ -1641,6 +1950,8 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmResults<E> findAllSorted(String fieldName, boolean sortAscending) {
         checkQueryIsNotReused();
+        RealmInstrumentation instrumentation = realm.configuration.getInstrumentation();
+        long start = (instrumentation != null) ? System.nanoTime() : 0;
         TableView tableView = query.findAll();
         TableView.Order order = sortAscending ? TableView.Order.ascending : TableView.Order.descending;
         Long columnIndex = columns.get(fieldName);
@@ -1648,6 +1959,13 @@ public class RealmQuery<E extends RealmObject> {
             throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
         }
         tableView.sort(columnIndex, order);
+        if (isBounded()) {
+            tableView.setBounds(offset, limit);
+        }
+        if (instrumentation != null) {
+            instrumentation.onQuery(RealmInstrumentation.QueryType.FIND_ALL_SORTED, clazz, System.nanoTime() - start,
+                    tableView.size());
+        }
         return new RealmResults<E>(realm, tableView, clazz);
     }
 
@@ -1672,14 +1990,16 @@ public class RealmQuery<E extends RealmObject> {
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_SORTED);
         argumentsHolder.ascending = sortAscending;
         argumentsHolder.columnIndex = columnIndex;
+        argumentsHolder.offset = offset;
+        argumentsHolder.limit = limit;
 
         final WeakReference<Handler> weakHandler = getWeakReferenceHandler();
 
         // handover the query (to be used by a worker thread)
         final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
 
-        // we need to use the same configuration to open a background SharedGroup to perform the query
-        final RealmConfiguration realmConfiguration = realm.getConfiguration();
+        // we need to use the same configuration to borrow a background SharedGroup to perform the query
+        final SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
 
         RealmResults<E> realmResults = new RealmResults<E>(realm, query, clazz);
         final WeakReference<RealmResults<?>> weakRealmResults = new WeakReference<RealmResults<?>>(realmResults, realm.getReferenceQueue());
@@ -1692,13 +2012,10 @@ public class RealmQuery<E extends RealmObject> {
                     SharedGroup sharedGroup = null;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = sharedGroupPool.acquire();
 
                         // run the query & handover the table view for the caller thread
-                        long handoverTableViewPointer = query.findAllSortedWithHandover(sharedGroup.getNativePointer(), sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, columnIndex, (order == TableView.Order.ascending));
+                        long handoverTableViewPointer = query.findAllSortedWithHandover(sharedGroup.getNativePointer(), sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, offset, limit, columnIndex, (order == TableView.Order.ascending));
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                         result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -1712,7 +2029,7 @@ public class RealmQuery<E extends RealmObject> {
 
                     } finally {
                         if (sharedGroup != null) {
-                            sharedGroup.close();
+                            sharedGroupPool.release(sharedGroup);
                         }
                     }
                 } else {
@@ -1775,6 +2092,8 @@ public class RealmQuery<E extends RealmObject> {
         if (fieldNames.length == 1 && sortAscending.length == 1) {
             return findAllSorted(fieldNames[0], sortAscending[0]);
         } else {
+            RealmInstrumentation instrumentation = realm.configuration.getInstrumentation();
+            long start = (instrumentation != null) ? System.nanoTime() : 0;
             TableView tableView = query.findAll();
             List<Long> columnIndices = new ArrayList<Long>();
             List<TableView.Order> orders = new ArrayList<TableView.Order>();
@@ -1790,6 +2109,13 @@ public class RealmQuery<E extends RealmObject> {
                 orders.add(sortAscending[i] ? TableView.Order.ascending : TableView.Order.descending);
             }
             tableView.sort(columnIndices, orders);
+            if (isBounded()) {
+                tableView.setBounds(offset, limit);
+            }
+            if (instrumentation != null) {
+                instrumentation.onQuery(RealmInstrumentation.QueryType.FIND_ALL_SORTED, clazz,
+                        System.nanoTime() - start, tableView.size());
+            }
             return new RealmResults<E>(realm, tableView, clazz);
         }
     }
@@ -1818,8 +2144,8 @@ public class RealmQuery<E extends RealmObject> {
             // Handover the query (to be used by a worker thread)
             final long handoverQueryPointer = query.handoverQuery(realm.sharedGroupManager.getNativePointer());
 
-            // We need to use the same configuration to open a background SharedGroup to perform the query
-            final RealmConfiguration realmConfiguration = realm.getConfiguration();
+            // We need to use the same configuration to borrow a background SharedGroup to perform the query
+            final SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
 
             final long indices[] = new long[fieldNames.length];
             for (int i = 0; i < fieldNames.length; i++) {
@@ -1835,6 +2161,8 @@ public class RealmQuery<E extends RealmObject> {
             argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_ALL_MULTI_SORTED);
             argumentsHolder.ascendings = sortAscending;
             argumentsHolder.columnIndices = indices;
+            argumentsHolder.offset = offset;
+            argumentsHolder.limit = limit;
 
             // prepare the promise result
             RealmResults<E> realmResults = new RealmResults<E>(realm, query, clazz);
@@ -1848,14 +2176,12 @@ public class RealmQuery<E extends RealmObject> {
                         SharedGroup sharedGroup = null;
 
                         try {
-                            sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                    SharedGroup.IMPLICIT_TRANSACTION,
-                                    realmConfiguration.getDurability(),
-                                    realmConfiguration.getEncryptionKey());
+                            sharedGroup = sharedGroupPool.acquire();
 
                             // run the query & handover the table view for the caller thread
                             long handoverTableViewPointer = query.findAllMultiSortedWithHandover(sharedGroup.getNativePointer(),
-                                    sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, indices, sortAscending);
+                                    sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, offset, limit,
+                                    indices, sortAscending);
 
                             QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmResultsResponse();
                             result.updatedTableViews.put(weakRealmResults, handoverTableViewPointer);
@@ -1869,7 +2195,7 @@ public class RealmQuery<E extends RealmObject> {
 
                         } finally {
                             if (sharedGroup != null) {
-                                sharedGroup.close();
+                                sharedGroupPool.release(sharedGroup);
                             }
                         }
                     } else {
@@ -1961,7 +2287,7 @@ public class RealmQuery<E extends RealmObject> {
     }
 
     /**
-     * Find the first object that fulfills the query conditions.
+     * Find the first object that fulfills the query conditions, after the objects skipped by {@link #offset(long)}.
      *
      * @return The object found or {@code null} if no object matches the query conditions.
      * @see io.realm.RealmObject
@@ -1969,7 +2295,13 @@ public class RealmQuery<E extends RealmObject> {
      */
     public E findFirst() {
         checkQueryIsNotReused();
+        if (limit == 0) {
+            return null;
+        }
         long rowIndex = this.query.find();
+        for (long i = 0; i < offset && rowIndex >= 0; i++) {
+            rowIndex = this.query.find(rowIndex + 1);
+        }
         if (rowIndex >= 0) {
             return realm.get(clazz, (view != null) ? view.getTargetRowIndex(rowIndex) : rowIndex);
         } else {
@@ -1993,8 +2325,10 @@ public class RealmQuery<E extends RealmObject> {
 
         // save query arguments (for future update)
         argumentsHolder = new ArgumentsHolder(ArgumentsHolder.TYPE_FIND_FIRST);
+        argumentsHolder.offset = offset;
+        argumentsHolder.limit = limit;
 
-        final RealmConfiguration realmConfiguration = realm.getConfiguration();
+        final SharedGroupPool sharedGroupPool = SharedGroupPool.getInstance(realm.getConfiguration());
 
         // prepare an empty reference of the RealmObject, so we can return it immediately (promise)
         // then update it once the query complete in the background.
@@ -2011,13 +2345,10 @@ public class RealmQuery<E extends RealmObject> {
                     SharedGroup sharedGroup = null;
 
                     try {
-                        sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                                SharedGroup.IMPLICIT_TRANSACTION,
-                                realmConfiguration.getDurability(),
-                                realmConfiguration.getEncryptionKey());
+                        sharedGroup = sharedGroupPool.acquire();
 
                         long handoverTableViewPointer = query.findWithHandover(sharedGroup.getNativePointer(),
-                                sharedGroup.getNativeReplicationPointer(), handoverQueryPointer);
+                                sharedGroup.getNativeReplicationPointer(), handoverQueryPointer, offset, limit);
 
                         QueryUpdateTask.Result result = QueryUpdateTask.Result.newRealmObjectResponse();
                         result.updatedRow.put(realmObjectWeakReference, handoverTableViewPointer);
@@ -2033,7 +2364,7 @@ public class RealmQuery<E extends RealmObject> {
 
                     } finally {
                         if (null != sharedGroup) {
-                            sharedGroup.close();
+                            sharedGroupPool.release(sharedGroup);
                         }
                     }
                 } else {
@@ -2085,10 +2416,57 @@ public class RealmQuery<E extends RealmObject> {
         }
     }
 
+    private boolean isBounded() {
+        return offset != 0 || limit != Table.INFINITE;
+    }
+
+    private void checkNotBounded() {
+        if (isBounded()) {
+            throw new UnsupportedOperationException("limit() and offset() are not supported by findAllPaged()");
+        }
+    }
+
     public ArgumentsHolder getArgument() {
         return argumentsHolder;
     }
 
+    /**
+     * Checks if the results of this query might be affected by changes to any of the given tables. This is the
+     * queried table and every table reachable from it through links.
+     *
+     * @param tableNames names of the modified tables.
+     * @return {@code true} if the query might be affected and should be rerun, {@code false} otherwise.
+     */
+    boolean dependsOnAny(Set<String> tableNames) {
+        if (view != null || fromRealmResults) {
+            // the results also depend on the table holding the list or the original query, rerun to be safe
+            return true;
+        }
+        if (dependentTableNames == null) {
+            dependentTableNames = new HashSet<String>();
+            collectDependentTableNames(table, dependentTableNames);
+        }
+        for (String tableName : tableNames) {
+            if (dependentTableNames.contains(tableName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collectDependentTableNames(Table table, Set<String> tableNames) {
+        if (!tableNames.add(table.getName())) {
+            return;
+        }
+        long columnCount = table.getColumnCount();
+        for (long columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            ColumnType columnType = table.getColumnType(columnIndex);
+            if (columnType == ColumnType.LINK || columnType == ColumnType.LINK_LIST) {
+                collectDependentTableNames(table.getLinkTarget(columnIndex), tableNames);
+            }
+        }
+    }
+
     /**
      * export & handover the query to be used by a worker thread
      *
@@ -17,6 +17,7 @@
 package io.realm;
 
 
+import java.nio.ByteBuffer;
 import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -30,9 +31,12 @@ import java.util.concurrent.Future;
 
 import io.realm.exceptions.RealmException;
 import io.realm.internal.ColumnType;
+import io.realm.internal.Context;
+import io.realm.internal.CursorRow;
 import io.realm.internal.TableOrView;
 import io.realm.internal.TableQuery;
 import io.realm.internal.TableView;
+import io.realm.internal.async.BadVersionException;
 import io.realm.internal.log.RealmLog;
 
 /**
@@ -71,6 +75,10 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
 
     private final TableQuery query;
     private final List<RealmChangeListener> listeners = new CopyOnWriteArrayList<RealmChangeListener>();
+    private final List<RealmChangeSetListener> changeSetListeners = new CopyOnWriteArrayList<RealmChangeSetListener>();
+    // source row indices and row hashes at the last notification, only kept while changeSetListeners isn't empty
+    private long[] notifiedRowIndices;
+    private long[] notifiedRowHashes;
     private Future<Long> pendingQuery;
     private boolean isCompleted = false;
 
@@ -225,6 +233,69 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         return new RealmResultsListIterator(location);
     }
 
+    /**
+     * Visits all the objects of the results in order. Unlike {@link #iterator()}, which creates a new object for each
+     * element, a single object is created and moved from one element to the next, so iterating doesn't allocate
+     * anything per element.
+     * <p>
+     * The object given to the visitor is only valid during the call to {@link Visitor#visit(RealmObject)}, it must not
+     * be kept or passed around, as it will point to another element afterwards. The Realm must not be modified while
+     * visiting.
+     * <p>
+     * The objects read from its links while visiting aren't tracked by the garbage collector either. They are released
+     * together when the Realm is refreshed or a transaction begins or ends, and are no longer valid afterwards.
+     *
+     * @param visitor the visitor called for each object of the results.
+     * @throws IllegalArgumentException if the visitor is {@code null}.
+     */
+    public void visit(Visitor<E> visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("Non-null 'visitor' required.");
+        }
+        if (!isLoaded()) {
+            return;
+        }
+        realm.checkIfValid();
+        TableOrView table = getTable();
+        CursorRow row = new CursorRow(realm.getTable(classSpec));
+        E object = realm.get(classSpec, row);
+        long size = table.size();
+        Context context = realm.sharedGroupManager.getContext();
+        context.beginRowScope();
+        try {
+            if (table instanceof TableView) {
+                TableView view = (TableView) table;
+                for (long i = 0; i < size; i++) {
+                    row.setIndex(view.getSourceRowIndex(i));
+                    object.onRowMoved();
+                    visitor.visit(object);
+                }
+            } else {
+                for (long i = 0; i < size; i++) {
+                    row.setIndex(i);
+                    object.onRowMoved();
+                    visitor.visit(object);
+                }
+            }
+        } finally {
+            context.endRowScope();
+        }
+    }
+
+    /**
+     * Callback used by {@link #visit(Visitor)}.
+     *
+     * @param <E> the type of the objects visited.
+     */
+    public interface Visitor<E extends RealmObject> {
+        /**
+         * Called for each object of the results.
+         *
+         * @param object the current object. It is only valid during this call.
+         */
+        void visit(E object);
+    }
+
     // Sorting
 
     // aux. method used by sort methods
@@ -270,7 +341,13 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
         if (table instanceof TableView) {
             long columnIndex = getColumnIndex(fieldName);
             TableView.Order TVOrder = sortAscending ? TableView.Order.ascending : TableView.Order.descending;
+            RealmInstrumentation instrumentation = realm.configuration.getInstrumentation();
+            long start = (instrumentation != null) ? System.nanoTime() : 0;
             ((TableView) table).sort(columnIndex, TVOrder);
+            if (instrumentation != null) {
+                instrumentation.onQuery(RealmInstrumentation.QueryType.SORT, classSpec, System.nanoTime() - start,
+                        table.size());
+            }
         } else {
             throw new IllegalArgumentException("Only RealmResults can be sorted - please use allObject() to create a RealmResults.");
         }
@@ -309,7 +386,13 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
                 for (int i = 0; i < sortAscending.length; i++) {
                     TVOrder.add(sortAscending[i] ? TableView.Order.ascending : TableView.Order.descending);
                 }
+                RealmInstrumentation instrumentation = realm.configuration.getInstrumentation();
+                long start = (instrumentation != null) ? System.nanoTime() : 0;
                 ((TableView) table).sort(columnIndices, TVOrder);
+                if (instrumentation != null) {
+                    instrumentation.onQuery(RealmInstrumentation.QueryType.SORT, classSpec, System.nanoTime() - start,
+                            table.size());
+                }
             }
         }
     }
@@ -499,6 +582,193 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
     }
 
 
+    // Bulk reads
+
+    /**
+     * Copies the values of a byte, short, int or long field of all the objects into an array. This uses a single native call
+     * instead of one per object, which makes it much faster than reading the field of each object. {@code null} values are read as 0.
+     *
+     * @param fieldName the name of the field.
+     * @param values the array receiving the values. It must be able to hold {@link #size()} values.
+     * @throws IllegalArgumentException if the field doesn't exist or is not a byte, short, int or long field.
+     * @throws IndexOutOfBoundsException if {@code values} is too small.
+     */
+    public void getLongs(String fieldName, long[] values) {
+        getLongs(fieldName, 0, values, 0, size());
+    }
+
+    /**
+     * Copies the values of a byte, short, int or long field of a range of objects into an array using a single native call.
+     *
+     * @param fieldName the name of the field.
+     * @param location the index of the first object to read.
+     * @param values the array receiving the values.
+     * @param offset the index in {@code values} of the value of the first object.
+     * @param count the number of objects to read.
+     * @throws IllegalArgumentException if the field doesn't exist or is not a byte, short, int or long field.
+     * @throws IndexOutOfBoundsException if the objects are not all in the results or don't fit in {@code values}.
+     * @see #getLongs(String, long[])
+     */
+    public void getLongs(String fieldName, int location, long[] values, int offset, int count) {
+        TableOrView table = getTableForBulkRead(location, count);
+        long columnIndex = getColumnIndexForBulkRead(table, fieldName);
+        if (table.getColumnType(columnIndex) != ColumnType.INTEGER) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "byte, short, int or long"));
+        }
+        table.getLongs(columnIndex, location, values, offset, count);
+    }
+
+    /**
+     * Copies the values of a boolean field of all the objects into an array. This uses a single native call
+     * instead of one per object, which makes it much faster than reading the field of each object. {@code null} values are read as {@code false}.
+     *
+     * @param fieldName the name of the field.
+     * @param values the array receiving the values. It must be able to hold {@link #size()} values.
+     * @throws IllegalArgumentException if the field doesn't exist or is not a boolean field.
+     * @throws IndexOutOfBoundsException if {@code values} is too small.
+     */
+    public void getBooleans(String fieldName, boolean[] values) {
+        getBooleans(fieldName, 0, values, 0, size());
+    }
+
+    /**
+     * Copies the values of a boolean field of a range of objects into an array using a single native call.
+     *
+     * @param fieldName the name of the field.
+     * @param location the index of the first object to read.
+     * @param values the array receiving the values.
+     * @param offset the index in {@code values} of the value of the first object.
+     * @param count the number of objects to read.
+     * @throws IllegalArgumentException if the field doesn't exist or is not a boolean field.
+     * @throws IndexOutOfBoundsException if the objects are not all in the results or don't fit in {@code values}.
+     * @see #getBooleans(String, boolean[])
+     */
+    public void getBooleans(String fieldName, int location, boolean[] values, int offset, int count) {
+        TableOrView table = getTableForBulkRead(location, count);
+        long columnIndex = getColumnIndexForBulkRead(table, fieldName);
+        if (table.getColumnType(columnIndex) != ColumnType.BOOLEAN) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "boolean"));
+        }
+        table.getBooleans(columnIndex, location, values, offset, count);
+    }
+
+    /**
+     * Copies the values of a float field of all the objects into an array. This uses a single native call
+     * instead of one per object, which makes it much faster than reading the field of each object.
+     *
+     * @param fieldName the name of the field.
+     * @param values the array receiving the values. It must be able to hold {@link #size()} values.
+     * @throws IllegalArgumentException if the field doesn't exist or is not a float field.
+     * @throws IndexOutOfBoundsException if {@code values} is too small.
+     */
+    public void getFloats(String fieldName, float[] values) {
+        getFloats(fieldName, 0, values, 0, size());
+    }
+
+    /**
+     * Copies the values of a float field of a range of objects into an array using a single native call.
+     *
+     * @param fieldName the name of the field.
+     * @param location the index of the first object to read.
+     * @param values the array receiving the values.
+     * @param offset the index in {@code values} of the value of the first object.
+     * @param count the number of objects to read.
+     * @throws IllegalArgumentException if the field doesn't exist or is not a float field.
+     * @throws IndexOutOfBoundsException if the objects are not all in the results or don't fit in {@code values}.
+     * @see #getFloats(String, float[])
+     */
+    public void getFloats(String fieldName, int location, float[] values, int offset, int count) {
+        TableOrView table = getTableForBulkRead(location, count);
+        long columnIndex = getColumnIndexForBulkRead(table, fieldName);
+        if (table.getColumnType(columnIndex) != ColumnType.FLOAT) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "float"));
+        }
+        table.getFloats(columnIndex, location, values, offset, count);
+    }
+
+    /**
+     * Copies the values of a double field of all the objects into an array. This uses a single native call
+     * instead of one per object, which makes it much faster than reading the field of each object.
+     *
+     * @param fieldName the name of the field.
+     * @param values the array receiving the values. It must be able to hold {@link #size()} values.
+     * @throws IllegalArgumentException if the field doesn't exist or is not a double field.
+     * @throws IndexOutOfBoundsException if {@code values} is too small.
+     */
+    public void getDoubles(String fieldName, double[] values) {
+        getDoubles(fieldName, 0, values, 0, size());
+    }
+
+    /**
+     * Copies the values of a double field of a range of objects into an array using a single native call.
+     *
+     * @param fieldName the name of the field.
+     * @param location the index of the first object to read.
+     * @param values the array receiving the values.
+     * @param offset the index in {@code values} of the value of the first object.
+     * @param count the number of objects to read.
+     * @throws IllegalArgumentException if the field doesn't exist or is not a double field.
+     * @throws IndexOutOfBoundsException if the objects are not all in the results or don't fit in {@code values}.
+     * @see #getDoubles(String, double[])
+     */
+    public void getDoubles(String fieldName, int location, double[] values, int offset, int count) {
+        TableOrView table = getTableForBulkRead(location, count);
+        long columnIndex = getColumnIndexForBulkRead(table, fieldName);
+        if (table.getColumnType(columnIndex) != ColumnType.DOUBLE) {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "double"));
+        }
+        table.getDoubles(columnIndex, location, values, offset, count);
+    }
+
+    /**
+     * Copies the values of a number or boolean field of a range of objects into a direct ByteBuffer using a single
+     * native call. Values are written in native byte order starting at the current position of the buffer, which is
+     * moved after the last value. Integer fields and doubles use 8 bytes, floats 4 bytes and booleans 1 byte. The
+     * values can be read back using a buffer ordered with {@link java.nio.ByteOrder#nativeOrder()}.
+     *
+     * @param fieldName the name of the field.
+     * @param location the index of the first object to read.
+     * @param count the number of objects to read.
+     * @param buffer a buffer created with {@link ByteBuffer#allocateDirect(int)}.
+     * @throws IllegalArgumentException if the field doesn't exist or is not a number or boolean field, or if the
+     * buffer is not direct.
+     * @throws IndexOutOfBoundsException if the objects are not all in the results.
+     * @throws java.nio.BufferOverflowException if the values don't fit in the remaining bytes of {@code buffer}.
+     */
+    public void getValues(String fieldName, int location, int count, ByteBuffer buffer) {
+        TableOrView table = getTableForBulkRead(location, count);
+        long columnIndex = getColumnIndexForBulkRead(table, fieldName);
+        switch (table.getColumnType(columnIndex)) {
+            case INTEGER:
+            case BOOLEAN:
+            case FLOAT:
+            case DOUBLE:
+                table.getColumnValues(columnIndex, location, count, buffer);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, boolean, float or double"));
+        }
+    }
+
+    private TableOrView getTableForBulkRead(int location, int count) {
+        realm.checkIfValid();
+        int size = size();
+        if (location < 0 || count < 0 || location > size - count) {
+            throw new IndexOutOfBoundsException("Cannot read " + count + " objects from index " + location +
+                    " when size is " + size + ".");
+        }
+        return getTable();
+    }
+
+    private long getColumnIndexForBulkRead(TableOrView table, String fieldName) {
+        long columnIndex = table.getColumnIndex(fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        return columnIndex;
+    }
+
+
     // Deleting
 
     /**
@@ -763,6 +1033,10 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
             notifyChangeListeners();
         } catch (Exception e) {
             RealmLog.d(e.getMessage());
+            RealmInstrumentation instrumentation = realm.configuration.getInstrumentation();
+            if (instrumentation != null && e instanceof BadVersionException) {
+                instrumentation.onHandoverFailed(realm.getPath());
+            }
             return false;
         }
         return true;
@@ -799,22 +1073,121 @@ public final class RealmResults<E extends RealmObject> extends AbstractList<E> {
     }
 
     /**
-     * Remove all registered listeners.
+     * Add a change set listener to this RealmResults. It is notified with the positions of the objects deleted,
+     * inserted and modified each time the asynchronous query is updated, but not when the results didn't change.
+     * <p>
+     * If the results are already loaded, the first change set is relative to the results when the listener is
+     * added. Otherwise it contains all the objects as insertions.
+     *
+     * @param listener the change set listener to be notified
+     * @see RealmChangeSet
+     */
+    public void addChangeListener(RealmChangeSetListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        if (realm != null) {
+            realm.checkIfValid();
+        }
+        if (!changeSetListeners.contains(listener)) {
+            if (changeSetListeners.isEmpty() && isLoaded()) {
+                computeChangeSet();
+            }
+            changeSetListeners.add(listener);
+        }
+    }
+
+    /**
+     * Remove a previously registered change set listener.
+     * @param listener the instance to be removed.
+     */
+    public void removeChangeListener(RealmChangeSetListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        if (realm != null) {
+            realm.checkIfValid();
+        }
+        changeSetListeners.remove(listener);
+        if (changeSetListeners.isEmpty()) {
+            clearChangeSetState();
+        }
+    }
+
+    /**
+     * Remove all registered listeners, including the change set listeners.
      */
     public void removeChangeListeners() {
         if (realm != null) {
             realm.checkIfValid();
         }
         listeners.clear();
+        changeSetListeners.clear();
+        clearChangeSetState();
     }
 
     /**
-     * Notify all registered listeners.
+     * Notify all registered listeners. The change set listeners are only notified if the results changed since
+     * their last notification.
      */
     void notifyChangeListeners() {
         realm.checkIfValid();
         for (RealmChangeListener listener : listeners) {
             listener.onChange();
         }
+        notifyChangeSetListeners();
+    }
+
+    /**
+     * Notify the change set listeners if the results changed since their last notification. The results of
+     * synchronous queries are not updated by the handler, so they rely on their owner calling this method.
+     */
+    void notifyChangeSetListeners() {
+        if (!changeSetListeners.isEmpty()) {
+            RealmChangeSet changeSet = computeChangeSet();
+            if (changeSet != null && !changeSet.isEmpty()) {
+                for (RealmChangeSetListener listener : changeSetListeners) {
+                    listener.onChange(changeSet);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if these results come from an asynchronous query, i.e. are updated by the handler.
+     */
+    boolean isAsyncQuery() {
+        return query != null;
+    }
+
+    /**
+     * Returns {@code true} if change sets can be computed for these results, see
+     * {@link #addChangeListener(RealmChangeSetListener)}.
+     */
+    boolean supportsChangeSets() {
+        return query != null || table instanceof TableView;
+    }
+
+    // Compares the current rows with the rows at the last notification, and remembers the current ones.
+    // Only the results of asynchronous queries, backed by a TableView, can be compared.
+    private RealmChangeSet computeChangeSet() {
+        TableOrView table = getTable();
+        if (!(table instanceof TableView)) {
+            return null;
+        }
+        TableView view = (TableView) table;
+        int size = (int) view.size();
+        long[] rowIndices = new long[size];
+        long[] rowHashes = new long[size];
+        view.getRowFingerprints(rowIndices, rowHashes);
+        RealmChangeSet changeSet = RealmChangeSet.compute(notifiedRowIndices, notifiedRowHashes, rowIndices, rowHashes);
+        notifiedRowIndices = rowIndices;
+        notifiedRowHashes = rowHashes;
+        return changeSet;
+    }
+
+    private void clearChangeSetState() {
+        notifiedRowIndices = null;
+        notifiedRowHashes = null;
     }
 }
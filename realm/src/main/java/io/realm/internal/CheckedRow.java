@@ -50,7 +50,7 @@ public class CheckedRow extends UncheckedRow {
     public static CheckedRow get(Context context, Table table, long index) {
         long nativeRowPointer = table.nativeGetRowPtr(table.nativePtr, index);
         CheckedRow row = new CheckedRow(context, table, nativeRowPointer);
-        context.rowReferences.put(new NativeObjectReference(row, context.referenceQueue), context.ROW_REFERENCES_VALUE);
+        context.trackRow(row);
         return row;
     }
 
@@ -64,7 +64,7 @@ public class CheckedRow extends UncheckedRow {
     public static CheckedRow get(Context context, LinkView linkView, long index) {
         long nativeRowPointer = linkView.nativeGetRow(linkView.nativeLinkViewPtr, index);
         CheckedRow row = new CheckedRow(context, linkView.parent.getLinkTarget(linkView.columnIndexInParent), nativeRowPointer);
-        context.rowReferences.put(new NativeObjectReference(row, context.referenceQueue), context.ROW_REFERENCES_VALUE);
+        context.trackRow(row);
         return row;
     }
 
@@ -73,6 +73,10 @@ public class CheckedRow extends UncheckedRow {
      * @return an checked instance of Row.
      */
     public static CheckedRow getFromRow(UncheckedRow row) {
+        if (row.scoped) {
+            // the native accessor of the row will be released, the checked row needs its own
+            return get(row.context, row.parent, row.getIndex());
+        }
         return new CheckedRow(row);
     }
 
@@ -16,90 +16,256 @@
 
 package io.realm.internal;
 
-import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 
 public class Context {
 
     // Each group of related Realm objects will have a Context object in the root.
     // The root can be a table, a group, or a shared group.
-    // The Context object is used to store a list of native pointers 
-    // whose disposal need to be handed over from the garbage 
-    // collection thread to the users thread.
+    // The Context object keeps track of the native objects created from it. Rows, tables, views and queries are
+    // released when closed or once garbage collected, by the user's thread, without using finalizers. If the
+    // Context itself is garbage collected, so are all of them, and it releases what is left.
 
-    // Reserved to be used only as a placeholder by rowReferences Map to avoid autoboxing allocations
-    static final Integer ROW_REFERENCES_VALUE = 0;
+    // The references of the rows not yet collected are kept reachable in a doubly linked list, which unlike a map
+    // adds and removes them without allocating anything else.
+    private NativeObjectReference rowReferences;
+    private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<Object>();
 
-    private List<Long> abandonedTables = new ArrayList<Long>();
-    private List<Long> abandonedTableViews = new ArrayList<Long>();
-    private List<Long> abandonedQueries = new ArrayList<Long>();
+    // Same for the tables, views and queries, guarded by the lock of this Context as they may be closed by any
+    // thread.
+    private NativeObjectReference nativeObjectReferences;
+    private final ReferenceQueue<Object> nativeObjectQueue = new ReferenceQueue<Object>();
+    // tables, views and queries garbage collected, but not released yet
+    private final List<NativeObjectReference> abandonedObjects = new ArrayList<NativeObjectReference>();
 
-    HashMap<Reference<?>, Integer> rowReferences = new HashMap<Reference<?>, Integer>();
-    ReferenceQueue<NativeObject> referenceQueue = new ReferenceQueue<NativeObject>();
+    // Rows created while a row scope is open are not tracked, see beginRowScope().
+    private int rowScopeDepth;
+    private UncheckedRow[] scopedRows = new UncheckedRow[16];
+    private int scopedRowCount;
 
-    private boolean isFinalized = false;
+    // Number of native objects not released yet. Views and queries are counted under the lock of this Context, as
+    // they may be closed by another thread. Rows are only tracked and cleaned by the thread of the Context, and
+    // their count is volatile so the other threads read its latest value.
+    private volatile int trackedRowCount;
+    private int tableViewCount;
+    private int queryCount;
+    // 0 if there is no limit, guarded by the lock of this Context
+    private long nativeObjectLimit;
 
-    public void executeDelayedDisposal() {
-        synchronized (this) {
-            for (int i = 0; i < abandonedTables.size(); i++) {
-                long nativePointer = abandonedTables.get(i);
-                Table.nativeClose(nativePointer);
-            }
-            abandonedTables.clear();
+    /**
+     * Sets a soft limit on the number of native objects of this Context. Above it, the objects abandoned by the
+     * garbage collector are disposed each time a row, a view or a query is created, instead of on the next table
+     * operation.
+     *
+     * @param limit the number of rows, views and queries above which disposal is eager, or 0 for no limit.
+     */
+    public synchronized void setNativeObjectLimit(long limit) {
+        nativeObjectLimit = limit;
+    }
 
-            for (int i = 0; i < abandonedTableViews.size(); i++) {
-                long nativePointer = abandonedTableViews.get(i);
-                TableView.nativeClose(nativePointer);
-            }
-            abandonedTableViews.clear();
+    /**
+     * Returns the number of row objects whose native accessor is not released yet, including the rows already
+     * garbage collected but not cleaned.
+     */
+    public int getTrackedRowCount() {
+        return trackedRowCount;
+    }
+
+    /**
+     * Returns the number of table views not released yet.
+     */
+    public synchronized int getTableViewCount() {
+        return tableViewCount;
+    }
+
+    /**
+     * Returns the number of queries not released yet.
+     */
+    public synchronized int getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * Returns the number of tables, views and queries garbage collected but not disposed yet.
+     */
+    public synchronized int getAbandonedObjectCount() {
+        pollAbandonedObjects();
+        return abandonedObjects.size();
+    }
+
+    private synchronized boolean isOverLimit() {
+        return nativeObjectLimit > 0 && (long) trackedRowCount + tableViewCount + queryCount > nativeObjectLimit;
+    }
+
+    /**
+     * Tracks a table, a view or a query so it is released once garbage collected.
+     *
+     * @param referent the new object.
+     * @param nativePointer its native pointer.
+     * @param type its type, see {@link NativeObjectReference}.
+     * @return the reference to give back to {@link #untrackNativeObject(NativeObjectReference)} when the object is
+     *         closed.
+     */
+    synchronized NativeObjectReference trackNativeObject(Object referent, long nativePointer, int type) {
+        if (isOverLimit()) {
+            executeDelayedDisposal();
+        }
+        NativeObjectReference reference = new NativeObjectReference(referent, nativePointer, type,
+                nativeObjectQueue);
+        reference.next = nativeObjectReferences;
+        if (nativeObjectReferences != null) {
+            nativeObjectReferences.previous = reference;
+        }
+        nativeObjectReferences = reference;
+        if (type == NativeObjectReference.TYPE_TABLE_VIEW) {
+            tableViewCount++;
+        } else if (type == NativeObjectReference.TYPE_QUERY) {
+            queryCount++;
+        }
+        return reference;
+    }
+
+    /**
+     * Stops tracking a table, a view or a query that has been closed.
+     *
+     * @param reference the reference returned by {@link #trackNativeObject(Object, long, int)}.
+     */
+    synchronized void untrackNativeObject(NativeObjectReference reference) {
+        // the referent is still reachable, so the reference is not enqueued yet and never will be
+        reference.clear();
+        removeNativeObjectReference(reference);
+    }
 
-            for (int i = 0; i < abandonedQueries.size(); i++) {
-                long nativePointer = abandonedQueries.get(i);
-                TableQuery.nativeClose(nativePointer);
+    private void removeNativeObjectReference(NativeObjectReference reference) {
+        if (reference.previous != null) {
+            reference.previous.next = reference.next;
+        } else {
+            nativeObjectReferences = reference.next;
+        }
+        if (reference.next != null) {
+            reference.next.previous = reference.previous;
+        }
+        reference.previous = null;
+        reference.next = null;
+        if (reference.type == NativeObjectReference.TYPE_TABLE_VIEW) {
+            tableViewCount--;
+        } else if (reference.type == NativeObjectReference.TYPE_QUERY) {
+            queryCount--;
+        }
+    }
+
+    private void pollAbandonedObjects() {
+        NativeObjectReference reference = (NativeObjectReference) nativeObjectQueue.poll();
+        while (reference != null) {
+            abandonedObjects.add(reference);
+            reference = (NativeObjectReference) nativeObjectQueue.poll();
+        }
+    }
+
+    public void executeDelayedDisposal() {
+        synchronized (this) {
+            pollAbandonedObjects();
+            for (int i = 0; i < abandonedObjects.size(); i++) {
+                NativeObjectReference reference = abandonedObjects.get(i);
+                reference.dispose();
+                removeNativeObjectReference(reference);
             }
-            abandonedQueries.clear();
+            abandonedObjects.clear();
 
             cleanRows();
         }
     }
 
+    /**
+     * Releases the native accessors of the collected rows.
+     */
     public void cleanRows() {
         NativeObjectReference reference = (NativeObjectReference) referenceQueue.poll();
         while (reference != null) {
-            UncheckedRow.nativeClose(reference.nativePointer);
-            rowReferences.remove(reference);
+            reference.dispose();
+            removeRowReference(reference);
             reference = (NativeObjectReference) referenceQueue.poll();
         }
     }
 
-    public void asyncDisposeTable(long nativePointer, boolean isRoot) {
-        if (isRoot || isFinalized) {
-            Table.nativeClose(nativePointer);
+    /**
+     * Opens a row scope. Until it is closed by {@link #endRowScope()}, the rows created from this Context are not
+     * tracked by the garbage collector. Their native accessors are released together by the next call to
+     * {@link #releaseScopedRows()}, i.e. when the Realm advances to another version, or a transaction begins or
+     * ends. The objects using them must not be used afterwards. Scopes can be nested.
+     */
+    public void beginRowScope() {
+        rowScopeDepth++;
+    }
+
+    /**
+     * Closes the row scope opened by {@link #beginRowScope()}. The rows created in the scope are still valid until
+     * they are released.
+     */
+    public void endRowScope() {
+        if (rowScopeDepth == 0) {
+            throw new IllegalStateException("No row scope is open.");
         }
-        else {
-            abandonedTables.add(nativePointer);
+        rowScopeDepth--;
+    }
+
+    /**
+     * Releases the native accessors of the rows created in row scopes. Their row objects are detached.
+     */
+    void releaseScopedRows() {
+        for (int i = 0; i < scopedRowCount; i++) {
+            scopedRows[i].release();
+            scopedRows[i] = null;
         }
+        trackedRowCount -= scopedRowCount;
+        scopedRowCount = 0;
     }
 
-    public void asyncDisposeTableView(long nativePointer) {
-        if (isFinalized) {
-            TableView.nativeClose(nativePointer);
+    /**
+     * Tracks a row so its native accessor is released once it is garbage collected, or at the end of the current
+     * row scope.
+     *
+     * @param row the new row.
+     */
+    void trackRow(UncheckedRow row) {
+        if (rowScopeDepth > 0) {
+            if (scopedRowCount == scopedRows.length) {
+                scopedRows = Arrays.copyOf(scopedRows, scopedRowCount * 2);
+            }
+            row.scoped = true;
+            scopedRows[scopedRowCount++] = row;
+            trackedRowCount++;
+            return;
+        }
+        if (isOverLimit()) {
+            executeDelayedDisposal();
+        } else {
+            cleanRows();
         }
-        else {
-            abandonedTableViews.add(nativePointer);
+        NativeObjectReference reference = new NativeObjectReference(row, referenceQueue);
+        reference.next = rowReferences;
+        if (rowReferences != null) {
+            rowReferences.previous = reference;
         }
+        rowReferences = reference;
+        trackedRowCount++;
     }
 
-    public void asyncDisposeQuery(long nativePointer) {
-        if (isFinalized) {
-            TableQuery.nativeClose(nativePointer);
+    private void removeRowReference(NativeObjectReference reference) {
+        if (reference.previous != null) {
+            reference.previous.next = reference.next;
+        } else {
+            rowReferences = reference.next;
         }
-        else {
-            abandonedQueries.add(nativePointer);
+        if (reference.next != null) {
+            reference.next.previous = reference.previous;
         }
+        reference.previous = null;
+        reference.next = null;
+        trackedRowCount--;
     }
 
     public void asyncDisposeGroup(long nativePointer) {
@@ -110,10 +276,22 @@ public class Context {
         SharedGroup.nativeClose(nativePointer);
     }
 
+    // Nothing created from this Context is reachable anymore, but the references of the objects not collected yet
+    // are only enqueued if this Context is.
     protected void finalize() {
         synchronized (this) {
-            isFinalized = true;
+            while (nativeObjectReferences != null) {
+                NativeObjectReference reference = nativeObjectReferences;
+                reference.dispose();
+                removeNativeObjectReference(reference);
+            }
+            abandonedObjects.clear();
+            while (rowReferences != null) {
+                NativeObjectReference reference = rowReferences;
+                reference.dispose();
+                removeRowReference(reference);
+            }
+            releaseScopedRows();
         }
-        executeDelayedDisposal();
     }
 }
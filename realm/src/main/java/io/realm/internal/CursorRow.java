@@ -0,0 +1,206 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.Date;
+
+/**
+ * Row wrapper that can be moved from one row of a table to another. Unlike {@link UncheckedRow} it does not hold a
+ * native row accessor, so it can be re-positioned using {@link #setIndex(long)} without allocating anything. All
+ * access goes through the {@link Table} using the current row index.
+ * <p>
+ * A CursorRow does not follow its row if rows are inserted or removed from the table, it is only meant to be used for
+ * short lived iterations on a table that is not modified meanwhile.
+ */
+public class CursorRow implements Row {
+
+    private final Table table;
+    private long index;
+
+    public CursorRow(Table table) {
+        this.table = table;
+    }
+
+    /**
+     * Moves the cursor to another row of the table.
+     *
+     * @param index the index of the row in the table.
+     */
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    @Override
+    public long getColumnCount() {
+        return table.getColumnCount();
+    }
+
+    @Override
+    public String getColumnName(long columnIndex) {
+        return table.getColumnName(columnIndex);
+    }
+
+    @Override
+    public long getColumnIndex(String columnName) {
+        return table.getColumnIndex(columnName);
+    }
+
+    @Override
+    public ColumnType getColumnType(long columnIndex) {
+        return table.getColumnType(columnIndex);
+    }
+
+    @Override
+    public Table getTable() {
+        return table;
+    }
+
+    @Override
+    public long getIndex() {
+        return index;
+    }
+
+    @Override
+    public long getLong(long columnIndex) {
+        return table.getLong(columnIndex, index);
+    }
+
+    @Override
+    public boolean getBoolean(long columnIndex) {
+        return table.getBoolean(columnIndex, index);
+    }
+
+    @Override
+    public float getFloat(long columnIndex) {
+        return table.getFloat(columnIndex, index);
+    }
+
+    @Override
+    public double getDouble(long columnIndex) {
+        return table.getDouble(columnIndex, index);
+    }
+
+    @Override
+    public Date getDate(long columnIndex) {
+        return table.getDate(columnIndex, index);
+    }
+
+    @Override
+    public String getString(long columnIndex) {
+        return table.getString(columnIndex, index);
+    }
+
+    @Override
+    public byte[] getBinaryByteArray(long columnIndex) {
+        return table.getBinaryByteArray(columnIndex, index);
+    }
+
+    @Override
+    public Mixed getMixed(long columnIndex) {
+        return table.getMixed(columnIndex, index);
+    }
+
+    @Override
+    public ColumnType getMixedType(long columnIndex) {
+        return table.getMixedType(columnIndex, index);
+    }
+
+    @Override
+    public long getLink(long columnIndex) {
+        return table.getLink(columnIndex, index);
+    }
+
+    @Override
+    public boolean isNullLink(long columnIndex) {
+        return table.isNullLink(columnIndex, index);
+    }
+
+    @Override
+    public LinkView getLinkList(long columnIndex) {
+        return table.getLinkList(columnIndex, index);
+    }
+
+    @Override
+    public void setLong(long columnIndex, long value) {
+        table.setLong(columnIndex, index, value);
+    }
+
+    @Override
+    public void setBoolean(long columnIndex, boolean value) {
+        table.setBoolean(columnIndex, index, value);
+    }
+
+    @Override
+    public void setFloat(long columnIndex, float value) {
+        table.setFloat(columnIndex, index, value);
+    }
+
+    @Override
+    public void setDouble(long columnIndex, double value) {
+        table.setDouble(columnIndex, index, value);
+    }
+
+    @Override
+    public void setDate(long columnIndex, Date date) {
+        table.setDate(columnIndex, index, date);
+    }
+
+    @Override
+    public void setString(long columnIndex, String value) {
+        table.setString(columnIndex, index, value);
+    }
+
+    @Override
+    public void setBinaryByteArray(long columnIndex, byte[] data) {
+        table.setBinaryByteArray(columnIndex, index, data);
+    }
+
+    @Override
+    public void setMixed(long columnIndex, Mixed data) {
+        table.setMixed(columnIndex, index, data);
+    }
+
+    @Override
+    public void setLink(long columnIndex, long value) {
+        table.setLink(columnIndex, index, value);
+    }
+
+    @Override
+    public void nullifyLink(long columnIndex) {
+        table.nullifyLink(columnIndex, index);
+    }
+
+    @Override
+    public boolean isNull(long columnIndex) {
+        return table.isNull(columnIndex, index);
+    }
+
+    @Override
+    public void setNull(long columnIndex) {
+        table.setNull(columnIndex, index);
+    }
+
+    @Override
+    public boolean isAttached() {
+        return table.isValid() && index >= 0 && index < table.size();
+    }
+
+    @Override
+    public boolean hasColumn(String fieldName) {
+        return table.getColumnIndex(fieldName) != TableOrView.NO_MATCH;
+    }
+}
@@ -16,9 +16,23 @@
 
 package io.realm.internal;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 public class ImplicitTransaction extends Group {
 
     private final SharedGroup parent;
+    // names of the tables modified by the current write transaction
+    private final Set<String> modifiedTables = new HashSet<String>();
+    // primary key indices of the tables written by the current write transaction, shared by all their Table objects
+    private final Map<String, PrimaryKeyIndex> primaryKeyIndices = new HashMap<String, PrimaryKeyIndex>();
+    private long writeGeneration = 0;
+    // rows modified by the current write transaction, null if no object change listener needs them
+    private RowChanges rowChanges;
+    private RowChangeLog rowChangeLog;
 
     public ImplicitTransaction(Context context, SharedGroup sharedGroup, long nativePtr) {
         super(context, nativePtr, true);
@@ -49,15 +63,43 @@ public class ImplicitTransaction extends Group {
         }
         immutable = false;
         parent.promoteToWrite();
+        writeGeneration++;
+        modifiedTables.clear();
+        primaryKeyIndices.clear();
+        if (rowChangeLog == null) {
+            rowChangeLog = RowChangeLog.get(getPath());
+        }
+        // versions are incremented by one by every commit
+        rowChanges = rowChangeLog.isTracked() ? new RowChanges(parent.getVersion().version + 1) : null;
     }
 
-    public void commitAndContinueAsRead() {
+    /**
+     * Commits the current write transaction and continues as a read transaction.
+     *
+     * @return the names of the tables modified by the committed transaction.
+     */
+    public Set<String> commitAndContinueAsRead() {
         assertNotClosed();
         if (immutable) {
             throw new IllegalStateException("Not inside a transaction.");
         }
-        parent.commitAndContinueAsRead();
+        if (rowChanges != null) {
+            rowChangeLog.publish(rowChanges);
+            try {
+                parent.commitAndContinueAsRead();
+            } catch (RuntimeException e) {
+                rowChangeLog.discard(rowChanges);
+                throw e;
+            }
+            rowChanges = null;
+        } else {
+            parent.commitAndContinueAsRead();
+        }
         immutable = true;
+        Set<String> changedTables = Collections.unmodifiableSet(new HashSet<String>(modifiedTables));
+        modifiedTables.clear();
+        primaryKeyIndices.clear();
+        return changedTables;
     }
 
     public void endRead() {
@@ -72,6 +114,39 @@ public class ImplicitTransaction extends Group {
         }
         parent.rollbackAndContinueAsRead();
         immutable = true;
+        modifiedTables.clear();
+        primaryKeyIndices.clear();
+        rowChanges = null;
+    }
+
+    /**
+     * Returns a counter identifying the current write transaction. It changes every time a write transaction begins.
+     */
+    long getWriteGeneration() {
+        return writeGeneration;
+    }
+
+    void addModifiedTable(String tableName) {
+        modifiedTables.add(tableName);
+    }
+
+    /**
+     * Returns the rows modified by the current write transaction, or {@code null} if they are not recorded.
+     */
+    RowChanges getRowChanges() {
+        return rowChanges;
+    }
+
+    /**
+     * Returns the primary key index of a table for the current write transaction, creating it if needed.
+     */
+    PrimaryKeyIndex getPrimaryKeyIndex(String tableName, long columnIndex, boolean stringKeys) {
+        PrimaryKeyIndex index = primaryKeyIndices.get(tableName);
+        if (index == null || index.getColumnIndex() != columnIndex) {
+            index = new PrimaryKeyIndex(columnIndex, stringKeys);
+            primaryKeyIndices.put(tableName, index);
+        }
+        return index;
     }
 
     private void assertNotClosed() {
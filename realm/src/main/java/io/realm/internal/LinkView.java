@@ -127,11 +127,17 @@ public class LinkView {
         if (parent.isImmutable()) {
             throw new IllegalStateException("Changing Realm data can only be done from inside a transaction.");
         }
+        parent.markModified();
+        RowChanges.TableChanges changes = parent.getRowChanges();
+        if (changes != null) {
+            changes.set(nativeGetOriginRowIndex(nativeLinkViewPtr), columnIndexInParent);
+        }
     }
 
     protected static native void nativeClose(long nativeLinkViewPtr);
     native long nativeGetRow(long nativeLinkViewPtr, long pos);
     private native long nativeGetTargetRowIndex(long nativeLinkViewPtr, long pos);
+    private native long nativeGetOriginRowIndex(long nativeLinkViewPtr);
     private native void nativeAdd(long nativeLinkViewPtr, long rowIndex);
     private native void nativeInsert(long nativeLinkViewPtr, long pos, long rowIndex);
     private native void nativeSet(long nativeLinkViewPtr, long pos, long rowIndex);
@@ -19,16 +19,53 @@ import java.lang.ref.PhantomReference;
 import java.lang.ref.ReferenceQueue;
 
 /**
- * This class is used for holding the reference to the native pointers present in NativeObjects.
- * This is required as phantom references cannot access the original objects for this value.
+ * This class is used for holding the reference to the native pointers present in NativeObjects, tables, views and
+ * queries. This is required as phantom references cannot access the original objects for this value.
  */
-public class NativeObjectReference extends PhantomReference<NativeObject> {
+public class NativeObjectReference extends PhantomReference<Object> {
+
+    static final int TYPE_ROW = 0;
+    static final int TYPE_TABLE = 1;
+    static final int TYPE_TABLE_VIEW = 2;
+    static final int TYPE_QUERY = 3;
 
     // The pointer to the native object to be handled
     final long nativePointer;
+    final int type;
+    // links of the list of references kept by the Context
+    NativeObjectReference previous;
+    NativeObjectReference next;
+
+    public NativeObjectReference(NativeObject referent, ReferenceQueue<? super Object> referenceQueue) {
+        this(referent, referent.nativePointer, TYPE_ROW, referenceQueue);
+    }
 
-    public NativeObjectReference(NativeObject referent, ReferenceQueue<? super NativeObject> referenceQueue) {
+    NativeObjectReference(Object referent, long nativePointer, int type,
+                          ReferenceQueue<? super Object> referenceQueue) {
         super(referent, referenceQueue);
-        nativePointer = referent.nativePointer;
+        this.nativePointer = nativePointer;
+        this.type = type;
+    }
+
+    /**
+     * Releases the native object. It must not be used anymore.
+     */
+    void dispose() {
+        switch (type) {
+            case TYPE_ROW:
+                UncheckedRow.nativeClose(nativePointer);
+                break;
+            case TYPE_TABLE:
+                Table.nativeClose(nativePointer);
+                break;
+            case TYPE_TABLE_VIEW:
+                TableView.nativeClose(nativePointer);
+                break;
+            case TYPE_QUERY:
+                TableQuery.nativeClose(nativePointer);
+                break;
+            default:
+                throw new IllegalStateException("Unknown native object type: " + type);
+        }
     }
 }
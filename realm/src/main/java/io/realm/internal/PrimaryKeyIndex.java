@@ -0,0 +1,186 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the primary key values of a table to their row index during a write transaction, so upserting many objects
+ * doesn't search the primary key column natively for each of them.
+ * <p>
+ * The index is only built once enough lookups have been done in the transaction to pay for reading the whole column.
+ * From then on it must know every key of the table: {@link Table} records all the keys it writes. Rows can be removed
+ * or moved without the index knowing, so a row index found in the index must be checked against the table before
+ * being used.
+ */
+final class PrimaryKeyIndex {
+
+    // The index is built once the number of lookups times this factor reaches the number of rows
+    private static final int ROWS_PER_LOOKUP = 16;
+    private static final int MIN_LOOKUPS = 32;
+    private static final int MIN_CAPACITY = 16;
+
+    private final long columnIndex;
+    private final boolean stringKeys;
+    private int lookups;
+    private boolean built;
+
+    // Integer keys, using open addressing with linear probing
+    private long[] keys;
+    private long[] rows;
+    private boolean[] used;
+    private int size;
+
+    private Map<String, Long> stringRows;
+
+    PrimaryKeyIndex(long columnIndex, boolean stringKeys) {
+        this.columnIndex = columnIndex;
+        this.stringKeys = stringKeys;
+    }
+
+    long getColumnIndex() {
+        return columnIndex;
+    }
+
+    boolean hasStringKeys() {
+        return stringKeys;
+    }
+
+    boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Counts a lookup done before the index is built.
+     *
+     * @param tableSize the number of rows in the table.
+     * @return {@code true} if the index should now be built.
+     */
+    boolean countLookup(long tableSize) {
+        lookups++;
+        return lookups >= MIN_LOOKUPS && (long) lookups * ROWS_PER_LOOKUP >= tableSize;
+    }
+
+    /**
+     * Prepares the index to be filled with the keys of a table.
+     *
+     * @param tableSize the number of rows in the table.
+     */
+    void startBuilding(long tableSize) {
+        built = true;
+        if (stringKeys) {
+            stringRows = new HashMap<String, Long>((int) Math.min(tableSize * 4 / 3 + 1, Integer.MAX_VALUE));
+        } else {
+            int capacity = MIN_CAPACITY;
+            while (capacity < tableSize * 4 / 3 + 1) {
+                capacity <<= 1;
+            }
+            keys = new long[capacity];
+            rows = new long[capacity];
+            used = new boolean[capacity];
+            size = 0;
+        }
+    }
+
+    /**
+     * Forgets all the keys, as the table is now empty.
+     */
+    void clear() {
+        if (built) {
+            startBuilding(0);
+        }
+    }
+
+    /**
+     * Returns the row of an integer key.
+     *
+     * @return the row index, or {@link TableOrView#NO_MATCH} if the key isn't in the table.
+     */
+    long get(long key) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (used[i]) {
+            if (keys[i] == key) {
+                return rows[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return TableOrView.NO_MATCH;
+    }
+
+    /**
+     * Returns the row of a string key.
+     *
+     * @return the row index, or {@link TableOrView#NO_MATCH} if the key isn't in the table.
+     */
+    long get(String key) {
+        Long row = stringRows.get(key);
+        return (row != null) ? row : TableOrView.NO_MATCH;
+    }
+
+    /**
+     * Sets the row of an integer key. {@link TableOrView#NO_MATCH} marks a key as removed from the table.
+     */
+    void put(long key, long row) {
+        if ((size + 1) * 4 > keys.length * 3) {
+            grow();
+        }
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (used[i]) {
+            if (keys[i] == key) {
+                rows[i] = row;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        used[i] = true;
+        keys[i] = key;
+        rows[i] = row;
+        size++;
+    }
+
+    /**
+     * Sets the row of a string key. {@link TableOrView#NO_MATCH} marks a key as removed from the table.
+     */
+    void put(String key, long row) {
+        if (key != null) {
+            stringRows.put(key, row);
+        }
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldRows = rows;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        rows = new long[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                put(oldKeys[i], oldRows[i]);
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
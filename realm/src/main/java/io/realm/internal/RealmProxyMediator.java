@@ -21,6 +21,7 @@ import android.util.JsonReader;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -103,6 +104,29 @@ public abstract class RealmProxyMediator {
      */
     public abstract <E extends RealmObject> E copyOrUpdate(Realm realm, E object, boolean update, Map<RealmObject, RealmObjectProxy> cache);
 
+    /**
+     * Inserts a non-managed RealmObject into the Realm without creating a managed object for it. Objects referenced by
+     * the inserted object are inserted too, if they aren't already.
+     *
+     * @param realm     Reference to Realm where to insert the object.
+     * @param object    Object to insert.
+     * @param cache     Cache mapping the objects already inserted to their row index.
+     * @return the index of the row of the object.
+     */
+    public abstract long insert(Realm realm, RealmObject object, Map<RealmObject, Long> cache);
+
+    /**
+     * Inserts non-managed RealmObjects of the given class into the Realm without creating managed objects for them.
+     * Values are written in batches using {@link RowBatch}. Objects referenced by the inserted objects are inserted
+     * too, if they aren't already.
+     *
+     * @param clazz     Model class of the objects.
+     * @param realm     Reference to Realm where to insert the objects.
+     * @param objects   Objects to insert. They must all be of type {@code clazz}.
+     * @param cache     Cache mapping the objects already inserted to their row index.
+     */
+    public abstract void insertAll(Class<? extends RealmObject> clazz, Realm realm, Collection<? extends RealmObject> objects, Map<RealmObject, Long> cache);
+
     /**
      * Creates or updates a RealmObject using the provided JSON data.
      *
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Rows to be appended to a {@link Table} using a single native call. Values are stored column by column in Java
+ * arrays and written to the table by {@link #flush()}, instead of crossing JNI once for each row and each value.
+ * <p>
+ * A row is started with {@link #addRow()}, then the values of this row are set. Columns that are not set for a row
+ * get the same default value as for {@link Table#addEmptyRow()}. Link lists are not supported, they must be set once
+ * the rows have been added to the table.
+ */
+public final class RowBatch {
+
+    /**
+     * Maximum number of rows in a batch. Larger imports should flush the batch each time it is full.
+     */
+    public static final int MAX_CAPACITY = 1000;
+
+    private static final byte[] EMPTY_BINARY = new byte[0];
+
+    private final Table table;
+    private final int capacity;
+    private final Column[] columns;
+    private int columnsUsed;
+    private int size;
+
+    /**
+     * Creates a batch.
+     *
+     * @param table the table the rows will be added to.
+     * @param capacity the expected number of rows. The batch will hold at most {@link #MAX_CAPACITY} rows.
+     */
+    public RowBatch(Table table, int capacity) {
+        this.table = table;
+        this.capacity = Math.max(1, Math.min(capacity, MAX_CAPACITY));
+        this.columns = new Column[(int) table.getColumnCount()];
+    }
+
+    /**
+     * Returns the number of rows the batch can hold.
+     *
+     * @return the capacity of the batch.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of rows waiting to be added to the table.
+     *
+     * @return the number of rows in the batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the batch must be flushed before adding another row.
+     *
+     * @return {@code true} if the batch is full, {@code false} otherwise.
+     */
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * Starts a new row. The setters of the batch set the values of this row.
+     *
+     * @throws IllegalStateException if the batch is full.
+     */
+    public void addRow() {
+        if (size == capacity) {
+            throw new IllegalStateException("The batch is full, it must be flushed before adding more rows.");
+        }
+        size++;
+    }
+
+    public void setLong(long columnIndex, long value) {
+        Column column = getColumn(columnIndex, ColumnType.INTEGER);
+        ((long[]) column.values)[size - 1] = value;
+        column.setNotNull(size - 1);
+    }
+
+    public void setBoolean(long columnIndex, boolean value) {
+        Column column = getColumn(columnIndex, ColumnType.BOOLEAN);
+        ((boolean[]) column.values)[size - 1] = value;
+        column.setNotNull(size - 1);
+    }
+
+    public void setFloat(long columnIndex, float value) {
+        Column column = getColumn(columnIndex, ColumnType.FLOAT);
+        ((float[]) column.values)[size - 1] = value;
+        column.setNotNull(size - 1);
+    }
+
+    public void setDouble(long columnIndex, double value) {
+        Column column = getColumn(columnIndex, ColumnType.DOUBLE);
+        ((double[]) column.values)[size - 1] = value;
+        column.setNotNull(size - 1);
+    }
+
+    public void setDate(long columnIndex, Date date) {
+        if (date == null) {
+            setNull(columnIndex);
+            return;
+        }
+        Column column = getColumn(columnIndex, ColumnType.DATE);
+        ((long[]) column.values)[size - 1] = date.getTime() / 1000;
+        column.setNotNull(size - 1);
+    }
+
+    public void setString(long columnIndex, String value) {
+        if (value == null) {
+            setNull(columnIndex);
+            return;
+        }
+        ((String[]) getColumn(columnIndex, ColumnType.STRING).values)[size - 1] = value;
+    }
+
+    public void setBinaryByteArray(long columnIndex, byte[] data) {
+        if (data == null) {
+            setNull(columnIndex);
+            return;
+        }
+        ((byte[][]) getColumn(columnIndex, ColumnType.BINARY).values)[size - 1] = data;
+    }
+
+    /**
+     * Sets a link of the current row.
+     *
+     * @param columnIndex index of the link column.
+     * @param value index of the row linked to in the target table.
+     */
+    public void setLink(long columnIndex, long value) {
+        Column column = getColumn(columnIndex, ColumnType.LINK);
+        ((long[]) column.values)[size - 1] = value;
+        column.setNotNull(size - 1);
+    }
+
+    /**
+     * Sets a value of the current row to {@code null}, or removes a link.
+     *
+     * @param columnIndex index of the column.
+     * @throws IllegalArgumentException if the column is not nullable.
+     */
+    public void setNull(long columnIndex) {
+        Column column = getColumn(columnIndex, null);
+        if (!column.nullable) {
+            throw new IllegalArgumentException("Null value is not allowed for column '" +
+                    table.getColumnName(columnIndex) + "'.");
+        }
+        switch (column.type) {
+            case STRING:
+            case BINARY:
+                ((Object[]) column.values)[size - 1] = null;
+                break;
+            default:
+                column.nulls[size - 1] = true;
+        }
+    }
+
+    /**
+     * Adds all the rows of the batch to the table and empties the batch.
+     *
+     * @return the index of the first row added, or {@link TableOrView#NO_MATCH} if the batch was empty.
+     * @throws io.realm.exceptions.RealmPrimaryKeyConstraintException if a primary key value is already used. No rows
+     * are added in that case.
+     */
+    public long flush() {
+        if (size == 0) {
+            return TableOrView.NO_MATCH;
+        }
+        long[] columnIndices = new long[columnsUsed];
+        Object[] values = new Object[columnsUsed];
+        Object[] nulls = new Object[columnsUsed];
+        int i = 0;
+        for (Column column : columns) {
+            if (column != null) {
+                columnIndices[i] = column.index;
+                values[i] = column.values;
+                nulls[i] = column.nulls;
+                i++;
+            }
+        }
+
+        long firstRowIndex = table.addRows(size, columnIndices, values, nulls);
+        for (Column column : columns) {
+            if (column != null) {
+                column.reset(size);
+            }
+        }
+        size = 0;
+        return firstRowIndex;
+    }
+
+    private Column getColumn(long columnIndex, ColumnType type) {
+        if (size == 0) {
+            throw new IllegalStateException("addRow() must be called before setting values.");
+        }
+        Column column = columns[(int) columnIndex];
+        if (column == null) {
+            column = new Column(columnIndex, table.getColumnType(columnIndex), table.isColumnNullable(columnIndex),
+                    capacity);
+            columns[(int) columnIndex] = column;
+            columnsUsed++;
+        }
+        if (type != null && column.type != type) {
+            throw new IllegalArgumentException("Column '" + table.getColumnName(columnIndex) + "' is of type " +
+                    column.type + ", not " + type + ".");
+        }
+        return column;
+    }
+
+    // Values of a column. Rows that are not set keep the default value of the column.
+    private static final class Column {
+        final long index;
+        final ColumnType type;
+        final boolean nullable;
+        final Object values;
+        final boolean[] nulls;
+
+        Column(long index, ColumnType type, boolean nullable, int capacity) {
+            this.index = index;
+            this.type = type;
+            // Links are always nullable and new links are null
+            this.nullable = nullable || type == ColumnType.LINK;
+            switch (type) {
+                case INTEGER:
+                case DATE:
+                case LINK:
+                    values = new long[capacity];
+                    break;
+                case BOOLEAN:
+                    values = new boolean[capacity];
+                    break;
+                case FLOAT:
+                    values = new float[capacity];
+                    break;
+                case DOUBLE:
+                    values = new double[capacity];
+                    break;
+                case STRING:
+                    values = new String[capacity];
+                    break;
+                case BINARY:
+                    values = new byte[capacity][];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Columns of type " + type + " are not supported in a batch.");
+            }
+            // Strings and binaries hold nulls in their values
+            boolean needsNulls = this.nullable && type != ColumnType.STRING && type != ColumnType.BINARY;
+            nulls = needsNulls ? new boolean[capacity] : null;
+            reset(capacity);
+        }
+
+        void setNotNull(int row) {
+            if (nulls != null) {
+                nulls[row] = false;
+            }
+        }
+
+        // Restores the default values of the first rows.
+        void reset(int rows) {
+            if (nulls != null) {
+                Arrays.fill(nulls, 0, rows, true);
+            } else if (type == ColumnType.STRING) {
+                Arrays.fill((String[]) values, 0, rows, nullable ? null : Table.STRING_DEFAULT_VALUE);
+            } else if (type == ColumnType.BINARY) {
+                Arrays.fill((byte[][]) values, 0, rows, nullable ? null : EMPTY_BINARY);
+            } else if (values instanceof long[]) {
+                Arrays.fill((long[]) values, 0, rows, 0);
+            } else if (values instanceof boolean[]) {
+                Arrays.fill((boolean[]) values, 0, rows, false);
+            } else if (values instanceof float[]) {
+                Arrays.fill((float[]) values, 0, rows, 0);
+            } else {
+                Arrays.fill((double[]) values, 0, rows, 0);
+            }
+        }
+    }
+}
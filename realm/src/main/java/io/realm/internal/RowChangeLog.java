@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The rows modified by the write transactions of a Realm file, shared by all the threads of the process.
+ * <p>
+ * Rows are only recorded while an observer, e.g. a Realm instance with object change listeners, is registered.
+ * The changes of a transaction are published before it is committed, so they are available to every observer that
+ * can see the new version. They are kept until all observers have read them, but at most for
+ * {@link #MAX_TRANSACTIONS} transactions, so an observer that never advances, e.g. a Realm that is never refreshed,
+ * can't make the log grow without bound. An observer falling further behind gets {@code null} from
+ * {@link #advance(Object, SharedGroup.VersionID)}, like for transactions that were not recorded.
+ * <p>
+ * Transactions of other processes and transactions started before the first observer was registered are not
+ * recorded. Observers detect them from the version numbers, which are incremented by one by every commit.
+ */
+public final class RowChangeLog {
+
+    // maximum number of transactions kept in the log
+    static final int MAX_TRANSACTIONS = 100;
+
+    // logs by canonical path of the Realm file, guarded by itself
+    private static final Map<String, RowChangeLog> logs = new HashMap<String, RowChangeLog>();
+
+    // changes by version, guarded by this
+    private final TreeMap<Long, RowChanges> changes = new TreeMap<Long, RowChanges>();
+    // last version read by each observer, guarded by this
+    private final Map<Object, Long> observers = new IdentityHashMap<Object, Long>();
+    private volatile boolean tracked;
+
+    private RowChangeLog() {
+    }
+
+    /**
+     * Returns the log of a Realm file.
+     *
+     * @param path the canonical path of the Realm file.
+     * @return the log, created if needed.
+     */
+    public static RowChangeLog get(String path) {
+        synchronized (logs) {
+            RowChangeLog log = logs.get(path);
+            if (log == null) {
+                log = new RowChangeLog();
+                logs.put(path, log);
+            }
+            return log;
+        }
+    }
+
+    /**
+     * Returns {@code true} if write transactions must record the rows they modify.
+     */
+    boolean isTracked() {
+        return tracked;
+    }
+
+    /**
+     * Registers an observer. It will read the changes committed after the given version.
+     *
+     * @param observer the observer, compared by identity.
+     * @param versionID the version the observer is at.
+     */
+    public synchronized void addObserver(Object observer, SharedGroup.VersionID versionID) {
+        if (!observers.containsKey(observer)) {
+            observers.put(observer, versionID.version);
+            tracked = true;
+        }
+    }
+
+    /**
+     * Unregisters an observer. Recording stops once there are no more observers.
+     *
+     * @param observer the observer to remove.
+     */
+    public synchronized void removeObserver(Object observer) {
+        observers.remove(observer);
+        if (observers.isEmpty()) {
+            tracked = false;
+            changes.clear();
+        } else {
+            prune();
+        }
+    }
+
+    /**
+     * Returns the changes committed since the last call for this observer, up to the given version.
+     *
+     * @param observer a registered observer.
+     * @param versionID the version the observer is at now.
+     * @return the changes of the transactions, the most recent first, or {@code null} if some of them were not
+     * recorded or the observer is not registered.
+     */
+    public synchronized List<RowChanges> advance(Object observer, SharedGroup.VersionID versionID) {
+        Long from = observers.get(observer);
+        if (from == null) {
+            return null;
+        }
+        long to = versionID.version;
+        if (to <= from) {
+            return new ArrayList<RowChanges>(0);
+        }
+        observers.put(observer, to);
+        List<RowChanges> result = new ArrayList<RowChanges>(changes.subMap(from, false, to, true).descendingMap().values());
+        prune();
+        return (result.size() == to - from) ? result : null;
+    }
+
+    // called by ImplicitTransaction just before committing
+    synchronized void publish(RowChanges transactionChanges) {
+        if (!observers.isEmpty()) {
+            changes.put(transactionChanges.getVersion(), transactionChanges);
+            while (changes.size() > MAX_TRANSACTIONS) {
+                changes.pollFirstEntry();
+            }
+        }
+    }
+
+    // called by ImplicitTransaction if the commit failed
+    synchronized void discard(RowChanges transactionChanges) {
+        if (changes.get(transactionChanges.getVersion()) == transactionChanges) {
+            changes.remove(transactionChanges.getVersion());
+        }
+    }
+
+    // removes the changes read by all observers
+    private void prune() {
+        long oldest = Long.MAX_VALUE;
+        for (Long version : observers.values()) {
+            oldest = Math.min(oldest, version);
+        }
+        changes.headMap(oldest, true).clear();
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rows modified by a write transaction, in the order of the modifications. They are recorded by {@link Table}
+ * while object change listeners are registered for the Realm file, see {@link RowChangeLog}.
+ * <p>
+ * Row indices are the ones at the time of each modification. Since removing a row changes the index of other rows,
+ * the modifications of a row are found by walking back from its current index, see
+ * {@link #getChangedColumns(List, String, long, int)}.
+ */
+public final class RowChanges {
+
+    private final long version;
+    private final Map<String, TableChanges> tables = new HashMap<String, TableChanges>();
+
+    RowChanges(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Returns the version of the Realm created by committing the transaction.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    TableChanges forTable(String tableName) {
+        TableChanges changes = tables.get(tableName);
+        if (changes == null) {
+            changes = new TableChanges(this);
+            tables.put(tableName, changes);
+        }
+        return changes;
+    }
+
+    /**
+     * Returns the columns of a row modified by a sequence of transactions.
+     *
+     * @param changes the changes of the transactions, the most recent first. {@code null} if they are not known, in
+     *                which case all columns are reported.
+     * @param tableName the name of the table of the row.
+     * @param rowIndex the index of the row after the last transaction.
+     * @param columnCount the number of columns of the table.
+     * @return the indices of the modified columns. All columns if the row was modified in a way that isn't tracked,
+     * e.g. by a schema change, and none if it was created by the transactions.
+     */
+    public static BitSet getChangedColumns(List<RowChanges> changes, String tableName, long rowIndex, int columnCount) {
+        BitSet columns = new BitSet(columnCount);
+        if (changes == null) {
+            columns.set(0, columnCount);
+            return columns;
+        }
+        long index = rowIndex;
+        for (RowChanges transaction : changes) {
+            TableChanges tableChanges = transaction.tables.get(tableName);
+            if (tableChanges == null) {
+                continue;
+            }
+            index = tableChanges.walkBack(index, columns);
+            if (index == TableChanges.ROW_UNKNOWN) {
+                columns.set(0, columnCount);
+                break;
+            }
+            if (index == TableChanges.ROW_CREATED) {
+                columns.clear();
+                break;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * The modifications of the rows of a table. Each one is stored as three longs: the kind of modification, a row
+     * index and an argument.
+     */
+    static final class TableChanges {
+
+        static final long ROW_CREATED = -1;
+        static final long ROW_UNKNOWN = -2;
+
+        private static final long SET = 0;              // argument: column index
+        private static final long INSERT = 1;           // argument: number of rows
+        private static final long MOVE_LAST_OVER = 2;   // argument: index of the last row, moved to the row
+        private static final long REMOVE = 3;           // argument: unused
+
+        private final RowChanges transaction;
+        private long[] events = new long[3 * 8];
+        private int size;
+        // a modification that can't be mapped to rows happened, e.g. clearing the table or removing a column
+        private boolean unknown;
+
+        private TableChanges(RowChanges transaction) {
+            this.transaction = transaction;
+        }
+
+        RowChanges getTransaction() {
+            return transaction;
+        }
+
+        void set(long rowIndex, long columnIndex) {
+            // the typed API often sets the fields of a row one after the other, only the same field is merged
+            if (size > 0 && events[size - 3] == SET && events[size - 2] == rowIndex && events[size - 1] == columnIndex) {
+                return;
+            }
+            add(SET, rowIndex, columnIndex);
+        }
+
+        void insert(long rowIndex, long count) {
+            add(INSERT, rowIndex, count);
+        }
+
+        void moveLastOver(long rowIndex, long lastRowIndex) {
+            add(MOVE_LAST_OVER, rowIndex, lastRowIndex);
+        }
+
+        void remove(long rowIndex) {
+            add(REMOVE, rowIndex, 0);
+        }
+
+        void unknown() {
+            unknown = true;
+            size = 0;
+        }
+
+        private void add(long kind, long rowIndex, long argument) {
+            if (unknown) {
+                return;
+            }
+            if (size + 3 > events.length) {
+                long[] newEvents = new long[events.length * 2];
+                System.arraycopy(events, 0, newEvents, 0, size);
+                events = newEvents;
+            }
+            events[size++] = kind;
+            events[size++] = rowIndex;
+            events[size++] = argument;
+        }
+
+        /**
+         * Adds the columns modified by the transaction to the given set.
+         *
+         * @param rowIndex the index of the row after the transaction.
+         * @param columns the set of modified columns.
+         * @return the index of the row before the transaction, {@link #ROW_CREATED} if the transaction added the
+         * row or {@link #ROW_UNKNOWN} if the modifications can't be mapped to the row.
+         */
+        long walkBack(long rowIndex, BitSet columns) {
+            if (unknown) {
+                return ROW_UNKNOWN;
+            }
+            long index = rowIndex;
+            for (int i = size - 3; i >= 0; i -= 3) {
+                long kind = events[i];
+                long row = events[i + 1];
+                long argument = events[i + 2];
+                if (kind == SET) {
+                    if (row == index) {
+                        columns.set((int) argument);
+                    }
+                } else if (kind == INSERT) {
+                    if (index >= row && index < row + argument) {
+                        return ROW_CREATED;
+                    }
+                    // the rows after the inserted ones were shifted by the insertion
+                    if (index >= row + argument) {
+                        index -= argument;
+                    }
+                } else if (kind == MOVE_LAST_OVER) {
+                    // after the move, the row at the removed index is the former last row
+                    if (index == row) {
+                        index = argument;
+                    }
+                } else if (kind == REMOVE) {
+                    if (index >= row) {
+                        index++;
+                    }
+                }
+            }
+            return index;
+        }
+    }
+}
@@ -83,23 +83,28 @@ public class SharedGroup implements Closeable {
     }
 
     void advanceRead() {
+        context.releaseScopedRows();
         nativeAdvanceRead(nativePtr, nativeReplicationPtr);
     }
 
     void advanceRead(VersionID versionID) {
+        context.releaseScopedRows();
         nativeAdvanceReadToVersion(nativePtr, nativeReplicationPtr, versionID.version,
                 versionID.index);
     }
 
     void promoteToWrite() {
+        context.releaseScopedRows();
         nativePromoteToWrite(nativePtr, nativeReplicationPtr);
     }
 
     void commitAndContinueAsRead() {
+        context.releaseScopedRows();
         nativeCommitAndContinueAsRead(nativePtr);
     }
 
     void rollbackAndContinueAsRead() {
+        context.releaseScopedRows();
         nativeRollbackAndContinueAsRead(nativePtr, nativeReplicationPtr);
     }
 
@@ -149,10 +154,11 @@ public class SharedGroup implements Closeable {
         }
     }
 
-    void endRead() {
+    public void endRead() {
         if (isClosed())
             throw new IllegalStateException("Can't endRead() on closed group. " +
                     "ReadTransaction is invalid.");
+        context.releaseScopedRows();
         nativeEndRead(nativePtr);
         activeTransaction = false;
     }
@@ -160,6 +166,7 @@ public class SharedGroup implements Closeable {
     public void close() {
         synchronized (context) {
             if (nativePtr != 0) {
+                context.releaseScopedRows();
                 nativeClose(nativePtr);
                 nativePtr = 0;
                 if (implicitTransactionsEnabled && nativeReplicationPtr != 0) {
@@ -203,6 +210,10 @@ public class SharedGroup implements Closeable {
         return nativePtr == 0;
     }
 
+    Context getContext() {
+        return context;
+    }
+
     public boolean hasChanged() {
         return nativeHasChanged(nativePtr);
     }
@@ -20,8 +20,10 @@ package io.realm.internal;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.util.Set;
 
 import io.realm.RealmConfiguration;
+import io.realm.internal.async.SharedGroupPool;
 
 /**
  * This class wraps access to a given Realm file on a single thread including its {@link SharedGroup}
@@ -37,17 +39,41 @@ public class SharedGroupManager implements Closeable {
 
     private SharedGroup sharedGroup;
     private ImplicitTransaction transaction;
+    // the pool the SharedGroup was borrowed from, or null if it is owned by this manager
+    private final SharedGroupPool sharedGroupPool;
 
     /**
      * Creates a new instance of the FileWrapper for the given configuration on this thread.
      */
     public SharedGroupManager(RealmConfiguration configuration) {
+        this.sharedGroupPool = null;
         this.sharedGroup = new SharedGroup(
                 configuration.getPath(),
                 SharedGroup.IMPLICIT_TRANSACTION,
                 configuration.getDurability(),
                 configuration.getEncryptionKey());
         this.transaction = sharedGroup.beginImplicitTransaction();
+        sharedGroup.getContext().setNativeObjectLimit(configuration.getNativeObjectLimit());
+    }
+
+    /**
+     * Creates a new instance using a SharedGroup borrowed from a pool. It is given back to the pool when this
+     * instance is closed, instead of being closed.
+     */
+    public SharedGroupManager(RealmConfiguration configuration, SharedGroupPool sharedGroupPool) {
+        this.sharedGroupPool = sharedGroupPool;
+        this.sharedGroup = sharedGroupPool.acquire();
+        this.transaction = sharedGroup.beginImplicitTransaction();
+        sharedGroup.getContext().setNativeObjectLimit(configuration.getNativeObjectLimit());
+    }
+
+    /**
+     * Returns the context holding the native objects created from this Realm file on this thread.
+     *
+     * @return the context.
+     */
+    public Context getContext() {
+        return sharedGroup.getContext();
     }
 
     /**
@@ -55,7 +81,11 @@ public class SharedGroupManager implements Closeable {
      */
     @Override
     public void close() {
-        sharedGroup.close();
+        if (sharedGroupPool != null) {
+            sharedGroupPool.release(sharedGroup);
+        } else {
+            sharedGroup.close();
+        }
         sharedGroup = null;
         transaction = null;
     }
@@ -113,9 +143,11 @@ public class SharedGroupManager implements Closeable {
 
     /**
      * Commit any pending changes to the file and return to read-only mode.
+     *
+     * @return the names of the tables modified by the commit.
      */
-    public void commitAndContinueAsRead() {
-        transaction.commitAndContinueAsRead();
+    public Set<String> commitAndContinueAsRead() {
+        return transaction.commitAndContinueAsRead();
     }
 
     /**
@@ -17,6 +17,8 @@
 package io.realm.internal;
 
 import java.io.Closeable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.Date;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -49,7 +51,18 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected final Object parent;
     private final Context context;
+    // releases the native table once this is garbage collected, see Context
+    private final NativeObjectReference reference;
     private long cachedPrimaryKeyColumnIndex = NO_MATCH;
+    // generation of the last write transaction this table was reported as modified in
+    private long modifiedInGeneration = -1;
+    // primary key index of the current write transaction, see getPrimaryKeyIndex()
+    private PrimaryKeyIndex primaryKeyIndex;
+    private long primaryKeyIndexGeneration = -1;
+    // rows of this table modified by the current write transaction, see getRowChanges()
+    private RowChanges.TableChanges rowChanges;
+    // generation of the last write transaction the tables linking to this table were reported in
+    private long originsModifiedInGeneration = -1;
 
     // test:
     protected int tableNo;
@@ -76,6 +89,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
         if (nativePtr == 0) {
             throw new java.lang.OutOfMemoryError("Out of native memory.");
         }
+        this.reference = context.trackNativeObject(this, nativePtr, NativeObjectReference.TYPE_TABLE);
         if (DEBUG) {
             tableNo = tableCount.incrementAndGet();
             System.err.println("====== New Tablebase " + tableNo + " : ptr = " + nativePtr);
@@ -88,6 +102,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
         this.context = context;
         this.parent  = parent;
         this.nativePtr = nativePointer;
+        this.reference = context.trackNativeObject(this, nativePtr, NativeObjectReference.TYPE_TABLE);
 
         if (DEBUG) {
             tableNo = tableCount.incrementAndGet();
@@ -107,6 +122,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
         synchronized (context) {
             if (nativePtr != 0) {
                 nativeClose(nativePtr);
+                context.untrackNativeObject(reference);
                 if (DEBUG) {
                     tableCount.decrementAndGet();
                     System.err.println("==== CLOSE " + tableNo + " ptr= " + nativePtr + " remaining " + tableCount.get());
@@ -119,21 +135,6 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected static native void nativeClose(long nativeTablePtr);
 
-    @Override
-    protected void finalize() {
-        synchronized (context) {
-            if (nativePtr != 0) {
-                boolean isRoot = (parent == null);
-                context.asyncDisposeTable(nativePtr, isRoot);
-                nativePtr = 0; // Set to 0 if finalize is called before close() for some reason
-            }
-        }
-
-        if (DEBUG) {
-            System.err.println("==== FINALIZE " + tableNo + "...");
-        }
-    }
-
     /*
      * Check if the Table is valid.
      * Whenever a Table/subtable is changed/updated all it's subtables are invalidated.
@@ -176,6 +177,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
      */
     public long addColumn(ColumnType type, String name, boolean isNullable) {
         verifyColumnName(name);
+        markModified();
         return nativeAddColumn(nativePtr, type.getValue(), name, isNullable);
     }
 
@@ -196,6 +198,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
      */
     public long addColumnLink (ColumnType type, String name, Table table) {
         verifyColumnName(name);
+        markModified();
         return nativeAddColumnLink(nativePtr, type.getValue(), name, table.nativePtr);
     }
 
@@ -206,6 +209,8 @@ public class Table implements TableOrView, TableSchema, Closeable {
      */
     @Override
     public void removeColumn(long columnIndex) {
+        markModified();
+        recordUnknownRowChanges();
         nativeRemoveColumn(nativePtr, columnIndex);
     }
 
@@ -217,6 +222,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
     @Override
     public void renameColumn(long columnIndex, String newName) {
         verifyColumnName(newName);
+        markModified();
         nativeRenameColumn(nativePtr, columnIndex, newName);
     }
 
@@ -239,6 +245,8 @@ public class Table implements TableOrView, TableSchema, Closeable {
      * @param columnIndex
      */
     public void convertColumnToNullable(long columnIndex) {
+        markModified();
+        recordUnknownRowChanges();
         nativeConvertColumnToNullable(nativePtr, columnIndex);
     }
 
@@ -249,6 +257,8 @@ public class Table implements TableOrView, TableSchema, Closeable {
      * @param columnIndex
      */
     public void convertColumnToNotNullable(long columnIndex) {
+        markModified();
+        recordUnknownRowChanges();
         nativeConvertColumnToNotNullable(nativePtr, columnIndex);
     }
 
@@ -294,7 +304,12 @@ public class Table implements TableOrView, TableSchema, Closeable {
     @Override
     public void clear() {
         checkImmutable();
+        markOriginTablesModified();
         nativeClear(nativePtr);
+        PrimaryKeyIndex index = getPrimaryKeyIndex();
+        if (index != null) {
+            index.clear();
+        }
     }
 
     protected native void nativeClear(long nativeTablePtr);
@@ -372,7 +387,12 @@ public class Table implements TableOrView, TableSchema, Closeable {
      */
     @Override
     public void remove(long rowIndex) {
-        checkImmutable();
+        checkWritable();
+        RowChanges.TableChanges changes = getRowChanges();
+        if (changes != null) {
+            changes.remove(rowIndex);
+        }
+        markOriginTablesModified();
         nativeRemove(nativePtr, rowIndex);
     }
 
@@ -380,21 +400,31 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     @Override
     public void removeLast() {
-        checkImmutable();
+        checkWritable();
+        RowChanges.TableChanges changes = getRowChanges();
+        if (changes != null && size() > 0) {
+            changes.remove(size() - 1);
+        }
+        markOriginTablesModified();
         nativeRemoveLast(nativePtr);
     }
 
     protected native void nativeRemoveLast(long nativeTablePtr);
 
     public void moveLastOver(long rowIndex) {
-        checkImmutable();
+        checkWritable();
+        RowChanges.TableChanges changes = getRowChanges();
+        if (changes != null) {
+            changes.moveLastOver(rowIndex, size() - 1);
+        }
+        markOriginTablesModified();
         nativeMoveLastOver(nativePtr, rowIndex);
     }
 
     protected native void nativeMoveLastOver(long nativeTablePtr, long rowIndex);
 
     public long addEmptyRow() {
-        checkImmutable();
+        checkWritable();
         if (hasPrimaryKey()) {
             long primaryKeyColumnIndex = getPrimaryKey();
             ColumnType type = getColumnType(primaryKeyColumnIndex);
@@ -413,21 +443,30 @@ public class Table implements TableOrView, TableSchema, Closeable {
                 default:
                     throw new RealmException("Cannot check for duplicate rows for unsupported primary key type: " + type);
             }
+            long rowIndex = nativeAddEmptyRow(nativePtr, 1);
+            recordInsertedRows(rowIndex, 1);
+            if (type == ColumnType.STRING) {
+                recordPrimaryKey(STRING_DEFAULT_VALUE, rowIndex);
+            } else {
+                recordPrimaryKey(INTEGER_DEFAULT_VALUE, rowIndex);
+            }
+            return rowIndex;
         }
 
-        return nativeAddEmptyRow(nativePtr, 1);
+        long rowIndex = nativeAddEmptyRow(nativePtr, 1);
+        recordInsertedRows(rowIndex, 1);
+        return rowIndex;
     }
 
     public long addEmptyRowWithPrimaryKey(Object primaryKeyValue) {
-        checkImmutable();
+        checkWritable();
         checkHasPrimaryKey();
 
         long primaryKeyColumnIndex = getPrimaryKey();
         ColumnType type = getColumnType(primaryKeyColumnIndex);
         long rowIndex;
-        UncheckedRow row;
 
-        // Add with primary key initially set
+        // Add with primary key initially set. The value was just checked, so it is set without checking it again.
         switch (type) {
             case STRING:
                 if (!(primaryKeyValue instanceof String)) {
@@ -437,8 +476,9 @@ public class Table implements TableOrView, TableSchema, Closeable {
                     throwDuplicatePrimaryKeyException(primaryKeyValue);
                 }
                 rowIndex = nativeAddEmptyRow(nativePtr, 1);
-                row = getUncheckedRow(rowIndex);
-                row.setString(primaryKeyColumnIndex, (String) primaryKeyValue);
+                recordInsertedRows(rowIndex, 1);
+                nativeSetString(nativePtr, primaryKeyColumnIndex, rowIndex, (String) primaryKeyValue);
+                recordPrimaryKey((String) primaryKeyValue, rowIndex);
                 break;
 
             case INTEGER:
@@ -452,8 +492,9 @@ public class Table implements TableOrView, TableSchema, Closeable {
                     throwDuplicatePrimaryKeyException(pkValue);
                 }
                 rowIndex = nativeAddEmptyRow(nativePtr, 1);
-                row = getUncheckedRow(rowIndex);
-                row.setLong(primaryKeyColumnIndex, pkValue);
+                recordInsertedRows(rowIndex, 1);
+                nativeSetLong(nativePtr, primaryKeyColumnIndex, rowIndex, pkValue);
+                recordPrimaryKey(pkValue, rowIndex);
                 break;
 
             default:
@@ -464,7 +505,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
     }
 
     public long addEmptyRows(long rows) {
-        checkImmutable();
+        checkWritable();
         if (rows < 1) {
             throw new IllegalArgumentException("'rows' must be > 0.");
         }
@@ -474,11 +515,85 @@ public class Table implements TableOrView, TableSchema, Closeable {
            }
            return addEmptyRow();
         }
-        return nativeAddEmptyRow(nativePtr, rows);
+        long rowIndex = nativeAddEmptyRow(nativePtr, rows);
+        recordInsertedRows(rowIndex, rows);
+        return rowIndex;
     }
 
     protected native long nativeAddEmptyRow(long nativeTablePtr, long rows);
 
+    /**
+     * Appends rows to the table using a single native call. This is used by {@link RowBatch}.
+     *
+     * @param count number of rows to add.
+     * @param columnIndices indices of the columns with values.
+     * @param values for each column, an array holding at least {@code count} values. Arrays are typed by the column
+     *               type: {@code long[]} for integers, dates (in seconds) and links, {@code boolean[]},
+     *               {@code float[]}, {@code double[]}, {@code String[]} and {@code byte[][]}.
+     * @param nulls for each column, {@code null} or a {@code boolean[]} telling which values are {@code null}.
+     * @return the index of the first row added.
+     * @throws RealmPrimaryKeyConstraintException if a primary key value is already used.
+     */
+    long addRows(int count, long[] columnIndices, Object[] values, Object[] nulls) {
+        checkWritable();
+        if (!hasPrimaryKey()) {
+            long firstRowIndex = nativeAddRows(nativePtr, count, columnIndices, values, nulls);
+            recordInsertedRows(firstRowIndex, count);
+            return firstRowIndex;
+        }
+        Object primaryKeys = checkPrimaryKeysAreUnique(count, columnIndices, values);
+        long firstRowIndex = nativeAddRows(nativePtr, count, columnIndices, values, nulls);
+        recordInsertedRows(firstRowIndex, count);
+        PrimaryKeyIndex index = getPrimaryKeyIndex();
+        if (index != null && index.isBuilt()) {
+            for (int i = 0; i < count; i++) {
+                if (primaryKeys instanceof String[]) {
+                    index.put(((String[]) primaryKeys)[i], firstRowIndex + i);
+                } else {
+                    index.put(((long[]) primaryKeys)[i], firstRowIndex + i);
+                }
+            }
+        }
+        return firstRowIndex;
+    }
+
+    // Returns the primary key values of the rows
+    private Object checkPrimaryKeysAreUnique(int count, long[] columnIndices, Object[] values) {
+        long primaryKeyColumnIndex = getPrimaryKey();
+        for (int i = 0; i < columnIndices.length; i++) {
+            if (columnIndices[i] != primaryKeyColumnIndex) {
+                continue;
+            }
+            int duplicate;
+            if (values[i] instanceof String[]) {
+                String[] primaryKeys = (String[]) values[i];
+                for (int j = 0; j < count; j++) {
+                    if (primaryKeys[j] == null) {
+                        throw new IllegalArgumentException("Primary key value must not be null.");
+                    }
+                }
+                duplicate = nativeFindFirstDuplicateString(nativePtr, primaryKeyColumnIndex, primaryKeys, count);
+                if (duplicate != -1) {
+                    throwDuplicatePrimaryKeyException(primaryKeys[duplicate]);
+                }
+            } else {
+                long[] primaryKeys = (long[]) values[i];
+                duplicate = nativeFindFirstDuplicateLong(nativePtr, primaryKeyColumnIndex, primaryKeys, count);
+                if (duplicate != -1) {
+                    throwDuplicatePrimaryKeyException(primaryKeys[duplicate]);
+                }
+            }
+            return values[i];
+        }
+        throw new RealmException("Rows cannot be added without a value for the primary key of " + getName() + ".");
+    }
+
+    protected native long nativeAddRows(long nativeTablePtr, int count, long[] columnIndices, Object[] values, Object[] nulls);
+
+    protected native int nativeFindFirstDuplicateLong(long nativeTablePtr, long columnIndex, long[] values, int count);
+
+    protected native int nativeFindFirstDuplicateString(long nativeTablePtr, long columnIndex, String[] values, int count);
+
 
     /**
      * Appends the specified row to the end of the table.
@@ -626,7 +741,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
             }
             long rowIndex = pkTable.findFirstString(PRIMARY_KEY_CLASS_COLUMN_INDEX, getName());
             if (rowIndex != NO_MATCH) {
-                String pkColumnName = pkTable.getUncheckedRow(rowIndex).getString(PRIMARY_KEY_FIELD_COLUMN_INDEX);
+                String pkColumnName = pkTable.getString(PRIMARY_KEY_FIELD_COLUMN_INDEX, rowIndex);
                 cachedPrimaryKeyColumnIndex = getColumnIndex(pkColumnName);
             } else {
                 cachedPrimaryKeyColumnIndex = NO_PRIMARY_KEY;
@@ -659,6 +774,8 @@ public class Table implements TableOrView, TableSchema, Closeable {
             if (rowIndex != rowToUpdate && rowIndex != TableOrView.NO_MATCH) {
                 throwDuplicatePrimaryKeyException(value);
             }
+            // The caller sets the value right after
+            recordPrimaryKey(value, rowToUpdate);
         }
     }
 
@@ -668,6 +785,8 @@ public class Table implements TableOrView, TableSchema, Closeable {
             if (rowIndex != rowToUpdate && rowIndex != TableOrView.NO_MATCH) {
                 throwDuplicatePrimaryKeyException(value);
             }
+            // The caller sets the value right after
+            recordPrimaryKey(value, rowToUpdate);
         }
     }
 
@@ -707,6 +826,85 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected native double nativeGetDouble(long nativeTablePtr, long columnIndex, long rowIndex);
 
+    @Override
+    public void getLongs(long columnIndex, long fromRowIndex, long[] values, int offset, int count) {
+        Table.checkArrayRange(values.length, offset, count);
+        nativeGetLongs(nativePtr, columnIndex, fromRowIndex, count, values, offset);
+    }
+
+    protected native void nativeGetLongs(long nativeTablePtr, long columnIndex, long start, long count, long[] values, int offset);
+
+    @Override
+    public void getBooleans(long columnIndex, long fromRowIndex, boolean[] values, int offset, int count) {
+        Table.checkArrayRange(values.length, offset, count);
+        nativeGetBooleans(nativePtr, columnIndex, fromRowIndex, count, values, offset);
+    }
+
+    protected native void nativeGetBooleans(long nativeTablePtr, long columnIndex, long start, long count, boolean[] values, int offset);
+
+    @Override
+    public void getFloats(long columnIndex, long fromRowIndex, float[] values, int offset, int count) {
+        Table.checkArrayRange(values.length, offset, count);
+        nativeGetFloats(nativePtr, columnIndex, fromRowIndex, count, values, offset);
+    }
+
+    protected native void nativeGetFloats(long nativeTablePtr, long columnIndex, long start, long count, float[] values, int offset);
+
+    @Override
+    public void getDoubles(long columnIndex, long fromRowIndex, double[] values, int offset, int count) {
+        Table.checkArrayRange(values.length, offset, count);
+        nativeGetDoubles(nativePtr, columnIndex, fromRowIndex, count, values, offset);
+    }
+
+    protected native void nativeGetDoubles(long nativeTablePtr, long columnIndex, long start, long count, double[] values, int offset);
+
+    @Override
+    public void getColumnValues(long columnIndex, long fromRowIndex, long count, ByteBuffer buffer) {
+        int size = checkBufferRange(buffer, count, getColumnType(columnIndex));
+        int position = buffer.position();
+        nativeGetColumnValues(nativePtr, columnIndex, fromRowIndex, count, buffer, position, buffer.limit());
+        buffer.position(position + size);
+    }
+
+    protected native void nativeGetColumnValues(long nativeTablePtr, long columnIndex, long start, long count, ByteBuffer buffer, int position, int limit);
+
+    // Checks that count values of the given type fit between the position and the limit of a direct buffer, and
+    // returns their size in bytes.
+    static int checkBufferRange(ByteBuffer buffer, long count, ColumnType type) {
+        if (!buffer.isDirect()) {
+            throw new IllegalArgumentException("ByteBuffer must be allocated with ByteBuffer.allocateDirect().");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("The number of values cannot be negative: " + count);
+        }
+        long size = count * getColumnValueSize(type);
+        if (size > buffer.remaining()) {
+            throw new BufferOverflowException();
+        }
+        return (int) size;
+    }
+
+    // Checks that count values starting at offset fit in an array of the given length.
+    static void checkArrayRange(int length, int offset, int count) {
+        if (offset < 0 || count < 0 || offset > length - count) {
+            throw new IndexOutOfBoundsException("Cannot store " + count + " values at offset " + offset +
+                    " in an array of length " + length + ".");
+        }
+    }
+
+    // Size in bytes of a value written by getColumnValues().
+    static int getColumnValueSize(ColumnType type) {
+        switch (type) {
+            case INTEGER:
+            case DOUBLE:
+                return 8;
+            case FLOAT:
+                return 4;
+            default:
+                return 1;
+        }
+    }
+
     @Override
     public Date getDate(long columnIndex, long rowIndex) {
         return new Date(nativeGetDateTime(nativePtr, columnIndex, rowIndex)*1000);
@@ -863,6 +1061,27 @@ public class Table implements TableOrView, TableSchema, Closeable {
         return UncheckedRow.getByRowIndex(context, this, index);
     }
 
+    // Returns a row that isn't tracked by the Context, and must be released by the caller.
+    UncheckedRow getUntrackedRow(long index) {
+        return UncheckedRow.getUntracked(context, this, index);
+    }
+
+    /**
+     * Returns the link list of a row, without creating a row object that must then be garbage collected.
+     *
+     * @param columnIndex the index of the {@link ColumnType#LINK_LIST} column.
+     * @param rowIndex the index of the row.
+     * @return the link list.
+     */
+    public LinkView getLinkList(long columnIndex, long rowIndex) {
+        UncheckedRow row = getUntrackedRow(rowIndex);
+        try {
+            return row.getLinkList(columnIndex);
+        } finally {
+            row.release();
+        }
+    }
+
     /**
      * Returns a non-checking Row. Incorrect use of this Row will cause a hard core crash.
      * If error checking is required, use {@link #getCheckedRow(long)} instead.
@@ -896,7 +1115,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     @Override
     public void setLong(long columnIndex, long rowIndex, long value) {
-        checkImmutable();
+        checkImmutable(columnIndex, rowIndex);
         checkIntValueIsLegal(columnIndex, rowIndex, value);
         nativeSetLong(nativePtr, columnIndex, rowIndex, value);
     }
@@ -905,7 +1124,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     @Override
     public void setBoolean(long columnIndex, long rowIndex, boolean value) {
-        checkImmutable();
+        checkImmutable(columnIndex, rowIndex);
         nativeSetBoolean(nativePtr, columnIndex, rowIndex, value);
     }
 
@@ -913,7 +1132,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     @Override
     public void setFloat(long columnIndex, long rowIndex, float value) {
-        checkImmutable();
+        checkImmutable(columnIndex, rowIndex);
         nativeSetFloat(nativePtr, columnIndex, rowIndex, value);
     }
 
@@ -921,7 +1140,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     @Override
     public void setDouble(long columnIndex, long rowIndex, double value) {
-        checkImmutable();
+        checkImmutable(columnIndex, rowIndex);
         nativeSetDouble(nativePtr, columnIndex, rowIndex, value);
     }
 
@@ -931,7 +1150,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
     public void setDate(long columnIndex, long rowIndex, Date date) {
         if (date == null)
             throw new IllegalArgumentException("Null Date is not allowed.");
-        checkImmutable();
+        checkImmutable(columnIndex, rowIndex);
         nativeSetDate(nativePtr, columnIndex, rowIndex, date.getTime() / 1000);
     }
 
@@ -939,7 +1158,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     @Override
     public void setString(long columnIndex, long rowIndex, String value) {
-        checkImmutable();
+        checkImmutable(columnIndex, rowIndex);
         checkStringValueIsLegal(columnIndex, rowIndex, value);
         nativeSetString(nativePtr, columnIndex, rowIndex, value);
     }
@@ -975,7 +1194,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     @Override
     public void setBinaryByteArray(long columnIndex, long rowIndex, byte[] data) {
-        checkImmutable();
+        checkImmutable(columnIndex, rowIndex);
         nativeSetByteArray(nativePtr, columnIndex, rowIndex, data);
     }
 
@@ -992,7 +1211,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
      */
     @Override
     public void setMixed(long columnIndex, long rowIndex, Mixed data) {
-        checkImmutable();
+        checkImmutable(columnIndex, rowIndex);
         if (data == null)
             throw new IllegalArgumentException();
         nativeSetMixed(nativePtr, columnIndex, rowIndex, data);
@@ -1001,7 +1220,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
     protected native void nativeSetMixed(long nativeTablePtr, long columnIndex, long rowIndex, Mixed data);
 
     public void setLink(long columnIndex, long rowIndex, long value) {
-        checkImmutable();
+        checkImmutable(columnIndex, rowIndex);
         nativeSetLink(nativePtr, columnIndex, rowIndex, value);
     }
 
@@ -1022,12 +1241,12 @@ public class Table implements TableOrView, TableSchema, Closeable {
     }
 
     public void addSearchIndex(long columnIndex) {
-        checkImmutable();
+        checkWritable();
         nativeAddSearchIndex(nativePtr, columnIndex);
     }
 
     public void removeSearchIndex(long columnIndex) {
-        checkImmutable();
+        checkWritable();
         nativeRemoveSearchIndex(nativePtr, columnIndex);
     }
 
@@ -1047,6 +1266,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
         if (pkTable == null) {
             throw new RealmException("Primary keys are only supported if Table is part of a Group");
         }
+        markModified();
         cachedPrimaryKeyColumnIndex = nativeSetPrimaryKey(pkTable.nativePtr, nativePtr, columnName);
     }
 
@@ -1112,6 +1332,19 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected native void nativeNullifyLink(long nativePtr, long columnIndex, long rowIndex);
 
+    public boolean isNull(long columnIndex, long rowIndex) {
+        return nativeIsNull(nativePtr, columnIndex, rowIndex);
+    }
+
+    protected native boolean nativeIsNull(long nativePtr, long columnIndex, long rowIndex);
+
+    public void setNull(long columnIndex, long rowIndex) {
+        checkImmutable(columnIndex, rowIndex);
+        nativeSetNull(nativePtr, columnIndex, rowIndex);
+    }
+
+    protected native void nativeSetNull(long nativePtr, long columnIndex, long rowIndex);
+
 
     boolean isImmutable() {
         if (!(parent instanceof Table)) {
@@ -1121,10 +1354,244 @@ public class Table implements TableOrView, TableSchema, Closeable {
         }
     }
 
+    /**
+     * Checks the table can be modified and reports it as modified. The rows of the table are reported as modified
+     * in an unknown way, see {@link #getRowChanges()}.
+     */
     void checkImmutable() {
+        checkWritable();
+        recordUnknownRowChanges();
+    }
+
+    /**
+     * Checks the table can be modified and reports the given cell as modified.
+     */
+    void checkImmutable(long columnIndex, long rowIndex) {
+        checkWritable();
+        RowChanges.TableChanges changes = getRowChanges();
+        if (changes != null) {
+            changes.set(rowIndex, columnIndex);
+        }
+    }
+
+    /**
+     * Checks the table can be modified and reports the given cell as modified. The row index is only read if the
+     * modified rows are recorded.
+     */
+    void checkImmutable(long columnIndex, Row row) {
+        checkWritable();
+        RowChanges.TableChanges changes = getRowChanges();
+        if (changes != null) {
+            changes.set(row.getIndex(), columnIndex);
+        }
+    }
+
+    private void checkWritable() {
         if (isImmutable()) {
             throwImmutable();
         }
+        markModified();
+    }
+
+    void recordUnknownRowChanges() {
+        RowChanges.TableChanges changes = getRowChanges();
+        if (changes != null) {
+            changes.unknown();
+        }
+    }
+
+    /**
+     * Reports the tables linking to this table as modified, their rows in an unknown way. Removing a row nulls the
+     * links and removes the link list entries pointing to it in those tables. The tables are only looked up the first
+     * time a row is removed in a given write transaction.
+     */
+    void markOriginTablesModified() {
+        if (!(parent instanceof ImplicitTransaction)) {
+            return;
+        }
+        ImplicitTransaction transaction = (ImplicitTransaction) parent;
+        long generation = transaction.getWriteGeneration();
+        if (originsModifiedInGeneration == generation) {
+            return;
+        }
+        originsModifiedInGeneration = generation;
+        String name = getName();
+        long tableCount = transaction.size();
+        for (int i = 0; i < tableCount; i++) {
+            Table origin = transaction.getTable(transaction.getTableName(i));
+            try {
+                if (origin.linksTo(name)) {
+                    origin.markModified();
+                    origin.recordUnknownRowChanges();
+                }
+            } finally {
+                origin.close();
+            }
+        }
+    }
+
+    private boolean linksTo(String tableName) {
+        long columnCount = getColumnCount();
+        for (long columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            ColumnType type = getColumnType(columnIndex);
+            if (type != ColumnType.LINK && type != ColumnType.LINK_LIST) {
+                continue;
+            }
+            Table target = getLinkTarget(columnIndex);
+            try {
+                if (tableName.equals(target.getName())) {
+                    return true;
+                }
+            } finally {
+                target.close();
+            }
+        }
+        return false;
+    }
+
+    private void recordInsertedRows(long rowIndex, long count) {
+        RowChanges.TableChanges changes = getRowChanges();
+        if (changes != null) {
+            changes.insert(rowIndex, count);
+        }
+    }
+
+    /**
+     * Returns the rows of this table modified by the current write transaction, or {@code null} if they are not
+     * recorded, see {@link RowChangeLog}. Rows of subtables are not recorded, their parent table is reported as
+     * modified in an unknown way instead.
+     */
+    RowChanges.TableChanges getRowChanges() {
+        if (parent instanceof Table) {
+            ((Table) parent).recordUnknownRowChanges();
+            return null;
+        }
+        if (!(parent instanceof ImplicitTransaction)) {
+            return null;
+        }
+        RowChanges transactionChanges = ((ImplicitTransaction) parent).getRowChanges();
+        if (transactionChanges == null) {
+            return null;
+        }
+        if (rowChanges == null || rowChanges.getTransaction() != transactionChanges) {
+            rowChanges = transactionChanges.forTable(getName());
+        }
+        return rowChanges;
+    }
+
+    /**
+     * Returns the primary key index used by the current write transaction, or {@code null} if the table has no
+     * primary key or isn't in a write transaction.
+     */
+    private PrimaryKeyIndex getPrimaryKeyIndex() {
+        if (!(parent instanceof ImplicitTransaction)) {
+            return null;
+        }
+        ImplicitTransaction transaction = (ImplicitTransaction) parent;
+        if (transaction.immutable) {
+            return null;
+        }
+        long generation = transaction.getWriteGeneration();
+        if (primaryKeyIndexGeneration != generation
+                || (primaryKeyIndex != null && primaryKeyIndex.getColumnIndex() != getPrimaryKey())) {
+            long primaryKeyColumnIndex = getPrimaryKey();
+            primaryKeyIndex = (primaryKeyColumnIndex < 0) ? null : transaction.getPrimaryKeyIndex(getName(),
+                    primaryKeyColumnIndex, getColumnType(primaryKeyColumnIndex) == ColumnType.STRING);
+            primaryKeyIndexGeneration = generation;
+        }
+        return primaryKeyIndex;
+    }
+
+    private long findPrimaryKey(PrimaryKeyIndex index, long value) {
+        long columnIndex = index.getColumnIndex();
+        if (!index.isBuilt()) {
+            long size = nativeSize(nativePtr);
+            if (!index.countLookup(size)) {
+                return nativeFindFirstInt(nativePtr, columnIndex, value);
+            }
+            buildPrimaryKeyIndex(index, size);
+        }
+        long rowIndex = index.get(value);
+        if (rowIndex == NO_MATCH
+                || (rowIndex < nativeSize(nativePtr) && nativeGetLong(nativePtr, columnIndex, rowIndex) == value)) {
+            return rowIndex;
+        }
+        // The row was removed or moved since the key was recorded
+        rowIndex = nativeFindFirstInt(nativePtr, columnIndex, value);
+        index.put(value, rowIndex);
+        return rowIndex;
+    }
+
+    private long findPrimaryKey(PrimaryKeyIndex index, String value) {
+        long columnIndex = index.getColumnIndex();
+        if (!index.isBuilt()) {
+            long size = nativeSize(nativePtr);
+            if (!index.countLookup(size)) {
+                return nativeFindFirstString(nativePtr, columnIndex, value);
+            }
+            buildPrimaryKeyIndex(index, size);
+        }
+        long rowIndex = index.get(value);
+        if (rowIndex == NO_MATCH
+                || (rowIndex < nativeSize(nativePtr) && value.equals(nativeGetString(nativePtr, columnIndex, rowIndex)))) {
+            return rowIndex;
+        }
+        // The row was removed or moved since the key was recorded
+        rowIndex = nativeFindFirstString(nativePtr, columnIndex, value);
+        index.put(value, rowIndex);
+        return rowIndex;
+    }
+
+    private void buildPrimaryKeyIndex(PrimaryKeyIndex index, long size) {
+        long columnIndex = index.getColumnIndex();
+        index.startBuilding(size);
+        if (index.hasStringKeys()) {
+            for (long rowIndex = 0; rowIndex < size; rowIndex++) {
+                index.put(nativeGetString(nativePtr, columnIndex, rowIndex), rowIndex);
+            }
+        } else {
+            long[] keys = new long[(int) Math.min(size, RowBatch.MAX_CAPACITY)];
+            for (long start = 0; start < size; start += keys.length) {
+                int count = (int) Math.min(keys.length, size - start);
+                nativeGetLongs(nativePtr, columnIndex, start, count, keys, 0);
+                for (int i = 0; i < count; i++) {
+                    index.put(keys[i], start + i);
+                }
+            }
+        }
+    }
+
+    // Records the primary key of a row, if the index of the current write transaction has been built.
+    private void recordPrimaryKey(long value, long rowIndex) {
+        PrimaryKeyIndex index = getPrimaryKeyIndex();
+        if (index != null && index.isBuilt() && !index.hasStringKeys()) {
+            index.put(value, rowIndex);
+        }
+    }
+
+    private void recordPrimaryKey(String value, long rowIndex) {
+        PrimaryKeyIndex index = getPrimaryKeyIndex();
+        if (index != null && index.isBuilt() && index.hasStringKeys()) {
+            index.put(value, rowIndex);
+        }
+    }
+
+    /**
+     * Reports this table as modified to the enclosing {@link ImplicitTransaction}, if any. Subtables report their
+     * parent table. The table name is only looked up the first time a table is modified in a given write
+     * transaction, so this is cheap to call from every mutator.
+     */
+    void markModified() {
+        if (parent instanceof Table) {
+            ((Table) parent).markModified();
+        } else if (parent instanceof ImplicitTransaction) {
+            ImplicitTransaction transaction = (ImplicitTransaction) parent;
+            long generation = transaction.getWriteGeneration();
+            if (modifiedInGeneration != generation) {
+                modifiedInGeneration = generation;
+                transaction.addModifiedTable(getName());
+            }
+        }
     }
 
     private void checkHasPrimaryKey() {
@@ -1294,6 +1761,10 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     @Override
     public long findFirstLong(long columnIndex, long value) {
+        PrimaryKeyIndex index = getPrimaryKeyIndex();
+        if (index != null && index.getColumnIndex() == columnIndex && !index.hasStringKeys()) {
+            return findPrimaryKey(index, value);
+        }
         return nativeFindFirstInt(nativePtr, columnIndex, value);
     }
 
@@ -1335,6 +1806,10 @@ public class Table implements TableOrView, TableSchema, Closeable {
         if (value == null) {
             throw new IllegalArgumentException("null is not supported");
         }
+        PrimaryKeyIndex index = getPrimaryKeyIndex();
+        if (index != null && index.getColumnIndex() == columnIndex && index.hasStringKeys()) {
+            return findPrimaryKey(index, value);
+        }
         return nativeFindFirstString(nativePtr, columnIndex, value);
     }
 
@@ -1485,7 +1960,7 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     // Optimize
     public void optimize() {
-        checkImmutable();
+        checkWritable();
         nativeOptimize(nativePtr);
     }
 
@@ -16,6 +16,7 @@
 
 package io.realm.internal;
 
+import java.nio.ByteBuffer;
 import java.util.Date;
 
 /**
@@ -109,6 +110,56 @@ public interface TableOrView {
      */
     double getDouble(long columnIndex, long rowIndex);
 
+    /**
+     * Reads the values of an integer column for a range of rows using a single native call. {@code null} values are
+     * read as 0.
+     *
+     * @param columnIndex index of the column.
+     * @param fromRowIndex index of the first row to read.
+     * @param values array receiving the values.
+     * @param offset index in {@code values} of the value of the first row.
+     * @param count number of rows to read.
+     * @throws IndexOutOfBoundsException if the rows are not all available or don't fit in {@code values}.
+     */
+    void getLongs(long columnIndex, long fromRowIndex, long[] values, int offset, int count);
+
+    /**
+     * Reads the values of a boolean column for a range of rows using a single native call. {@code null} values are
+     * read as {@code false}.
+     *
+     * @see #getLongs(long, long, long[], int, int)
+     */
+    void getBooleans(long columnIndex, long fromRowIndex, boolean[] values, int offset, int count);
+
+    /**
+     * Reads the values of a float column for a range of rows using a single native call.
+     *
+     * @see #getLongs(long, long, long[], int, int)
+     */
+    void getFloats(long columnIndex, long fromRowIndex, float[] values, int offset, int count);
+
+    /**
+     * Reads the values of a double column for a range of rows using a single native call.
+     *
+     * @see #getLongs(long, long, long[], int, int)
+     */
+    void getDoubles(long columnIndex, long fromRowIndex, double[] values, int offset, int count);
+
+    /**
+     * Reads the values of an integer, boolean, float or double column for a range of rows into a direct ByteBuffer
+     * using a single native call. Values are written in native byte order starting at the position of the buffer,
+     * which is moved after the last value. Integers and doubles use 8 bytes, floats 4 bytes and booleans 1 byte.
+     *
+     * @param columnIndex index of the column.
+     * @param fromRowIndex index of the first row to read.
+     * @param count number of rows to read.
+     * @param buffer direct buffer receiving the values.
+     * @throws IllegalArgumentException if the buffer is not direct or the column type is not supported.
+     * @throws IndexOutOfBoundsException if the rows are not all available.
+     * @throws java.nio.BufferOverflowException if the values don't fit in the remaining bytes of {@code buffer}.
+     */
+    void getColumnValues(long columnIndex, long fromRowIndex, long count, ByteBuffer buffer);
+
     /**
      * Gets the string value of a cell identified by the columnIndex and
      * rowIndex of the cell.
@@ -29,6 +29,8 @@ public class TableQuery implements Closeable {
     @SuppressWarnings({"unused"})
     private final TableOrView origin; // Table or TableView which created this TableQuery
     private final Context context;
+    // releases the native query once this is garbage collected, see Context
+    private final NativeObjectReference reference;
 
     // All actions (find(), findAll(), sum(), etc.) must call validateQuery() before performing
     // the actual action. The other methods must set queryValidated to false in order to enforce
@@ -44,6 +46,7 @@ public class TableQuery implements Closeable {
         this.table = table;
         this.nativePtr = nativeQueryPtr;
         this.origin = null;
+        this.reference = context.trackNativeObject(this, nativeQueryPtr, NativeObjectReference.TYPE_QUERY);
     }
 
     public TableQuery(Context context, Table table, long nativeQueryPtr, TableOrView origin) {
@@ -54,6 +57,7 @@ public class TableQuery implements Closeable {
         this.table = table;
         this.nativePtr = nativeQueryPtr;
         this.origin = origin;
+        this.reference = context.trackNativeObject(this, nativeQueryPtr, NativeObjectReference.TYPE_QUERY);
     }
 
 
@@ -61,6 +65,7 @@ public class TableQuery implements Closeable {
         synchronized (context) {
             if (nativePtr != 0) {
                 nativeClose(nativePtr);
+                context.untrackNativeObject(reference);
 
                 if (DEBUG)
                     System.err.println("++++ Query CLOSE, ptr= " + nativePtr);
@@ -70,15 +75,6 @@ public class TableQuery implements Closeable {
         }
     }
 
-    protected void finalize() {
-        synchronized (context) {
-            if (nativePtr != 0) {
-                context.asyncDisposeQuery(nativePtr);
-                nativePtr = 0; // Set to 0 if finalize is called before close() for some reason
-            }
-        }
-    }
-
     /**
      * Checks in core if query syntax is valid. Throws exception, if not.
      */
@@ -144,6 +140,16 @@ public class TableQuery implements Closeable {
         return this;
     }
 
+    /**
+     * Adds a condition matching the rows whose value is one of the given values, as a single group of equal-to
+     * conditions built by one native call.
+     */
+    public TableQuery in(long columnIndexes[], long[] values) {
+        nativeIn(nativePtr, columnIndexes, values);
+        queryValidated = false;
+        return this;
+    }
+
     public TableQuery notEqualTo(long columnIndex[], long value) {
         nativeNotEqual(nativePtr, columnIndex, value);
         queryValidated = false;
@@ -349,6 +355,12 @@ public class TableQuery implements Closeable {
         return this;
     }
 
+    public TableQuery in(long[] columnIndexes, String[] values, boolean caseSensitive) {
+        nativeIn(nativePtr, columnIndexes, values, caseSensitive);
+        queryValidated = false;
+        return this;
+    }
+
     public TableQuery equalTo(long[] columnIndexes, String value) {
         nativeEqual(nativePtr, columnIndexes, value, true);
         queryValidated = false;
@@ -427,13 +439,15 @@ public class TableQuery implements Closeable {
      * @param bgSharedGroupPtr current shared_group from which to operate the query
      * @param nativeReplicationPtr replication pointer associated with the shared_group
      * @param ptrQuery query to run the the find against
+     * @param offset number of matches to skip
+     * @param limit maximum number of matches, no row is found if it is 0
      * @return pointer to the handover result (table_view)
      */
-    public long findWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery) {
+    public long findWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long offset, long limit) {
         validateQuery();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        return nativeFindWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0);
+        return nativeFindWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, offset, limit);
     }
 
     public TableView findAll(long start, long end, long limit) {
@@ -464,6 +478,29 @@ public class TableQuery implements Closeable {
         }
     }
 
+    /**
+     * Finds the matching rows, skipping the first {@code offset} matches and stopping after {@code limit} matches,
+     * without scanning the rest of the table. The view applies the same bounds to the matches each time it is
+     * synced, like the views found with {@link #findAllRangeWithHandover(long, long, long, long, long)}.
+     *
+     * @param offset number of matches to skip.
+     * @param limit maximum number of rows in the view, {@link Table#INFINITE} for no limit.
+     * @return the view of the matching rows.
+     */
+    public TableView findAllRange(long offset, long limit) {
+        validateQuery();
+
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        context.executeDelayedDisposal();
+        long nativeViewPtr = nativeFindAllRange(nativePtr, offset, limit);
+        try {
+            return new TableView(this.context, this.table, nativeViewPtr, this);
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
     // handover find* methods
     // this will use a background SharedGroup to import the query (using the handover object)
     // run the query, and return the table view to the caller SharedGroup using the handover object.
@@ -474,6 +511,13 @@ public class TableQuery implements Closeable {
         return nativeFindAllWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, Table.INFINITE);
     }
 
+    public long findAllRangeWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long offset, long limit) {
+        validateQuery();
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        context.executeDelayedDisposal();
+        return nativeFindAllRangeWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, offset, limit);
+    }
+
     public long findDistinctWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr,  long ptrQuery, long columnIndex) {
         validateQuery();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
@@ -481,18 +525,34 @@ public class TableQuery implements Closeable {
         return nativeGetDistinctViewWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, columnIndex);
     }
 
-    public long findAllSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long columnIndex, boolean ascending) {
+    // the offset and limit are applied to the sorted matches
+    public long findAllSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long offset, long limit, long columnIndex, boolean ascending) {
         validateQuery();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        return nativeFindAllSortedWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, Table.INFINITE, columnIndex, ascending);
+        return nativeFindAllSortedWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, offset, limit, columnIndex, ascending);
     }
 
-    public long findAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long[] columnIndices, boolean[] ascending) {
+    public long findAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, long offset, long limit, long[] columnIndices, boolean[] ascending) {
         validateQuery();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
-        return nativeFindAllMultiSortedWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, 0, Table.INFINITE, Table.INFINITE, columnIndices, ascending);
+        return nativeFindAllMultiSortedWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, offset, limit, columnIndices, ascending);
+    }
+
+    /**
+     * Computes an aggregate of the handover query. The value is returned directly since it doesn't need to be
+     * imported by the caller SharedGroup.
+     *
+     * @param aggregate one of the aggregate types of {@link io.realm.internal.async.ArgumentsHolder}.
+     * @param columnIndex the column to aggregate, ignored when counting.
+     * @return a {@link Long} for counts and sums of integers, a {@link Double} for other sums and averages. Minimum
+     * and maximum have the type of the column, dates being returned in seconds, or are {@code null} if no value was
+     * found.
+     */
+    public Object aggregateWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long ptrQuery, int aggregate, long columnIndex) {
+        validateQuery();
+        return nativeAggregateWithHandover(bgSharedGroupPtr, nativeReplicationPtr, ptrQuery, aggregate, columnIndex);
     }
 
     // Suppose to be called from the caller SharedGroup thread
@@ -725,6 +785,8 @@ public class TableQuery implements Closeable {
     private native void nativeOr(long nativeQueryPtr);
     private native void nativeNot(long nativeQueryPtr);
     private native void nativeEqual(long nativeQueryPtr, long columnIndex[], long value);
+    private native void nativeIn(long nativeQueryPtr, long columnIndex[], long[] values);
+    private native void nativeIn(long nativeQueryPtr, long columnIndex[], String[] values, boolean caseSensitive);
     private native void nativeNotEqual(long nativeQueryPtr, long columnIndex[], long value);
     private native void nativeGreater(long nativeQueryPtr, long columnIndex[], long value);
     private native void nativeGreaterEqual(long nativeQueryPtr, long columnIndex[], long value);
@@ -761,6 +823,7 @@ public class TableQuery implements Closeable {
     private native void nativeIsEmpty(long nativePtr, long[] columnIndices);
     private native long nativeFind(long nativeQueryPtr, long fromTableRow);
     private native long nativeFindAll(long nativeQueryPtr, long start, long end, long limit);
+    private native long nativeFindAllRange(long nativeQueryPtr, long offset, long limit);
     private native long nativeSumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMaximumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
     private native Long nativeMinimumInt(long nativeQueryPtr, long columnIndex, long start, long end, long limit);
@@ -781,11 +844,13 @@ public class TableQuery implements Closeable {
     private native long nativeRemove(long nativeQueryPtr, long start, long end, long limit);
     private native long nativeImportHandoverTableViewIntoSharedGroup(long handoverTableViewPtr, long callerSharedGroupPtr);
     private native long nativeHandoverQuery(long callerSharedGroupPtr, long nativeQueryPtr);
-    public static native long nativeFindAllSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long start, long end, long limit, long columnIndex, boolean ascending);
+    public static native long nativeFindAllSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long offset, long limit, long columnIndex, boolean ascending);
     public static native long nativeFindAllWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long start, long end, long limit);
+    public static native long nativeFindAllRangeWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long offset, long limit);
     public static native long nativeGetDistinctViewWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long columnIndex);
-    public static native long nativeFindWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long fromTableRow);
-    public static native long nativeFindAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long start, long end, long limit, long[] columnIndices, boolean[] ascending);
+    public static native long nativeFindWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long offset, long limit);
+    public static native long nativeFindAllMultiSortedWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, long offset, long limit, long[] columnIndices, boolean[] ascending);
     public static native long nativeImportHandoverRowIntoSharedGroup(long handoverRowPtr, long callerSharedGroupPtr);
     public static native void nativeCloseQueryHandover (long nativePtr);
+    public static native Object nativeAggregateWithHandover(long bgSharedGroupPtr, long nativeReplicationPtr, long nativeQueryPtr, int aggregate, long columnIndex);
 }
@@ -17,6 +17,7 @@
 package io.realm.internal;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
 import java.util.Date;
 import java.util.List;
 
@@ -81,6 +82,7 @@ public class TableView implements TableOrView, Closeable {
         this.parent = parent;
         this.nativePtr = nativePtr;
         this.query = null;
+        this.reference = context.trackNativeObject(this, nativePtr, NativeObjectReference.TYPE_TABLE_VIEW);
     }
 
     /**
@@ -98,6 +100,7 @@ public class TableView implements TableOrView, Closeable {
         this.parent = parent;
         this.nativePtr = nativePtr;
         this.query = query;
+        this.reference = context.trackNativeObject(this, nativePtr, NativeObjectReference.TYPE_TABLE_VIEW);
     }
 
     @Override
@@ -110,6 +113,7 @@ public class TableView implements TableOrView, Closeable {
         synchronized (context) {
             if (nativePtr != 0) {
                 nativeClose(nativePtr);
+                context.untrackNativeObject(reference);
                 
                 if (DEBUG) 
                     System.err.println("==== TableView CLOSE, ptr= " + nativePtr);
@@ -119,16 +123,6 @@ public class TableView implements TableOrView, Closeable {
         }
     }
 
-    @Override
-    protected void finalize() {
-        synchronized (context) {
-            if (nativePtr != 0) {
-                context.asyncDisposeTableView(nativePtr);
-                nativePtr = 0; // Set to 0 if finalize is called before close() for some reason
-            }
-        }
-    }
-
     protected static native void nativeClose(long nativeViewPtr);
 
     /**
@@ -275,6 +269,62 @@ public class TableView implements TableOrView, Closeable {
 
     protected native double nativeGetDouble(long nativeViewPtr, long columnIndex, long rowIndex);
 
+    @Override
+    public void getLongs(long columnIndex, long fromRowIndex, long[] values, int offset, int count) {
+        Table.checkArrayRange(values.length, offset, count);
+        nativeGetLongs(nativePtr, columnIndex, fromRowIndex, count, values, offset);
+    }
+
+    protected native void nativeGetLongs(long nativeViewPtr, long columnIndex, long start, long count, long[] values, int offset);
+
+    @Override
+    public void getBooleans(long columnIndex, long fromRowIndex, boolean[] values, int offset, int count) {
+        Table.checkArrayRange(values.length, offset, count);
+        nativeGetBooleans(nativePtr, columnIndex, fromRowIndex, count, values, offset);
+    }
+
+    protected native void nativeGetBooleans(long nativeViewPtr, long columnIndex, long start, long count, boolean[] values, int offset);
+
+    @Override
+    public void getFloats(long columnIndex, long fromRowIndex, float[] values, int offset, int count) {
+        Table.checkArrayRange(values.length, offset, count);
+        nativeGetFloats(nativePtr, columnIndex, fromRowIndex, count, values, offset);
+    }
+
+    protected native void nativeGetFloats(long nativeViewPtr, long columnIndex, long start, long count, float[] values, int offset);
+
+    @Override
+    public void getDoubles(long columnIndex, long fromRowIndex, double[] values, int offset, int count) {
+        Table.checkArrayRange(values.length, offset, count);
+        nativeGetDoubles(nativePtr, columnIndex, fromRowIndex, count, values, offset);
+    }
+
+    protected native void nativeGetDoubles(long nativeViewPtr, long columnIndex, long start, long count, double[] values, int offset);
+
+    @Override
+    public void getColumnValues(long columnIndex, long fromRowIndex, long count, ByteBuffer buffer) {
+        int size = Table.checkBufferRange(buffer, count, getColumnType(columnIndex));
+        int position = buffer.position();
+        nativeGetColumnValues(nativePtr, columnIndex, fromRowIndex, count, buffer, position, buffer.limit());
+        buffer.position(position + size);
+    }
+
+    protected native void nativeGetColumnValues(long nativeViewPtr, long columnIndex, long start, long count, ByteBuffer buffer, int position, int limit);
+
+    /**
+     * Reads, for each row of the view, the index of the row in the source table and a hash of its values. The hash
+     * covers the values stored in the row itself: links and link lists only contribute the target row index and the
+     * number of links, not the values of the linked objects.
+     *
+     * @param sourceRowIndices array receiving the source row indices, must hold at least {@link #size()} values.
+     * @param rowHashes array receiving the row hashes, must hold at least {@link #size()} values.
+     */
+    public void getRowFingerprints(long[] sourceRowIndices, long[] rowHashes) {
+        nativeGetRowFingerprints(nativePtr, sourceRowIndices, rowHashes);
+    }
+
+    protected native void nativeGetRowFingerprints(long nativeViewPtr, long[] sourceRowIndices, long[] rowHashes);
+
     /**
      * Get the value of the particular (date) cell.
      *
@@ -374,7 +424,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public void clearSubtable(long columnIndex, long rowIndex) {
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
         nativeClearSubtable(nativePtr, columnIndex, rowIndex);
     }
 
@@ -392,7 +442,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setLong(long columnIndex, long rowIndex, long value){
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
         nativeSetLong(nativePtr, columnIndex, rowIndex, value);
     }
 
@@ -407,7 +457,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setBoolean(long columnIndex, long rowIndex, boolean value){
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
         nativeSetBoolean(nativePtr, columnIndex, rowIndex, value);
     }
 
@@ -422,7 +472,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setFloat(long columnIndex, long rowIndex, float value){
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
         nativeSetFloat(nativePtr, columnIndex, rowIndex, value);
     }
 
@@ -437,7 +487,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setDouble(long columnIndex, long rowIndex, double value){
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
         nativeSetDouble(nativePtr, columnIndex, rowIndex, value);
     }
 
@@ -452,7 +502,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setDate(long columnIndex, long rowIndex, Date value){
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
         nativeSetDateTimeValue(nativePtr, columnIndex, rowIndex, value.getTime()/1000);
     }
 
@@ -467,7 +517,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setString(long columnIndex, long rowIndex, String value){
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
         nativeSetString(nativePtr, columnIndex, rowIndex, value);
     }
 
@@ -492,7 +542,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public void setBinaryByteArray(long columnIndex, long rowIndex, byte[] data){
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
         nativeSetByteArray(nativePtr, columnIndex, rowIndex, data);
     }
 
@@ -507,14 +557,14 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setMixed(long columnIndex, long rowIndex, Mixed data){
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
         nativeSetMixed(nativePtr, columnIndex, rowIndex, data);
     }
 
     protected native void nativeSetMixed(long nativeViewPtr, long columnIndex, long rowIndex, Mixed value);
 
     public void setLink(long columnIndex, long rowIndex, long value){
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
         nativeSetLink(nativePtr, columnIndex, rowIndex, value);
     }
 
@@ -536,7 +586,8 @@ public class TableView implements TableOrView, Closeable {
     // Methods for deleting.
     @Override
     public void clear(){
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
+        parent.markOriginTablesModified();
         nativeClear(nativePtr);
     }
 
@@ -550,7 +601,8 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void remove(long rowIndex){
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
+        parent.markOriginTablesModified();
         nativeRemoveRow(nativePtr, rowIndex);
     }
 
@@ -558,8 +610,9 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public void removeLast() {
-        if (parent.isImmutable()) throwImmutable();
+        checkImmutable();
         if (!isEmpty()) {
+            parent.markOriginTablesModified();
             nativeRemoveRow(nativePtr, size() - 1);
         }
     }
@@ -935,6 +988,15 @@ public class TableView implements TableOrView, Closeable {
 
     protected native long nativeWhere(long nativeViewPtr);
 
+    private void checkImmutable() {
+        if (parent.isImmutable()) {
+            throwImmutable();
+        }
+        parent.markModified();
+        // rows are identified by their index in the view, which isn't mapped to the table
+        parent.recordUnknownRowChanges();
+    }
+
     private void throwImmutable() {
         throw new IllegalStateException("Mutable method call during read transaction.");
     }
@@ -942,6 +1004,8 @@ public class TableView implements TableOrView, Closeable {
     protected long nativePtr;
     protected final Table parent;
     private final Context context;
+    // releases the native view once this is garbage collected, see Context
+    private final NativeObjectReference reference;
 
     @Override
     public long count(long columnIndex, String value) {
@@ -969,4 +1033,17 @@ public class TableView implements TableOrView, Closeable {
     }
 
     protected native long nativeSync(long nativeTablePtr);
+
+    /**
+     * Keeps only the rows {@code [offset, offset + limit)} of the view, in their current order. The bounds are
+     * applied again each time the view is synced and has to run its query again.
+     *
+     * @param offset the number of rows to skip.
+     * @param limit the maximum number of rows to keep, or {@link Table#INFINITE}.
+     */
+    public void setBounds(long offset, long limit) {
+        nativeSetBounds(nativePtr, offset, limit);
+    }
+
+    protected native void nativeSetBounds(long nativeViewPtr, long offset, long limit);
 }
@@ -31,13 +31,34 @@ public class UncheckedRow extends NativeObject implements Row {
 
     final Context context; // This is only kept because for now it's needed by the constructor of LinkView
     final Table parent;
+    // true if the native accessor is released at the end of a row scope, see Context#beginRowScope()
+    boolean scoped;
 
     protected UncheckedRow(Context context, Table parent, long nativePtr) {
         this.context = context;
         this.parent = parent;
         this.nativePointer = nativePtr;
+    }
 
-        context.cleanRows();
+    /**
+     * Get a row object that is not tracked by the garbage collector. Its native accessor is only released by
+     * {@link #release()}.
+     * @param context the Realm context
+     * @param table the Table that holds the row
+     * @param index the index of the row
+     * @return an instance of Row for the table and index specified
+     */
+    static UncheckedRow getUntracked(Context context, Table table, long index) {
+        long nativeRowPointer = table.nativeGetRowPtr(table.nativePtr, index);
+        return new UncheckedRow(context, table, nativeRowPointer);
+    }
+
+    // Releases the native accessor of an untracked or scoped row. It is detached afterwards.
+    void release() {
+        if (nativePointer != 0) {
+            nativeClose(nativePointer);
+            nativePointer = 0;
+        }
     }
 
     /**
@@ -50,7 +71,7 @@ public class UncheckedRow extends NativeObject implements Row {
     public static UncheckedRow getByRowIndex(Context context, Table table, long index) {
         long nativeRowPointer = table.nativeGetRowPtr(table.nativePtr, index);
         UncheckedRow row = new UncheckedRow(context, table, nativeRowPointer);
-        context.rowReferences.put(new NativeObjectReference(row, context.referenceQueue), Context.ROW_REFERENCES_VALUE);
+        context.trackRow(row);
         return row;
     }
 
@@ -63,7 +84,7 @@ public class UncheckedRow extends NativeObject implements Row {
      */
     public static UncheckedRow getByRowPointer(Context context, Table table, long nativeRowPointer) {
         UncheckedRow row = new UncheckedRow(context, table, nativeRowPointer);
-        context.rowReferences.put(new NativeObjectReference(row, context.referenceQueue), Context.ROW_REFERENCES_VALUE);
+        context.trackRow(row);
         return row;
     }
 
@@ -77,7 +98,7 @@ public class UncheckedRow extends NativeObject implements Row {
     public static UncheckedRow getByRowIndex(Context context, LinkView linkView, long index) {
         long nativeRowPointer = linkView.nativeGetRow(linkView.nativeLinkViewPtr, index);
         UncheckedRow row = new UncheckedRow(context, linkView.parent.getLinkTarget(linkView.columnIndexInParent), nativeRowPointer);
-        context.rowReferences.put(new NativeObjectReference(row, context.referenceQueue), context.ROW_REFERENCES_VALUE);
+        context.trackRow(row);
         return row;
     }
 
@@ -182,32 +203,32 @@ public class UncheckedRow extends NativeObject implements Row {
 
     @Override
     public void setLong(long columnIndex, long value) {
-        parent.checkImmutable();
+        parent.checkImmutable(columnIndex, this);
         getTable().checkIntValueIsLegal(columnIndex, getIndex(), value);
         nativeSetLong(nativePointer, columnIndex, value);
     }
 
     @Override
     public void setBoolean(long columnIndex, boolean value) {
-        parent.checkImmutable();
+        parent.checkImmutable(columnIndex, this);
         nativeSetBoolean(nativePointer, columnIndex, value);
     }
 
     @Override
     public void setFloat(long columnIndex, float value) {
-        parent.checkImmutable();
+        parent.checkImmutable(columnIndex, this);
         nativeSetFloat(nativePointer, columnIndex, value);
     }
 
     @Override
     public void setDouble(long columnIndex, double value) {
-        parent.checkImmutable();
+        parent.checkImmutable(columnIndex, this);
         nativeSetDouble(nativePointer, columnIndex, value);
     }
 
     @Override
     public void setDate(long columnIndex, Date date) {
-        parent.checkImmutable();
+        parent.checkImmutable(columnIndex, this);
         if (date == null) {
             throw new IllegalArgumentException("Null Date is not allowed.");
         }
@@ -217,20 +238,20 @@ public class UncheckedRow extends NativeObject implements Row {
 
     @Override
     public void setString(long columnIndex, String value) {
-        parent.checkImmutable();
+        parent.checkImmutable(columnIndex, this);
         getTable().checkStringValueIsLegal(columnIndex, getIndex(), value);
         nativeSetString(nativePointer, columnIndex, value);
     }
 
     @Override
     public void setBinaryByteArray(long columnIndex, byte[] data) {
-        parent.checkImmutable();
+        parent.checkImmutable(columnIndex, this);
         nativeSetByteArray(nativePointer, columnIndex, data);
     }
 
     @Override
     public void setMixed(long columnIndex, Mixed data) {
-        parent.checkImmutable();
+        parent.checkImmutable(columnIndex, this);
         if (data == null) {
             throw new IllegalArgumentException("Null data is not allowed");
         }
@@ -239,13 +260,13 @@ public class UncheckedRow extends NativeObject implements Row {
 
     @Override
     public void setLink(long columnIndex, long value) {
-        parent.checkImmutable();
+        parent.checkImmutable(columnIndex, this);
         nativeSetLink(nativePointer, columnIndex, value);
     }
 
     @Override
     public void nullifyLink(long columnIndex) {
-        parent.checkImmutable();
+        parent.checkImmutable(columnIndex, this);
         nativeNullifyLink(nativePointer, columnIndex);
     }
 
@@ -256,6 +277,7 @@ public class UncheckedRow extends NativeObject implements Row {
 
     @Override
     public void setNull(long columnIndex) {
+        parent.checkImmutable(columnIndex, this);
         nativeSetNull(nativePointer, columnIndex);
     }
 
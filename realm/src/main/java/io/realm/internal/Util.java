@@ -24,6 +24,7 @@ public class Util {
         RealmCore.loadLibrary();
     }
 
+    // Returns -1 if the native library isn't built with REALM_ENABLE_MEM_USAGE.
     public static long getNativeMemUsage() {
         return nativeGetMemUsage();
     }
@@ -2,13 +2,12 @@ package io.realm.internal.android;
 
 import android.util.Log;
 
-import io.realm.internal.log.Logger;
+import io.realm.internal.log.AbstractLogger;
 import io.realm.internal.log.RealmLog;
 
-public class AndroidLogger implements Logger {
+public class AndroidLogger extends AbstractLogger {
 
     private static final int LOG_ENTRY_MAX_LENGTH = 4000;
-    private int minimumLogLevel = RealmLog.VERBOSE;
     private String logTag = "REALM";
 
     /**
@@ -19,17 +18,9 @@ public class AndroidLogger implements Logger {
         logTag = tag;
     }
 
-    /**
-     * Override the provided logger behavior and only log if log entry has a level equal or higher.
-     * @param logLevel Minimum log level to report.
-     */
-    public void setMinimumLogLevel(int logLevel) {
-        minimumLogLevel = logLevel;
-    }
-
     // Inspired by https://github.com/JakeWharton/timber/blob/master/timber/src/main/java/timber/log/Timber.java
     private void log(int logLevel, String message, Throwable t) {
-        if (logLevel < minimumLogLevel) {
+        if (logLevel < getMinimumLogLevel()) {
             return;
         }
         if (message == null || message.length() == 0) {
@@ -16,8 +16,16 @@
 
 package io.realm.internal.android;
 
+import android.annotation.TargetApi;
+import android.os.Build;
 import android.util.Base64;
+import android.util.JsonReader;
 
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
 import java.util.Date;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -57,4 +65,55 @@ public class JsonUtils {
         if (str == null || str.length() == 0) return new byte[0];
         return Base64.decode(str, Base64.DEFAULT);
     }
+
+    /**
+     * Reads the next JSON object of a stream. Only this object is kept in memory, so a large array can be processed
+     * one object at a time.
+     *
+     * @param reader stream positioned before the object.
+     * @return the object read, including its nested objects and arrays.
+     * @throws IOException if the stream could not be read or isn't valid JSON.
+     * @throws JSONException if the object could not be built.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public static JSONObject readJsonObject(JsonReader reader) throws IOException, JSONException {
+        JSONObject json = new JSONObject();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            json.put(reader.nextName(), readJsonValue(reader));
+        }
+        reader.endObject();
+        return json;
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private static Object readJsonValue(JsonReader reader) throws IOException, JSONException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readJsonObject(reader);
+            case BEGIN_ARRAY:
+                JSONArray array = new JSONArray();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    array.put(readJsonValue(reader));
+                }
+                reader.endArray();
+                return array;
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return JSONObject.NULL;
+            case NUMBER:
+                // Same number types as the JSON parser of org.json
+                String number = reader.nextString();
+                try {
+                    return Long.parseLong(number);
+                } catch (NumberFormatException e) {
+                    return Double.parseDouble(number);
+                }
+            default:
+                return reader.nextString();
+        }
+    }
 }
@@ -16,6 +16,9 @@
 
 
 package io.realm.internal.async;
+
+import io.realm.internal.Table;
+
 /**
  * Value holder class to encapsulate the arguments of a RealmQuery
  * (in case we want to re-query)
@@ -26,12 +29,21 @@ public class ArgumentsHolder {
     public final static int TYPE_FIND_ALL_MULTI_SORTED = 2;
     public final static int TYPE_FIND_FIRST = 3;
     public final static int TYPE_DISTINCT = 4;
+    // aggregates, the values must match the ones used by TableQuery#nativeAggregateWithHandover
+    public final static int TYPE_COUNT = 5;
+    public final static int TYPE_SUM = 6;
+    public final static int TYPE_AVERAGE = 7;
+    public final static int TYPE_MINIMUM = 8;
+    public final static int TYPE_MAXIMUM = 9;
 
     public final int type;
     public long columnIndex;
     public boolean ascending;
     public long[] columnIndices;
     public boolean[] ascendings;
+    // bounds of TYPE_FIND_ALL, see RealmQuery#offset(long) and RealmQuery#limit(long)
+    public long offset = 0;
+    public long limit = Table.INFINITE;
 
     public ArgumentsHolder(int type) {
         this.type = type;
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.async;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Work queue of {@link RealmThreadPoolExecutor}. Tasks are taken by priority, then in submission order. Unlike
+ * {@link java.util.concurrent.PriorityBlockingQueue} the queue is bounded, so {@link #offer(Runnable)} fails while it
+ * is full. The executor then {@link #defer(Runnable) defers} the task, it is still taken in priority order but only
+ * counts against the capacity once a slot is free.
+ */
+final class PriorityTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private final int capacity;
+    private final Comparator<Runnable> comparator;
+    private final PriorityQueue<Runnable> queue;
+    // tasks offered while the queue was full, only non empty while the queue is full
+    private final PriorityQueue<Runnable> deferred;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    PriorityTaskQueue(int capacity, Comparator<Runnable> comparator) {
+        this.capacity = capacity;
+        this.comparator = comparator;
+        this.queue = new PriorityQueue<Runnable>(capacity, comparator);
+        this.deferred = new PriorityQueue<Runnable>(capacity, comparator);
+    }
+
+    @Override
+    public boolean offer(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        lock.lock();
+        try {
+            if (queue.size() == capacity) {
+                return false;
+            }
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (queue.size() == capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(task);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable task) throws InterruptedException {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        lock.lockInterruptibly();
+        try {
+            while (queue.size() == capacity) {
+                notFull.await();
+            }
+            enqueue(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty() && deferred.isEmpty()) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty() && deferred.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return (queue.isEmpty() && deferred.isEmpty()) ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            return first();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object task) {
+        lock.lock();
+        try {
+            if (deferred.remove(task)) {
+                return true;
+            }
+            boolean removed = queue.remove(task);
+            if (removed) {
+                promoteDeferred();
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(Object task) {
+        lock.lock();
+        try {
+            return queue.contains(task) || deferred.contains(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size() + deferred.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            queue.clear();
+            deferred.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> collection, int maxElements) {
+        if (collection == this) {
+            throw new IllegalArgumentException();
+        }
+        lock.lock();
+        try {
+            int count = 0;
+            while (count < maxElements && !(queue.isEmpty() && deferred.isEmpty())) {
+                collection.add(dequeue());
+                count++;
+            }
+            if (count > 0) {
+                notFull.signalAll();
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        lock.lock();
+        try {
+            Object[] tasks = new Object[queue.size() + deferred.size()];
+            int i = 0;
+            for (Runnable task : queue) {
+                tasks[i++] = task;
+            }
+            for (Runnable task : deferred) {
+                tasks[i++] = task;
+            }
+            return tasks;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the queue, removing through it removes from the queue.
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        final Object[] snapshot = toArray();
+        return new Iterator<Runnable>() {
+            private int next;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next < snapshot.length;
+            }
+
+            @Override
+            public Runnable next() {
+                if (next >= snapshot.length) {
+                    throw new NoSuchElementException();
+                }
+                last = next++;
+                return (Runnable) snapshot[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                PriorityTaskQueue.this.remove(snapshot[last]);
+                last = -1;
+            }
+        };
+    }
+
+    // must be called holding the lock
+    private void enqueue(Runnable task) {
+        queue.offer(task);
+        notEmpty.signal();
+    }
+
+    /**
+     * Queues a task regardless of the capacity, without blocking. Used by the executor when {@link #offer(Runnable)}
+     * failed.
+     *
+     * @param task the task to queue.
+     */
+    void defer(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        lock.lock();
+        try {
+            if (queue.size() < capacity) {
+                enqueue(task);
+            } else {
+                deferred.offer(task);
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // must be called holding the lock
+    private boolean isDeferredFirst() {
+        Runnable deferredTask = deferred.peek();
+        return deferredTask != null && (queue.isEmpty() || comparator.compare(deferredTask, queue.peek()) < 0);
+    }
+
+    // must be called holding the lock
+    private Runnable first() {
+        return isDeferredFirst() ? deferred.peek() : queue.peek();
+    }
+
+    // must be called holding the lock
+    private Runnable dequeue() {
+        if (isDeferredFirst()) {
+            return deferred.poll();
+        }
+        Runnable task = queue.poll();
+        promoteDeferred();
+        return task;
+    }
+
+    // must be called holding the lock, after a slot was freed in the queue
+    private void promoteDeferred() {
+        if (deferred.isEmpty()) {
+            notFull.signal();
+        } else {
+            queue.offer(deferred.poll());
+        }
+    }
+}
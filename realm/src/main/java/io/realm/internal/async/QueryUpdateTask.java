@@ -23,11 +23,12 @@ import java.util.ArrayList;
 import java.util.IdentityHashMap;
 import java.util.List;
 
+import io.realm.RealmAggregate;
 import io.realm.RealmConfiguration;
+import io.realm.RealmInstrumentation;
 import io.realm.RealmObject;
 import io.realm.RealmResults;
 import io.realm.internal.SharedGroup;
-import io.realm.internal.Table;
 import io.realm.internal.TableQuery;
 import io.realm.internal.log.RealmLog;
 
@@ -41,11 +42,16 @@ public class QueryUpdateTask implements Runnable {
     private final static int MODE_UPDATE_REALM_OBJECT = 1;
     private final int updateMode;
 
-    private RealmConfiguration realmConfiguration;
+    // resolved on the caller thread, while the Realm is still open
+    private SharedGroupPool sharedGroupPool;
     private List<Builder.QueryEntry> realmResultsEntries;
     private Builder.QueryEntry realmObjectEntry;
     private WeakReference<Handler> callerHandler;
     private int message;
+    private final RealmInstrumentation instrumentation;
+    private final String path;
+    // when the task was created, just before being queued, only measured for the instrumentation
+    private final long createdNanos;
 
     private QueryUpdateTask (int mode,
                              RealmConfiguration realmConfiguration,
@@ -54,7 +60,10 @@ public class QueryUpdateTask implements Runnable {
                              WeakReference<Handler> handler,
                              int message) {
         this.updateMode = mode;
-        this.realmConfiguration = realmConfiguration;
+        this.sharedGroupPool = SharedGroupPool.getInstance(realmConfiguration);
+        this.instrumentation = realmConfiguration.getInstrumentation();
+        this.path = realmConfiguration.getPath();
+        this.createdNanos = (instrumentation != null) ? System.nanoTime() : 0;
         this.realmResultsEntries = listOfRealmResults;
         this.realmObjectEntry = realmObject;
         this.callerHandler = handler;
@@ -67,12 +76,10 @@ public class QueryUpdateTask implements Runnable {
 
     @Override
     public void run() {
+        long start = (instrumentation != null) ? System.nanoTime() : 0;
         SharedGroup sharedGroup = null;
         try {
-            sharedGroup = new SharedGroup(realmConfiguration.getPath(),
-                    SharedGroup.IMPLICIT_TRANSACTION,
-                    realmConfiguration.getDurability(),
-                    realmConfiguration.getEncryptionKey());
+            sharedGroup = sharedGroupPool.acquire();
 
             Result result;
             boolean updateSuccessful = false;
@@ -87,6 +94,11 @@ public class QueryUpdateTask implements Runnable {
                 result.versionID = sharedGroup.getVersion();
             }
 
+            if (instrumentation != null && updateSuccessful) {
+                int queryCount = (updateMode == MODE_UPDATE_REALM_RESULTS) ? realmResultsEntries.size() : 1;
+                instrumentation.onAsyncQueriesUpdated(path, queryCount, start - createdNanos, System.nanoTime() - start);
+            }
+
             Handler handler = callerHandler.get();
             if (updateSuccessful && !isTaskCancelled() && isAliveHandler(handler)) {
                 handler.obtainMessage(message, result).sendToTarget();
@@ -98,7 +110,7 @@ public class QueryUpdateTask implements Runnable {
 
         } finally {
             if (sharedGroup != null) {
-                sharedGroup.close();
+                sharedGroupPool.release(sharedGroup);
             }
         }
     }
@@ -109,10 +121,12 @@ public class QueryUpdateTask implements Runnable {
             if (!isTaskCancelled()) {
                 switch (queryEntry.queryArguments.type) {
                     case ArgumentsHolder.TYPE_FIND_ALL: {
-                        long handoverTableViewPointer = TableQuery.nativeFindAllWithHandover
+                        long handoverTableViewPointer = TableQuery.nativeFindAllRangeWithHandover
                                 (sharedGroup.getNativePointer(),
                                         sharedGroup.getNativeReplicationPointer(),
-                                        queryEntry.handoverQueryPointer, 0, Table.INFINITE, Table.INFINITE);
+                                        queryEntry.handoverQueryPointer,
+                                        queryEntry.queryArguments.offset,
+                                        queryEntry.queryArguments.limit);
                         result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer);
                         // invalidate the handover query pointer, in case this task is cancelled
                         // we will not try to close/delete a consumed pointer
@@ -136,7 +150,8 @@ public class QueryUpdateTask implements Runnable {
                                 sharedGroup.getNativePointer(),
                                 sharedGroup.getNativeReplicationPointer(),
                                 queryEntry.handoverQueryPointer,
-                                0, Table.INFINITE, Table.INFINITE,
+                                queryEntry.queryArguments.offset,
+                                queryEntry.queryArguments.limit,
                                 queryEntry.queryArguments.columnIndex,
                                 queryEntry.queryArguments.ascending);
 
@@ -149,13 +164,31 @@ public class QueryUpdateTask implements Runnable {
                                 sharedGroup.getNativePointer(),
                                 sharedGroup.getNativeReplicationPointer(),
                                 queryEntry.handoverQueryPointer,
-                                0, Table.INFINITE, Table.INFINITE,
+                                queryEntry.queryArguments.offset,
+                                queryEntry.queryArguments.limit,
                                 queryEntry.queryArguments.columnIndices,
                                 queryEntry.queryArguments.ascendings);
 
                         result.updatedTableViews.put(queryEntry.element, handoverTableViewPointer);
                         queryEntry.handoverQueryPointer = 0L;
                         break;
+                    case ArgumentsHolder.TYPE_COUNT:
+                    case ArgumentsHolder.TYPE_SUM:
+                    case ArgumentsHolder.TYPE_AVERAGE:
+                    case ArgumentsHolder.TYPE_MINIMUM:
+                    case ArgumentsHolder.TYPE_MAXIMUM: {
+                        Object value = TableQuery.nativeAggregateWithHandover(
+                                sharedGroup.getNativePointer(),
+                                sharedGroup.getNativeReplicationPointer(),
+                                queryEntry.handoverQueryPointer,
+                                queryEntry.queryArguments.type,
+                                queryEntry.queryArguments.columnIndex);
+
+                        // the value is not handed over, nothing to close if the task is cancelled
+                        result.updatedAggregates.put(queryEntry.element, value);
+                        queryEntry.handoverQueryPointer = 0L;
+                        break;
+                    }
                     default:
                         throw new IllegalArgumentException("Query mode " + queryEntry.queryArguments.type + " not supported");
                 }
@@ -178,7 +211,9 @@ public class QueryUpdateTask implements Runnable {
                     long handoverRowPointer = TableQuery.
                             nativeFindWithHandover(sharedGroup.getNativePointer(),
                                     sharedGroup.getNativeReplicationPointer(),
-                                    realmObjectEntry.handoverQueryPointer, 0);
+                                    realmObjectEntry.handoverQueryPointer,
+                                    realmObjectEntry.queryArguments.offset,
+                                    realmObjectEntry.queryArguments.limit);
                     result.updatedRow.put(realmObjectEntry.element, handoverRowPointer);
                     break;
                 }
@@ -205,11 +240,13 @@ public class QueryUpdateTask implements Runnable {
     public static class Result {
         public IdentityHashMap<WeakReference<RealmResults<? extends RealmObject>>, Long> updatedTableViews;
         public IdentityHashMap<WeakReference<? extends RealmObject>, Long> updatedRow;
+        public IdentityHashMap<WeakReference<RealmAggregate<?>>, Object> updatedAggregates;
         public SharedGroup.VersionID versionID;
 
         public static Result newRealmResultsResponse() {
             Result result = new Result();
             result.updatedTableViews = new IdentityHashMap<WeakReference<RealmResults<?>>, Long>(1);
+            result.updatedAggregates = new IdentityHashMap<WeakReference<RealmAggregate<?>>, Object>(1);
             return result;
         }
 
@@ -249,12 +286,19 @@ public class QueryUpdateTask implements Runnable {
             HandlerStep addObject(WeakReference<? extends RealmObject> weakReference,
                                   long handoverQueryPointer,
                                   ArgumentsHolder queryArguments);// can only update 1 element
+            // aggregates are updated in the same batch as RealmResults
+            RealmResultsQueryStep addAggregate(WeakReference<RealmAggregate<?>> weakReference,
+                                               long handoverQueryPointer,
+                                               ArgumentsHolder queryArguments);
         }
 
         public interface RealmResultsQueryStep {
             RealmResultsQueryStep add(WeakReference<RealmResults<? extends RealmObject>> weakReference,
                                           long handoverQueryPointer,
                                           ArgumentsHolder queryArguments);
+            RealmResultsQueryStep addAggregate(WeakReference<RealmAggregate<?>> weakReference,
+                                               long handoverQueryPointer,
+                                               ArgumentsHolder queryArguments);
             BuilderStep sendToHandler(Handler handler, int message);
         }
 
@@ -290,6 +334,17 @@ public class QueryUpdateTask implements Runnable {
                 return this;
             }
 
+            @Override
+            public RealmResultsQueryStep addAggregate(WeakReference<RealmAggregate<?>> weakReference,
+                                                      long handoverQueryPointer,
+                                                      ArgumentsHolder queryArguments) {
+                if (this.realmResultsEntries == null) {
+                    this.realmResultsEntries = new ArrayList<QueryEntry>(1);
+                }
+                this.realmResultsEntries.add(new QueryEntry(weakReference, handoverQueryPointer, queryArguments));
+                return this;
+            }
+
             @Override
             public HandlerStep addObject(WeakReference<? extends RealmObject> weakReference,
                                          long handoverQueryPointer,
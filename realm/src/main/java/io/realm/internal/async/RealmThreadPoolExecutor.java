@@ -16,18 +16,33 @@
 
 package io.realm.internal.async;
 
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
+import io.realm.internal.log.RealmLog;
+
 /**
  * Custom thread pool settings, instances of this executor can be paused, and resumed, this will
  * also set the appropriate number of Threads & wrap submitted tasks to set the thread priority
  * according to <a href="https://developer.android.com/training/multiple-threads/define-runnable.html"> Androids recommendation</a>.
+ * <p>
+ * Queued tasks run by priority, then in submission order, so queries the UI is waiting for are not delayed by a
+ * burst of async transactions. Tasks submitted with a coalescing key replace the queued task with the same key
+ * instead of waiting behind it. When the queue is full, tasks are deferred until a slot is free, submitting never
+ * blocks or fails, even while the executor is paused.
  */
 public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
     // reduce context switch by using a number of thread proportionate to the number of cores
@@ -35,10 +50,27 @@ public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
     private static final int CORE_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2 + 1;
     private static final int QUEUE_SIZE = 100;
 
+    /**
+     * Priority of the first run of an async query, the UI is waiting for its results.
+     */
+    public static final int PRIORITY_QUERY = 0;
+    /**
+     * Priority of the update of async queries after a change.
+     */
+    public static final int PRIORITY_QUERY_UPDATE = 1;
+    /**
+     * Priority of async transactions.
+     */
+    public static final int PRIORITY_TRANSACTION = 2;
+
     private boolean isPaused;
     private ReentrantLock pauseLock = new ReentrantLock();
     private Condition unpaused = pauseLock.newCondition();
 
+    private final AtomicLong sequence = new AtomicLong();
+    // queued tasks submitted with a coalescing key, guarded by itself
+    private final Map<Object, PriorityTask<?>> coalescedTasks = new IdentityHashMap<Object, PriorityTask<?>>();
+
     private static volatile RealmThreadPoolExecutor instance;
 
     public static RealmThreadPoolExecutor getInstance() {
@@ -55,22 +87,98 @@ public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
     private RealmThreadPoolExecutor() {
         super(CORE_POOL_SIZE, CORE_POOL_SIZE,
                 0L, TimeUnit.MILLISECONDS, //terminated idle thread
-                new ArrayBlockingQueue<Runnable>(QUEUE_SIZE));
+                new PriorityTaskQueue(QUEUE_SIZE, new Comparator<Runnable>() {
+                    @Override
+                    public int compare(Runnable lhs, Runnable rhs) {
+                        return ((PriorityTask<?>) lhs).compareTo((PriorityTask<?>) rhs);
+                    }
+                }),
+                new DeferWhenFullPolicy());
     }
 
     @Override
     public Future<?> submit(Runnable task) {
-        return super.submit(new BgPriorityRunnable(task));
+        return submit(task, PRIORITY_QUERY);
     }
 
     @Override
     public <T> Future<T> submit(Callable<T> task) {
-        return super.submit(new BgPriorityCallable<T>(task));
+        return submit(task, PRIORITY_QUERY);
+    }
+
+    /**
+     * Submits a task with the given priority.
+     *
+     * @param task the task to run.
+     * @param priority one of {@link #PRIORITY_QUERY}, {@link #PRIORITY_QUERY_UPDATE} or {@link #PRIORITY_TRANSACTION}.
+     * @return a Future representing the pending task.
+     */
+    public Future<?> submit(Runnable task, int priority) {
+        PriorityTask<Object> future = new PriorityTask<Object>(new BgPriorityRunnable(task), null, priority, null);
+        execute(future);
+        return future;
+    }
+
+    /**
+     * Submits a task with the given priority.
+     *
+     * @param task the task to run.
+     * @param priority one of {@link #PRIORITY_QUERY}, {@link #PRIORITY_QUERY_UPDATE} or {@link #PRIORITY_TRANSACTION}.
+     * @return a Future representing the pending task.
+     */
+    public <T> Future<T> submit(Callable<T> task, int priority) {
+        PriorityTask<T> future = new PriorityTask<T>(new BgPriorityCallable<T>(task), priority, null);
+        execute(future);
+        return future;
+    }
+
+    /**
+     * Submits a task superseding any task submitted with the same key which didn't start yet. The superseded task is
+     * cancelled and removed from the queue. A task already running is not affected.
+     *
+     * @param task the task to run.
+     * @param priority one of {@link #PRIORITY_QUERY}, {@link #PRIORITY_QUERY_UPDATE} or {@link #PRIORITY_TRANSACTION}.
+     * @param key identifies the tasks superseding each other, compared by identity.
+     * @return a Future representing the pending task.
+     */
+    public Future<?> submitCoalesced(Runnable task, int priority, Object key) {
+        PriorityTask<Object> future = new PriorityTask<Object>(new BgPriorityRunnable(task), null, priority, key);
+        PriorityTask<?> superseded;
+        synchronized (coalescedTasks) {
+            superseded = coalescedTasks.put(key, future);
+        }
+        if (superseded != null && getQueue().remove(superseded)) {
+            superseded.cancel(false);
+        }
+        execute(future);
+        return future;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (!(command instanceof PriorityTask)) {
+            // not submitted through one of the submit methods, failures are reported by afterExecute
+            PriorityTask<Object> task = new PriorityTask<Object>(command, null, PRIORITY_QUERY, null);
+            task.reportsFailure = true;
+            command = task;
+        }
+        super.execute(command);
+    }
+
+    @Override
+    public boolean remove(Runnable task) {
+        boolean removed = super.remove(task);
+        if (removed && task instanceof PriorityTask) {
+            ((PriorityTask<?>) task).releaseKey();
+        }
+        return removed;
     }
 
     @Override
     protected void beforeExecute(Thread t, Runnable r) {
             super.beforeExecute(t, r);
+        // the task can't be superseded anymore
+        ((PriorityTask<?>) r).releaseKey();
         pauseLock.lock();
         try {
             while (isPaused) unpaused.await();
@@ -81,6 +189,30 @@ public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
         }
     }
 
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        PriorityTask<?> task = (PriorityTask<?>) r;
+        if (task.reportsFailure && !task.isCancelled()) {
+            // the FutureTask caught the exception, rethrow it like a plain ThreadPoolExecutor would
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (CancellationException ignored) {
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                RealmLog.e("Uncaught exception in async task: " + cause, cause);
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+            }
+        }
+    }
+
     public void pause() {
         pauseLock.lock();
         try {
@@ -99,4 +231,66 @@ public class RealmThreadPoolExecutor extends ThreadPoolExecutor {
             pauseLock.unlock();
         }
     }
+
+    // Task ordered by priority then by submission order.
+    private final class PriorityTask<V> extends FutureTask<V> implements Comparable<PriorityTask<?>> {
+        final int priority;
+        final long sequenceNumber;
+        final Object key;
+        // whether exceptions are rethrown instead of only being available through get()
+        boolean reportsFailure;
+
+        PriorityTask(Callable<V> callable, int priority, Object key) {
+            super(callable);
+            this.priority = priority;
+            this.sequenceNumber = sequence.getAndIncrement();
+            this.key = key;
+        }
+
+        PriorityTask(Runnable runnable, V result, int priority, Object key) {
+            super(runnable, result);
+            this.priority = priority;
+            this.sequenceNumber = sequence.getAndIncrement();
+            this.key = key;
+        }
+
+        // stops mapping the coalescing key to this task, once it runs or won't run anymore
+        void releaseKey() {
+            if (key != null) {
+                synchronized (coalescedTasks) {
+                    if (coalescedTasks.get(key) == this) {
+                        coalescedTasks.remove(key);
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                releaseKey();
+            }
+        }
+
+        @Override
+        public int compareTo(PriorityTask<?> other) {
+            if (priority != other.priority) {
+                return (priority < other.priority) ? -1 : 1;
+            }
+            return (sequenceNumber < other.sequenceNumber) ? -1 : ((sequenceNumber == other.sequenceNumber) ? 0 : 1);
+        }
+    }
+
+    // The task waits in the queue beyond its capacity instead of being rejected. Blocking the submitting thread,
+    // often the UI thread, could deadlock while the executor is paused.
+    private static class DeferWhenFullPolicy implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("The executor has been shut down");
+            }
+            RealmLog.d("Async task queue is full, deferring task %s", task);
+            ((PriorityTaskQueue) executor.getQueue()).defer(task);
+        }
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal.async;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.RealmConfiguration;
+import io.realm.internal.SharedGroup;
+
+/**
+ * Pool of {@link SharedGroup} used by the worker threads to run async queries and transactions. Opening a SharedGroup means opening
+ * the Realm file and mapping its lock file, which dominates the cost of small queries, so workers borrow an already
+ * open SharedGroup and give it back once done instead.
+ * <p>
+ * A SharedGroup is bound to the worker thread that borrowed it until it is released. Idle SharedGroups are kept
+ * outside of any read transaction so they don't prevent older versions of the file from being reclaimed. The
+ * handover methods of {@link io.realm.internal.TableQuery} position the read transaction at the version of the query
+ * they import.
+ * <p>
+ * Each SharedGroup holds a file handle and a mapping of the whole file, so at most {@link #MAX_IDLE_SHARED_GROUPS}
+ * are kept idle, and they are closed once idle for {@link #KEEP_ALIVE_MS}. The SharedGroups released above that
+ * number are closed right away.
+ * <p>
+ * There is one pool per {@link RealmConfiguration}. Pools are closed when the last Realm instance using their file is
+ * closed, so the file can be deleted or compacted afterwards.
+ */
+public final class SharedGroupPool {
+
+    /**
+     * Maximum number of SharedGroups kept open by a pool while no worker uses them.
+     */
+    public static final int MAX_IDLE_SHARED_GROUPS = 2;
+
+    /**
+     * Time after which an idle SharedGroup is closed.
+     */
+    public static final long KEEP_ALIVE_MS = 500;
+
+    private static final Map<RealmConfiguration, SharedGroupPool> pools = new HashMap<RealmConfiguration, SharedGroupPool>();
+
+    // closes the SharedGroups idle for too long, its thread stops once there is nothing left to close
+    private static final ScheduledThreadPoolExecutor evictionExecutor = new ScheduledThreadPoolExecutor(1,
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "RealmSharedGroupPool");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    static {
+        evictionExecutor.setKeepAliveTime(KEEP_ALIVE_MS, TimeUnit.MILLISECONDS);
+        evictionExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    private static final class IdleSharedGroup {
+        final SharedGroup sharedGroup;
+        final long idleSinceMs;
+
+        IdleSharedGroup(SharedGroup sharedGroup, long idleSinceMs) {
+            this.sharedGroup = sharedGroup;
+            this.idleSinceMs = idleSinceMs;
+        }
+    }
+
+    private final RealmConfiguration configuration;
+    // the most recently released first
+    private final Deque<IdleSharedGroup> idleSharedGroups = new ArrayDeque<IdleSharedGroup>();
+    private boolean closed;
+    private boolean evictionScheduled;
+
+    private final Runnable evictIdleSharedGroups = new Runnable() {
+        @Override
+        public void run() {
+            evictIdleSharedGroups();
+        }
+    };
+
+    private SharedGroupPool(RealmConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Returns the pool for the given configuration, creating it if needed.
+     *
+     * @param configuration the configuration of the Realm to query.
+     * @return the pool of SharedGroups for this configuration.
+     */
+    public static synchronized SharedGroupPool getInstance(RealmConfiguration configuration) {
+        SharedGroupPool pool = pools.get(configuration);
+        if (pool == null) {
+            pool = new SharedGroupPool(configuration);
+            pools.put(configuration, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Closes all the pools of SharedGroups opened on the given Realm file. SharedGroups currently borrowed by a worker
+     * are closed as soon as they are released.
+     *
+     * @param canonicalPath the canonical path of the Realm file.
+     */
+    public static synchronized void closePools(String canonicalPath) {
+        Iterator<Map.Entry<RealmConfiguration, SharedGroupPool>> iterator = pools.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<RealmConfiguration, SharedGroupPool> entry = iterator.next();
+            if (entry.getKey().getPath().equals(canonicalPath)) {
+                entry.getValue().close();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Borrows a SharedGroup for the calling thread. It must be given back using {@link #release(SharedGroup)}.
+     *
+     * @return an open SharedGroup, not in a read transaction.
+     * @throws IllegalStateException if the pool is closed, i.e. all the Realm instances of the file were closed.
+     */
+    public SharedGroup acquire() {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The Realm " + configuration.getPath() + " is closed.");
+            }
+            if (!idleSharedGroups.isEmpty()) {
+                return idleSharedGroups.pop().sharedGroup;
+            }
+        }
+        return new SharedGroup(configuration.getPath(),
+                SharedGroup.IMPLICIT_TRANSACTION,
+                configuration.getDurability(),
+                configuration.getEncryptionKey());
+    }
+
+    /**
+     * Gives back a SharedGroup previously returned by {@link #acquire()}. Its read transaction is ended. It is closed
+     * if the pool is closed or already keeps {@link #MAX_IDLE_SHARED_GROUPS} idle SharedGroups.
+     *
+     * @param sharedGroup the SharedGroup to give back.
+     */
+    public void release(SharedGroup sharedGroup) {
+        sharedGroup.endRead();
+        synchronized (this) {
+            if (!closed && idleSharedGroups.size() < MAX_IDLE_SHARED_GROUPS) {
+                idleSharedGroups.push(new IdleSharedGroup(sharedGroup, System.currentTimeMillis()));
+                scheduleEviction(KEEP_ALIVE_MS);
+                return;
+            }
+        }
+        sharedGroup.close();
+    }
+
+    // must be called holding the lock of this pool
+    private void scheduleEviction(long delayMs) {
+        if (!evictionScheduled) {
+            evictionScheduled = true;
+            evictionExecutor.schedule(evictIdleSharedGroups, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void evictIdleSharedGroups() {
+        evictionScheduled = false;
+        long now = System.currentTimeMillis();
+        // the oldest are last
+        while (!idleSharedGroups.isEmpty() && now - idleSharedGroups.peekLast().idleSinceMs >= KEEP_ALIVE_MS) {
+            idleSharedGroups.pollLast().sharedGroup.close();
+        }
+        if (!idleSharedGroups.isEmpty()) {
+            scheduleEviction(idleSharedGroups.peekLast().idleSinceMs + KEEP_ALIVE_MS - now);
+        }
+    }
+
+    private synchronized void close() {
+        closed = true;
+        for (IdleSharedGroup idleSharedGroup : idleSharedGroups) {
+            idleSharedGroup.sharedGroup.close();
+        }
+        idleSharedGroups.clear();
+    }
+}
@@ -0,0 +1,28 @@
+package io.realm.internal.log;
+
+/**
+ * Base class for loggers with a minimum log level. {@link RealmLog} doesn't pass them the messages of lower levels,
+ * and can skip building these messages when no logger will log them. Other {@link Logger} implementations get all
+ * the messages.
+ */
+public abstract class AbstractLogger implements Logger {
+
+    private volatile int minimumLogLevel = RealmLog.VERBOSE;
+
+    /**
+     * Override the provided logger behavior and only log if log entry has a level equal or higher.
+     * @param logLevel Minimum log level to report.
+     */
+    public void setMinimumLogLevel(int logLevel) {
+        minimumLogLevel = logLevel;
+    }
+
+    /**
+     * Returns the lowest level logged by this logger.
+     *
+     * @return one of the levels defined in {@link RealmLog}.
+     */
+    public int getMinimumLogLevel() {
+        return minimumLogLevel;
+    }
+}
@@ -1,13 +1,16 @@
 package io.realm.internal.log;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Logger implementation for Realm. This can be used to transparently change logging behavior
  * between Android and Java.
  *
- * This class supports adding multiple logger implementations.
+ * This class supports adding multiple logger implementations. Loggers extending {@link AbstractLogger} are only passed
+ * the messages reaching their minimum level, other loggers get all the messages. Callers building costly messages should check {@link #isLoggable(int)} first, or use the
+ * formatting variants, e.g. {@link #d(String, Object)}, which only format the message if it will be logged.
  */
 public final class RealmLog {
 
@@ -45,63 +48,174 @@ public final class RealmLog {
         LOGGERS.remove(logger);
     }
 
+    /**
+     * Checks if a message of the given level will be logged by at least one logger.
+     *
+     * @param level one of the log levels, e.g. {@link #DEBUG}.
+     * @return {@code true} if a message of this level is logged, {@code false} if it would be discarded.
+     */
+    public static boolean isLoggable(int level) {
+        for (int i = 0; i < LOGGERS.size(); i++) {
+            if (accepts(LOGGERS.get(i), level)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean accepts(Logger logger, int level) {
+        return !(logger instanceof AbstractLogger) || level >= ((AbstractLogger) logger).getMinimumLogLevel();
+    }
+
     public static void v(String message) {
         for (int i = 0; i < LOGGERS.size(); i++) {
-            LOGGERS.get(i).v(message);
+            Logger logger = LOGGERS.get(i);
+            if (accepts(logger, VERBOSE)) {
+                logger.v(message);
+            }
         }
     }
 
     public static void v(String message, Throwable t) {
         for (int i = 0; i < LOGGERS.size(); i++) {
-            LOGGERS.get(i).v(message, t);
+            Logger logger = LOGGERS.get(i);
+            if (accepts(logger, VERBOSE)) {
+                logger.v(message, t);
+            }
         }
     }
 
     public static void d(String message) {
         for (int i = 0; i < LOGGERS.size(); i++) {
-            LOGGERS.get(i).d(message);
+            Logger logger = LOGGERS.get(i);
+            if (accepts(logger, DEBUG)) {
+                logger.d(message);
+            }
         }
     }
 
     public static void d(String message, Throwable t) {
         for (int i = 0; i < LOGGERS.size(); i++) {
-            LOGGERS.get(i).d(message, t);
+            Logger logger = LOGGERS.get(i);
+            if (accepts(logger, DEBUG)) {
+                logger.d(message, t);
+            }
         }
     }
 
     public static void i(String message) {
         for (int i = 0; i < LOGGERS.size(); i++) {
-            LOGGERS.get(i).i(message);
+            Logger logger = LOGGERS.get(i);
+            if (accepts(logger, INFO)) {
+                logger.i(message);
+            }
         }
     }
 
     public static void i(String message, Throwable t) {
         for (int i = 0; i < LOGGERS.size(); i++) {
-            LOGGERS.get(i).i(message, t);
+            Logger logger = LOGGERS.get(i);
+            if (accepts(logger, INFO)) {
+                logger.i(message, t);
+            }
         }
     }
 
     public static void w(String message) {
         for (int i = 0; i < LOGGERS.size(); i++) {
-            LOGGERS.get(i).w(message);
+            Logger logger = LOGGERS.get(i);
+            if (accepts(logger, WARN)) {
+                logger.w(message);
+            }
         }
     }
 
     public static void w(String message, Throwable t) {
         for (int i = 0; i < LOGGERS.size(); i++) {
-            LOGGERS.get(i).w(message, null);
+            Logger logger = LOGGERS.get(i);
+            if (accepts(logger, WARN)) {
+                logger.w(message, t);
+            }
         }
     }
 
     public static void e(String message)  {
         for (int i = 0; i < LOGGERS.size(); i++) {
-            LOGGERS.get(i).e(message);
+            Logger logger = LOGGERS.get(i);
+            if (accepts(logger, ERROR)) {
+                logger.e(message);
+            }
         }
     }
 
     public static void e(String message, Throwable t) {
         for (int i = 0; i < LOGGERS.size(); i++) {
-            LOGGERS.get(i).v(message, t);
+            Logger logger = LOGGERS.get(i);
+            if (accepts(logger, ERROR)) {
+                logger.e(message, t);
+            }
+        }
+    }
+
+    // Formatting variants. The arguments are only formatted, with String.format(), if the message is logged. Fixed
+    // numbers of arguments avoid allocating an array for each call. Primitive arguments are still boxed by the
+    // caller, which should check isLoggable() first in hot paths.
+
+    public static void v(String format, Object arg1) {
+        if (isLoggable(VERBOSE)) {
+            v(format(format, arg1));
+        }
+    }
+
+    public static void v(String format, Object arg1, Object arg2) {
+        if (isLoggable(VERBOSE)) {
+            v(format(format, arg1, arg2));
         }
     }
+
+    public static void v(String format, Object arg1, Object arg2, Object arg3) {
+        if (isLoggable(VERBOSE)) {
+            v(format(format, arg1, arg2, arg3));
+        }
+    }
+
+    public static void d(String format, Object arg1) {
+        if (isLoggable(DEBUG)) {
+            d(format(format, arg1));
+        }
+    }
+
+    public static void d(String format, Object arg1, Object arg2) {
+        if (isLoggable(DEBUG)) {
+            d(format(format, arg1, arg2));
+        }
+    }
+
+    public static void d(String format, Object arg1, Object arg2, Object arg3) {
+        if (isLoggable(DEBUG)) {
+            d(format(format, arg1, arg2, arg3));
+        }
+    }
+
+    public static void i(String format, Object arg1) {
+        if (isLoggable(INFO)) {
+            i(format(format, arg1));
+        }
+    }
+
+    public static void i(String format, Object arg1, Object arg2) {
+        if (isLoggable(INFO)) {
+            i(format(format, arg1, arg2));
+        }
+    }
+
+    public static void i(String format, Object arg1, Object arg2, Object arg3) {
+        if (isLoggable(INFO)) {
+            i(format(format, arg1, arg2, arg3));
+        }
+    }
+
+    private static String format(String format, Object... args) {
+        return String.format(Locale.US, format, args);
+    }
 }
@@ -22,6 +22,7 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -91,6 +92,18 @@ public class CompositeMediator extends RealmProxyMediator {
         return mediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public long insert(Realm realm, RealmObject object, Map<RealmObject, Long> cache) {
+        RealmProxyMediator mediator = getMediator(Util.getOriginalModelClass(object.getClass()));
+        return mediator.insert(realm, object, cache);
+    }
+
+    @Override
+    public void insertAll(Class<? extends RealmObject> clazz, Realm realm, Collection<? extends RealmObject> objects, Map<RealmObject, Long> cache) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        mediator.insertAll(clazz, realm, objects, cache);
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         RealmProxyMediator mediator = getMediator(clazz);
@@ -108,6 +108,18 @@ public class FilterableMediator extends RealmProxyMediator {
         return originalMediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public long insert(Realm realm, RealmObject object, Map<RealmObject, Long> cache) {
+        checkSchemaHasClass(Util.getOriginalModelClass(object.getClass()));
+        return originalMediator.insert(realm, object, cache);
+    }
+
+    @Override
+    public void insertAll(Class<? extends RealmObject> clazz, Realm realm, Collection<? extends RealmObject> objects, Map<RealmObject, Long> cache) {
+        checkSchemaHasClass(clazz);
+        originalMediator.insertAll(clazz, realm, objects, cache);
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         checkSchemaHasClass(clazz);